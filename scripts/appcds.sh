@@ -0,0 +1,60 @@
+#!/usr/bin/env sh
+# AppCDS(Application Class-Data Sharing) 아카이브를 만들고, 그 아카이브로 애플리케이션을 실행합니다.
+# 시작할 때 읽고 검증하던 클래스를 미리 만들어 둔 아카이브에서 매핑하므로 클래스 로딩 시간이 줄어듭니다.
+#
+#   scripts/appcds.sh dump [애플리케이션 인자...]   # 빌드, 학습 실행, 아카이브 생성
+#   scripts/appcds.sh run  [애플리케이션 인자...]   # 아카이브를 사용해 실행
+#
+# 학습 실행은 실제로 애플리케이션을 띄우므로 DB에 연결할 수 있어야 하며, 요청을 받을 준비가 끝나면
+# inventory.startup.exit-after-ready로 바로 종료합니다. 운영과 같은 프로파일로 학습해야 같은 클래스가 아카이브에 담깁니다.
+#   예) scripts/appcds.sh dump --spring.profiles.active=fast-startup
+#       scripts/appcds.sh run --spring.profiles.active=fast-startup
+#
+# JDK 11의 AppCDS는 중첩 jar(BOOT-INF/lib)와 디렉터리 클래스패스를 지원하지 않으므로,
+# 실행 jar를 풀어 애플리케이션 클래스를 jar 하나로 묶고 라이브러리 jar를 그대로 클래스패스에 둡니다.
+# 아카이브는 만들 때와 같은 JDK, 같은 클래스패스로 실행할 때만 사용되며, 다르면 JVM이 경고 후 아카이브 없이 실행합니다.
+set -eu
+
+cd "$(dirname "$0")/.."
+APP_DIR=target/appcds
+MAIN_CLASS=kr.co.iscu.assignment.InventoryManagementApplication
+JAVA=${JAVA:-java}
+MVN=${MVN:-./mvnw}
+
+classpath() {
+    # BOOT-INF/classpath.idx의 순서대로 라이브러리를 나열합니다.
+    printf '%s' "$APP_DIR/app.jar"
+    sed -n 's/^- "\(.*\)"$/\1/p' "$APP_DIR/BOOT-INF/classpath.idx" | while read -r lib; do
+        printf ':%s' "$APP_DIR/$lib"
+    done
+}
+
+command=${1:-}
+[ $# -gt 0 ] && shift
+
+case "$command" in
+    dump)
+        "$MVN" -q -DskipTests package
+        rm -rf "$APP_DIR"
+        mkdir -p "$APP_DIR"
+        (cd "$APP_DIR" && jar -xf ../inventory-management-1.0.0.jar)
+        jar -cf "$APP_DIR/app.jar" -C "$APP_DIR/BOOT-INF/classes" .
+        CP=$(classpath)
+
+        "$JAVA" -Xshare:off -XX:DumpLoadedClassList="$APP_DIR/classes.lst" -cp "$CP" "$MAIN_CLASS" \
+            --inventory.startup.exit-after-ready=true "$@"
+        "$JAVA" -Xshare:dump -XX:SharedClassListFile="$APP_DIR/classes.lst" -XX:SharedArchiveFile="$APP_DIR/app.jsa" -cp "$CP"
+        echo "AppCDS 아카이브를 만들었습니다: $APP_DIR/app.jsa"
+        ;;
+    run)
+        if [ ! -f "$APP_DIR/app.jsa" ]; then
+            echo "AppCDS 아카이브가 없습니다. 먼저 scripts/appcds.sh dump를 실행하세요." >&2
+            exit 1
+        fi
+        exec "$JAVA" -XX:SharedArchiveFile="$APP_DIR/app.jsa" -Xlog:cds=warning -cp "$(classpath)" "$MAIN_CLASS" "$@"
+        ;;
+    *)
+        echo "사용법: $0 dump|run [애플리케이션 인자...]" >&2
+        exit 1
+        ;;
+esac
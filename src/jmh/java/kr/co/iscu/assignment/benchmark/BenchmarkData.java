@@ -0,0 +1,116 @@
+package kr.co.iscu.assignment.benchmark;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 데이터와 DB 대신 쓰는 저장소 스텁.
+ * <p>
+ * 실행마다 같은 데이터가 나오도록 고정 시드를 사용합니다.
+ */
+final class BenchmarkData {
+
+    private static final long SEED = 20240101L;
+    private static final int CATEGORIES = 20;
+    private static final int WAREHOUSES = 4;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 상품 ID 1부터 size개의 상품. 안전재고는 0~99입니다.
+     */
+    static List<Product> products(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Product> products = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            products.add(Product.builder()
+                    .id(id)
+                    .name("상품 " + id)
+                    .category("카테고리 " + (id % CATEGORIES))
+                    .unitPrice(BigDecimal.valueOf(random.nextInt(1_000, 1_000_000)))
+                    .safetyStock(random.nextInt(100))
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        return products;
+    }
+
+    /**
+     * 상품마다 0~199개의 현재고. 약 절반의 상품이 안전재고 미만이 됩니다.
+     */
+    static int[] quantities(int size) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        int[] quantities = new int[size];
+        for (int i = 0; i < size; i++) {
+            quantities[i] = random.nextInt(200);
+        }
+        return quantities;
+    }
+
+    static List<StockStatusDto> statuses(List<Product> products, int[] quantities) {
+        List<StockStatusDto> statuses = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            statuses.add(StockStatusDto.of(products.get(i), quantities[i]));
+        }
+        return statuses;
+    }
+
+    /**
+     * 상품 productCount개에 고르게 나뉜 size건의 입고/출고 이력. 1분 간격으로 기록됩니다.
+     */
+    static List<StockHistory> histories(int size, int productCount) {
+        SplittableRandom random = new SplittableRandom(SEED + 2);
+        LocalDateTime startedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<StockHistory> histories = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            histories.add(StockHistory.builder()
+                    .historyId(id)
+                    .productId(id % productCount + 1)
+                    .warehouseId(id % WAREHOUSES + 1)
+                    .eventType(random.nextBoolean() ? StockEventType.INBOUND : StockEventType.OUTBOUND)
+                    .quantity(random.nextInt(1, 100))
+                    .createdAt(startedAt.plusMinutes(id))
+                    .build());
+        }
+        return histories;
+    }
+
+    /**
+     * 지정한 메서드만 미리 준비한 결과를 돌려주고, 나머지 메서드는 호출되면 실패하는 매퍼 스텁.
+     *
+     * @param type    매퍼 인터페이스
+     * @param results 메서드 이름별 결과
+     */
+    static <T> T stub(Class<T> type, Map<String, Object> results) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (results.containsKey(method.getName())) {
+                return results.get(method.getName());
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                default:
+                    break;
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + "은(는) 스텁에 없습니다.");
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,68 @@
+package kr.co.iscu.assignment.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재고 현황과 재고 이력 목록의 JSON 직렬화 비용.
+ * <p>
+ * Spring MVC와 같은 기본 설정의 ObjectMapper로 응답 스트림에 바로 쓰는 경우를 재며,
+ * 출력은 버리므로 응답 버퍼 할당과 전송 비용은 포함하지 않습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StockSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private List<StockStatusDto> statuses;
+    private List<StockHistory> histories;
+    private ObjectWriter statusWriter;
+    private ObjectWriter historyWriter;
+
+    @Setup
+    public void setUp() {
+        statuses = BenchmarkData.statuses(BenchmarkData.products(catalogSize), BenchmarkData.quantities(catalogSize));
+        histories = BenchmarkData.histories(catalogSize, Math.max(1, catalogSize / 10));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        statusWriter = objectMapper.writerFor(new TypeReference<List<StockStatusDto>>() {
+        });
+        historyWriter = objectMapper.writerFor(new TypeReference<List<StockHistory>>() {
+        });
+    }
+
+    @Benchmark
+    public void serializeStatuses() throws IOException {
+        statusWriter.writeValue(OutputStream.nullOutputStream(), statuses);
+    }
+
+    @Benchmark
+    public void serializeHistories() throws IOException {
+        historyWriter.writeValue(OutputStream.nullOutputStream(), histories);
+    }
+}
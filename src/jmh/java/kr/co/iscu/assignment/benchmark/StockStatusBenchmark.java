@@ -0,0 +1,122 @@
+package kr.co.iscu.assignment.benchmark;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.stock.StockService;
+import kr.co.iscu.assignment.service.stock.StockStatusReadModel;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재고 현황 조회 경로의 JVM 내부 비용.
+ * <p>
+ * DB 대신 미리 만든 결과를 돌려주는 {@link StockRepository} 스텁을 사용하므로 SQL과 네트워크 비용은 포함하지 않습니다.
+ * <ul>
+ *     <li>{@code getStockStatusList}, {@code getProductsBelowSafetyStock}: 읽기 모델에서 조회하여 복사본을 만드는 비용</li>
+ *     <li>{@code reloadReadModel}: 조회 결과 전체로 읽기 모델을 다시 만드는 비용 (시작 시, 주기적 재적재)</li>
+ *     <li>{@code mergeProductsAndStocks}: 상품 목록과 창고별 재고 행을 메모리에서 합쳐 현황을 만드는 비용 (SQL 조인으로 옮기기 전 방식의 기준값)</li>
+ *     <li>{@code statusOf}, {@code isBelowSafetyStock}: 상품 하나당 DTO 생성과 안전재고 판단 비용</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StockStatusBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private List<Product> products;
+    private int[] quantities;
+    private List<Stock> stocks;
+    private List<StockStatusDto> statuses;
+    private StockStatusReadModel readModel;
+    private StockService stockService;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.products(catalogSize);
+        quantities = BenchmarkData.quantities(catalogSize);
+        statuses = BenchmarkData.statuses(products, quantities);
+        // 상품마다 기본 창고와 두 번째 창고에 재고를 나눠 둔다.
+        stocks = new ArrayList<>(catalogSize * 2);
+        for (int i = 0; i < catalogSize; i++) {
+            Long productId = products.get(i).getId();
+            stocks.add(new Stock(productId, Stock.DEFAULT_WAREHOUSE_ID, quantities[i] / 2));
+            stocks.add(new Stock(productId, Stock.DEFAULT_WAREHOUSE_ID + 1, quantities[i] - quantities[i] / 2));
+        }
+
+        StockRepository stockRepository = BenchmarkData.stub(StockRepository.class, Map.of("findStatuses", statuses));
+        readModel = new StockStatusReadModel(stockRepository, null, true, 0, false, "", 0, 0, 0);
+        readModel.reload();
+        stockService = new StockService(stockRepository, null, null, readModel, null, null, null);
+    }
+
+    @Benchmark
+    public List<StockStatusDto> getStockStatusList() {
+        return stockService.getStockStatusList();
+    }
+
+    @Benchmark
+    public List<StockStatusDto> getProductsBelowSafetyStock() {
+        return stockService.getProductsBelowSafetyStock();
+    }
+
+    @Benchmark
+    public StockStatusReadModel reloadReadModel() {
+        readModel.reload();
+        return readModel;
+    }
+
+    @Benchmark
+    public List<StockStatusDto> mergeProductsAndStocks() {
+        Map<Long, Integer> quantityByProduct = new HashMap<>();
+        for (Stock stock : stocks) {
+            quantityByProduct.merge(stock.getProductId(), stock.getQuantity(), Integer::sum);
+        }
+        List<StockStatusDto> merged = new ArrayList<>(products.size());
+        for (Product product : products) {
+            merged.add(StockStatusDto.of(product, quantityByProduct.getOrDefault(product.getId(), 0)));
+        }
+        return merged;
+    }
+
+    @Benchmark
+    public void statusOf(Blackhole blackhole) {
+        for (int i = 0; i < catalogSize; i++) {
+            blackhole.consume(StockStatusDto.of(products.get(i), quantities[i]));
+        }
+    }
+
+    @Benchmark
+    public int isBelowSafetyStock() {
+        int below = 0;
+        for (StockStatusDto status : statuses) {
+            if (status.isBelowSafetyStock()) {
+                below++;
+            }
+        }
+        return below;
+    }
+}
@@ -2,8 +2,14 @@ package kr.co.iscu.assignment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * R2DBC 자동 설정은 ConnectionFactory 빈을 만들면 JDBC DataSource 자동 설정을 끄므로 제외합니다.
+ * reactive 프로파일의 R2DBC 연결은 {@link kr.co.iscu.assignment.config.datasource.R2dbcConfig}에서 따로 만듭니다.
+ */
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class InventoryManagementApplication {
 
     public static void main(String[] args) {
@@ -1,10 +1,47 @@
 package kr.co.iscu.assignment.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import kr.co.iscu.assignment.config.mybatis.MyBatisStatementsEndpoint;
+import kr.co.iscu.assignment.config.mybatis.StatementMetricsInterceptor;
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Properties;
+
 @Configuration
 @MapperScan("kr.co.iscu.assignment.repository")
 public class MyBatisConfig {
 
+    /**
+     * 매핑된 문장별 실행 시간과 행 수를 기록합니다. MyBatis 자동 설정이 Interceptor 빈을 모든 문장에 적용합니다.
+     */
+    @Bean
+    public StatementMetricsInterceptor statementMetricsInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.mybatis.slow-statement-threshold-millis:500}") long slowThresholdMillis) {
+        return new StatementMetricsInterceptor(meterRegistry, Duration.ofMillis(slowThresholdMillis));
+    }
+
+    /**
+     * 매퍼 XML에서 DB마다 다른 문장을 {@code databaseId="mysql"}로 구분합니다. databaseId가 없는 문장은 모든 DB에서 사용합니다.
+     */
+    @Bean
+    public DatabaseIdProvider databaseIdProvider() {
+        Properties vendors = new Properties();
+        vendors.setProperty("MySQL", "mysql");
+        vendors.setProperty("H2", "h2");
+        VendorDatabaseIdProvider provider = new VendorDatabaseIdProvider();
+        provider.setProperties(vendors);
+        return provider;
+    }
+
+    @Bean
+    public MyBatisStatementsEndpoint myBatisStatementsEndpoint(StatementMetricsInterceptor statementMetricsInterceptor) {
+        return new MyBatisStatementsEndpoint(statementMetricsInterceptor);
+    }
 }
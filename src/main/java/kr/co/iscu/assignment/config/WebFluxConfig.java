@@ -0,0 +1,37 @@
+package kr.co.iscu.assignment.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@Profile("reactive")
+public class WebFluxConfig {
+
+    /**
+     * Tomcat도 클래스패스에 있으면 Spring Boot는 WebFlux를 Tomcat 위에 올리므로, reactive 프로파일에서는 Netty를 직접 지정합니다.
+     * server.port 같은 설정은 자동 설정의 커스터마이저가 그대로 적용합니다.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * 입고/출고, 상품 변경처럼 JDBC 트랜잭션을 쓰는 블로킹 작업을 실행하는 스케줄러.
+     * <p>
+     * 공용 boundedElastic은 CPU 코어 수 x 10개까지 스레드를 늘리므로, 코어가 많으면 JDBC 연결 풀보다 많은 스레드가
+     * 연결을 기다리다 시간 초과로 실패합니다. 스레드 수를 연결 풀 크기로 제한해 남는 요청은 이 스케줄러의 큐에서 기다리게 하고,
+     * 큐({@code inventory.reactive.jdbc-queue-size})까지 가득 차면 503으로 거절합니다.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${inventory.reactive.jdbc-queue-size:100000}") int queueSize) {
+        return Schedulers.newBoundedElastic(poolSize, queueSize, "jdbc");
+    }
+}
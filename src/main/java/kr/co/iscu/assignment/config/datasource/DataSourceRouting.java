@@ -0,0 +1,66 @@
+package kr.co.iscu.assignment.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 DB 접근을 어느 DataSource로 보낼지 알려 주는 힌트.
+ * <p>
+ * 읽기/쓰기 분리({@code inventory.datasource.routing.enabled=true})를 켠 경우에만 의미가 있으며,
+ * 끈 경우에는 아무 영향이 없습니다.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> READ_QUERY = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * 블록 안의 조회를 복제본 대신 주 DB에서 실행합니다.
+     * 입고/출고 검증처럼 복제 지연으로 오래된 값을 읽으면 안 되는 조회에 사용합니다.
+     *
+     * @param action 실행할 작업
+     * @return 작업 결과
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            restore(PRIMARY_FORCED, previous);
+        }
+    }
+
+    static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    /**
+     * 트랜잭션 밖에서 실행되는 조회 문장임을 표시합니다. 표시가 없는 문장(DDL, 변경 문장 등)은 주 DB로 보냅니다.
+     *
+     * @return {@link #endReadQuery(Boolean)}에 넘길 이전 값
+     */
+    static Boolean beginReadQuery() {
+        Boolean previous = READ_QUERY.get();
+        READ_QUERY.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void endReadQuery(Boolean previous) {
+        restore(READ_QUERY, previous);
+    }
+
+    static boolean isReadQuery() {
+        return READ_QUERY.get() != null;
+    }
+
+    private static void restore(ThreadLocal<Boolean> holder, Boolean previous) {
+        if (previous == null) {
+            holder.remove();
+        } else {
+            holder.set(previous);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package kr.co.iscu.assignment.config.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * reactive 프로파일의 R2DBC 연결 설정. {@code spring.r2dbc.*} 설정을 사용합니다.
+ * <p>
+ * ConnectionFactory를 빈으로 등록하면 JDBC DataSource 자동 설정이 꺼지므로, 연결 풀은 이 클래스가 직접 들고
+ * {@link DatabaseClient}만 빈으로 노출합니다. 입고/출고 같은 쓰기와 MyBatis는 그대로 JDBC DataSource를 사용합니다.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(R2dbcProperties properties) {
+        if (properties.getUrl() == null) {
+            throw new IllegalStateException("reactive 프로파일에는 spring.r2dbc.url 설정이 필요합니다.");
+        }
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration.builder(ConnectionFactoryBuilder
+                        .withUrl(properties.getUrl())
+                        .username(properties.getUsername())
+                        .password(properties.getPassword())
+                        .build())
+                .name("r2dbc")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .build();
+        connectionPool = new ConnectionPool(configuration);
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
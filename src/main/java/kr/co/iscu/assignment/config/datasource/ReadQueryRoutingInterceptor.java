@@ -0,0 +1,74 @@
+package kr.co.iscu.assignment.config.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 밖의 MyBatis 조회 문장을 복제본으로 보낼 수 있게 표시하고, 변경 문장이 커밋되면 읽기-쓰기 일관성 유지 시간을 시작합니다.
+ * <p>
+ * 트랜잭션 안의 변경은 커밋된 뒤에 기록하며, 같은 트랜잭션의 다른 커밋 후 작업(읽기 모델 갱신 등)보다 먼저 기록하여
+ * 그 작업의 조회도 주 DB로 가게 합니다.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class ReadQueryRoutingInterceptor implements Interceptor {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadQueryRoutingInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if ("update".equals(invocation.getMethod().getName())) {
+            Object result = invocation.proceed();
+            recordWrite();
+            return result;
+        }
+        Boolean previous = DataSourceRouting.beginReadQuery();
+        try {
+            return invocation.proceed();
+        } finally {
+            DataSourceRouting.endReadQuery(previous);
+        }
+    }
+
+    private void recordWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            readYourWritesTracker.recordWrite();
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(readYourWritesTracker)) {
+            TransactionSynchronizationManager.bindResource(readYourWritesTracker, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    readYourWritesTracker.recordWrite();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(readYourWritesTracker);
+                }
+            });
+        }
+    }
+}
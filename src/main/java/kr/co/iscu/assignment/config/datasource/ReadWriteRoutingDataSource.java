@@ -0,0 +1,55 @@
+package kr.co.iscu.assignment.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 작업은 복제본으로, 나머지는 주 DB로 보내는 DataSource.
+ * <p>
+ * 연결을 얻는 시점에 다음 순서로 대상을 정합니다.
+ * <ol>
+ *     <li>쓰기 트랜잭션({@code @Transactional}) 안이면 주 DB</li>
+ *     <li>트랜잭션 밖에서 MyBatis 조회 문장이 아닌 작업(DDL, 변경 문장 등)이면 주 DB</li>
+ *     <li>{@link DataSourceRouting#onPrimary}로 감쌌거나, 현재 클라이언트가 최근에 쓰기를 했으면 주 DB</li>
+ *     <li>그 밖의 읽기 전용 트랜잭션과 트랜잭션 밖의 조회는 복제본</li>
+ * </ol>
+ * 트랜잭션의 읽기 전용 여부는 트랜잭션이 시작된 뒤에 정해지므로
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}로 감싸 첫 문장을 실행할 때 연결을 얻어야 합니다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    Route currentRoute() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return Route.PRIMARY;
+            }
+        } else if (!DataSourceRouting.isReadQuery()) {
+            return Route.PRIMARY;
+        }
+        if (DataSourceRouting.isPrimaryForced() || readYourWritesTracker.wroteRecently()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
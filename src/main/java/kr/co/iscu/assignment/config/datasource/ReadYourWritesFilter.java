@@ -0,0 +1,44 @@
+package kr.co.iscu.assignment.config.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * 요청 스레드에 클라이언트 ID를 연결하고, 성공한 변경 요청 뒤에는 그 클라이언트의 조회를 잠시 주 DB로 보냅니다.
+ * <p>
+ * 클라이언트 ID는 {@value #CLIENT_ID_HEADER} 헤더, 없으면 요청한 주소를 사용합니다.
+ * 응답 후 기록하므로 DB 반영이 백그라운드에서 끝나는 {@code sharded} 처리 방식의 입고/출고도 포함됩니다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        readYourWritesTracker.bindClient(clientId == null || clientId.isBlank() ? request.getRemoteAddr() : clientId);
+        try {
+            filterChain.doFilter(request, response);
+            if (!READ_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+                readYourWritesTracker.recordWrite();
+            }
+        } finally {
+            readYourWritesTracker.clearClient();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package kr.co.iscu.assignment.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+
+/**
+ * 최근에 쓰기를 한 클라이언트를 기억하여, 일정 시간 동안 그 클라이언트의 조회를 주 DB로 보내게 합니다.
+ * <p>
+ * 클라이언트는 {@link ReadYourWritesFilter}가 요청 스레드에 연결한 클라이언트 ID로 구분하며,
+ * 연결된 클라이언트가 없는 스레드(백그라운드 작업 등)는 스레드 단위로 구분합니다.
+ * 복제 지연이 창 크기보다 길면 자기 쓰기가 보이지 않을 수 있습니다.
+ */
+public class ReadYourWritesTracker {
+
+    private static final long MAXIMUM_CLIENTS = 100_000;
+
+    private final ThreadLocal<String> client = new ThreadLocal<>();
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * @param window 쓰기 후 주 DB에서 조회할 시간 (0이면 사용하지 않음)
+     */
+    public ReadYourWritesTracker(Duration window) {
+        this(window, Ticker.systemTicker());
+    }
+
+    ReadYourWritesTracker(Duration window, Ticker ticker) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("읽기-쓰기 일관성 유지 시간은 0 이상이어야 합니다.");
+        }
+        this.recentWriters = window.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_CLIENTS)
+                .expireAfterWrite(window)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * 현재 스레드에서 처리하는 요청의 클라이언트를 지정합니다.
+     *
+     * @param clientId 클라이언트 ID
+     */
+    public void bindClient(String clientId) {
+        client.set(clientId);
+    }
+
+    public void clearClient() {
+        client.remove();
+    }
+
+    /**
+     * 현재 클라이언트(없으면 현재 스레드)가 방금 쓰기를 커밋했다고 기록합니다.
+     */
+    public void recordWrite() {
+        if (recentWriters != null) {
+            recentWriters.put(currentKey(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 현재 클라이언트(없으면 현재 스레드)가 유지 시간 안에 쓰기를 했는지 확인합니다.
+     */
+    public boolean wroteRecently() {
+        return recentWriters != null && recentWriters.getIfPresent(currentKey()) != null;
+    }
+
+    private String currentKey() {
+        String clientId = client.get();
+        return clientId != null ? "client:" + clientId : "thread:" + Thread.currentThread().getId();
+    }
+}
@@ -0,0 +1,41 @@
+package kr.co.iscu.assignment.config.mybatis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MyBatis 문장별 실행 통계를 보여 주는 actuator 엔드포인트 ({@code /actuator/mybatis}).
+ * <p>
+ * 같은 값은 {@value StatementMetricsInterceptor#LATENCY_METRIC} 지표로 {@code /actuator/metrics}에서도 조회할 수 있습니다.
+ */
+@Endpoint(id = "mybatis")
+@RequiredArgsConstructor
+public class MyBatisStatementsEndpoint {
+
+    private final StatementMetricsInterceptor statementMetricsInterceptor;
+
+    /**
+     * 전체 문장의 통계를 총 실행 시간이 긴 순으로 조회합니다.
+     */
+    @ReadOperation
+    public List<StatementStatsDto> statements() {
+        return statementMetricsInterceptor.getStatistics();
+    }
+
+    /**
+     * 이름이 일치하는 문장의 통계를 조회합니다.
+     *
+     * @param statement 매퍼 이름 또는 {@code 매퍼.메서드}
+     */
+    @ReadOperation
+    public List<StatementStatsDto> statement(@Selector String statement) {
+        return statementMetricsInterceptor.getStatistics().stream()
+                .filter(stats -> stats.getStatement().equals(statement) || stats.getStatement().startsWith(statement + "."))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,171 @@
+package kr.co.iscu.assignment.config.mybatis;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 매핑된 SQL 문장별 실행 시간과 처리 행 수를 Micrometer에 기록합니다.
+ * <p>
+ * 문장은 {@code 매퍼.메서드}(예: {@code StockHistoryRepository.summarizeBetweenDates}) 이름으로 구분하며,
+ * 실행 시간은 {@value #LATENCY_METRIC}, 행 수는 {@value #ROWS_METRIC} 지표로 남깁니다.
+ * 조회는 결과 행 수, 변경은 영향받은 행 수를 기록합니다. 커서 조회는 행 수를 알 수 없어 기록하지 않습니다.
+ * 기준 시간보다 오래 걸린 문장은 파라미터와 함께 경고 로그로 남깁니다.
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    public static final String LATENCY_METRIC = "inventory.mybatis.statement";
+    public static final String ROWS_METRIC = "inventory.mybatis.statement.rows";
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final int MAX_LOGGED_PARAMETER_LENGTH = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final ConcurrentMap<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistry 지표를 등록할 레지스트리
+     * @param slowThreshold 이 시간 이상 걸린 문장을 로그로 남김 (0이면 남기지 않음)
+     */
+    public StatementMetricsInterceptor(MeterRegistry meterRegistry, Duration slowThreshold) {
+        if (slowThreshold.isNegative()) {
+            throw new IllegalArgumentException("느린 문장 기준 시간은 0 이상이어야 합니다.");
+        }
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        StatementMeters statementMeters = meters.computeIfAbsent(mappedStatement.getId(),
+                id -> new StatementMeters(mappedStatement));
+        long startedAt = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            long elapsedNanos = System.nanoTime() - startedAt;
+            statementMeters.latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            long rows = countRows(result);
+            statementMeters.rows.record(rows);
+            if (slowThresholdNanos > 0 && elapsedNanos >= slowThresholdNanos) {
+                log.warn("느린 SQL 문장: {} ({} ms, {}행) 파라미터: {}", statementMeters.name,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, abbreviate(invocation.getArgs()[1]));
+            }
+        }
+    }
+
+    /**
+     * 문장별 누적 통계를 총 실행 시간이 긴 순으로 조회합니다. 백분위 값은 최근 몇 분 동안의 실행 시간 기준입니다.
+     */
+    public List<StatementStatsDto> getStatistics() {
+        return meters.values().stream()
+                .map(StatementMeters::toStats)
+                .sorted(Comparator.comparingDouble(StatementStatsDto::getTotalMillis).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static long countRows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        return 0;
+    }
+
+    private static String abbreviate(Object parameter) {
+        String text = String.valueOf(parameter);
+        return text.length() <= MAX_LOGGED_PARAMETER_LENGTH ? text
+                : text.substring(0, MAX_LOGGED_PARAMETER_LENGTH) + "...(" + text.length() + "자)";
+    }
+
+    /**
+     * 패키지를 뗀 {@code 매퍼.메서드} 이름
+     */
+    private static String shortName(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int mapper = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(mapper + 1);
+    }
+
+    private final class StatementMeters {
+
+        private final String name;
+        private final String type;
+        private final Timer latency;
+        private final DistributionSummary rows;
+
+        StatementMeters(MappedStatement mappedStatement) {
+            this.name = shortName(mappedStatement.getId());
+            this.type = mappedStatement.getSqlCommandType().name();
+            this.latency = Timer.builder(LATENCY_METRIC)
+                    .description("MyBatis 문장 실행 시간")
+                    .tag("statement", name)
+                    .tag("type", type)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder(ROWS_METRIC)
+                    .description("MyBatis 문장이 조회하거나 변경한 행 수")
+                    .baseUnit("rows")
+                    .tag("statement", name)
+                    .tag("type", type)
+                    .register(meterRegistry);
+        }
+
+        StatementStatsDto toStats() {
+            HistogramSnapshot snapshot = latency.takeSnapshot();
+            StatementStatsDto.StatementStatsDtoBuilder builder = StatementStatsDto.builder()
+                    .statement(name)
+                    .type(type)
+                    .count(snapshot.count())
+                    .totalMillis(snapshot.total(TimeUnit.MILLISECONDS))
+                    .meanMillis(snapshot.mean(TimeUnit.MILLISECONDS))
+                    .maxMillis(snapshot.max(TimeUnit.MILLISECONDS))
+                    .totalRows((long) rows.totalAmount())
+                    .meanRows(rows.mean());
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                double millis = percentile.value(TimeUnit.MILLISECONDS);
+                if (percentile.percentile() == 0.5) {
+                    builder.p50Millis(millis);
+                } else if (percentile.percentile() == 0.99) {
+                    builder.p99Millis(millis);
+                } else if (percentile.percentile() == 0.999) {
+                    builder.p999Millis(millis);
+                }
+            }
+            return builder.build();
+        }
+    }
+}
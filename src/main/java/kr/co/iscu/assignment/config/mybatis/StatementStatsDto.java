@@ -0,0 +1,29 @@
+package kr.co.iscu.assignment.config.mybatis;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MyBatis 문장 하나의 실행 통계 DTO.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementStatsDto {
+    /** 매퍼.메서드 */
+    private String statement;
+    /** SELECT, INSERT, UPDATE, DELETE */
+    private String type;
+    private Long count;
+    private Double totalMillis;
+    private Double meanMillis;
+    private Double maxMillis;
+    private Double p50Millis;
+    private Double p99Millis;
+    private Double p999Millis;
+    private Long totalRows;
+    private Double meanRows;
+}
@@ -0,0 +1,68 @@
+package kr.co.iscu.assignment.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 시작할 때 DB 스키마 버전이 이 애플리케이션이 기대하는 버전 이상인지 확인합니다.
+ * <p>
+ * {@code schema.sql}은 마지막에 `schema_version`에 자신의 버전을 기록합니다.
+ * 시작할 때마다 DDL을 실행하지 않는다면({@code spring.sql.init.mode: never}, fast-startup 프로파일) DDL은 배포 전에 적용하고,
+ * 이 확인으로 적용 여부만 검사합니다. 스키마는 이전 버전 애플리케이션과 함께 동작하도록 바꾸므로(롤링 배포) DB 버전이 더 높은 것은 허용합니다.
+ * <p>
+ * 매퍼보다 먼저 확인하도록 {@link StartupConfig}가 SqlSessionFactory를 이 빈 뒤에 만들게 하므로, 매퍼 대신 JDBC로 조회합니다.
+ * {@code inventory.schema.check-enabled=false}이면 확인하지 않습니다.
+ */
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+public class SchemaVersionCheck implements InitializingBean {
+
+    /** schema.sql이 기록하는 스키마 버전. schema.sql을 바꾸면 함께 올립니다. */
+    public static final int EXPECTED_VERSION = 2;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    public SchemaVersionCheck(
+            DataSource dataSource,
+            @Value("${inventory.schema.check-enabled:false}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @throws IllegalStateException 스키마 버전을 읽을 수 없거나 기대하는 버전보다 낮은 경우 발생
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        int current = findCurrentVersion();
+        if (current < EXPECTED_VERSION) {
+            throw new IllegalStateException("DB 스키마 버전(" + current + ")이 필요한 버전(" + EXPECTED_VERSION
+                    + ")보다 낮습니다. schema.sql을 적용한 뒤 다시 시작하세요.");
+        }
+        log.info("DB 스키마 버전을 확인했습니다. (DB {}, 필요 {})", current, EXPECTED_VERSION);
+    }
+
+    private int findCurrentVersion() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException("DB 스키마 버전을 읽지 못했습니다. schema_version 테이블이 없다면 schema.sql을 먼저 적용하세요.", e);
+        }
+    }
+}
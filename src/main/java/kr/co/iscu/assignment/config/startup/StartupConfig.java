@@ -0,0 +1,57 @@
+package kr.co.iscu.assignment.config.startup;
+
+import kr.co.iscu.assignment.service.stock.movement.StockMovementProcessor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * 시작 시간과 관련된 설정.
+ *
+ * <p>설명:
+ * - fast-startup 프로파일은 {@code spring.main.lazy-initialization: true}로 빈을 처음 쓸 때 만듭니다.
+ *   다만 요청을 받기 전에 준비를 끝내야 하는 빈(읽기 모델 적재, 아웃박스 전달 시작, WAL 재반영, 스키마 버전 확인)은
+ *   지연시키면 그 작업이 첫 요청으로 밀리거나 아예 실행되지 않으므로 제외합니다.
+ * - 스키마 버전 확인({@link SchemaVersionCheck})이 매퍼보다 먼저 실행되도록 SqlSessionFactory를 그 뒤에 만듭니다.
+ * - {@code inventory.startup.exit-after-ready=true}이면 요청을 받을 준비가 끝나자마자 종료합니다. (AppCDS 클래스 목록을 만드는 학습 실행용)
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String SQL_SESSION_FACTORY = "sqlSessionFactory";
+    private static final String SCHEMA_VERSION_CHECK = "schemaVersionCheck";
+
+    /**
+     * SmartInitializingSingleton은 지연 초기화된 빈에는 호출되지 않고, 입출고 처리기는 생성 직후 WAL을 재반영하므로 미리 만듭니다.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                SmartInitializingSingleton.class, StockMovementProcessor.class, SchemaVersionCheck.class);
+    }
+
+    @Bean
+    public static BeanFactoryPostProcessor sqlSessionFactoryAfterSchemaVersionCheck() {
+        return beanFactory -> {
+            if (!beanFactory.containsBeanDefinition(SQL_SESSION_FACTORY) || !beanFactory.containsBeanDefinition(SCHEMA_VERSION_CHECK)) {
+                return;
+            }
+            BeanDefinition definition = beanFactory.getBeanDefinition(SQL_SESSION_FACTORY);
+            definition.setDependsOn(ObjectUtils.addObjectToArray(definition.getDependsOn(), SCHEMA_VERSION_CHECK));
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "inventory.startup.exit-after-ready", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> exitAfterReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -2,9 +2,11 @@ package kr.co.iscu.assignment.controller;
 
 import kr.co.iscu.assignment.domain.product.Product;
 import kr.co.iscu.assignment.service.product.ProductService;
+import kr.co.iscu.assignment.service.product.dto.ProductCacheStatsDto;
 import kr.co.iscu.assignment.service.product.dto.ProductCreateDto;
 import kr.co.iscu.assignment.service.product.dto.ProductUpdateDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,9 +14,10 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 /**
- * 상품 관리 REST API 컨트롤러
+ * 상품 관리 REST API 컨트롤러 (reactive 프로파일에서는 {@link ReactiveProductController})
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
@@ -83,4 +86,14 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * 입고/출고 경로에서 사용하는 상품 캐시의 적중/미적중 통계를 조회합니다.
+     *
+     * @return 캐시 통계
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ProductCacheStatsDto> getProductCacheStats() {
+        return ResponseEntity.ok(productService.getProductCacheStats());
+    }
 }
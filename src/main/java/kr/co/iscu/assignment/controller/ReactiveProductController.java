@@ -0,0 +1,103 @@
+package kr.co.iscu.assignment.controller;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.service.product.ProductService;
+import kr.co.iscu.assignment.service.product.ReactiveProductService;
+import kr.co.iscu.assignment.service.product.dto.ProductCacheStatsDto;
+import kr.co.iscu.assignment.service.product.dto.ProductCreateDto;
+import kr.co.iscu.assignment.service.product.dto.ProductUpdateDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 상품 관리 REST API 컨트롤러 (reactive 프로파일, WebFlux)
+ * <p>
+ * {@link ProductController}와 같은 경로와 요청/응답 형식을 제공합니다.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class ReactiveProductController {
+
+    private final ReactiveProductService reactiveProductService;
+    private final ProductService productService;
+
+    /**
+     * 새로운 상품을 등록합니다.
+     *
+     * @param createDto 상품 생성 정보
+     * @return 생성된 상품 정보
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Product>> createProduct(@RequestBody ProductCreateDto createDto) {
+        return reactiveProductService.createProduct(createDto)
+                .map(product -> ResponseEntity.status(HttpStatus.CREATED).body(product));
+    }
+
+    /**
+     * 모든 상품 목록을 조회합니다.
+     *
+     * @return 상품 목록 (application/x-ndjson이면 한 건씩 스트리밍)
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Product> getAllProducts() {
+        return reactiveProductService.getAllProducts();
+    }
+
+    /**
+     * ID로 특정 상품을 조회합니다.
+     *
+     * @param id 상품 ID
+     * @return 상품 정보
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Product>> getProductById(@PathVariable Long id) {
+        return reactiveProductService.getProductById(id)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 상품 정보를 수정합니다.
+     *
+     * @param id        상품 ID
+     * @param updateDto 상품 수정 정보
+     * @return 수정된 상품 정보
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Product>> updateProduct(
+            @PathVariable Long id,
+            @RequestBody ProductUpdateDto updateDto) {
+        return reactiveProductService.updateProduct(id, updateDto)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 상품을 삭제합니다.
+     * 재고가 0인 경우에만 삭제 가능합니다.
+     *
+     * @param id 상품 ID
+     * @return 응답 상태
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteProduct(@PathVariable Long id) {
+        return reactiveProductService.deleteProduct(id)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * 입고/출고 경로에서 사용하는 상품 캐시의 적중/미적중 통계를 조회합니다. (메모리 조회)
+     *
+     * @return 캐시 통계
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ProductCacheStatsDto> getProductCacheStats() {
+        return ResponseEntity.ok(productService.getProductCacheStats());
+    }
+}
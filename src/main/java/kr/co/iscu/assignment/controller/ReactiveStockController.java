@@ -0,0 +1,217 @@
+package kr.co.iscu.assignment.controller;
+
+import kr.co.iscu.assignment.controller.StockController.InboundRequest;
+import kr.co.iscu.assignment.controller.StockController.OutboundRequest;
+import kr.co.iscu.assignment.controller.StockController.OutboundResponse;
+import kr.co.iscu.assignment.domain.InventoryStatistics;
+import kr.co.iscu.assignment.service.stock.ReactiveStockService;
+import kr.co.iscu.assignment.service.stock.StockAlertBroadcaster;
+import kr.co.iscu.assignment.service.stock.StockHistoryExportFormat;
+import kr.co.iscu.assignment.service.stock.dto.StockAlertDto;
+import kr.co.iscu.assignment.service.stock.dto.StockHistoryPageDto;
+import kr.co.iscu.assignment.service.stock.dto.StockLedgerRebuildResultDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusPageDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재고 관리 REST API 컨트롤러 (reactive 프로파일, WebFlux)
+ * <p>
+ * {@link StockController}와 같은 경로와 요청/응답 형식을 제공합니다.
+ * 목록 응답은 {@code Accept: application/x-ndjson}으로 요청하면 한 건씩 흘려보내며, 클라이언트가 읽는 속도에 맞춰 DB에서 읽습니다.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/stocks")
+@RequiredArgsConstructor
+public class ReactiveStockController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final ReactiveStockService reactiveStockService;
+    private final StockAlertBroadcaster stockAlertBroadcaster;
+
+    /**
+     * 상품 입고 처리
+     *
+     * @param productId      상품 ID
+     * @param request        입고 수량과 창고 ID (창고를 생략하면 기본 창고)
+     * @param idempotencyKey 재시도 시 중복 입고를 막기 위한 키 (선택)
+     * @return 응답 상태
+     */
+    @PostMapping("/{productId}/inbound")
+    public Mono<ResponseEntity<Void>> inbound(
+            @PathVariable Long productId,
+            @RequestBody InboundRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return reactiveStockService.inbound(productId, request.getWarehouseId(), request.getQuantity(), idempotencyKey)
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).build());
+    }
+
+    /**
+     * 상품 출고 처리
+     *
+     * @param productId      상품 ID
+     * @param request        출고 수량과 창고 ID (창고를 생략하면 기본 창고)
+     * @param idempotencyKey 재시도 시 중복 출고를 막기 위한 키 (선택)
+     * @return 출고 후 상품 재고(모든 창고 합계)의 안전재고 미만 여부
+     */
+    @PostMapping("/{productId}/outbound")
+    public Mono<ResponseEntity<OutboundResponse>> outbound(
+            @PathVariable Long productId,
+            @RequestBody OutboundRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return reactiveStockService.outbound(productId, request.getWarehouseId(), request.getQuantity(), idempotencyKey)
+                .map(isBelowSafety -> ResponseEntity.ok(new OutboundResponse(isBelowSafety)));
+    }
+
+    /**
+     * 여러 건의 입고/출고 일괄 처리
+     *
+     * @param movements      입고/출고 목록
+     * @param idempotencyKey 재시도 시 중복 처리를 막기 위한 키 (선택)
+     * @return 건별 처리 결과 (출고 후 안전재고 미만 여부 포함)
+     */
+    @PostMapping("/movements:batch")
+    public Mono<ResponseEntity<List<StockMovementResultDto>>> processMovements(
+            @RequestBody List<StockMovementDto> movements,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return reactiveStockService.processMovements(movements, idempotencyKey)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 특정 상품의 재고 거래 이력 조회 (최신순, 커서 기반 페이지)
+     *
+     * @param productId 상품 ID
+     * @param cursor    이전 응답의 next 토큰 (첫 페이지면 생략)
+     * @param size      페이지 크기 (생략하면 기본값)
+     * @return 재고 이력 한 페이지
+     */
+    @GetMapping("/{productId}/histories")
+    public Mono<ResponseEntity<StockHistoryPageDto>> getStockHistories(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return reactiveStockService.getStockHistories(productId, cursor, size)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 전체 상품의 재고 이력 내보내기 (NDJSON 또는 CSV 스트리밍)
+     *
+     * @param format    내보내기 형식 (ndjson, csv)
+     * @param startDate 시작일 (생략하면 처음부터)
+     * @param endDate   종료일 (생략하면 끝까지)
+     * @return 이력을 한 행씩 흘려보내는 응답 본문
+     */
+    @GetMapping("/histories:export")
+    public ResponseEntity<Flux<String>> exportStockHistories(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        StockHistoryExportFormat exportFormat = StockHistoryExportFormat.from(format);
+        Flux<String> body = reactiveStockService.exportHistories(exportFormat, startDate, endDate);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"stock-histories." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * 상품별 재고 현황 조회 (페이지, 정렬, 필터)
+     *
+     * @param page        0부터 시작하는 페이지 번호
+     * @param size        페이지 크기
+     * @param sort        정렬 기준 (예: currentQuantity,desc)
+     * @param category    카테고리
+     * @param belowSafety true이면 안전재고 미만 상품만 조회
+     * @return 재고 현황 한 페이지
+     */
+    @GetMapping("/status")
+    public Mono<ResponseEntity<StockStatusPageDto>> getStockStatusList(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean belowSafety) {
+        return reactiveStockService.getStockStatusPage(page, size, sort, category, belowSafety)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 안전재고 미만인 상품 목록 조회
+     *
+     * @return 안전재고 미만 상품 목록 (application/x-ndjson이면 한 건씩 스트리밍)
+     */
+    @GetMapping(path = "/status/below-safety", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<StockStatusDto> getProductsBelowSafetyStock() {
+        return reactiveStockService.getProductsBelowSafetyStock();
+    }
+
+    /**
+     * 안전재고 기준을 넘나든 상품 알림 구독 (Server-Sent Events)
+     * <p>
+     * 재접속 시 Last-Event-ID 헤더를 보내면 그 이후의 알림 중 서버 버퍼에 남아 있는 알림부터 이어서 받습니다.
+     *
+     * @param lastEventId 마지막으로 받은 알림 ID (형식이 잘못되면 무시)
+     * @return 알림 스트림
+     */
+    @GetMapping(path = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<StockAlertDto>> streamAlerts(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeAfter = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeAfter = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // 이 서버가 발급하지 않은 ID는 처음 구독으로 처리한다.
+            }
+        }
+        return stockAlertBroadcaster.stream(resumeAfter);
+    }
+
+    /**
+     * 재고 이력(원장)으로 전체 상품의 재고 수량을 다시 계산
+     * (transactional 처리 방식에서만 사용 가능)
+     *
+     * @return 재계산 결과 (수량을 고친 상품 수 포함)
+     */
+    @PostMapping("/ledger:rebuild")
+    public Mono<ResponseEntity<StockLedgerRebuildResultDto>> rebuildLedger() {
+        return reactiveStockService.rebuildLedger()
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 특정 상품의 기간별 재고 통계 조회
+     *
+     * @param productId 상품 ID
+     * @param startDate 시작일
+     * @param endDate   종료일
+     * @return 재고 통계
+     */
+    @GetMapping("/{productId}/statistics")
+    public Mono<ResponseEntity<InventoryStatistics>> getInventoryStatistics(
+            @PathVariable Long productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return reactiveStockService.getInventoryStatistics(productId, startDate, endDate)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -1,80 +1,157 @@
 package kr.co.iscu.assignment.controller;
 
 import kr.co.iscu.assignment.domain.InventoryStatistics;
-import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.service.stock.StockAlertBroadcaster;
+import kr.co.iscu.assignment.service.stock.StockHistoryExportFormat;
+import kr.co.iscu.assignment.service.stock.StockHistoryExporter;
+import kr.co.iscu.assignment.service.stock.StockLedgerRebuilder;
 import kr.co.iscu.assignment.service.stock.StockService;
+import kr.co.iscu.assignment.service.stock.dto.StockHistoryPageDto;
+import kr.co.iscu.assignment.service.stock.dto.StockLedgerRebuildResultDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
 import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusPageDto;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 /**
- * 재고 관리 REST API 컨트롤러
+ * 재고 관리 REST API 컨트롤러 (reactive 프로파일에서는 {@link ReactiveStockController})
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/stocks")
 @RequiredArgsConstructor
 public class StockController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final StockService stockService;
+    private final StockHistoryExporter stockHistoryExporter;
+    private final StockAlertBroadcaster stockAlertBroadcaster;
+    private final StockLedgerRebuilder stockLedgerRebuilder;
 
     /**
      * 상품 입고 처리
      *
-     * @param productId 상품 ID
-     * @param request   입고 수량
+     * @param productId      상품 ID
+     * @param request        입고 수량과 창고 ID (창고를 생략하면 기본 창고)
+     * @param idempotencyKey 재시도 시 중복 입고를 막기 위한 키 (선택)
      * @return 응답 상태
      */
     @PostMapping("/{productId}/inbound")
     public ResponseEntity<Void> inbound(
             @PathVariable Long productId,
-            @RequestBody InboundRequest request) {
-        stockService.inbound(productId, request.getQuantity());
+            @RequestBody InboundRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        stockService.inbound(productId, request.getWarehouseId(), request.getQuantity(), idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
     /**
      * 상품 출고 처리
      *
-     * @param productId 상품 ID
-     * @param request   출고 수량
-     * @return 출고 후 안전재고 미만 여부
+     * @param productId      상품 ID
+     * @param request        출고 수량과 창고 ID (창고를 생략하면 기본 창고)
+     * @param idempotencyKey 재시도 시 중복 출고를 막기 위한 키 (선택)
+     * @return 출고 후 상품 재고(모든 창고 합계)의 안전재고 미만 여부
      */
     @PostMapping("/{productId}/outbound")
     public ResponseEntity<OutboundResponse> outbound(
             @PathVariable Long productId,
-            @RequestBody OutboundRequest request) {
-        boolean isBelowSafety = stockService.outbound(productId, request.getQuantity());
+            @RequestBody OutboundRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        boolean isBelowSafety = stockService.outbound(productId, request.getWarehouseId(), request.getQuantity(), idempotencyKey);
         return ResponseEntity.ok(new OutboundResponse(isBelowSafety));
     }
 
     /**
-     * 특정 상품의 재고 거래 이력 조회
+     * 여러 건의 입고/출고 일괄 처리
+     *
+     * @param movements      입고/출고 목록
+     * @param idempotencyKey 재시도 시 중복 처리를 막기 위한 키 (선택)
+     * @return 건별 처리 결과 (출고 후 안전재고 미만 여부 포함)
+     */
+    @PostMapping("/movements:batch")
+    public ResponseEntity<List<StockMovementResultDto>> processMovements(
+            @RequestBody List<StockMovementDto> movements,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        List<StockMovementResultDto> results = stockService.processMovements(movements, idempotencyKey);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * 특정 상품의 재고 거래 이력 조회 (최신순, 커서 기반 페이지)
      *
      * @param productId 상품 ID
-     * @return 재고 이력 목록
+     * @param cursor    이전 응답의 next 토큰 (첫 페이지면 생략)
+     * @param size      페이지 크기 (생략하면 기본값)
+     * @return 재고 이력 한 페이지
      */
     @GetMapping("/{productId}/histories")
-    public ResponseEntity<List<StockHistory>> getStockHistories(@PathVariable Long productId) {
-        List<StockHistory> histories = stockService.getStockHistories(productId);
-        return ResponseEntity.ok(histories);
+    public ResponseEntity<StockHistoryPageDto> getStockHistories(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        StockHistoryPageDto page = stockService.getStockHistories(productId, cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     /**
-     * 전체 상품의 재고 현황 조회
+     * 전체 상품의 재고 이력 내보내기 (NDJSON 또는 CSV 스트리밍)
      *
-     * @return 재고 현황 목록
+     * @param format    내보내기 형식 (ndjson, csv)
+     * @param startDate 시작일 (생략하면 처음부터)
+     * @param endDate   종료일 (생략하면 끝까지)
+     * @return 이력을 한 행씩 기록하는 응답 본문
+     */
+    @GetMapping("/histories:export")
+    public ResponseEntity<StreamingResponseBody> exportStockHistories(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        StockHistoryExportFormat exportFormat = StockHistoryExportFormat.from(format);
+        stockHistoryExporter.validateRange(startDate, endDate);
+
+        StreamingResponseBody body = output -> stockHistoryExporter.export(exportFormat, startDate, endDate, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"stock-histories." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * 상품별 재고 현황 조회 (페이지, 정렬, 필터)
+     *
+     * @param page        0부터 시작하는 페이지 번호
+     * @param size        페이지 크기
+     * @param sort        정렬 기준 (예: currentQuantity,desc)
+     * @param category    카테고리
+     * @param belowSafety true이면 안전재고 미만 상품만 조회
+     * @return 재고 현황 한 페이지
      */
     @GetMapping("/status")
-    public ResponseEntity<List<StockStatusDto>> getStockStatusList() {
-        List<StockStatusDto> statusList = stockService.getStockStatusList();
-        return ResponseEntity.ok(statusList);
+    public ResponseEntity<StockStatusPageDto> getStockStatusList(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean belowSafety) {
+        StockStatusPageDto statusPage = stockService.getStockStatusPage(page, size, sort, category, belowSafety);
+        return ResponseEntity.ok(statusPage);
     }
 
     /**
@@ -88,6 +165,39 @@ public class StockController {
         return ResponseEntity.ok(belowList);
     }
 
+    /**
+     * 안전재고 기준을 넘나든 상품 알림 구독 (Server-Sent Events)
+     * <p>
+     * 재접속 시 Last-Event-ID 헤더를 보내면 그 이후의 알림 중 서버 버퍼에 남아 있는 알림부터 이어서 받습니다.
+     *
+     * @param lastEventId 마지막으로 받은 알림 ID (형식이 잘못되면 무시)
+     * @return 알림 스트림
+     */
+    @GetMapping(path = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeAfter = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeAfter = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // 이 서버가 발급하지 않은 ID는 처음 구독으로 처리한다.
+            }
+        }
+        return stockAlertBroadcaster.subscribe(resumeAfter);
+    }
+
+    /**
+     * 재고 이력(원장)으로 전체 상품의 재고 수량을 다시 계산
+     * (transactional 처리 방식에서만 사용 가능)
+     *
+     * @return 재계산 결과 (수량을 고친 상품 수 포함)
+     */
+    @PostMapping("/ledger:rebuild")
+    public ResponseEntity<StockLedgerRebuildResultDto> rebuildLedger() {
+        StockLedgerRebuildResultDto result = stockLedgerRebuilder.rebuild();
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * 특정 상품의 기간별 재고 통계 조회
      *
@@ -110,6 +220,7 @@ public class StockController {
      */
     @Data
     public static class InboundRequest {
+        private Long warehouseId;
         private Integer quantity;
     }
 
@@ -118,6 +229,7 @@ public class StockController {
      */
     @Data
     public static class OutboundRequest {
+        private Long warehouseId;
         private Integer quantity;
     }
 
@@ -9,17 +9,19 @@ import lombok.NoArgsConstructor;
  * 현재 재고 상태를 단순화하여 표현하는 도메인 객체.
  *
  * <p>설명:
- * 각 상품별 현재 보유 수량을 나타냅니다. 보통 별도의 `stock` 테이블이나
- * 상품 테이블의 재고 컬럼과 매핑됩니다. 재고 증감은 입고/출고 처리 로직에서
- * 동기화되어야 합니다.
+ * 상품·창고별 현재 보유 수량을 나타냅니다. `stock` 테이블의 (product_id, warehouse_id) 행과 매핑되며,
+ * 창고마다 행이 따로 있으므로 서로 다른 창고의 입고/출고는 같은 행 잠금을 기다리지 않습니다.
+ * 재고 증감은 입고/출고 처리 로직에서 동기화되어야 합니다.
  *
  * <p>필드:
  * - productId: 대상 상품의 PK
+ * - warehouseId: 창고 ID (창고를 지정하지 않으면 {@link #DEFAULT_WAREHOUSE_ID})
  * - quantity: 현재 보유 수량
  *
  * <p>예시 사용:
  * <pre>
- * Stock s = new Stock(1L, 250);
+ * Stock s = new Stock(1L, 2L, 250);
+ * Stock defaultWarehouse = new Stock(1L, 250);
  * </pre>
  */
 @Data
@@ -28,10 +30,22 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class Stock {
 
+    /** 창고를 지정하지 않은 입고/출고와 기존 재고가 속하는 기본 창고 ID */
+    public static final long DEFAULT_WAREHOUSE_ID = 1L;
+
     /** 대상 상품 ID (product.id) */
     private Long productId;
 
+    /** 창고 ID (여러 창고의 합계를 조회한 경우 null) */
+    private Long warehouseId;
+
     /** 현재 재고 수량 */
     private Integer quantity;
 
+    /**
+     * 기본 창고의 재고
+     */
+    public Stock(Long productId, Integer quantity) {
+        this(productId, DEFAULT_WAREHOUSE_ID, quantity);
+    }
 }
@@ -0,0 +1,59 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 수량을 원자적으로 증감할 때 사용하는 파라미터 객체.
+ *
+ * <p>설명:
+ * `stock` 테이블을 읽지 않고 단일 조건부 UPDATE 문으로 수량을 증감합니다.
+ * 변경 후 수량은 같은 왕복(round trip)에서 `quantity` 필드로 돌려받습니다.
+ *
+ * <p>필드:
+ * - productId: 대상 상품의 PK
+ * - warehouseId: 대상 창고 ID
+ * - amount: 증감할 수량 (항상 양수)
+ * - quantity: 변경 후 재고 수량 (실행 결과)
+ *
+ * <p>예시 사용:
+ * <pre>
+ * StockAdjustment adjustment = StockAdjustment.of(1L, 2L, 20);
+ * if (stockRepository.decreaseQuantity(adjustment) == 0) {
+ *     // 재고 부족
+ * }
+ * int remaining = adjustment.getQuantity();
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustment {
+
+    /** 대상 상품 ID (product.id) */
+    private Long productId;
+
+    /** 대상 창고 ID */
+    private Long warehouseId;
+
+    /** 증감할 수량 */
+    private Integer amount;
+
+    /**
+     * 변경 후 재고 수량.
+     * 결과가 0이면 드라이버가 값을 돌려주지 않으므로 기본값 0을 유지합니다.
+     */
+    private Integer quantity = 0;
+
+    public static StockAdjustment of(Long productId, Long warehouseId, int amount) {
+        return new StockAdjustment(productId, warehouseId, amount, 0);
+    }
+
+    /**
+     * 기본 창고의 재고를 증감할 때 사용합니다.
+     */
+    public static StockAdjustment of(Long productId, int amount) {
+        return of(productId, Stock.DEFAULT_WAREHOUSE_ID, amount);
+    }
+}
@@ -22,6 +22,10 @@ public class StockHistory {
     /** 상품 ID (FK) */
     private Long productId;
 
+    /** 창고 ID (지정하지 않으면 기본 창고) */
+    @Builder.Default
+    private Long warehouseId = Stock.DEFAULT_WAREHOUSE_ID;
+
     /** 거래 유형 (INBOUND, OUTBOUND) */
     private StockEventType eventType;
 
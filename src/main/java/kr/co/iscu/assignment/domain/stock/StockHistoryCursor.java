@@ -0,0 +1,66 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 재고 이력 페이지 조회의 위치를 나타내는 커서.
+ *
+ * <p>설명:
+ * 이력은 `(created_at DESC, history_id DESC)` 순으로 조회하므로, 마지막으로 읽은 행의 두 값만 있으면
+ * 다음 페이지를 OFFSET 없이 인덱스 범위 조회로 이어서 읽을 수 있습니다.
+ * 클라이언트에는 내부 구조를 드러내지 않도록 URL-safe Base64 문자열로 인코딩해 전달합니다.
+ *
+ * <p>필드:
+ * - createdAt: 마지막으로 읽은 이력의 거래일시
+ * - historyId: 마지막으로 읽은 이력의 PK
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistoryCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /** 마지막으로 읽은 이력의 거래일시 */
+    private LocalDateTime createdAt;
+
+    /** 마지막으로 읽은 이력의 PK */
+    private Long historyId;
+
+    public static StockHistoryCursor after(StockHistory history) {
+        return new StockHistoryCursor(history.getCreatedAt(), history.getHistoryId());
+    }
+
+    /**
+     * 클라이언트에 전달할 불투명한 토큰으로 인코딩합니다.
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + historyId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@link #encode()}로 만든 토큰을 커서로 되돌립니다.
+     *
+     * @throws IllegalArgumentException 형식이 올바르지 않은 토큰일 경우 발생
+     */
+    public static StockHistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new StockHistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // Base64 디코딩 오류와 NumberFormatException은 IllegalArgumentException 하위 타입이다.
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
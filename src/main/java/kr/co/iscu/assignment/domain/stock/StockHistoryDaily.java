@@ -0,0 +1,40 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 상품·창고·일자·거래 유형별 거래 수량 합계 (일별 집계) 도메인 객체.
+ *
+ * <p>설명:
+ * `stock_history`를 일 단위로 미리 합산해 둔 `stock_history_daily` 테이블과 매핑됩니다.
+ * 입출고 이력이 저장되는 트랜잭션에서 함께 갱신되므로, 기간 통계는 하루 전체가 포함되는 날짜를
+ * 원본 이력 대신 이 집계에서 읽습니다.
+ * 창고별로 행을 나누어, 서로 다른 창고의 입고/출고가 같은 집계 행을 갱신하려고 기다리지 않습니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistoryDaily {
+
+    /** 상품 ID */
+    private Long productId;
+
+    /** 창고 ID (지정하지 않으면 기본 창고) */
+    @Builder.Default
+    private Long warehouseId = Stock.DEFAULT_WAREHOUSE_ID;
+
+    /** 집계 일자 (거래일시의 날짜) */
+    private LocalDate statDate;
+
+    /** 거래 유형 (INBOUND, OUTBOUND) */
+    private StockEventType eventType;
+
+    /** 일자 내 거래 수량 합계 */
+    private Long quantity;
+}
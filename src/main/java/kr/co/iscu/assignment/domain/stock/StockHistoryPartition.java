@@ -0,0 +1,56 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * `stock_history`의 월별 파티션.
+ *
+ * <p>설명:
+ * `stock_history`는 `UNIX_TIMESTAMP(created_at)` 기준으로 한 달에 하나씩 범위 파티션을 나누고,
+ * 아직 만들지 않은 달의 이력은 마지막 {@link #FUTURE} 파티션(MAXVALUE)에 들어갑니다.
+ * 파티션 이름은 {@code p} 뒤에 연월을 붙여({@code p202610}) 이름만으로 담긴 달을 알 수 있게 합니다.
+ * 가장 오래된 월별 파티션에는 그 달 이전의 이력도 함께 들어 있습니다.
+ *
+ * <p>필드:
+ * - name: 파티션 이름
+ * - upperBound: 이 날짜(다음 달 1일) 0시 전의 이력을 담음
+ */
+@Data
+@AllArgsConstructor
+public class StockHistoryPartition {
+
+    /** 아직 월별 파티션이 없는 이력을 담는 마지막 파티션 */
+    public static final String FUTURE = "p_future";
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    /** 파티션 이름 (예: p202610) */
+    private String name;
+
+    /** 파티션 상한 (다음 달 1일, 미포함) */
+    private LocalDate upperBound;
+
+    public static StockHistoryPartition of(YearMonth month) {
+        return new StockHistoryPartition(NAME_FORMAT.format(month), month.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * 월별 파티션 이름에서 연월을 읽습니다.
+     *
+     * @return {@link #FUTURE}처럼 월별 파티션이 아니면 빈 값
+     */
+    public static Optional<YearMonth> monthOf(String name) {
+        try {
+            return Optional.of(YearMonth.parse(name, NAME_FORMAT));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 처리한 입고/출고 요청의 Idempotency-Key와 그 응답 도메인 객체.
+ *
+ * <p>설명:
+ * `stock_idempotency_key` 테이블과 매핑되며, 입고/출고와 같은 트랜잭션에서 저장됩니다.
+ * 입고/출고를 다른 트랜잭션에서 반영하는 처리 방식에서는 실행 전에 응답 없이 먼저 저장하고, 처리가 끝나면 응답을 기록합니다.
+ * 같은 키로 다시 요청이 오면 입고/출고를 다시 실행하지 않고 저장된 응답을 돌려줍니다.
+ *
+ * <p>필드:
+ * - idempotencyKey: 클라이언트가 보낸 Idempotency-Key (PK)
+ * - requestHash: 요청 내용의 SHA-256 (같은 키로 다른 요청을 보냈는지 확인)
+ * - response: 처음 처리한 응답 (JSON). 입고/출고를 실행하기 전에 키를 선점한 경우 처리가 끝날 때까지 null
+ * - createdAt: 처리 시각
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockIdempotencyRecord {
+
+    /** 클라이언트가 보낸 Idempotency-Key */
+    private String idempotencyKey;
+
+    /** 요청 내용의 SHA-256 (16진수) */
+    private String requestHash;
+
+    /** 처음 처리한 응답 (JSON, 처리 중이면 null) */
+    private String response;
+
+    /** 처리 시각 */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,43 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * `stock` 테이블 행 하나를 가리키는 (상품, 창고) 키.
+ *
+ * <p>설명:
+ * 재고 행 잠금과 메모리 재고 맵의 키로 사용합니다.
+ * 여러 행을 잠글 때 교착 상태를 피하도록 (productId, warehouseId) 순으로 정렬됩니다.
+ *
+ * <p>예시 사용:
+ * <pre>
+ * Set&lt;StockKey&gt; keys = new TreeSet&lt;&gt;(List.of(StockKey.of(1L, 2L), StockKey.of(1L, 1L)));
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockKey implements Comparable<StockKey> {
+
+    /** 상품 ID (product.id) */
+    private Long productId;
+
+    /** 창고 ID */
+    private Long warehouseId;
+
+    public static StockKey of(Long productId, Long warehouseId) {
+        return new StockKey(productId, warehouseId);
+    }
+
+    public static StockKey of(Stock stock) {
+        return new StockKey(stock.getProductId(), stock.getWarehouseId());
+    }
+
+    @Override
+    public int compareTo(StockKey other) {
+        int compared = productId.compareTo(other.productId);
+        return compared != 0 ? compared : warehouseId.compareTo(other.warehouseId);
+    }
+}
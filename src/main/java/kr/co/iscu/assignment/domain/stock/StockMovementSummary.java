@@ -0,0 +1,25 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 특정 상품의 기간 내 입고/출고 합계와 현재 재고를 한 번에 담는 조회 결과 객체.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementSummary {
+
+    /** 기간 내 총 입고량 */
+    private Integer totalInbound;
+
+    /** 기간 내 총 출고량 */
+    private Integer totalOutbound;
+
+    /** 현재 재고량 (재고 행이 없으면 0) */
+    private Integer currentQuantity;
+}
@@ -0,0 +1,52 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 외부 시스템에 전달할 입고/출고 이벤트 (아웃박스) 도메인 객체.
+ *
+ * <p>설명:
+ * `stock_history`와 같은 트랜잭션에서 `stock_outbox` 테이블에 저장되므로,
+ * 커밋된 입고/출고는 빠짐없이, 롤백된 입고/출고는 전혀 전달되지 않습니다.
+ * 전달은 요청 처리와 별개로 백그라운드에서 이루어지며, 같은 상품·창고의 이벤트는 {@code outboxId} 순서대로 전달됩니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockOutboxEvent {
+
+    /** 이벤트 ID (PK, 상품·창고별 전달 순서) */
+    private Long outboxId;
+
+    /** 상품 ID */
+    private Long productId;
+
+    /** 창고 ID (지정하지 않으면 기본 창고) */
+    @Builder.Default
+    private Long warehouseId = Stock.DEFAULT_WAREHOUSE_ID;
+
+    /** 거래 유형 (INBOUND, OUTBOUND) */
+    private StockEventType eventType;
+
+    /** 거래 수량 */
+    private Integer quantity;
+
+    /** 거래일시 */
+    private LocalDateTime occurredAt;
+
+    public static StockOutboxEvent of(StockHistory history) {
+        return StockOutboxEvent.builder()
+                .productId(history.getProductId())
+                .warehouseId(history.getWarehouseId())
+                .eventType(history.getEventType())
+                .quantity(history.getQuantity())
+                .occurredAt(history.getCreatedAt())
+                .build();
+    }
+}
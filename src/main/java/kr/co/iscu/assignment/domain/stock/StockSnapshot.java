@@ -0,0 +1,45 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품·창고별 재고 원장 스냅샷 도메인 객체.
+ *
+ * <p>설명:
+ * `stock_history`를 재고의 원장(source of truth)으로 보고, 특정 이력까지 반영한 수량을 `stock_snapshot` 테이블에 저장합니다.
+ * 현재 수량은 스냅샷 수량에 {@code lastHistoryId} 이후 이력(tail)을 더해 다시 계산할 수 있으므로,
+ * 재계산 비용이 전체 이력이 아니라 마지막 스냅샷 이후의 이력 수에 비례합니다.
+ *
+ * <p>필드:
+ * - productId: 대상 상품의 PK
+ * - warehouseId: 창고 ID
+ * - quantity: lastHistoryId까지의 입고 합계 - 출고 합계
+ * - lastHistoryId: 스냅샷에 반영한 마지막 이력 ID
+ * - snapshotAt: 스냅샷 갱신 시각
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+
+    /** 대상 상품 ID (product.id) */
+    private Long productId;
+
+    /** 창고 ID */
+    private Long warehouseId;
+
+    /** lastHistoryId까지 반영한 재고 수량 */
+    private Integer quantity;
+
+    /** 반영한 마지막 이력 ID (stock_history.history_id) */
+    private Long lastHistoryId;
+
+    /** 스냅샷 갱신 시각 */
+    private LocalDateTime snapshotAt;
+}
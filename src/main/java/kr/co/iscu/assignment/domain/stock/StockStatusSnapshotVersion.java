@@ -0,0 +1,26 @@
+package kr.co.iscu.assignment.domain.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재고 현황 스냅샷 파일이 반영하고 있는 DB 시점.
+ *
+ * <p>설명:
+ * 재고 수량은 입고/출고 이력과 함께 바뀌므로 마지막 이력 ID로, 상품 정보는 `product.updated_at`으로 이후 변경을 찾습니다.
+ * 두 값은 스냅샷에 담을 재고 현황을 읽기 전에 조회하므로, 스냅샷에는 이 시점 이후의 변경이 일부 섞여 있을 수는 있어도 빠지지는 않습니다.
+ *
+ * <p>필드:
+ * - lastHistoryId: 그때까지 커밋된 가장 큰 재고 이력 ID (이력이 없으면 0)
+ * - takenAt: DB 기준 현재 일시
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockStatusSnapshotVersion {
+    private long lastHistoryId;
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,11 @@
+package kr.co.iscu.assignment.global.error;
+
+/**
+ * 같은 자원에 대한 다른 요청이 아직 끝나지 않아 지금은 처리할 수 없는 경우 (409 Conflict)
+ */
+public class ConflictException extends IllegalStateException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,15 @@
 package kr.co.iscu.assignment.global.error;
 
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -18,6 +22,14 @@ public class GlobalExceptionHandler {
                 e.getMessage());
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException e) {
+        return ErrorResponse.toResponseEntity(
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                e.getMessage());
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorResponse> handleIllegalStateException(IllegalStateException e) {
         return ErrorResponse.toResponseEntity(
@@ -34,6 +46,29 @@ public class GlobalExceptionHandler {
                 e.getMessage());
     }
 
+    /**
+     * 행 잠금 대기 시간 초과, 연결 풀 고갈, 작업 큐 포화처럼 잠시 뒤 다시 시도하면 성공할 수 있는 실패는 503으로 응답합니다.
+     */
+    @ExceptionHandler({TransientDataAccessException.class, CannotCreateTransactionException.class, RejectedExecutionException.class})
+    public ResponseEntity<ErrorResponse> handleTransientException(Exception e) {
+        return ErrorResponse.toResponseEntity(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "잠시 후 다시 시도하세요: " + e.getMessage());
+    }
+
+    /**
+     * 잠금 대기 시간 초과로 연결이 끊기면 롤백도 실패해 원래 예외가 {@link TransactionSystemException}에 감싸지므로,
+     * 원래 예외가 일시적인 실패이면 503으로 응답합니다.
+     */
+    @ExceptionHandler(TransactionSystemException.class)
+    public ResponseEntity<ErrorResponse> handleTransactionSystemException(TransactionSystemException e) {
+        if (e.getApplicationException() instanceof TransientDataAccessException) {
+            return handleTransientException((Exception) e.getApplicationException());
+        }
+        return handleException(e);
+    }
+
     // Catch-all for unexpected exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
@@ -5,6 +5,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,5 +21,7 @@ public interface ProductRepository {
 
     Optional<Product> findById(@Param("id") Long id);
 
+    List<Product> findAllByIds(@Param("ids") Collection<Long> ids);
+
     List<Product> findAll();
 }
@@ -0,0 +1,57 @@
+package kr.co.iscu.assignment.repository.product;
+
+import io.r2dbc.spi.Row;
+import kr.co.iscu.assignment.domain.product.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * {@link ProductRepository}의 조회를 R2DBC로 옮긴 논블로킹 저장소 (reactive 프로파일).
+ * <p>
+ * SQL은 ProductMapper.xml과 같습니다. 등록, 수정, 삭제는 상품 캐시와 읽기 모델 갱신이 함께 필요하므로
+ * 기존 {@link ProductRepository}를 사용하는 서비스를 그대로 호출합니다.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "SELECT id, name, category, unit_price, safety_stock, created_at, updated_at FROM product";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Product> findById(Long id) {
+        return databaseClient.sql(COLUMNS + " WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toProduct(row))
+                .one();
+    }
+
+    /**
+     * 전체 상품. 구독자가 요청한 만큼 읽어 전달합니다.
+     */
+    public Flux<Product> findAll() {
+        return databaseClient.sql(COLUMNS)
+                .map((row, metadata) -> toProduct(row))
+                .all();
+    }
+
+    private static Product toProduct(Row row) {
+        return Product.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .category(row.get("category", String.class))
+                .unitPrice(row.get("unit_price", BigDecimal.class))
+                .safetyStock(row.get("safety_stock", Integer.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import io.r2dbc.spi.Row;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockHistoryCursor;
+import kr.co.iscu.assignment.domain.stock.StockMovementSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * {@link StockHistoryRepository}의 조회를 R2DBC로 옮긴 논블로킹 저장소 (reactive 프로파일).
+ * <p>
+ * SQL은 StockHistoryMapper.xml과 같습니다. 이력 기록은 재고 변경과 같은 JDBC 트랜잭션에서 하므로 기존 {@link StockHistoryRepository}만 사용합니다.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStockHistoryRepository {
+
+    private static final String COLUMNS = "SELECT history_id, product_id, warehouse_id, event_type, quantity, created_at FROM stock_history";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * 재고 거래 이력 키셋 페이지 조회 (최신순)
+     *
+     * @param productId 상품 ID
+     * @param cursor    이전 페이지의 마지막 이력 위치 (첫 페이지면 null)
+     * @param limit     조회할 최대 건수
+     * @param archivedBefore 이 일시 이전의 이력은 보관 파일에서 읽으므로 제외 (null이면 모두 조회)
+     */
+    public Flux<StockHistory> findPageByProductId(Long productId, StockHistoryCursor cursor, int limit,
+                                                  LocalDateTime archivedBefore) {
+        String sql = COLUMNS + " WHERE product_id = :productId"
+                + (cursor == null ? "" : " AND created_at <= :cursorCreatedAt AND (created_at < :cursorCreatedAt OR history_id < :cursorHistoryId)")
+                + (archivedBefore == null ? "" : " AND created_at >= :archivedBefore")
+                + " ORDER BY created_at DESC, history_id DESC LIMIT :limit";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("productId", productId)
+                .bind("limit", limit);
+        if (cursor != null) {
+            spec = spec.bind("cursorCreatedAt", cursor.getCreatedAt())
+                    .bind("cursorHistoryId", cursor.getHistoryId());
+        }
+        if (archivedBefore != null) {
+            spec = spec.bind("archivedBefore", archivedBefore);
+        }
+        return spec.map((row, metadata) -> toHistory(row)).all();
+    }
+
+    /**
+     * 전체 상품의 재고 거래 이력을 이력 ID 순으로 조회 (내보내기용).
+     * 구독자가 요청한 만큼 읽어 전달하므로 느린 클라이언트에게 내보낼 때도 결과를 메모리에 쌓지 않습니다.
+     *
+     * @param startDate 시작일시 (null이면 처음부터)
+     * @param endDate   종료일시 (null이면 끝까지, 포함)
+     */
+    public Flux<StockHistory> streamBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
+        String sql = COLUMNS + " WHERE 1 = 1"
+                + (startDate == null ? "" : " AND created_at >= :startDate")
+                + (endDate == null ? "" : " AND created_at <= :endDate")
+                + " ORDER BY history_id";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        if (startDate != null) {
+            spec = spec.bind("startDate", startDate);
+        }
+        if (endDate != null) {
+            spec = spec.bind("endDate", endDate);
+        }
+        return spec.map((row, metadata) -> toHistory(row)).all();
+    }
+
+    /**
+     * 기간 내 모든 창고의 입고/출고 합계와 현재 재고.
+     * firstFullDay가 있으면 하루 전체가 포함되는 날은 stock_history_daily에서, 앞뒤 일부만 포함되는 날은 원본 이력에서 읽습니다.
+     *
+     * @param firstFullDay 일별 집계로 읽을 첫날 (null이면 원본 이력만 사용)
+     * @param lastFullDay  일별 집계로 읽을 마지막 날
+     * @param archivedBefore 이 일시 이전의 원본 이력은 보관 파일에서 더하므로 제외 (null이면 모두 조회)
+     */
+    public Mono<StockMovementSummary> summarizeBetweenDates(Long productId, LocalDateTime startDate, LocalDateTime endDate,
+                                                            LocalDate firstFullDay, LocalDate lastFullDay,
+                                                            LocalDateTime archivedBefore) {
+        String archived = archivedBefore == null ? "" : " AND created_at >= :archivedBefore";
+        String movement = firstFullDay != null
+                ? "SELECT event_type, quantity FROM stock_history_daily"
+                + " WHERE product_id = :productId AND event_type IN ('INBOUND', 'OUTBOUND')"
+                + " AND stat_date BETWEEN :firstFullDay AND :lastFullDay"
+                + " UNION ALL"
+                + " SELECT event_type, quantity FROM stock_history"
+                + " WHERE product_id = :productId AND event_type IN ('INBOUND', 'OUTBOUND')"
+                + " AND created_at >= :startDate AND created_at < :firstFullDay" + archived
+                + " UNION ALL"
+                + " SELECT event_type, quantity FROM stock_history"
+                + " WHERE product_id = :productId AND event_type IN ('INBOUND', 'OUTBOUND')"
+                + " AND created_at >= DATE_ADD(:lastFullDay, INTERVAL '1' DAY) AND created_at <= :endDate" + archived
+                : "SELECT event_type, quantity FROM stock_history"
+                + " WHERE product_id = :productId AND event_type IN ('INBOUND', 'OUTBOUND')"
+                + " AND created_at BETWEEN :startDate AND :endDate" + archived;
+        String sql = "SELECT totals.total_inbound, totals.total_outbound,"
+                + " (SELECT COALESCE(SUM(s.quantity), 0) FROM stock s WHERE s.product_id = :productId) AS current_quantity"
+                + " FROM (SELECT"
+                + " COALESCE(SUM(CASE WHEN movement.event_type = 'INBOUND' THEN movement.quantity END), 0) AS total_inbound,"
+                + " COALESCE(SUM(CASE WHEN movement.event_type = 'OUTBOUND' THEN movement.quantity END), 0) AS total_outbound"
+                + " FROM (" + movement + ") movement) totals";
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("productId", productId)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate);
+        if (firstFullDay != null) {
+            spec = spec.bind("firstFullDay", firstFullDay)
+                    .bind("lastFullDay", lastFullDay);
+        }
+        if (archivedBefore != null) {
+            spec = spec.bind("archivedBefore", archivedBefore);
+        }
+        return spec.map((row, metadata) -> StockMovementSummary.builder()
+                        .totalInbound(intValue(row, "total_inbound"))
+                        .totalOutbound(intValue(row, "total_outbound"))
+                        .currentQuantity(intValue(row, "current_quantity"))
+                        .build())
+                .one();
+    }
+
+    private static StockHistory toHistory(Row row) {
+        return StockHistory.builder()
+                .historyId(row.get("history_id", Long.class))
+                .productId(row.get("product_id", Long.class))
+                .warehouseId(row.get("warehouse_id", Long.class))
+                .eventType(StockEventType.valueOf(row.get("event_type", String.class)))
+                .quantity(row.get("quantity", Integer.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    /**
+     * 드라이버마다 다른 SUM 결과 타입(MySQL은 DECIMAL, H2는 BIGINT)을 int로 변환합니다.
+     */
+    private static int intValue(Row row, String name) {
+        return ((Number) row.get(name)).intValue();
+    }
+}
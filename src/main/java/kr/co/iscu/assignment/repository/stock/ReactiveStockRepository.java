@@ -0,0 +1,83 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import io.r2dbc.spi.Row;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusCondition;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+/**
+ * {@link StockRepository}의 재고 현황 조회를 R2DBC로 옮긴 논블로킹 저장소 (reactive 프로파일).
+ * <p>
+ * SQL은 StockMapper.xml의 findStatuses와 같습니다. 재고 수량을 바꾸는 문장은 입고/출고 처리 방식(트랜잭션, 샤드, WAL)과
+ * 함께 동작해야 하므로 기존 {@link StockRepository}만 사용합니다.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStockRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * 상품과 재고를 조인한 재고 현황. 필터, 정렬, 페이지를 모두 SQL에서 적용합니다.
+     * 정렬 컬럼과 방향은 {@link kr.co.iscu.assignment.service.stock.dto.StockStatusSortField} 목록의 값만 들어오므로 SQL에 직접 붙입니다.
+     */
+    public Flux<StockStatusDto> findStatuses(StockStatusCondition condition) {
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT p.id AS product_id, p.name, p.category, p.unit_price, p.safety_stock,")
+                .append(" COALESCE(SUM(s.quantity), 0) AS current_quantity")
+                .append(" FROM product p LEFT JOIN stock s ON s.product_id = p.id")
+                .append(" WHERE 1 = 1");
+        if (condition.getProductId() != null) {
+            sql.append(" AND p.id = :productId");
+        }
+        if (condition.getCategory() != null) {
+            sql.append(" AND p.category = :category");
+        }
+        sql.append(" GROUP BY p.id");
+        if (condition.isBelowSafety()) {
+            sql.append(" HAVING COALESCE(SUM(s.quantity), 0) < COALESCE(p.safety_stock, 0)");
+        }
+        sql.append(" ORDER BY ").append(condition.getSortField().getColumn()).append(' ').append(condition.getDirection()).append(", p.id");
+        if (condition.getLimit() != null) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        if (condition.getProductId() != null) {
+            spec = spec.bind("productId", condition.getProductId());
+        }
+        if (condition.getCategory() != null) {
+            spec = spec.bind("category", condition.getCategory());
+        }
+        if (condition.getLimit() != null) {
+            spec = spec.bind("limit", condition.getLimit())
+                    .bind("offset", condition.getOffset() == null ? 0 : condition.getOffset());
+        }
+        return spec.map((row, metadata) -> toStatus(row)).all();
+    }
+
+    private static StockStatusDto toStatus(Row row) {
+        return StockStatusDto.builder()
+                .productId(row.get("product_id", Long.class))
+                .name(row.get("name", String.class))
+                .category(row.get("category", String.class))
+                .unitPrice(row.get("unit_price", BigDecimal.class))
+                .safetyStock(row.get("safety_stock", Integer.class))
+                .currentQuantity(intValue(row, "current_quantity"))
+                .build();
+    }
+
+    /**
+     * 드라이버마다 다른 SUM 결과 타입(MySQL은 DECIMAL, H2는 BIGINT)을 int로 변환합니다.
+     */
+    private static int intValue(Row row, String name) {
+        return ((Number) row.get(name)).intValue();
+    }
+}
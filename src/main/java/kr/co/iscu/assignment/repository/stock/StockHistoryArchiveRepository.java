@@ -0,0 +1,61 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 재고 거래 이력 보관(파일로 옮긴 뒤 삭제) Mapper
+ * <p>
+ * 기간은 모두 시작 포함, 종료 미포함입니다.
+ */
+@Mapper
+public interface StockHistoryArchiveRepository {
+
+    /**
+     * 가장 오래된 재고 거래 이력의 거래일시 조회
+     * @return 이력이 없으면 빈 값
+     */
+    Optional<LocalDateTime> findOldestCreatedAt();
+
+    /**
+     * 기간 내 이력 중 재고 원장 스냅샷에 반영되지 않은 건수 조회
+     * @param from 시작일시 (포함)
+     * @param to 종료일시 (미포함)
+     * @return
+     */
+    long countNotInSnapshot(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 기간 내 이력 건수 조회
+     * @param from 시작일시 (포함)
+     * @param to 종료일시 (미포함)
+     * @return
+     */
+    long countBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 기간 내 이력을 (상품 ID, 거래일시, 이력 ID) 순으로 한 행씩 전달 (보관 파일 작성용 스트리밍 조회)
+     * @param from 시작일시 (포함)
+     * @param to 종료일시 (미포함)
+     * @param handler 행마다 호출되는 처리기
+     */
+    void streamForArchive(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            ResultHandler<StockHistory> handler
+    );
+
+    /**
+     * 기간 내 이력을 최대 limit건 삭제
+     * @param from 시작일시 (포함)
+     * @param to 종료일시 (미포함)
+     * @param limit 한 번에 삭제할 최대 건수
+     * @return 삭제한 건수
+     */
+    int deleteBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("limit") int limit);
+}
@@ -0,0 +1,59 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockHistoryDaily;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 재고 거래 이력 일별 집계 Mapper
+ */
+@Mapper
+public interface StockHistoryDailyRepository {
+
+    /**
+     * 일별 집계에 수량을 더함 (없는 행은 생성)
+     * @param dailies 상품·일자·거래 유형별 더할 수량 (비어 있으면 안 됨)
+     */
+    void addQuantities(@Param("dailies") List<StockHistoryDaily> dailies);
+
+    /**
+     * 특정 상품의 일별 집계 조회
+     * @param productId 상품 ID
+     * @return
+     */
+    List<StockHistoryDaily> findByProductId(Long productId);
+
+    /**
+     * 가장 오래된 재고 거래 이력의 일자 조회
+     * @return 이력이 없으면 빈 값
+     */
+    Optional<LocalDate> findFirstHistoryDate();
+
+    /**
+     * 특정 일자의 일별 집계 삭제
+     * @param statDate 집계 일자
+     */
+    void deleteByStatDate(@Param("statDate") LocalDate statDate);
+
+    /**
+     * 특정 일자 이전의 일별 집계 삭제 (보관 기간이 지나 정리한 이력 파티션의 집계 정리용)
+     * @param before 이 일자 전의 집계를 삭제 (미포함)
+     */
+    void deleteBeforeStatDate(@Param("before") LocalDate before);
+
+    /**
+     * 특정 일자의 일별 집계를 원본 이력으로 다시 계산하여 등록
+     * @param statDate 집계 일자
+     */
+    void insertFromHistory(@Param("statDate") LocalDate statDate);
+
+    /**
+     * 상품 ID로 일별 집계 삭제
+     * @param productId 상품 ID
+     */
+    void deleteByProductId(Long productId);
+}
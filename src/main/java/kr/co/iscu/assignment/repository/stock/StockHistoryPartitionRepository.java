@@ -0,0 +1,72 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockHistoryPartition;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 재고 거래 이력 파티션 관리 Mapper (MySQL 전용)
+ * <p>
+ * 파티션과 테이블 이름은 {@link StockHistoryPartition}이 만든 값만 SQL에 직접 붙입니다.
+ */
+@Mapper
+public interface StockHistoryPartitionRepository {
+
+    /**
+     * stock_history의 파티션 이름 조회
+     * @return 파티션 순서대로의 이름 (파티션 테이블이 아니면 빈 목록)
+     */
+    List<String> findPartitionNames();
+
+    /**
+     * 재고 거래 이력이 한 건이라도 있는지 조회
+     * @return
+     */
+    boolean existsAnyHistory();
+
+    /**
+     * 파티션이 없는 stock_history를 월별 파티션과 MAXVALUE 파티션으로 나눔 (테이블을 다시 쓰므로 빈 테이블에만 사용)
+     * @param partitions 만들 월별 파티션 (오래된 순)
+     */
+    void partitionByMonth(@Param("partitions") List<StockHistoryPartition> partitions);
+
+    /**
+     * MAXVALUE 파티션 앞에 월별 파티션 추가
+     * @param partitions 추가할 월별 파티션 (오래된 순, 마지막 월별 파티션 이후)
+     */
+    void addPartitions(@Param("partitions") List<StockHistoryPartition> partitions);
+
+    /**
+     * 파티션의 이력 중 스냅샷에 반영되지 않은 이력 수 조회 (0이 아니면 지웠을 때 원장으로 재고를 다시 계산할 수 없음)
+     * @param partitionName 파티션 이름
+     * @return
+     */
+    long countRowsNotInSnapshot(@Param("partitionName") String partitionName);
+
+    /**
+     * 파티션 삭제 (담긴 이력도 함께 삭제)
+     * @param partitionName 파티션 이름
+     */
+    void dropPartition(@Param("partitionName") String partitionName);
+
+    /**
+     * stock_history와 같은 구조의 보관 테이블 생성
+     * @param tableName 보관 테이블 이름
+     */
+    void createArchiveTable(@Param("tableName") String tableName);
+
+    /**
+     * 보관 테이블의 파티션 제거 (파티션과 교환하려면 파티션이 없는 테이블이어야 함)
+     * @param tableName 보관 테이블 이름
+     */
+    void removeArchiveTablePartitioning(@Param("tableName") String tableName);
+
+    /**
+     * 파티션의 이력을 빈 보관 테이블과 교환 (행을 복사하지 않음)
+     * @param partitionName 파티션 이름
+     * @param tableName 보관 테이블 이름
+     */
+    void exchangePartition(@Param("partitionName") String partitionName, @Param("tableName") String tableName);
+}
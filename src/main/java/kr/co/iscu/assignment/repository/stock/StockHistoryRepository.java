@@ -2,9 +2,13 @@ package kr.co.iscu.assignment.repository.stock;
 
 import kr.co.iscu.assignment.domain.stock.StockEventType;
 import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockHistoryCursor;
+import kr.co.iscu.assignment.domain.stock.StockMovementSummary;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,12 +25,48 @@ public interface StockHistoryRepository {
      */
     List<StockHistory> findByProductId(Long productId);
 
+    /**
+     * 재고 거래 이력 키셋 페이지 조회 (최신순)
+     * @param productId 상품 ID
+     * @param cursor 이전 페이지의 마지막 이력 위치 (첫 페이지면 null)
+     * @param limit 조회할 최대 건수
+     * @param archivedBefore 이 일시 이전의 이력은 보관 파일에서 읽으므로 제외 (null이면 모두 조회)
+     * @return
+     */
+    List<StockHistory> findPageByProductId(
+            @Param("productId") Long productId,
+            @Param("cursor") StockHistoryCursor cursor,
+            @Param("limit") int limit,
+            @Param("archivedBefore") LocalDateTime archivedBefore
+    );
+
+    /**
+     * 전체 상품의 재고 거래 이력을 이력 ID 순으로 한 행씩 전달 (내보내기용 스트리밍 조회)
+     * <p>
+     * 결과를 목록으로 모으지 않으므로 건수와 관계없이 메모리 사용량이 일정합니다.
+     * 조회가 끝날 때까지 같은 커넥션에서 다른 문장을 실행하면 안 됩니다.
+     * @param startDate 시작일시 (null이면 처음부터)
+     * @param endDate 종료일시 (null이면 끝까지, 포함)
+     * @param handler 행마다 호출되는 처리기
+     */
+    void streamBetweenDates(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            ResultHandler<StockHistory> handler
+    );
+
     /**
      * 재고 거래 이력 등록
      * @param stockHistory
      */
     void save(StockHistory stockHistory);
 
+    /**
+     * 재고 거래 이력을 multi-row INSERT 한 문장으로 일괄 등록
+     * @param histories 등록할 이력 목록 (비어 있으면 안 됨)
+     */
+    void saveAll(@Param("histories") List<StockHistory> histories);
+
     /**
      * 특정 기간 동안의 거래 유형별 수량 합계 조회
      * @param productId 상품 ID
@@ -42,6 +82,27 @@ public interface StockHistoryRepository {
             @Param("endDate") LocalDateTime endDate
     );
 
+    /**
+     * 특정 기간 동안의 입고/출고 합계와 현재 재고를 한 문장으로 조회
+     * <p>
+     * firstFullDay, lastFullDay가 있으면 그 사이의 날은 일별 집계에서, 앞뒤의 일부만 포함되는 날은 원본 이력에서 읽습니다.
+     * @param productId 상품 ID
+     * @param startDate 시작일
+     * @param endDate 종료일 (포함)
+     * @param firstFullDay 기간에 하루 전체가 포함되는 첫 날 (일별 집계를 쓰지 않으면 null)
+     * @param lastFullDay 기간에 하루 전체가 포함되는 마지막 날 (일별 집계를 쓰지 않으면 null)
+     * @param archivedBefore 이 일시 이전의 원본 이력은 보관 파일에서 더하므로 제외 (null이면 모두 조회)
+     * @return
+     */
+    StockMovementSummary summarizeBetweenDates(
+            @Param("productId") Long productId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("firstFullDay") LocalDate firstFullDay,
+            @Param("lastFullDay") LocalDate lastFullDay,
+            @Param("archivedBefore") LocalDateTime archivedBefore
+    );
+
     /**
      * 상품 ID로 재고 이력 삭제
      * @param productId 상품 ID
@@ -0,0 +1,64 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockIdempotencyRecord;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Optional;
+
+/**
+ * 입고/출고 Idempotency-Key Mapper
+ */
+@Mapper
+public interface StockIdempotencyRepository {
+
+    /**
+     * 처리한 요청의 키와 응답 등록
+     * @param record 키, 요청 해시, 응답
+     * @throws org.springframework.dao.DuplicateKeyException 같은 키가 이미 등록된 경우
+     */
+    void insert(StockIdempotencyRecord record);
+
+    /**
+     * 입고/출고를 실행하기 전에 키를 처리 중(응답 없음)으로 선점
+     * @param idempotencyKey Idempotency-Key
+     * @param requestHash 요청 내용의 SHA-256
+     * @throws org.springframework.dao.DuplicateKeyException 같은 키가 이미 등록된 경우
+     */
+    void insertPending(@Param("idempotencyKey") String idempotencyKey, @Param("requestHash") String requestHash);
+
+    /**
+     * 처리 중인 키에 응답 기록
+     * @param idempotencyKey Idempotency-Key
+     * @param response 응답 (JSON)
+     * @return 기록한 건수 (처리 중인 키가 아니면 0)
+     */
+    int complete(@Param("idempotencyKey") String idempotencyKey, @Param("response") String response);
+
+    /**
+     * 처리 중인 키 삭제 (실패한 요청을 같은 키로 다시 시도할 수 있게 함)
+     * @param idempotencyKey Idempotency-Key
+     */
+    void deletePending(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * 키로 처리한 요청 조회
+     * @param idempotencyKey Idempotency-Key
+     * @return
+     */
+    Optional<StockIdempotencyRecord> findByKey(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * 보관 시간이 지난 키 삭제
+     * @param retentionHours 보관 시간
+     * @param limit 최대 삭제 건수
+     * @return 삭제한 건수
+     */
+    int deleteCreatedBefore(@Param("retentionHours") long retentionHours, @Param("limit") int limit);
+
+    /**
+     * 키 삭제
+     * @param idempotencyKey Idempotency-Key
+     */
+    void deleteByKey(@Param("idempotencyKey") String idempotencyKey);
+}
@@ -0,0 +1,25 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Optional;
+
+/**
+ * 입출고 로그(WAL) 반영 위치 Mapper
+ */
+@Mapper
+public interface StockMovementLogCheckpointRepository {
+
+    /**
+     * DB에 반영을 마친 마지막 로그 순번 조회
+     * @return 아직 반영한 로그가 없으면 빈 값
+     */
+    Optional<Long> findLastSequence();
+
+    /**
+     * DB에 반영을 마친 마지막 로그 순번 저장(insert or update)
+     * @param lastSequence 마지막 로그 순번
+     */
+    void saveLastSequence(@Param("lastSequence") long lastSequence);
+}
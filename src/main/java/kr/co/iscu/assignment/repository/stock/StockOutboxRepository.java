@@ -0,0 +1,81 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockOutboxEvent;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 입고/출고 이벤트 아웃박스 Mapper
+ */
+@Mapper
+public interface StockOutboxRepository {
+
+    /**
+     * 이벤트 일괄 등록
+     * @param events 등록할 이벤트 (비어 있으면 안 됨)
+     */
+    void saveAll(@Param("events") List<StockOutboxEvent> events);
+
+    /**
+     * 아직 전달되지 않았고 선점되지 않은(또는 선점 기한이 지난) 이벤트를 오래된 순으로 잠금 조회
+     * 다른 트랜잭션이 잠근 행(커밋 전 이벤트, 다른 전달자가 선점 중인 행)은 기다리지 않고 건너뜀
+     * @param limit 최대 조회 건수
+     * @return
+     */
+    List<StockOutboxEvent> findClaimable(@Param("limit") int limit);
+
+    /**
+     * 이벤트를 선점 (선점 기한이 지나면 다시 선점할 수 있음)
+     * @param outboxIds 이벤트 ID (비어 있으면 안 됨)
+     * @param leaseSeconds 선점 유지 시간
+     */
+    void claim(@Param("outboxIds") Collection<Long> outboxIds, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * 전달을 마친 이벤트 일괄 삭제
+     * @param outboxIds 이벤트 ID (비어 있으면 안 됨)
+     */
+    void deleteByIds(@Param("outboxIds") Collection<Long> outboxIds);
+
+    /**
+     * 전달을 마친 이벤트에 전달 시각을 일괄 기록
+     * @param outboxIds 이벤트 ID (비어 있으면 안 됨)
+     */
+    void markDispatched(@Param("outboxIds") Collection<Long> outboxIds);
+
+    /**
+     * 전달에 실패한 이벤트의 선점을 풀어 다음 선점에서 먼저 다시 전달되게 함
+     * @param outboxIds 이벤트 ID (비어 있으면 안 됨)
+     */
+    void release(@Param("outboxIds") Collection<Long> outboxIds);
+
+    /**
+     * 남아 있는 모든 선점을 풂 (이전 실행이 전달 도중 종료된 경우)
+     * @return 선점을 푼 건수
+     */
+    int releaseAll();
+
+    /**
+     * 전달 시각이 기록된 지 오래된 이벤트 삭제
+     * @param retentionHours 보관 시간
+     * @param limit 최대 삭제 건수
+     * @return 삭제한 건수
+     */
+    int deleteDispatchedBefore(@Param("retentionHours") long retentionHours, @Param("limit") int limit);
+
+    /**
+     * 특정 상품의 이벤트를 outbox_id 순으로 조회
+     * @param productId 상품 ID
+     * @return
+     */
+    List<StockOutboxEvent> findByProductId(Long productId);
+
+    /**
+     * 상품 ID로 이벤트 삭제
+     * @param productId 상품 ID
+     */
+    void deleteByProductId(Long productId);
+}
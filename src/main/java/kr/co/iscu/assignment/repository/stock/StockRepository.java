@@ -1,8 +1,14 @@
 package kr.co.iscu.assignment.repository.stock;
 
 import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockAdjustment;
+import kr.co.iscu.assignment.domain.stock.StockKey;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusCondition;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,18 +18,62 @@ import java.util.Optional;
 @Mapper
 public interface StockRepository {
     /**
-     * 상품 ID로 재고 조회
+     * 상품 ID로 전 창고의 재고 합계 조회 (warehouseId는 null)
      * @param productId 상품 ID
-     * @return
+     * @return 재고 행이 하나도 없으면 빈 값
      */
     Optional<Stock> findByProductId(Long productId);
 
     /**
-     * 모든 재고 정보 조회
+     * 상품·창고의 재고 조회
+     * @param productId 상품 ID
+     * @param warehouseId 창고 ID
+     * @return
+     */
+    Optional<Stock> findByProductIdAndWarehouseId(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+
+    /**
+     * 상품의 창고별 재고 조회 (창고 ID 순)
+     * @param productId 상품 ID
+     * @return
+     */
+    List<Stock> findAllByProductId(Long productId);
+
+    /**
+     * 여러 상품의 창고별 재고 조회 (상품 ID, 창고 ID 순, 잠그지 않음)
+     * @param productIds 상품 ID 목록 (비어 있으면 안 됨)
+     * @return
+     */
+    List<Stock> findAllByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * 모든 재고 정보 조회 (상품·창고별)
      * @return
      */
     List<Stock> findAll();
 
+    /**
+     * 상품과 전 창고의 재고 합계를 조인하여 조건에 맞는 재고 현황 조회 (재고 행이 없는 상품은 0으로 조회)
+     * @param condition 카테고리, 안전재고 미만 여부, 정렬, 페이지 조건
+     * @return
+     */
+    List<StockStatusDto> findStatuses(StockStatusCondition condition);
+
+    /**
+     * 여러 상품·창고의 재고를 한 번에 잠금 조회 (SELECT ... FOR UPDATE, 지정한 행만 잠금)
+     * @param keys (상품 ID, 창고 ID) 목록 (비어 있으면 안 됨)
+     * @return
+     */
+    List<Stock> findAllByKeysForUpdate(@Param("keys") Collection<StockKey> keys);
+
+    /**
+     * 상품 ID 범위의 모든 창고 재고를 잠금 조회 (SELECT ... FOR UPDATE, 범위 안의 새 재고 행 생성도 막음)
+     * @param fromProductId 시작 상품 ID (포함)
+     * @param toProductId 종료 상품 ID (포함)
+     * @return
+     */
+    List<Stock> findAllByProductIdRangeForUpdate(@Param("fromProductId") long fromProductId, @Param("toProductId") long toProductId);
+
     /**
      * 재고 정보 저장(insert or update)
      * @param stock
@@ -31,7 +81,44 @@ public interface StockRepository {
     void save(Stock stock);
 
     /**
-     * 상품 ID로 재고 정보 삭제
+     * 여러 상품·창고의 재고 수량을 multi-row INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 덮어씀
+     * @param stocks 상품·창고별 수량 (비어 있으면 안 됨)
+     */
+    void saveAll(@Param("stocks") List<Stock> stocks);
+
+    /**
+     * 재고 수량을 단일 UPDATE 문으로 증가(quantity = quantity + amount)
+     * <p>
+     * 변경 후 수량은 {@link StockAdjustment#getQuantity()}에 채워집니다.
+     * @param adjustment 대상 상품·창고 ID와 증가 수량
+     * @return 변경된 행 수 (재고 행이 없으면 0)
+     */
+    int increaseQuantity(StockAdjustment adjustment);
+
+    /**
+     * 재고가 충분할 때만 단일 UPDATE 문으로 수량을 감소(quantity = quantity - amount WHERE quantity >= amount)
+     * <p>
+     * 변경 후 수량은 {@link StockAdjustment#getQuantity()}에 채워집니다.
+     * @param adjustment 대상 상품·창고 ID와 감소 수량
+     * @return 변경된 행 수 (재고가 부족하거나 재고 행이 없으면 0)
+     */
+    int decreaseQuantity(StockAdjustment adjustment);
+
+    /**
+     * 여러 상품·창고의 재고 수량을 multi-row INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 증감
+     * @param deltas 상품·창고별 증감량 (quantity 필드에 음수 가능, 비어 있으면 안 됨)
+     */
+    void addQuantities(@Param("deltas") List<Stock> deltas);
+
+    /**
+     * 상품·창고의 재고 행이 없으면 수량 0으로 생성 (이미 있으면 변경하지 않음)
+     * @param productId 상품 ID
+     * @param warehouseId 창고 ID
+     */
+    void insertIfAbsent(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+
+    /**
+     * 상품 ID로 모든 창고의 재고 정보 삭제
      * @param productId 상품 ID
      */
     void deleteByProductId(Long productId);
@@ -0,0 +1,56 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockSnapshot;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 재고 원장 스냅샷 Mapper
+ */
+@Mapper
+public interface StockSnapshotRepository {
+
+    /**
+     * 가장 작은 상품 ID 조회 (재계산 범위 분할용)
+     * @return 상품이 없으면 빈 값
+     */
+    Optional<Long> findMinProductId();
+
+    /**
+     * 가장 큰 상품 ID 조회 (재계산 범위 분할용)
+     * @return 상품이 없으면 빈 값
+     */
+    Optional<Long> findMaxProductId();
+
+    /**
+     * 상품 ID 범위의 상품·창고별 스냅샷에 마지막 스냅샷 이후 이력을 더해 갱신 (새 이력이 없는 상품·창고는 변경하지 않음)
+     * @param fromProductId 시작 상품 ID (포함)
+     * @param toProductId 종료 상품 ID (포함)
+     */
+    void saveFromHistory(@Param("fromProductId") long fromProductId, @Param("toProductId") long toProductId);
+
+    /**
+     * 상품 ID 범위의 상품·창고별 원장 수량(스냅샷 + 이후 이력) 조회. 스냅샷도 이력도 없는 상품·창고는 제외
+     * @param fromProductId 시작 상품 ID (포함)
+     * @param toProductId 종료 상품 ID (포함)
+     * @return 상품·창고별 원장 수량 (상품 ID, 창고 ID 순)
+     */
+    List<Stock> findLedgerQuantities(@Param("fromProductId") long fromProductId, @Param("toProductId") long toProductId);
+
+    /**
+     * 특정 상품의 창고별 스냅샷 조회
+     * @param productId 상품 ID
+     * @return 창고 ID 순
+     */
+    List<StockSnapshot> findAllByProductId(Long productId);
+
+    /**
+     * 상품 ID로 모든 창고의 스냅샷 삭제
+     * @param productId 상품 ID
+     */
+    void deleteByProductId(Long productId);
+}
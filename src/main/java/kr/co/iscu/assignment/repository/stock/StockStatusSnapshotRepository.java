@@ -0,0 +1,35 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockStatusSnapshotVersion;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재고 현황 스냅샷의 시점 조회와 이후 변경된 상품 조회 Mapper
+ */
+@Mapper
+public interface StockStatusSnapshotRepository {
+
+    /**
+     * 현재 마지막 재고 이력 ID와 DB 일시 조회
+     * @return
+     */
+    StockStatusSnapshotVersion findCurrentVersion();
+
+    /**
+     * 이력 ID 이후에 재고가 바뀌었거나, 일시 이후에 등록·수정된 상품 ID 조회 (중복 없음)
+     * @param afterHistoryId 이 ID보다 큰 이력의 상품 (미포함)
+     * @param updatedSince 이 일시 이후에 등록·수정된 상품 (포함)
+     * @return
+     */
+    List<Long> findChangedProductIds(@Param("afterHistoryId") long afterHistoryId, @Param("updatedSince") LocalDateTime updatedSince);
+
+    /**
+     * 전체 상품 수 조회
+     * @return
+     */
+    long countProducts();
+}
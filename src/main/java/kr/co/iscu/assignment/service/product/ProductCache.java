@@ -0,0 +1,152 @@
+package kr.co.iscu.assignment.service.product;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import kr.co.iscu.assignment.config.datasource.DataSourceRouting;
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.service.product.dto.ProductCacheStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 입고/출고 경로에서 상품 존재 여부와 안전재고를 확인할 때 사용하는 상품 캐시.
+ * <p>
+ * 최대 건수와 TTL로 제한되는 로컬 캐시이며, 없으면 {@link ProductRepository}에서 읽어 채웁니다.
+ * 방금 등록된 상품을 없는 상품으로 캐시하지 않도록, 읽기/쓰기 분리를 켜도 주 DB에서 읽습니다.
+ * 존재하지 않는 상품 ID도 짧은 TTL로 캐시하여 잘못된 ID가 반복해서 들어와도 DB까지 가지 않습니다.
+ * 상품이 등록·수정·삭제되면 즉시, 그리고 트랜잭션 커밋 후에 한 번 더 무효화하여
+ * 커밋 전에 다른 요청이 이전 값을 다시 채워 넣는 경우를 막습니다.
+ * <p>
+ * 돌려주는 {@link Product}는 여러 요청이 함께 보는 객체이므로 변경하면 안 됩니다.
+ * 다른 인스턴스에서 변경한 상품은 TTL이 지나야 반영됩니다.
+ */
+@Component
+public class ProductCache {
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, Optional<Product>> cache;
+
+    public ProductCache(
+            ProductRepository productRepository,
+            @Value("${inventory.product.cache.maximum-size:10000}") long maximumSize,
+            @Value("${inventory.product.cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${inventory.product.cache.negative-ttl-seconds:5}") long negativeTtlSeconds) {
+        this.productRepository = productRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PresenceExpiry(TimeUnit.SECONDS.toNanos(ttlSeconds), TimeUnit.SECONDS.toNanos(negativeTtlSeconds)))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 상품을 조회합니다. 캐시에 없으면 DB에서 읽어 캐시합니다.
+     *
+     * @param productId 상품 ID
+     * @return 상품 (없으면 empty)
+     */
+    public Optional<Product> findById(Long productId) {
+        return cache.get(productId, id -> DataSourceRouting.onPrimary(() -> productRepository.findById(id)));
+    }
+
+    /**
+     * 여러 상품을 조회합니다. 캐시에 없는 상품만 한 번의 IN 조회로 읽어 캐시합니다.
+     *
+     * @param productIds 상품 ID 목록
+     * @return 존재하는 상품만 담은 상품 ID별 맵
+     */
+    public Map<Long, Product> findAllByIds(Collection<Long> productIds) {
+        Map<Long, Optional<Product>> found = cache.getAll(productIds, this::loadAll);
+        Map<Long, Product> products = new HashMap<>();
+        found.forEach((productId, product) -> product.ifPresent(value -> products.put(productId, value)));
+        return products;
+    }
+
+    /**
+     * 상품 캐시를 무효화합니다. 트랜잭션 안이면 커밋 후에 한 번 더 무효화합니다.
+     *
+     * @param productId 상품 ID
+     */
+    public void evict(Long productId) {
+        cache.invalidate(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(productId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 누적 적중/미적중 통계를 조회합니다.
+     */
+    public ProductCacheStatsDto getStats() {
+        CacheStats stats = cache.stats();
+        return ProductCacheStatsDto.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    private Map<Long, Optional<Product>> loadAll(Iterable<? extends Long> keys) {
+        List<Long> productIds = new ArrayList<>();
+        keys.forEach(productIds::add);
+        Map<Long, Product> products = DataSourceRouting.onPrimary(() -> productRepository.findAllByIds(productIds)).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Optional<Product>> loaded = new HashMap<>();
+        for (Long productId : productIds) {
+            // 없는 ID도 empty로 캐시한다. (부정 캐시)
+            loaded.put(productId, Optional.ofNullable(products.get(productId)));
+        }
+        return loaded;
+    }
+
+    /**
+     * 있는 상품은 일반 TTL, 없는 상품은 짧은 TTL로 만료시킵니다. 조회는 만료 시각을 늘리지 않습니다.
+     */
+    private static final class PresenceExpiry implements Expiry<Long, Optional<Product>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        PresenceExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<Product> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<Product> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<Product> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -3,8 +3,10 @@ package kr.co.iscu.assignment.service.product;
 import kr.co.iscu.assignment.domain.product.Product;
 import kr.co.iscu.assignment.repository.product.ProductRepository;
 import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.product.dto.ProductCacheStatsDto;
 import kr.co.iscu.assignment.service.product.dto.ProductCreateDto;
 import kr.co.iscu.assignment.service.product.dto.ProductUpdateDto;
+import kr.co.iscu.assignment.service.stock.StockStatusReadModel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +24,8 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final StockRepository stockRepository;
+    private final StockStatusReadModel stockStatusReadModel;
+    private final ProductCache productCache;
 
     /**
      * 새로운 상품을 등록합니다.
@@ -33,6 +37,9 @@ public class ProductService {
     public Product createProduct(ProductCreateDto createDto) {
         Product product = createDto.toEntity();
         productRepository.insert(product);
+        // 새 ID가 미리 조회되어 '없음'으로 캐시되어 있을 수 있다.
+        productCache.evict(product.getId());
+        stockStatusReadModel.applyProduct(product);
         return product;
     }
 
@@ -57,6 +64,15 @@ public class ProductService {
                 .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다. ID: " + productId));
     }
 
+    /**
+     * 입고/출고 경로에서 사용하는 상품 캐시의 적중/미적중 통계를 조회합니다.
+     *
+     * @return 캐시 통계
+     */
+    public ProductCacheStatsDto getProductCacheStats() {
+        return productCache.getStats();
+    }
+
     /**
      * 상품 정보를 수정합니다.
      *
@@ -74,6 +90,8 @@ public class ProductService {
         product.setSafetyStock(updateDto.getSafetyStock());
 
         productRepository.update(product);
+        productCache.evict(productId);
+        stockStatusReadModel.applyProduct(product);
         return product;
     }
 
@@ -95,5 +113,7 @@ public class ProductService {
         });
 
         productRepository.deleteById(productId);
+        productCache.evict(productId);
+        stockStatusReadModel.removeProduct(productId);
     }
 }
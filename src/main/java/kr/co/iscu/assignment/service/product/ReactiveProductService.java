@@ -0,0 +1,60 @@
+package kr.co.iscu.assignment.service.product;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.repository.product.ReactiveProductRepository;
+import kr.co.iscu.assignment.service.product.dto.ProductCreateDto;
+import kr.co.iscu.assignment.service.product.dto.ProductUpdateDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.NoSuchElementException;
+
+/**
+ * 상품 API의 WebFlux용 서비스 (reactive 프로파일).
+ * <p>
+ * 조회는 R2DBC로 읽고, 등록/수정/삭제는 상품 캐시와 재고 현황 읽기 모델을 함께 갱신하는 {@link ProductService}를
+ * JDBC 연결 풀 크기로 스레드 수를 제한한 스케줄러(WebFluxConfig#jdbcScheduler)에서 호출합니다.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductService {
+
+    private final ProductService productService;
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final Scheduler jdbcScheduler;
+
+    public Mono<Product> createProduct(ProductCreateDto createDto) {
+        return Mono.fromCallable(() -> productService.createProduct(createDto))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 모든 상품 목록. 구독자가 요청한 만큼 DB에서 읽어 전달합니다.
+     */
+    public Flux<Product> getAllProducts() {
+        return reactiveProductRepository.findAll();
+    }
+
+    /**
+     * @throws NoSuchElementException 해당 ID의 상품이 없을 경우 (Mono 오류로 전달)
+     */
+    public Mono<Product> getProductById(Long productId) {
+        return reactiveProductRepository.findById(productId)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("상품을 찾을 수 없습니다. ID: " + productId)));
+    }
+
+    public Mono<Product> updateProduct(Long productId, ProductUpdateDto updateDto) {
+        return Mono.fromCallable(() -> productService.updateProduct(productId, updateDto))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    public Mono<Void> deleteProduct(Long productId) {
+        return Mono.<Void>fromRunnable(() -> productService.deleteProduct(productId))
+                .subscribeOn(jdbcScheduler);
+    }
+}
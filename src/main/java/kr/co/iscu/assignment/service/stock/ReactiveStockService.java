@@ -0,0 +1,172 @@
+package kr.co.iscu.assignment.service.stock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.iscu.assignment.domain.InventoryStatistics;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockHistoryCursor;
+import kr.co.iscu.assignment.repository.stock.ReactiveStockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.ReactiveStockRepository;
+import kr.co.iscu.assignment.service.stock.archive.StockHistoryArchive;
+import kr.co.iscu.assignment.service.stock.dto.StockHistoryPageDto;
+import kr.co.iscu.assignment.service.stock.dto.StockLedgerRebuildResultDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusCondition;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusPageDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재고 API의 WebFlux용 서비스 (reactive 프로파일).
+ * <p>
+ * 조회는 R2DBC 저장소나 메모리 읽기 모델에서 바로 읽어 이벤트 루프 스레드를 막지 않습니다.
+ * 입고/출고와 재계산은 멱등성 키, 아웃박스, 처리 방식(트랜잭션, 샤드, WAL)이 모두 JDBC 트랜잭션에 묶여 있으므로
+ * {@link StockService}를 그대로 호출하되 JDBC 연결 풀 크기로 스레드 수를 제한한 스케줄러(WebFluxConfig#jdbcScheduler)에서 실행합니다.
+ * 페이지 크기, 정렬, 일별 집계 사용 여부 같은 규칙은 {@link StockService}와 공유합니다.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStockService {
+
+    private final StockService stockService;
+    private final StockLedgerRebuilder stockLedgerRebuilder;
+    private final StockStatusReadModel stockStatusReadModel;
+    private final StockHistoryExporter stockHistoryExporter;
+    private final ReactiveStockRepository reactiveStockRepository;
+    private final ReactiveStockHistoryRepository reactiveStockHistoryRepository;
+    private final StockHistoryArchive stockHistoryArchive;
+    private final ObjectMapper objectMapper;
+    private final Scheduler jdbcScheduler;
+
+    /**
+     * 상품 입고 ({@link StockService#inbound(Long, Long, int, String)})
+     */
+    public Mono<Void> inbound(Long productId, Long warehouseId, int quantity, String idempotencyKey) {
+        return Mono.<Void>fromRunnable(() -> stockService.inbound(productId, warehouseId, quantity, idempotencyKey))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 상품 출고 ({@link StockService#outbound(Long, Long, int, String)})
+     *
+     * @return 출고 후 상품 재고(모든 창고 합계)의 안전재고 미만 여부
+     */
+    public Mono<Boolean> outbound(Long productId, Long warehouseId, int quantity, String idempotencyKey) {
+        return Mono.fromCallable(() -> stockService.outbound(productId, warehouseId, quantity, idempotencyKey))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 입고/출고 일괄 처리 ({@link StockService#processMovements(List, String)})
+     */
+    public Mono<List<StockMovementResultDto>> processMovements(List<StockMovementDto> movements, String idempotencyKey) {
+        return Mono.fromCallable(() -> stockService.processMovements(movements, idempotencyKey))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 재고 이력으로 재고 수량 재계산 ({@link StockLedgerRebuilder#rebuild()})
+     */
+    public Mono<StockLedgerRebuildResultDto> rebuildLedger() {
+        return Mono.fromCallable(stockLedgerRebuilder::rebuild)
+                .subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * 특정 상품의 재고 거래 내역을 최신순으로 한 페이지 조회합니다. ({@link StockService#getStockHistories})
+     */
+    public Mono<StockHistoryPageDto> getStockHistories(Long productId, String cursor, Integer size) {
+        return Mono.defer(() -> {
+            int pageSize = stockService.resolveHistoryPageSize(size);
+            StockHistoryCursor after = StockService.decodeCursor(cursor);
+            return reactiveStockHistoryRepository.findPageByProductId(productId, after, pageSize + 1,
+                            stockHistoryArchive.archivedBefore())
+                    .collectList()
+                    .map(histories -> StockService.toHistoryPage(
+                            stockHistoryArchive.fillPage(productId, after, histories, pageSize + 1), pageSize));
+        });
+    }
+
+    /**
+     * 조건에 맞는 상품의 재고 현황을 한 페이지 조회합니다. ({@link StockService#getStockStatusPage})
+     */
+    public Mono<StockStatusPageDto> getStockStatusPage(Integer page, Integer size, String sort, String category, boolean belowSafety) {
+        return Mono.defer(() -> {
+            StockStatusCondition condition = stockService.statusPageCondition(page, size, sort, category, belowSafety);
+            Mono<List<StockStatusDto>> statuses = stockService.readsStatusFromReadModel(condition)
+                    ? Mono.fromSupplier(() -> stockStatusReadModel.findPage(condition))
+                    : reactiveStockRepository.findStatuses(condition).collectList();
+            return statuses.map(content -> StockService.toStatusPage(condition, content));
+        });
+    }
+
+    /**
+     * 안전 재고 수량 미만인 상품 목록. 읽기 모델이 꺼져 있으면 DB에서 구독자가 요청한 만큼 읽어 전달합니다.
+     */
+    public Flux<StockStatusDto> getProductsBelowSafetyStock() {
+        if (stockStatusReadModel.isEnabled()) {
+            return Flux.defer(() -> Flux.fromIterable(stockStatusReadModel.findBelowSafetyStock()));
+        }
+        return reactiveStockRepository.findStatuses(StockStatusCondition.builder().belowSafety(true).build());
+    }
+
+    /**
+     * 특정 상품의 기간별 재고 통계 ({@link StockService#getInventoryStatistics})
+     */
+    public Mono<InventoryStatistics> getInventoryStatistics(Long productId, LocalDateTime startDate, LocalDateTime endDate) {
+        return Mono.defer(() -> {
+            LocalDate firstFullDay = stockService.rollupFirstDay(startDate, endDate);
+            LocalDate lastFullDay = firstFullDay == null ? null : StockService.rollupLastDay(endDate);
+            return reactiveStockHistoryRepository.summarizeBetweenDates(productId, startDate, endDate,
+                            firstFullDay, lastFullDay, stockHistoryArchive.archivedBefore())
+                    .map(summary -> stockHistoryArchive.withArchived(summary, productId, startDate, endDate, firstFullDay, lastFullDay))
+                    .map(summary -> StockService.toStatistics(productId, startDate, endDate, summary));
+        });
+    }
+
+    /**
+     * 기간 내 전체 상품의 재고 이력을 이력 ID 순으로 내보냅니다. 기간은 호출 시점에 검증합니다.
+     *
+     * @return 개행으로 끝나는 줄 단위 문자열 (CSV면 헤더가 먼저 나옴)
+     */
+    public Flux<String> exportHistories(StockHistoryExportFormat format, LocalDateTime startDate, LocalDateTime endDate) {
+        stockHistoryExporter.validateRange(startDate, endDate);
+        Flux<StockHistory> histories = reactiveStockHistoryRepository.streamBetweenDates(startDate, endDate);
+        if (format == StockHistoryExportFormat.CSV) {
+            return Flux.concat(Flux.just(StockHistoryExporter.CSV_HEADER + "\n"), histories.map(ReactiveStockService::toCsvLine));
+        }
+        return histories.map(this::toJsonLine);
+    }
+
+    private static String toCsvLine(StockHistory history) {
+        StringBuilder line = new StringBuilder(64);
+        try {
+            StockHistoryExporter.appendCsvLine(line, history);
+        } catch (IOException e) {
+            // StringBuilder는 IOException을 던지지 않는다.
+            throw new UncheckedIOException(e);
+        }
+        return line.toString();
+    }
+
+    private String toJsonLine(StockHistory history) {
+        try {
+            return objectMapper.writeValueAsString(history) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("재고 이력을 JSON으로 변환할 수 없습니다. ID: " + history.getHistoryId(), e);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.service.stock.dto.StockAlertDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 안전재고 기준을 넘나든 상품을 SSE 구독자에게 알립니다.
+ * <p>
+ * 알림은 커밋된 입고/출고에서만 만들어지고, 최근 알림은 정해진 개수만큼 링 버퍼에 보관되어
+ * 재접속한 구독자가 {@code Last-Event-ID} 이후의 알림을 이어받을 수 있습니다.
+ * <p>
+ * 발행하는 쪽(요청 스레드)은 구독자별 제한된 큐에 넣기만 하고 기다리지 않습니다.
+ * 실제 전송은 별도 스레드가 구독자별로 순서대로 처리하며, 큐가 가득 찬 느린 구독자는 연결을 끊습니다.
+ * 구독은 Spring MVC의 {@link SseEmitter}로도, WebFlux의 {@link Flux}로도 받을 수 있으며, Flux 구독자에게는 요청한 만큼만 보냅니다.
+ * 알림 순번은 시작 시각 기반이라 재시작 후에도 증가하지만, 재시작 전 버퍼는 남지 않습니다.
+ */
+@Slf4j
+@Component
+public class StockAlertBroadcaster implements DisposableBean {
+
+    private final int bufferSize;
+    private final int subscriberBufferSize;
+    private final long emitterTimeoutMillis;
+    private final ExecutorService sender;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<StockAlertDto> recent = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long sequence = System.currentTimeMillis() * 1000;
+
+    public StockAlertBroadcaster(
+            @Value("${inventory.stock.alerts.buffer-size:1024}") int bufferSize,
+            @Value("${inventory.stock.alerts.subscriber-buffer-size:256}") int subscriberBufferSize,
+            @Value("${inventory.stock.alerts.sender-threads:2}") int senderThreads,
+            @Value("${inventory.stock.alerts.emitter-timeout-seconds:1800}") long emitterTimeoutSeconds) {
+        if (bufferSize <= 0 || subscriberBufferSize <= 0 || senderThreads <= 0) {
+            throw new IllegalArgumentException("알림 버퍼 크기와 전송 스레드 수는 0보다 커야 합니다.");
+        }
+        this.bufferSize = bufferSize;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.emitterTimeoutMillis = TimeUnit.SECONDS.toMillis(emitterTimeoutSeconds);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-alert-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 입고/출고 결과 중 안전재고 기준을 넘나든 건을 트랜잭션 커밋 후 알립니다.
+     *
+     * @param results 입고/출고 처리 결과
+     */
+    public void publishCrossings(Collection<StockMovementResultDto> results) {
+        List<StockAlertDto> alerts = results.stream()
+                .filter(StockMovementResultDto::crossesSafetyStock)
+                .map(StockAlertDto::of)
+                .collect(Collectors.toList());
+        if (!alerts.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> alerts.forEach(this::publish));
+        }
+    }
+
+    /**
+     * 알림을 구독합니다.
+     *
+     * @param lastEventId 마지막으로 받은 알림 순번 (처음 구독하면 null)
+     * @return 알림을 보낼 SSE 연결
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(Long lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = register(lastEventId, new EmitterChannel(emitter));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.scheduleDrain();
+        return emitter;
+    }
+
+    /**
+     * 알림을 WebFlux 응답으로 구독합니다 (reactive 프로파일).
+     * <p>
+     * 구독자가 요청한 만큼만 보내고 나머지는 구독자별 큐에 남겨 두므로, 요청하지 않는 느린 구독자는 큐가 가득 차면 끊깁니다.
+     *
+     * @param lastEventId 마지막으로 받은 알림 순번 (처음 구독하면 null)
+     * @return 알림 스트림 (SseEmitter와 같은 시간이 지나면 완료)
+     */
+    public Flux<ServerSentEvent<StockAlertDto>> stream(Long lastEventId) {
+        Flux<ServerSentEvent<StockAlertDto>> alerts = Flux.create(sink -> {
+            Subscriber subscriber = register(lastEventId, new SinkChannel(sink));
+            sink.onRequest(requested -> subscriber.scheduleDrain());
+            sink.onDispose(subscriber::close);
+        });
+        return alerts.take(Duration.ofMillis(emitterTimeoutMillis));
+    }
+
+    private Subscriber register(Long lastEventId, AlertChannel channel) {
+        synchronized (lock) {
+            // 버퍼의 놓친 알림과 이후 알림이 순서대로 같은 큐에 들어가도록 잠금 안에서 등록한다.
+            List<StockAlertDto> missed = lastEventId == null ? List.of()
+                    : recent.stream().filter(alert -> alert.getId() > lastEventId).collect(Collectors.toList());
+            Subscriber subscriber = new Subscriber(channel, subscriberBufferSize + missed.size());
+            missed.forEach(subscriber.queue::offer);
+            subscribers.add(subscriber);
+            return subscriber;
+        }
+    }
+
+    /**
+     * 현재 구독자 수
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(Subscriber::drop);
+        sender.shutdownNow();
+    }
+
+    void publish(StockAlertDto alert) {
+        List<Subscriber> receivers = new ArrayList<>();
+        List<Subscriber> slow = new ArrayList<>();
+        synchronized (lock) {
+            alert.setId(++sequence);
+            recent.addLast(alert);
+            if (recent.size() > bufferSize) {
+                recent.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue.offer(alert)) {
+                    receivers.add(subscriber);
+                } else {
+                    slow.add(subscriber);
+                }
+            }
+        }
+        slow.forEach(subscriber -> {
+            log.info("알림 큐가 가득 찬 구독자의 연결을 끊습니다. (미전송 {}건)", subscriber.queue.size());
+            subscriber.drop();
+        });
+        receivers.forEach(Subscriber::scheduleDrain);
+    }
+
+    /**
+     * 알림을 실제로 내보내는 연결.
+     */
+    private interface AlertChannel {
+
+        /** 지금 한 건을 더 보낼 수 있는지 (Flux 구독자는 요청한 만큼만) */
+        boolean isReady();
+
+        void send(StockAlertDto alert) throws IOException;
+
+        void complete();
+    }
+
+    private static final class EmitterChannel implements AlertChannel {
+
+        private final SseEmitter emitter;
+
+        EmitterChannel(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void send(StockAlertDto alert) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(alert.getId()))
+                    .name("stock-alert")
+                    .data(alert, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+
+    private static final class SinkChannel implements AlertChannel {
+
+        private final FluxSink<ServerSentEvent<StockAlertDto>> sink;
+
+        SinkChannel(FluxSink<ServerSentEvent<StockAlertDto>> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean isReady() {
+            return !sink.isCancelled() && sink.requestedFromDownstream() > 0;
+        }
+
+        @Override
+        public void send(StockAlertDto alert) {
+            sink.next(ServerSentEvent.builder(alert)
+                    .id(String.valueOf(alert.getId()))
+                    .event("stock-alert")
+                    .build());
+        }
+
+        @Override
+        public void complete() {
+            sink.complete();
+        }
+    }
+
+    /**
+     * 구독자 하나. 전송 작업은 구독자마다 동시에 하나만 실행되어 알림 순서를 지킵니다.
+     */
+    private final class Subscriber {
+
+        private final AlertChannel channel;
+        private final BlockingQueue<StockAlertDto> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(AlertChannel channel, int capacity) {
+            this.channel = channel;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed && channel.isReady()) {
+                    StockAlertDto alert = queue.poll();
+                    if (alert == null) {
+                        break;
+                    }
+                    channel.send(alert);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊었거나 이미 완료된 연결
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // 전송을 마치는 사이에 들어온 알림이나 요청이 있으면 다시 예약한다.
+            if (!closed && !queue.isEmpty() && channel.isReady()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        void drop() {
+            close();
+            channel.complete();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * 기존 `stock_history`로 `stock_history_daily` 일별 집계를 다시 계산하는 작업.
+ * <p>
+ * 하루씩 별도 트랜잭션으로 해당 일자의 집계를 지우고 원본 이력으로 다시 채우므로, 여러 번 실행해도 결과가 같습니다.
+ * {@code inventory.stock.rollup.backfill-on-startup=true}이면 애플리케이션 시작 시 전체 기간을 한 번 계산합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockHistoryDailyBackfill implements ApplicationRunner {
+
+    private final StockHistoryDailyRepository stockHistoryDailyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.stock.rollup.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (backfillOnStartup) {
+            backfillAll();
+        }
+    }
+
+    /**
+     * 가장 오래된 이력의 일자부터 오늘까지 일별 집계를 다시 계산합니다.
+     *
+     * @return 계산한 일수
+     */
+    public int backfillAll() {
+        return stockHistoryDailyRepository.findFirstHistoryDate()
+                .map(firstDate -> backfill(firstDate, LocalDate.now()))
+                .orElse(0);
+    }
+
+    /**
+     * 지정한 기간의 일별 집계를 하루씩 다시 계산합니다.
+     *
+     * @param from 시작 일자 (포함)
+     * @param to   종료 일자 (포함)
+     * @return 계산한 일수
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            LocalDate statDate = date;
+            transactionTemplate.executeWithoutResult(status -> {
+                stockHistoryDailyRepository.deleteByStatDate(statDate);
+                stockHistoryDailyRepository.insertFromHistory(statDate);
+            });
+            days++;
+        }
+        log.info("재고 이력 일별 집계를 다시 계산했습니다. ({} ~ {}, {}일)", from, to, days);
+        return days;
+    }
+}
@@ -0,0 +1,39 @@
+package kr.co.iscu.assignment.service.stock;
+
+import java.util.Arrays;
+
+/**
+ * 재고 이력 내보내기 형식.
+ */
+public enum StockHistoryExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),  // 한 줄에 JSON 객체 하나
+    CSV("text/csv", "csv");                     // 헤더 한 줄 + 이력 한 건당 한 줄
+
+    private final String contentType;
+    private final String extension;
+
+    StockHistoryExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * 요청 파라미터 값(대소문자 무시)으로 형식을 찾습니다.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 형식일 경우 발생
+     */
+    public static StockHistoryExportFormat from(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 내보내기 형식입니다: " + value));
+    }
+}
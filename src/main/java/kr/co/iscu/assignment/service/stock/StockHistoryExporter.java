@@ -0,0 +1,135 @@
+package kr.co.iscu.assignment.service.stock;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 재고 이력을 NDJSON 또는 CSV로 출력 스트림에 바로 내보냅니다.
+ * <p>
+ * 이력을 {@code List}로 모으지 않고 MyBatis {@link ResultHandler}로 한 행씩 받아 곧바로 기록합니다.
+ * 매퍼는 MySQL 드라이버의 스트리밍 결과 집합을 사용하므로 내보내는 건수와 관계없이 메모리 사용량이 일정합니다.
+ * 스트리밍 중에는 같은 커넥션에서 다른 문장을 실행할 수 없으므로, 이 클래스는 내보내는 동안 다른 조회를 하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockHistoryExporter {
+
+    static final String CSV_HEADER = "history_id,product_id,warehouse_id,event_type,quantity,created_at";
+
+    private final StockHistoryRepository stockHistoryRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 내보내기 기간을 검증합니다. 응답을 쓰기 시작한 뒤에는 오류 상태 코드를 보낼 수 없으므로 스트리밍 전에 호출합니다.
+     *
+     * @param startDate 시작일시 (null이면 처음부터)
+     * @param endDate   종료일시 (null이면 끝까지)
+     * @throws IllegalArgumentException 시작일시가 종료일시보다 늦을 경우 발생
+     */
+    public void validateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("시작일시는 종료일시보다 늦을 수 없습니다.");
+        }
+    }
+
+    /**
+     * 기간 내 전체 상품의 재고 이력을 이력 ID 순으로 내보냅니다.
+     *
+     * @param format    내보내기 형식
+     * @param startDate 시작일시 (null이면 처음부터)
+     * @param endDate   종료일시 (null이면 끝까지, 포함)
+     * @param output    기록할 출력 스트림 (닫지 않음)
+     * @return 내보낸 이력 건수
+     */
+    public long export(StockHistoryExportFormat format, LocalDateTime startDate, LocalDateTime endDate,
+                       OutputStream output) throws IOException {
+        validateRange(startDate, endDate);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long[] count = {0};
+        try {
+            if (format == StockHistoryExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                stockHistoryRepository.streamBetweenDates(startDate, endDate, context -> {
+                    writeCsvLine(writer, context.getResultObject());
+                    count[0]++;
+                });
+            } else {
+                // 값마다 개행을 붙이고 대상 스트림은 닫지 않는다.
+                SequenceWriter lines = objectMapper.writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .withRootValueSeparator("\n")
+                        .writeValues(writer);
+                stockHistoryRepository.streamBetweenDates(startDate, endDate, context -> {
+                    try {
+                        lines.write(context.getResultObject());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                });
+                lines.flush();
+                if (count[0] > 0) {
+                    writer.write('\n');
+                }
+            }
+        } catch (RuntimeException e) {
+            // ResultHandler에서 던진 쓰기 오류는 MyBatis/Spring 예외로 감싸져 나오므로 원래 IOException을 꺼낸다.
+            throw unwrapWriteFailure(e);
+        }
+        writer.flush();
+        return count[0];
+    }
+
+    private IOException unwrapWriteFailure(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UncheckedIOException) {
+                return ((UncheckedIOException) cause).getCause();
+            }
+        }
+        throw e;
+    }
+
+    private void writeCsvLine(Writer writer, StockHistory history) {
+        try {
+            appendCsvLine(writer, history);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 이력 한 건을 CSV 한 줄(개행 포함)로 덧붙입니다.
+     */
+    static void appendCsvLine(Appendable out, StockHistory history) throws IOException {
+        // 모든 열이 숫자, 열거형, 일시이므로 따옴표 처리가 필요 없다.
+        out.append(String.valueOf(history.getHistoryId()))
+                .append(',')
+                .append(String.valueOf(history.getProductId()))
+                .append(',')
+                .append(String.valueOf(history.getWarehouseId()))
+                .append(',')
+                .append(history.getEventType().name())
+                .append(',')
+                .append(String.valueOf(history.getQuantity()))
+                .append(',')
+                .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(history.getCreatedAt()))
+                .append('\n');
+    }
+}
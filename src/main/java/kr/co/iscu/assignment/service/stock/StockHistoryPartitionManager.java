@@ -0,0 +1,225 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.config.datasource.DataSourceRouting;
+import kr.co.iscu.assignment.domain.stock.StockHistoryPartition;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * `stock_history` 월별 파티션을 미리 만들고 보관 기간이 지난 파티션을 정리하는 작업.
+ * <p>
+ * 시작 시와 {@code check-interval-seconds}마다 이번 달부터 {@code months-ahead}달 뒤까지의 파티션이 있는지 확인해 없는 달을 추가합니다.
+ * 아직 파티션이 없는 빈 테이블(새로 설치한 DB)은 그 자리에서 월별 파티션 테이블로 바꾸고,
+ * 이력이 있는 테이블은 테이블 전체를 다시 써야 하므로 경고만 남깁니다. (README의 ALTER 문장으로 전환)
+ * <p>
+ * {@code retention-months}가 0보다 크면 그만큼 지난 달의 파티션을 삭제({@code expired-action: drop})하거나
+ * 같은 이름의 보관 테이블로 떼어냅니다({@code expired-action: detach}). 재고 수량은 스냅샷 + 이후 이력으로 다시 계산하므로,
+ * 스냅샷에 반영되지 않은 이력이 남은 파티션은 정리하지 않습니다.
+ * 정리한 파티션의 이력이 기간 통계에 남지 않도록, 파티션을 정리하기 전에 그 달까지의 일별 집계(`stock_history_daily`)를 먼저 삭제합니다.
+ * 파티션 정리가 실패해도 다음 실행에서 같은 삭제를 반복하므로 집계만 남는 일은 없습니다.
+ * <p>
+ * MySQL의 DDL은 실행 즉시 커밋되어 트랜잭션으로 묶이지 않으므로 트랜잭션 없이 실행하고, 정보 스키마 조회도 주 DB에서 읽습니다.
+ * 파티션은 MySQL에만 있으므로 다른 DB(H2 등)에서는 아무것도 하지 않습니다.
+ */
+@Slf4j
+@Component
+public class StockHistoryPartitionManager implements ApplicationRunner, DisposableBean {
+
+    static final String ARCHIVE_TABLE_PREFIX = "stock_history_";
+
+    private final StockHistoryPartitionRepository stockHistoryPartitionRepository;
+    private final StockHistoryDailyRepository stockHistoryDailyRepository;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean detachExpired;
+    private final long checkIntervalSeconds;
+
+    private ScheduledExecutorService scheduler;
+
+    public StockHistoryPartitionManager(
+            StockHistoryPartitionRepository stockHistoryPartitionRepository,
+            StockHistoryDailyRepository stockHistoryDailyRepository,
+            DataSource dataSource,
+            @Value("${inventory.stock.history.partition.enabled:true}") boolean enabled,
+            @Value("${inventory.stock.history.partition.months-ahead:3}") int monthsAhead,
+            @Value("${inventory.stock.history.partition.retention-months:0}") int retentionMonths,
+            @Value("${inventory.stock.history.partition.expired-action:drop}") String expiredAction,
+            @Value("${inventory.stock.history.partition.check-interval-seconds:86400}") long checkIntervalSeconds) {
+        if (monthsAhead < 1 || retentionMonths < 0) {
+            throw new IllegalArgumentException("미리 만들 파티션 수는 1 이상, 보관 개월 수는 0 이상이어야 합니다.");
+        }
+        if (!"drop".equals(expiredAction) && !"detach".equals(expiredAction)) {
+            throw new IllegalArgumentException("지원하지 않는 재고 이력 파티션 정리 방식입니다: " + expiredAction);
+        }
+        this.stockHistoryPartitionRepository = stockHistoryPartitionRepository;
+        this.stockHistoryDailyRepository = stockHistoryDailyRepository;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.detachExpired = "detach".equals(expiredAction);
+        this.checkIntervalSeconds = checkIntervalSeconds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (!isMySql()) {
+            log.info("파티션을 지원하지 않는 DB이므로 재고 이력 파티션을 관리하지 않습니다.");
+            return;
+        }
+        maintainQuietly();
+        if (checkIntervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-history-partition");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::maintainQuietly, checkIntervalSeconds, checkIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 이번 달 기준으로 파티션을 추가하고 보관 기간이 지난 파티션을 정리합니다.
+     */
+    public void maintain() {
+        maintain(YearMonth.now());
+    }
+
+    void maintain(YearMonth currentMonth) {
+        // DDL은 트랜잭션 없이 실행하고, 정보 스키마 조회는 복제본이 아니라 DDL을 실행할 주 DB에서 읽는다.
+        DataSourceRouting.onPrimary(() -> {
+            List<String> names = stockHistoryPartitionRepository.findPartitionNames();
+            if (names.isEmpty()) {
+                partitionEmptyTable(currentMonth);
+                return null;
+            }
+            addMissingPartitions(names, currentMonth);
+            if (retentionMonths > 0) {
+                removeExpiredPartitions(names, currentMonth.minusMonths(retentionMonths));
+            }
+            return null;
+        });
+    }
+
+    private void partitionEmptyTable(YearMonth currentMonth) {
+        if (stockHistoryPartitionRepository.existsAnyHistory()) {
+            log.warn("stock_history가 파티션 테이블이 아닙니다. 이력이 있는 테이블은 자동으로 바꾸지 않으므로 README의 ALTER 문장으로 전환하세요.");
+            return;
+        }
+        List<StockHistoryPartition> partitions = months(currentMonth, currentMonth.plusMonths(monthsAhead));
+        stockHistoryPartitionRepository.partitionByMonth(partitions);
+        log.info("stock_history를 월별 파티션 테이블로 바꿨습니다. ({} ~ {})", partitions.get(0).getName(), last(partitions).getName());
+    }
+
+    private void addMissingPartitions(List<String> names, YearMonth currentMonth) {
+        if (!names.contains(StockHistoryPartition.FUTURE)) {
+            log.warn("stock_history에 {} 파티션이 없어 월별 파티션을 추가하지 않습니다.", StockHistoryPartition.FUTURE);
+            return;
+        }
+        YearMonth lastMonth = names.stream()
+                .map(StockHistoryPartition::monthOf)
+                .flatMap(Optional::stream)
+                .max(YearMonth::compareTo)
+                .orElse(currentMonth.minusMonths(1));
+        YearMonth until = currentMonth.plusMonths(monthsAhead);
+        if (!lastMonth.isBefore(until)) {
+            return;
+        }
+        List<StockHistoryPartition> partitions = months(lastMonth.plusMonths(1), until);
+        stockHistoryPartitionRepository.addPartitions(partitions);
+        log.info("stock_history 파티션을 추가했습니다. ({} ~ {})", partitions.get(0).getName(), last(partitions).getName());
+    }
+
+    /**
+     * cutoff 이전 달의 파티션을 오래된 순으로 정리합니다. 스냅샷에 반영되지 않은 이력이 남은 파티션을 만나면 멈춥니다.
+     */
+    private void removeExpiredPartitions(List<String> names, YearMonth cutoff) {
+        for (String name : names) {
+            Optional<YearMonth> month = StockHistoryPartition.monthOf(name);
+            if (month.isEmpty()) {
+                continue;
+            }
+            if (!month.get().isBefore(cutoff)) {
+                return;
+            }
+            long notInSnapshot = stockHistoryPartitionRepository.countRowsNotInSnapshot(name);
+            if (notInSnapshot > 0) {
+                log.warn("{} 파티션에 재고 원장 스냅샷에 반영되지 않은 이력이 {}건 있어 정리하지 않습니다. (스냅샷 갱신 후 다시 시도)",
+                        name, notInSnapshot);
+                return;
+            }
+            stockHistoryDailyRepository.deleteBeforeStatDate(StockHistoryPartition.of(month.get()).getUpperBound());
+            if (detachExpired) {
+                String tableName = ARCHIVE_TABLE_PREFIX + name;
+                stockHistoryPartitionRepository.createArchiveTable(tableName);
+                stockHistoryPartitionRepository.removeArchiveTablePartitioning(tableName);
+                stockHistoryPartitionRepository.exchangePartition(name, tableName);
+                stockHistoryPartitionRepository.dropPartition(name);
+                log.info("보관 기간이 지난 stock_history 파티션 {}을 {} 테이블로 떼어냈습니다.", name, tableName);
+            } else {
+                stockHistoryPartitionRepository.dropPartition(name);
+                log.info("보관 기간이 지난 stock_history 파티션 {}을 삭제했습니다.", name);
+            }
+        }
+    }
+
+    private boolean isMySql() {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "MySQL".equalsIgnoreCase(productName);
+        } catch (MetaDataAccessException e) {
+            log.warn("DB 종류를 확인하지 못해 재고 이력 파티션을 관리하지 않습니다.", e);
+            return false;
+        }
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.warn("재고 이력 파티션을 관리하지 못했습니다.", e);
+        }
+    }
+
+    private static List<StockHistoryPartition> months(YearMonth from, YearMonth to) {
+        List<StockHistoryPartition> partitions = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            partitions.add(StockHistoryPartition.of(month));
+        }
+        return partitions;
+    }
+
+    private static StockHistoryPartition last(List<StockHistoryPartition> partitions) {
+        return partitions.get(partitions.size() - 1);
+    }
+}
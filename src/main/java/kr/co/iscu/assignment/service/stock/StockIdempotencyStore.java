@@ -0,0 +1,242 @@
+package kr.co.iscu.assignment.service.stock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import kr.co.iscu.assignment.config.datasource.DataSourceRouting;
+import kr.co.iscu.assignment.domain.stock.StockIdempotencyRecord;
+import kr.co.iscu.assignment.global.error.ConflictException;
+import kr.co.iscu.assignment.repository.stock.StockIdempotencyRepository;
+import kr.co.iscu.assignment.service.stock.movement.StockMovementProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key로 같은 입고/출고 요청이 두 번 반영되지 않게 하는 중복 요청 저장소.
+ * <p>
+ * 먼저 최근 키를 담은 메모리 캐시(최대 건수와 TTL로 제한)를 확인하고, 있으면 DB에 접근하지 않고 처음 응답을 돌려줍니다.
+ * 없으면 미리 조회하지 않고 입고/출고를 실행한 뒤, 같은 트랜잭션에서 키와 응답을 `stock_idempotency_key`에 등록합니다.
+ * 다른 인스턴스에서 처리했거나 캐시에서 밀려난 키는 이 등록이 기본 키 중복으로 실패하므로,
+ * 트랜잭션을 롤백하여 방금 실행한 입고/출고를 되돌리고 저장된 응답을 돌려줍니다.
+ * 따라서 중복이 아닌 요청은 키가 있어도 조회 없이 INSERT 한 문장만 더합니다.
+ * 다시 실행한 입고/출고가 실패하면(예: 처음 요청이 재고를 모두 출고해 재고 부족) 키 등록까지 가지 못하므로,
+ * 실패한 경우에만 키를 조회해 이미 처리된 키면 실패 대신 저장된 응답을 돌려줍니다.
+ * <p>
+ * 처리기가 입고/출고를 자체 스레드에서 따로 커밋하면({@link StockMovementProcessor#joinsCallerTransaction()} == false)
+ * 롤백으로 되돌릴 수 없으므로, 실행 전에 키를 응답 없이 먼저 등록(선점)하고 실행이 끝나면 응답을 기록합니다.
+ * 선점에 실패하면 실행하지 않고 저장된 응답을 돌려주며, 아직 응답이 없으면 처리 중이므로 다시 시도하라는 예외(409)를 던집니다.
+ * 이 방식은 중복이 아닌 요청마다 INSERT와 UPDATE 두 문장을 더합니다.
+ * <p>
+ * 실패한 요청(예외)은 등록되지 않거나 선점한 키를 지우므로 같은 키로 다시 시도할 수 있습니다.
+ * 선점한 뒤 응답을 기록하기 전에 프로세스가 종료되면 반영 여부를 알 수 없으므로, 그 키는 보관 시간이 지날 때까지 처리 중으로 남습니다.
+ * DB의 키는 {@code retention-hours}가 지나면 삭제됩니다.
+ */
+@Slf4j
+@Component
+public class StockIdempotencyStore implements SmartInitializingSingleton, DisposableBean {
+
+    static final int MAX_KEY_LENGTH = 100;
+    private static final int PURGE_BATCH_SIZE = 10_000;
+
+    private final StockIdempotencyRepository stockIdempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean claimBeforeExecute;
+    private final Cache<String, StockIdempotencyRecord> recent;
+    private final long retentionHours;
+    private final long purgeIntervalSeconds;
+
+    private ScheduledExecutorService purger;
+
+    public StockIdempotencyStore(
+            StockIdempotencyRepository stockIdempotencyRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            StockMovementProcessor stockMovementProcessor,
+            @Value("${inventory.stock.idempotency.memory-maximum-size:100000}") long memoryMaximumSize,
+            @Value("${inventory.stock.idempotency.memory-ttl-seconds:600}") long memoryTtlSeconds,
+            @Value("${inventory.stock.idempotency.retention-hours:24}") long retentionHours,
+            @Value("${inventory.stock.idempotency.purge-interval-seconds:3600}") long purgeIntervalSeconds) {
+        this.stockIdempotencyRepository = stockIdempotencyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.claimBeforeExecute = !stockMovementProcessor.joinsCallerTransaction();
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(memoryMaximumSize)
+                .expireAfterWrite(memoryTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        this.retentionHours = retentionHours;
+        this.purgeIntervalSeconds = purgeIntervalSeconds;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (purgeIntervalSeconds <= 0) {
+            return;
+        }
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-idempotency-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeQuietly, purgeIntervalSeconds, purgeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    /**
+     * 처음 보는 키면 action을 실행하고 응답을 등록하며, 이미 처리한 키면 실행하지 않고 처음 응답을 돌려줍니다.
+     *
+     * @param idempotencyKey Idempotency-Key (null이면 중복 확인 없이 실행)
+     * @param request        요청 내용 (같은 키로 다른 요청을 보냈는지 확인하는 데 사용)
+     * @param responseType   응답 타입
+     * @param action         입고/출고 실행
+     * @return 이번에 실행한 응답 또는 처음 처리한 응답
+     * @throws IllegalArgumentException 키 형식이 잘못되었거나, 같은 키로 다른 요청이 이미 처리된 경우 발생
+     * @throws ConflictException 같은 키의 요청을 아직 처리하고 있는 경우 발생 (키를 선점하는 방식에서만)
+     */
+    public <T> T execute(String idempotencyKey, Object request, TypeReference<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key는 1~" + MAX_KEY_LENGTH + "자여야 합니다.");
+        }
+
+        String requestHash = sha256(toJson(request));
+        StockIdempotencyRecord cached = recent.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+        if (claimBeforeExecute) {
+            return claimAndExecute(idempotencyKey, requestHash, responseType, action);
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                T response = action.get();
+                StockIdempotencyRecord record = StockIdempotencyRecord.builder()
+                        .idempotencyKey(idempotencyKey)
+                        .requestHash(requestHash)
+                        .response(toJson(response))
+                        .build();
+                stockIdempotencyRepository.insert(record);
+                TransactionCallbacks.afterCommit(() -> recent.put(idempotencyKey, record));
+                return response;
+            });
+        } catch (DuplicateKeyException e) {
+            return replayStored(idempotencyKey, requestHash, responseType, e);
+        } catch (RuntimeException e) {
+            // 캐시에서 밀려난 키로 다시 실행했다가 실패했으면, 이미 처리된 요청이므로 실패 대신 처음 응답을 돌려준다.
+            Optional<StockIdempotencyRecord> stored = DataSourceRouting.onPrimary(() -> stockIdempotencyRepository.findByKey(idempotencyKey));
+            if (stored.isEmpty()) {
+                throw e;
+            }
+            recent.put(idempotencyKey, stored.get());
+            return replay(stored.get(), requestHash, responseType);
+        }
+    }
+
+    /**
+     * 키를 먼저 선점한 뒤 실행하고 응답을 기록합니다. 실행이 실패하면 선점한 키를 지웁니다.
+     */
+    private <T> T claimAndExecute(String idempotencyKey, String requestHash, TypeReference<T> responseType, Supplier<T> action) {
+        try {
+            stockIdempotencyRepository.insertPending(idempotencyKey, requestHash);
+        } catch (DuplicateKeyException e) {
+            return replayStored(idempotencyKey, requestHash, responseType, e);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            stockIdempotencyRepository.deletePending(idempotencyKey);
+            throw e;
+        }
+        StockIdempotencyRecord record = StockIdempotencyRecord.builder()
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .response(toJson(response))
+                .build();
+        stockIdempotencyRepository.complete(idempotencyKey, record.getResponse());
+        recent.put(idempotencyKey, record);
+        return response;
+    }
+
+    private <T> T replayStored(String idempotencyKey, String requestHash, TypeReference<T> responseType, DuplicateKeyException e) {
+        StockIdempotencyRecord stored = DataSourceRouting.onPrimary(() -> stockIdempotencyRepository.findByKey(idempotencyKey))
+                .orElseThrow(() -> e);
+        if (stored.getResponse() == null) {
+            if (!stored.getRequestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("같은 Idempotency-Key로 다른 요청이 이미 처리되었습니다.");
+            }
+            throw new ConflictException("같은 Idempotency-Key의 요청을 처리하고 있습니다. 잠시 후 다시 시도하세요.");
+        }
+        recent.put(idempotencyKey, stored);
+        return replay(stored, requestHash, responseType);
+    }
+
+    private <T> T replay(StockIdempotencyRecord record, String requestHash, TypeReference<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("같은 Idempotency-Key로 다른 요청이 이미 처리되었습니다.");
+        }
+        try {
+            return objectMapper.readValue(record.getResponse(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("요청 또는 응답을 JSON으로 변환할 수 없습니다.", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            int deleted;
+            do {
+                deleted = stockIdempotencyRepository.deleteCreatedBefore(retentionHours, PURGE_BATCH_SIZE);
+            } while (deleted == PURGE_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("보관 시간이 지난 Idempotency-Key를 삭제하지 못했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockKey;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.repository.stock.StockSnapshotRepository;
+import kr.co.iscu.assignment.service.stock.dto.StockLedgerRebuildResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * `stock_history`를 원장으로 보고 `stock_snapshot` 스냅샷을 갱신하거나 `stock` 수량을 다시 계산하는 작업.
+ * <p>
+ * 두 작업 모두 상품 ID를 {@code range-size}개씩 나눈 범위를 {@code parallelism}개 스레드에서 동시에, 범위마다 별도 트랜잭션으로 처리합니다.
+ * 스냅샷은 마지막 스냅샷 이후 이력만 더하므로, 주기적으로 갱신해 두면 재계산은 전체 이력이 아니라 그 이후 이력만 읽습니다.
+ * <p>
+ * 재계산은 범위의 `stock` 행을 잠근 채(그동안 해당 상품의 입고/출고는 대기) 원장 수량을 읽고, 값이 다른 상품·창고의 행만 고칩니다.
+ * {@code inventory.stock.ledger.rebuild-on-startup=true}이면 애플리케이션 시작 시 한 번 재계산합니다.
+ * <p>
+ * {@code sharded}, {@code wal} 처리 방식은 메모리의 재고를 기준으로 검증하고 그 값을 그대로 커밋하므로(유일한 writer),
+ * DB의 `stock`만 고치면 다음 커밋이 고친 값을 덮어씁니다. 따라서 재계산은 {@code transactional} 처리 방식에서만 실행합니다.
+ */
+@Slf4j
+@Component
+public class StockLedgerRebuilder implements ApplicationRunner, DisposableBean {
+
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final StockRepository stockRepository;
+    private final StockStatusReadModel stockStatusReadModel;
+    private final TransactionTemplate rebuildTransaction;
+    private final TransactionTemplate snapshotTransaction;
+    private final int rangeSize;
+    private final int parallelism;
+    private final long snapshotIntervalSeconds;
+    private final boolean rebuildOnStartup;
+    private final boolean rebuildSupported;
+
+    private ScheduledExecutorService snapshotScheduler;
+
+    public StockLedgerRebuilder(
+            StockSnapshotRepository stockSnapshotRepository,
+            StockRepository stockRepository,
+            StockStatusReadModel stockStatusReadModel,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.stock.ledger.range-size:1000}") int rangeSize,
+            @Value("${inventory.stock.ledger.parallelism:4}") int parallelism,
+            @Value("${inventory.stock.ledger.snapshot-interval-seconds:3600}") long snapshotIntervalSeconds,
+            @Value("${inventory.stock.ledger.rebuild-on-startup:false}") boolean rebuildOnStartup,
+            @Value("${inventory.stock.movement-mode:transactional}") String movementMode) {
+        if (rangeSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("재고 원장 범위 크기와 병렬 처리 수는 0보다 커야 합니다.");
+        }
+        this.rebuildSupported = "transactional".equals(movementMode);
+        if (rebuildOnStartup && !rebuildSupported) {
+            throw new IllegalArgumentException("rebuild-on-startup은 transactional 처리 방식에서만 사용할 수 있습니다: " + movementMode);
+        }
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.stockRepository = stockRepository;
+        this.stockStatusReadModel = stockStatusReadModel;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        // 스냅샷은 커밋된 이력만 읽으면 되므로 이력에 잠금을 걸지 않도록 READ COMMITTED로 실행한다.
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+        if (snapshotIntervalSeconds > 0) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-ledger-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 전체 상품의 스냅샷에 마지막 스냅샷 이후 이력을 더합니다.
+     *
+     * @return 처리한 범위 수
+     */
+    public int snapshot() {
+        long startedAt = System.nanoTime();
+        List<Integer> results = forEachRange(range -> snapshotTransaction.execute(status -> {
+            stockSnapshotRepository.saveFromHistory(range[0], range[1]);
+            return 1;
+        }));
+        log.info("재고 원장 스냅샷을 갱신했습니다. (범위 {}개, {} ms)", results.size(), elapsedMillis(startedAt));
+        return results.size();
+    }
+
+    /**
+     * 전체 상품의 `stock` 수량을 원장(스냅샷 + 이후 이력)으로 다시 계산하고, 읽기 모델을 다시 적재합니다.
+     *
+     * @return 재계산 결과
+     * @throws IllegalStateException transactional이 아닌 처리 방식에서 호출한 경우 발생
+     */
+    public StockLedgerRebuildResultDto rebuild() {
+        if (!rebuildSupported) {
+            throw new IllegalStateException("재고 수량 재계산은 transactional 처리 방식에서만 사용할 수 있습니다.");
+        }
+        long startedAt = System.nanoTime();
+        List<int[]> results = forEachRange(range -> rebuildTransaction.execute(status -> rebuildRange(range[0], range[1])));
+        if (stockStatusReadModel.isEnabled()) {
+            stockStatusReadModel.reload();
+        }
+
+        StockLedgerRebuildResultDto result = StockLedgerRebuildResultDto.builder()
+                .ranges(results.size())
+                .products(results.stream().mapToInt(counts -> counts[0]).sum())
+                .correctedProducts(results.stream().mapToInt(counts -> counts[1]).sum())
+                .elapsedMillis(elapsedMillis(startedAt))
+                .build();
+        log.info("재고 원장으로 재고 수량을 다시 계산했습니다. (범위 {}개, 상품·창고 {}개, 수정 {}개, {} ms)",
+                result.getRanges(), result.getProducts(), result.getCorrectedProducts(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * @return {원장 또는 재고가 있는 상품·창고 수, 수량을 고친 상품·창고 수}
+     */
+    private int[] rebuildRange(long fromProductId, long toProductId) {
+        // 재고 행을 먼저 잠가 그 뒤에 읽는 원장이 이 범위의 마지막 커밋까지 반영하도록 한다.
+        Map<StockKey, Integer> current = stockRepository.findAllByProductIdRangeForUpdate(fromProductId, toProductId).stream()
+                .collect(Collectors.toMap(StockKey::of, Stock::getQuantity));
+        Map<StockKey, Integer> ledger = stockSnapshotRepository.findLedgerQuantities(fromProductId, toProductId).stream()
+                .collect(Collectors.toMap(StockKey::of, Stock::getQuantity));
+
+        List<Stock> corrections = new ArrayList<>();
+        ledger.forEach((key, quantity) -> {
+            if (!quantity.equals(current.getOrDefault(key, 0))) {
+                corrections.add(new Stock(key.getProductId(), key.getWarehouseId(), quantity));
+            }
+        });
+        current.forEach((key, quantity) -> {
+            // 원장에 없는 상품·창고는 입고/출고가 없었으므로 0이어야 한다.
+            if (!ledger.containsKey(key) && quantity != 0) {
+                corrections.add(new Stock(key.getProductId(), key.getWarehouseId(), 0));
+            }
+        });
+        if (!corrections.isEmpty()) {
+            stockRepository.saveAll(corrections);
+        }
+
+        long stocks = ledger.size() + current.keySet().stream().filter(key -> !ledger.containsKey(key)).count();
+        return new int[]{(int) stocks, corrections.size()};
+    }
+
+    /**
+     * 상품 ID를 range-size개씩 나눈 범위마다 작업을 병렬로 실행합니다. 하나라도 실패하면 예외를 던집니다.
+     */
+    private <T> List<T> forEachRange(Function<long[], T> work) {
+        long minProductId = stockSnapshotRepository.findMinProductId().orElse(0L);
+        long maxProductId = stockSnapshotRepository.findMaxProductId().orElse(-1L);
+        List<Callable<T>> tasks = new ArrayList<>();
+        for (long from = minProductId; from <= maxProductId; from += rangeSize) {
+            long[] range = {from, Math.min(from + rangeSize - 1, maxProductId)};
+            tasks.add(() -> work.apply(range));
+        }
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()), runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : workers.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 원장 작업이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("재고 원장 작업에 실패했습니다.", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("재고 원장 스냅샷을 갱신하지 못했습니다.", e);
+        }
+    }
+
+    private static long elapsedMillis(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+}
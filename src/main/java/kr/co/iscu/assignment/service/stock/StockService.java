@@ -1,22 +1,31 @@
 package kr.co.iscu.assignment.service.stock;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import kr.co.iscu.assignment.domain.InventoryStatistics;
-import kr.co.iscu.assignment.domain.product.Product;
 import kr.co.iscu.assignment.domain.stock.Stock;
 import kr.co.iscu.assignment.domain.stock.StockEventType;
 import kr.co.iscu.assignment.domain.stock.StockHistory;
-import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.domain.stock.StockHistoryCursor;
+import kr.co.iscu.assignment.domain.stock.StockMovementSummary;
 import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
 import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.stock.archive.StockHistoryArchive;
+import kr.co.iscu.assignment.service.stock.dto.StockHistoryPageDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusCondition;
 import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusPageDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusSortField;
+import kr.co.iscu.assignment.service.stock.movement.StockMovementProcessor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 재고 관리 비즈니스 로직을 처리하는 서비스 클래스.
@@ -25,123 +34,346 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StockService {
 
+    private static final TypeReference<StockMovementResultDto> MOVEMENT_RESULT = new TypeReference<>() {
+    };
+    private static final TypeReference<List<StockMovementResultDto>> MOVEMENT_RESULTS = new TypeReference<>() {
+    };
+
     private final StockRepository stockRepository;
     private final StockHistoryRepository stockHistoryRepository;
-    private final ProductRepository productRepository;
+    private final StockMovementProcessor stockMovementProcessor;
+    private final StockStatusReadModel stockStatusReadModel;
+    private final StockAlertBroadcaster stockAlertBroadcaster;
+    private final StockIdempotencyStore stockIdempotencyStore;
+    private final StockHistoryArchive stockHistoryArchive;
+
+    @Value("${inventory.stock.rollup.enabled:true}")
+    private boolean rollupEnabled;
+
+    @Value("${inventory.stock.history.default-page-size:50}")
+    private int historyDefaultPageSize;
+
+    @Value("${inventory.stock.history.max-page-size:500}")
+    private int historyMaxPageSize;
+
+    @Value("${inventory.stock.status.default-page-size:20}")
+    private int statusDefaultPageSize;
+
+    @Value("${inventory.stock.status.max-page-size:500}")
+    private int statusMaxPageSize;
 
     /**
      * 지정된 상품을 입고 처리합니다.
      * <p>
      * 재고 수량을 증가시키고, 입고 이력을 기록합니다.
+     * 실제 반영은 설정된 {@link StockMovementProcessor}가 담당합니다.
      *
      * @param productId 입고할 상품의 ID
      * @param quantity  입고할 수량 (0보다 커야 함)
      * @throws IllegalArgumentException 존재하지 않는 상품이거나, 입고 수량이 0 이하일 경우 발생
      */
-    @Transactional
     public void inbound(Long productId, int quantity) {
+        inbound(productId, quantity, null);
+    }
+
+    /**
+     * 지정된 상품을 입고 처리합니다. 이미 처리한 Idempotency-Key면 다시 입고하지 않습니다.
+     *
+     * @param productId      입고할 상품의 ID
+     * @param quantity       입고할 수량 (0보다 커야 함)
+     * @param idempotencyKey 재시도 시 중복 반영을 막기 위한 키 (null이면 확인하지 않음)
+     * @throws IllegalArgumentException 존재하지 않는 상품, 입고 수량이 0 이하, 또는 같은 키로 다른 요청이 이미 처리된 경우 발생
+     */
+    public void inbound(Long productId, int quantity, String idempotencyKey) {
+        inbound(productId, null, quantity, idempotencyKey);
+    }
+
+    /**
+     * 지정된 창고에 상품을 입고 처리합니다. 이미 처리한 Idempotency-Key면 다시 입고하지 않습니다.
+     * <p>
+     * 창고마다 재고 행이 따로 있으므로 서로 다른 창고의 입고/출고는 서로를 기다리지 않습니다.
+     *
+     * @param productId      입고할 상품의 ID
+     * @param warehouseId    입고할 창고의 ID (null이면 기본 창고)
+     * @param quantity       입고할 수량 (0보다 커야 함)
+     * @param idempotencyKey 재시도 시 중복 반영을 막기 위한 키 (null이면 확인하지 않음)
+     * @throws IllegalArgumentException 존재하지 않는 상품, 올바르지 않은 창고 ID, 입고 수량이 0 이하, 또는 같은 키로 다른 요청이 이미 처리된 경우 발생
+     */
+    public void inbound(Long productId, Long warehouseId, int quantity, String idempotencyKey) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("입고 수량은 0보다 커야 합니다.");
         }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
-
-        Stock stock = stockRepository.findByProductId(productId)
-                .orElse(new Stock(productId, 0));
-
-        stock.setQuantity(stock.getQuantity() + quantity);
-        stockRepository.save(stock);
-
-        StockHistory history = StockHistory.builder()
+        StockMovementDto movement = StockMovementDto.builder()
                 .productId(productId)
+                .warehouseId(warehouseId == null ? Stock.DEFAULT_WAREHOUSE_ID : warehouseId)
                 .eventType(StockEventType.INBOUND)
                 .quantity(quantity)
                 .build();
-        stockHistoryRepository.save(history);
+        stockIdempotencyStore.execute(idempotencyKey, movement, MOVEMENT_RESULT, () -> process(movement));
     }
 
     /**
      * 지정된 상품을 출고 처리합니다.
      * <p>
-     * 재고 수량을 감소시키고, 출고 이력을 기록합니다.
+     * 재고가 충분할 때만 수량을 감소시키고, 출고 이력을 기록합니다.
      * 출고 후 현재 재고가 상품의 안전 재고 수량 미만인지 여부를 반환합니다.
+     * 실제 반영은 설정된 {@link StockMovementProcessor}가 담당합니다.
      *
      * @param productId 출고할 상품의 ID
      * @param quantity  출고할 수량 (0보다 커야 함)
      * @return 출고 후 재고가 안전 재고 미만이면 {@code true}, 아니면 {@code false}
      * @throws IllegalArgumentException 존재하지 않는 상품, 출고 수량이 0 이하, 또는 재고가 부족할 경우 발생
      */
-    @Transactional
     public boolean outbound(Long productId, int quantity) {
-        if (quantity <= 0) {
-            throw new IllegalArgumentException("출고 수량은 0보다 커야 합니다.");
-        }
+        return outbound(productId, quantity, null);
+    }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
-        Stock stock = stockRepository.findByProductId(productId)
-                .orElse(new Stock(productId, 0));
+    /**
+     * 지정된 상품을 출고 처리합니다. 이미 처리한 Idempotency-Key면 다시 출고하지 않고 처음 결과를 반환합니다.
+     *
+     * @param productId      출고할 상품의 ID
+     * @param quantity       출고할 수량 (0보다 커야 함)
+     * @param idempotencyKey 재시도 시 중복 반영을 막기 위한 키 (null이면 확인하지 않음)
+     * @return 출고 후 재고가 안전 재고 미만이면 {@code true}, 아니면 {@code false}
+     * @throws IllegalArgumentException 존재하지 않는 상품, 출고 수량이 0 이하, 재고 부족, 또는 같은 키로 다른 요청이 이미 처리된 경우 발생
+     */
+    public boolean outbound(Long productId, int quantity, String idempotencyKey) {
+        return outbound(productId, null, quantity, idempotencyKey);
+    }
 
-        if (stock.getQuantity() < quantity) {
-            throw new IllegalArgumentException("재고가 부족합니다.");
+    /**
+     * 지정된 창고에서 상품을 출고 처리합니다. 이미 처리한 Idempotency-Key면 다시 출고하지 않고 처음 결과를 반환합니다.
+     * <p>
+     * 재고 확인은 해당 창고의 재고로, 안전재고 미만 여부는 재고 현황과 같이 모든 창고 재고를 합한 상품 재고로 판단합니다.
+     *
+     * @param productId      출고할 상품의 ID
+     * @param warehouseId    출고할 창고의 ID (null이면 기본 창고)
+     * @param quantity       출고할 수량 (0보다 커야 함)
+     * @param idempotencyKey 재시도 시 중복 반영을 막기 위한 키 (null이면 확인하지 않음)
+     * @return 출고 후 상품 재고(모든 창고 합계)가 안전 재고 미만이면 {@code true}, 아니면 {@code false}
+     * @throws IllegalArgumentException 존재하지 않는 상품, 올바르지 않은 창고 ID, 출고 수량이 0 이하, 창고 재고 부족, 또는 같은 키로 다른 요청이 이미 처리된 경우 발생
+     */
+    public boolean outbound(Long productId, Long warehouseId, int quantity, String idempotencyKey) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("출고 수량은 0보다 커야 합니다.");
         }
-        stock.setQuantity(stock.getQuantity() - quantity);
-        stockRepository.save(stock);
 
-        StockHistory history = StockHistory.builder()
+        StockMovementDto movement = StockMovementDto.builder()
                 .productId(productId)
+                .warehouseId(warehouseId == null ? Stock.DEFAULT_WAREHOUSE_ID : warehouseId)
                 .eventType(StockEventType.OUTBOUND)
                 .quantity(quantity)
                 .build();
-        stockHistoryRepository.save(history);
+        StockMovementResultDto result = stockIdempotencyStore.execute(idempotencyKey, movement, MOVEMENT_RESULT, () -> process(movement));
+        return result.isBelowSafetyStock();
+    }
 
-        return stock.getQuantity() < product.getSafetyStock();
+    /**
+     * 여러 건의 입고/출고를 일괄 처리합니다.
+     * <p>
+     * 각 건은 요청 순서대로 검증되며, 실패한 건은 건너뛰고 나머지 건은 반영됩니다.
+     * 창고를 지정하지 않은 건은 기본 창고에 반영됩니다.
+     * 기본 처리기는 건수와 관계없이 정해진 수의 문장으로 한 트랜잭션에서 반영합니다.
+     *
+     * @param movements 입고/출고 목록 (요청 순서대로 처리)
+     * @return 요청 순서와 같은 순서의 건별 처리 결과 (출고 후 안전재고 미만 여부 포함)
+     * @throws IllegalArgumentException 입고/출고 목록이 비어 있을 경우 발생
+     */
+    public List<StockMovementResultDto> processMovements(List<StockMovementDto> movements) {
+        return processMovements(movements, null);
     }
 
     /**
-     * 특정 상품의 모든 재고 거래 내역(입고/출고)을 조회합니다.
+     * 여러 건의 입고/출고를 일괄 처리합니다. 이미 처리한 Idempotency-Key면 다시 처리하지 않고 처음 결과를 반환합니다.
+     *
+     * @param movements      입고/출고 목록 (요청 순서대로 처리)
+     * @param idempotencyKey 재시도 시 중복 반영을 막기 위한 키 (null이면 확인하지 않음)
+     * @return 요청 순서와 같은 순서의 건별 처리 결과 (출고 후 안전재고 미만 여부 포함)
+     * @throws IllegalArgumentException 입고/출고 목록이 비어 있거나, 같은 키로 다른 요청이 이미 처리된 경우 발생
+     */
+    public List<StockMovementResultDto> processMovements(List<StockMovementDto> movements, String idempotencyKey) {
+        if (movements == null || movements.isEmpty()) {
+            throw new IllegalArgumentException("처리할 입출고 내역이 없습니다.");
+        }
+        return stockIdempotencyStore.execute(idempotencyKey, movements, MOVEMENT_RESULTS, () -> {
+            List<StockMovementResultDto> results = stockMovementProcessor.processAll(movements);
+            stockStatusReadModel.applyMovements(results);
+            stockAlertBroadcaster.publishCrossings(results);
+            return results;
+        });
+    }
+
+    private StockMovementResultDto process(StockMovementDto movement) {
+        StockMovementResultDto result = stockMovementProcessor.process(movement);
+        if (!result.isSuccess()) {
+            throw new IllegalArgumentException(result.getMessage());
+        }
+        stockStatusReadModel.applyMovements(List.of(result));
+        stockAlertBroadcaster.publishCrossings(List.of(result));
+        return result;
+    }
+
+    /**
+     * 특정 상품의 재고 거래 내역(입고/출고)을 최신순으로 한 페이지씩 조회합니다.
+     * <p>
+     * `(created_at, history_id)` 키셋 페이지 방식이므로 몇 번째 페이지를 읽든 비용이 같습니다.
+     * 한 건을 더 읽어 다음 페이지가 있는지 판단합니다.
+     * `stock_history`의 이력이 페이지를 다 채우지 못하면 보관 파일로 옮긴 이력을 이어서 읽습니다.
      *
      * @param productId 조회할 상품의 ID
-     * @return 해당 상품의 거래 이력 목록 (최신순으로 정렬)
+     * @param cursor    이전 페이지 응답의 next 토큰 (첫 페이지면 null)
+     * @param size      페이지 크기 (null이면 기본값, 최대값을 넘으면 최대값으로 제한)
+     * @return 해당 상품의 거래 이력 한 페이지와 다음 페이지 토큰
+     * @throws IllegalArgumentException 페이지 크기가 0 이하이거나 커서 형식이 올바르지 않을 경우 발생
+     */
+    public StockHistoryPageDto getStockHistories(Long productId, String cursor, Integer size) {
+        int pageSize = resolveHistoryPageSize(size);
+        StockHistoryCursor after = decodeCursor(cursor);
+        List<StockHistory> histories = stockHistoryRepository.findPageByProductId(productId, after, pageSize + 1,
+                stockHistoryArchive.archivedBefore());
+        return toHistoryPage(stockHistoryArchive.fillPage(productId, after, histories, pageSize + 1), pageSize);
+    }
+
+    int resolveHistoryPageSize(Integer size) {
+        return resolvePageSize(size, historyDefaultPageSize, historyMaxPageSize);
+    }
+
+    static StockHistoryCursor decodeCursor(String cursor) {
+        return (cursor == null || cursor.isBlank()) ? null : StockHistoryCursor.decode(cursor);
+    }
+
+    /**
+     * 한 건 더 읽은 결과로 다음 페이지가 있는지 판단해 페이지를 만듭니다.
      */
-    public List<StockHistory> getStockHistories(Long productId) {
-        return stockHistoryRepository.findByProductId(productId);
+    static StockHistoryPageDto toHistoryPage(List<StockHistory> histories, int pageSize) {
+        String next = null;
+        if (histories.size() > pageSize) {
+            histories = histories.subList(0, pageSize);
+            next = StockHistoryCursor.after(histories.get(pageSize - 1)).encode();
+        }
+
+        return StockHistoryPageDto.builder()
+                .content(histories)
+                .size(histories.size())
+                .next(next)
+                .build();
+    }
+
+    private int resolvePageSize(Integer size, int defaultSize, int maxSize) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("페이지 크기는 0보다 커야 합니다.");
+        }
+        return Math.min(size, maxSize);
     }
 
     /**
      * 모든 상품의 현재 재고 현황을 조회합니다.
      * <p>
      * 각 상품의 현재고, 안전재고, 안전재고 미만 여부 등의 정보를 포함합니다.
+     * 현재고는 모든 창고의 재고를 합한 수량입니다.
+     *
+     * 읽기 모델이 켜져 있으면 DB에 접근하지 않고 메모리에서 조회합니다.
      *
      * @return 전체 상품의 재고 현황 DTO 목록
      */
     public List<StockStatusDto> getStockStatusList() {
-        List<Product> products = productRepository.findAll();
-        List<Stock> stocks = stockRepository.findAll();
+        if (stockStatusReadModel.isEnabled()) {
+            return stockStatusReadModel.findAll();
+        }
+        return stockRepository.findStatuses(StockStatusCondition.builder().build());
+    }
 
-        Map<Long, Integer> stockMap = stocks.stream()
-                .collect(Collectors.toMap(Stock::getProductId, Stock::getQuantity));
+    /**
+     * 조건에 맞는 상품의 재고 현황을 한 페이지 조회합니다.
+     * <p>
+     * 상품과 재고의 조인, 카테고리와 안전재고 미만 필터, 정렬, 페이지를 모두 SQL에서 처리합니다.
+     * 한 건을 더 읽어 다음 페이지가 있는지 판단하므로 전체 건수를 세지 않습니다.
+     * 읽기 모델이 켜져 있고 상품 ID 순으로 정렬하는 경우에는 DB 대신 메모리에서 조회합니다.
+     *
+     * @param page        0부터 시작하는 페이지 번호 (null이면 0)
+     * @param size        페이지 크기 (null이면 기본값, 최대값을 넘으면 최대값으로 제한)
+     * @param sort        정렬 기준 `필드[,asc|desc]` (null이면 상품 ID 오름차순)
+     * @param category    카테고리 (null이면 전체)
+     * @param belowSafety true이면 안전재고 미만 상품만 조회
+     * @return 재고 현황 한 페이지
+     * @throws IllegalArgumentException 페이지 번호가 음수이거나, 페이지 크기가 0 이하이거나, 정렬 기준이 올바르지 않을 경우 발생
+     */
+    public StockStatusPageDto getStockStatusPage(Integer page, Integer size, String sort, String category, boolean belowSafety) {
+        StockStatusCondition condition = statusPageCondition(page, size, sort, category, belowSafety);
+        List<StockStatusDto> statuses = readsStatusFromReadModel(condition)
+                ? stockStatusReadModel.findPage(condition)
+                : stockRepository.findStatuses(condition);
+        return toStatusPage(condition, statuses);
+    }
+
+    /**
+     * 재고 현황 페이지 요청을 조회 조건으로 바꿉니다. 다음 페이지 판단을 위해 한 건을 더 읽도록 limit을 잡습니다.
+     */
+    StockStatusCondition statusPageCondition(Integer page, Integer size, String sort, String category, boolean belowSafety) {
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("페이지 번호는 0 이상이어야 합니다.");
+        }
+        int pageSize = resolvePageSize(size, statusDefaultPageSize, statusMaxPageSize);
+
+        StockStatusCondition.StockStatusConditionBuilder condition = StockStatusCondition.builder()
+                .category(category == null || category.isBlank() ? null : category)
+                .belowSafety(belowSafety)
+                .offset(pageNumber * pageSize)
+                .limit(pageSize + 1);
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",");
+            condition.sortField(StockStatusSortField.fromProperty(parts[0].trim()));
+            if (parts.length > 1) {
+                String direction = parts[1].trim();
+                if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+                    throw new IllegalArgumentException("정렬 방향은 asc 또는 desc여야 합니다.");
+                }
+                condition.descending(direction.equalsIgnoreCase("desc"));
+            }
+        }
 
-        return products.stream()
-                .map(product -> {
-                    int currentQuantity = stockMap.getOrDefault(product.getId(), 0);
-                    return StockStatusDto.of(product, currentQuantity);
-                })
-                .collect(Collectors.toList());
+        return condition.build();
+    }
+
+    /**
+     * 읽기 모델이 켜져 있고 상품 ID 순으로 정렬하는 경우에는 DB 대신 메모리에서 조회합니다.
+     */
+    boolean readsStatusFromReadModel(StockStatusCondition condition) {
+        return stockStatusReadModel.isEnabled() && condition.getSortField() == StockStatusSortField.PRODUCT_ID;
+    }
+
+    static StockStatusPageDto toStatusPage(StockStatusCondition condition, List<StockStatusDto> statuses) {
+        int pageSize = condition.getLimit() - 1;
+        boolean hasNext = statuses.size() > pageSize;
+        if (hasNext) {
+            statuses = statuses.subList(0, pageSize);
+        }
+        return StockStatusPageDto.builder()
+                .content(statuses)
+                .page(condition.getOffset() / pageSize)
+                .size(statuses.size())
+                .hasNext(hasNext)
+                .build();
     }
 
     /**
      * 안전 재고 수량 미만인 상품 목록을 조회합니다.
      * <p>
      * 재고 부족 알림이나 긴급 발주 목록 생성에 사용될 수 있습니다.
+     * 읽기 모델이 켜져 있으면 안전재고 미만 인덱스로 조회하고, 꺼져 있으면 SQL에서 판단합니다.
      *
      * @return 안전 재고 미만인 상품의 재고 현황 DTO 목록
      */
     public List<StockStatusDto> getProductsBelowSafetyStock() {
-        return getStockStatusList().stream()
-                .filter(StockStatusDto::isBelowSafetyStock)
-                .collect(Collectors.toList());
+        if (stockStatusReadModel.isEnabled()) {
+            return stockStatusReadModel.findBelowSafetyStock();
+        }
+        return stockRepository.findStatuses(StockStatusCondition.builder().belowSafety(true).build());
     }
 
     /**
@@ -150,19 +382,41 @@ public class StockService {
      * @param productId 분석할 상품의 ID
      * @param startDate 분석 시작일
      * @param endDate   분석 종료일
-     * @return 기간 내 총 입고량, 총 출고량, 현재 재고, 재고 회전율이 포함된 통계 객체
+     * @return 모든 창고를 합한 기간 내 총 입고량, 총 출고량, 현재 재고, 재고 회전율이 포함된 통계 객체
      */
     public InventoryStatistics getInventoryStatistics(Long productId, LocalDateTime startDate, LocalDateTime endDate) {
-        // 1. 기간 내 총 입고량/출고량 계산
-        int totalInbound = stockHistoryRepository.sumQuantityByEventTypeBetweenDates(productId, StockEventType.INBOUND, startDate, endDate);
-        int totalOutbound = stockHistoryRepository.sumQuantityByEventTypeBetweenDates(productId, StockEventType.OUTBOUND, startDate, endDate);
+        // 1. 기간 내 총 입고량/출고량과 현재 재고량을 한 번에 조회
+        // 하루 전체가 포함되는 날은 일별 집계에서 읽으므로 이력이 쌓여도 긴 기간의 통계 비용이 거의 늘지 않는다.
+        // 보관 파일로 옮긴 기간의 원본 이력은 보관 파일에서 더한다.
+        LocalDate firstFullDay = rollupFirstDay(startDate, endDate);
+        LocalDate lastFullDay = firstFullDay == null ? null : rollupLastDay(endDate);
+        StockMovementSummary summary = stockHistoryRepository.summarizeBetweenDates(productId, startDate, endDate,
+                firstFullDay, lastFullDay, stockHistoryArchive.archivedBefore());
+        summary = stockHistoryArchive.withArchived(summary, productId, startDate, endDate, firstFullDay, lastFullDay);
+        return toStatistics(productId, startDate, endDate, summary);
+    }
+
+    /**
+     * 일별 집계로 읽을 첫날. 일별 집계를 쓰지 않거나 하루 전체가 포함되는 날이 없으면 null입니다.
+     */
+    LocalDate rollupFirstDay(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate firstFullDay = startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? startDate.toLocalDate()
+                : startDate.toLocalDate().plusDays(1);
+        return rollupEnabled && !firstFullDay.isAfter(rollupLastDay(endDate)) ? firstFullDay : null;
+    }
+
+    static LocalDate rollupLastDay(LocalDateTime endDate) {
+        return endDate.toLocalDate().minusDays(1);
+    }
 
-        // 2. 현재 재고량 조회
-        int currentQuantity = stockRepository.findByProductId(productId)
-                .map(Stock::getQuantity)
-                .orElse(0);
+    static InventoryStatistics toStatistics(Long productId, LocalDateTime startDate, LocalDateTime endDate,
+                                            StockMovementSummary summary) {
+        int totalInbound = summary.getTotalInbound();
+        int totalOutbound = summary.getTotalOutbound();
+        int currentQuantity = summary.getCurrentQuantity();
 
-        // 3. 재고 회전율 계산 (출고량 / 현재 재고량)
+        // 2. 재고 회전율 계산 (출고량 / 현재 재고량)
         // 현재 재고가 0이면 회전율도 0으로 처리하여 0으로 나누는 오류 방지
         double turnoverRate = (currentQuantity == 0) ? 0 : (double) totalOutbound / currentQuantity;
 
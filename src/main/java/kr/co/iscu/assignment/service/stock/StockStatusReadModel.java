@@ -0,0 +1,508 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockStatusSnapshotVersion;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.repository.stock.StockStatusSnapshotRepository;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusCondition;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 상품별 재고 현황({@link StockStatusDto})을 메모리에 유지하는 읽기 모델.
+ * <p>
+ * 애플리케이션 시작 시 DB에서 한 번 적재하고, 이후에는 입고/출고와 상품 등록·수정·삭제가 커밋된 뒤 해당 상품만 갱신합니다.
+ * 안전재고 미만 상품 ID를 별도 인덱스로 유지하므로 안전재고 미만 목록은 해당 상품 수(k)에 비례하는 비용으로 조회합니다.
+ * <p>
+ * 조회는 잠금 없이 {@link ConcurrentSkipListMap}을 읽고 DB에 접근하지 않습니다.
+ * 갱신은 상품 정보와 인덱스를 함께 바꾸기 위해 한 번에 하나씩만 실행합니다.
+ * 저장된 DTO는 바꾸지 않고 새 객체로 교체하며, 조회 결과로는 복사본을 돌려줍니다.
+ * 전체를 다시 적재하거나 스냅샷에서 복원하는 동안 커밋된 변경은 따로 모아 두었다가 새 모델에 다시 적용한 뒤 교체하므로,
+ * 적재 중에 반영된 입고/출고가 교체와 함께 사라지지 않습니다.
+ * <p>
+ * 이 인스턴스를 거치지 않은 변경(다른 인스턴스, 직접 수정한 SQL)은 반영되지 않으므로,
+ * 여러 인스턴스로 운영할 때는 {@code inventory.stock.read-model.refresh-interval-seconds}로 주기적으로 다시 적재합니다.
+ * {@code inventory.stock.read-model.enabled=false}이면 적재와 갱신을 하지 않고, 재고 현황은 DB에서 조회합니다.
+ * <p>
+ * {@code inventory.stock.read-model.snapshot.enabled=true}이면 읽기 모델을 주기적으로, 그리고 종료할 때 스냅샷 파일({@link StockStatusSnapshotFile})로 씁니다.
+ * 재시작하면 전체를 DB에서 읽는 대신 스냅샷을 매핑해 채우고, 스냅샷 시점 이후에 재고 이력이 쌓였거나 등록·수정된 상품만 DB에서 다시 읽습니다.
+ * 스냅샷 시점에 커밋 중이던 변경은 더 큰 이력 ID나 더 늦은 일시로 먼저 커밋된 변경 뒤에 보일 수 있으므로,
+ * 이력 ID는 {@code reconcile-history-margin}건, 일시는 {@code reconcile-margin-seconds}초 앞에서부터 다시 확인합니다.
+ * 상품 삭제는 흔적이 남지 않으므로 복원한 상품 수가 DB와 다르면 스냅샷을 버리고 전체를 다시 적재합니다.
+ */
+@Slf4j
+@Component
+public class StockStatusReadModel implements SmartInitializingSingleton, DisposableBean {
+
+    /** 변경된 상품을 다시 읽을 때 IN 목록 한 번에 담는 상품 수 */
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+
+    private final StockRepository stockRepository;
+    private final StockStatusSnapshotRepository stockStatusSnapshotRepository;
+    private final boolean enabled;
+    private final long refreshIntervalSeconds;
+    private final boolean snapshotEnabled;
+    private final Path snapshotPath;
+    private final long snapshotIntervalSeconds;
+    private final long reconcileHistoryMargin;
+    private final long reconcileMarginSeconds;
+    private final Object writeLock = new Object();
+    private final Object snapshotLock = new Object();
+    private final Object reloadLock = new Object();
+
+    /** 다시 적재하는 동안 커밋된 변경. 적재 중이 아니면 null이며 {@link #writeLock} 안에서만 접근합니다. */
+    private List<Consumer<View>> pendingChanges;
+
+    private volatile View view = new View();
+    private ScheduledExecutorService refresher;
+    private ScheduledExecutorService snapshotWriter;
+
+    public StockStatusReadModel(
+            StockRepository stockRepository,
+            StockStatusSnapshotRepository stockStatusSnapshotRepository,
+            @Value("${inventory.stock.read-model.enabled:true}") boolean enabled,
+            @Value("${inventory.stock.read-model.refresh-interval-seconds:0}") long refreshIntervalSeconds,
+            @Value("${inventory.stock.read-model.snapshot.enabled:false}") boolean snapshotEnabled,
+            @Value("${inventory.stock.read-model.snapshot.path:./data/stock-status.snapshot}") String snapshotPath,
+            @Value("${inventory.stock.read-model.snapshot.interval-seconds:300}") long snapshotIntervalSeconds,
+            @Value("${inventory.stock.read-model.snapshot.reconcile-history-margin:10000}") long reconcileHistoryMargin,
+            @Value("${inventory.stock.read-model.snapshot.reconcile-margin-seconds:60}") long reconcileMarginSeconds) {
+        if (reconcileHistoryMargin < 0 || reconcileMarginSeconds < 0) {
+            throw new IllegalArgumentException("스냅샷 재확인 범위는 0 이상이어야 합니다.");
+        }
+        this.stockRepository = stockRepository;
+        this.stockStatusSnapshotRepository = stockStatusSnapshotRepository;
+        this.enabled = enabled;
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+        this.snapshotEnabled = enabled && snapshotEnabled;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+        this.reconcileHistoryMargin = reconcileHistoryMargin;
+        this.reconcileMarginSeconds = reconcileMarginSeconds;
+    }
+
+    /**
+     * 모든 싱글톤 초기화(WAL 재반영 포함)가 끝난 뒤, 요청을 받기 전에 적재합니다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        if (!snapshotEnabled || !restoreFromSnapshot()) {
+            reload();
+        }
+        if (snapshotEnabled && snapshotIntervalSeconds > 0) {
+            snapshotWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-status-snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotWriter.scheduleWithFixedDelay(this::writeSnapshotQuietly, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+        if (refreshIntervalSeconds > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-status-read-model-refresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 주기 작업을 멈추고, 스냅샷을 쓰면 종료 직전의 읽기 모델을 스냅샷으로 남깁니다.
+     */
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+        if (snapshotWriter != null) {
+            snapshotWriter.shutdownNow();
+        }
+        if (snapshotEnabled) {
+            writeSnapshotQuietly();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * DB의 현재 재고 현황으로 읽기 모델 전체를 다시 만듭니다.
+     * 새 모델을 다 만든 뒤 한 번에 교체하므로 조회는 항상 완성된 모델을 봅니다.
+     * <p>
+     * DB를 읽기 직전부터 교체할 때까지 커밋된 변경은 새 모델에도 다시 적용합니다.
+     * 읽기 직전에 커밋됐지만 커밋 후 반영이 읽기 시작 뒤에 실행된 입고/출고는 두 번 더해질 수 있으며, 이 오차는 다음 적재에서 바로잡힙니다.
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            // 재고 원장 재구성처럼 이력 없이 바뀐 재고도 다음 재시작에 반영되도록, 다시 읽은 상태를 바로 스냅샷으로 남긴다.
+            StockStatusSnapshotVersion version = snapshotEnabled ? stockStatusSnapshotRepository.findCurrentVersion() : null;
+            View next = new View();
+            startBuffering();
+            List<StockStatusDto> statuses;
+            try {
+                statuses = stockRepository.findStatuses(StockStatusCondition.builder().build());
+            } catch (RuntimeException e) {
+                stopBuffering();
+                throw e;
+            }
+            statuses.forEach(next::put);
+            int replayed = swap(next);
+            log.info("재고 현황 읽기 모델을 적재했습니다. (상품 {}개, 적재 중 반영된 변경 {}건)", statuses.size(), replayed);
+            if (snapshotEnabled) {
+                writeSnapshotQuietly(version, copyValues(next));
+            }
+        }
+    }
+
+    /**
+     * 현재 읽기 모델을 스냅샷 파일로 씁니다.
+     * 시점은 읽기 모델을 복사하기 전에 조회하므로, 그 사이에 반영된 변경은 재시작할 때 한 번 더 읽을 뿐 빠지지 않습니다.
+     *
+     * @throws UncheckedIOException 스냅샷 파일을 쓰지 못한 경우 발생
+     */
+    public void writeSnapshot() {
+        StockStatusSnapshotVersion version = stockStatusSnapshotRepository.findCurrentVersion();
+        // 쓰는 동안 바뀌어도 머리에 기록한 상품 수와 항목 수가 어긋나지 않도록 먼저 복사한다.
+        writeSnapshot(version, copyValues(view));
+    }
+
+    private void writeSnapshot(StockStatusSnapshotVersion version, Collection<StockStatusDto> statuses) {
+        long startedAt = System.nanoTime();
+        // 주기 작업과 종료, 재적재가 같은 임시 파일에 겹쳐 쓰지 않도록 한 번에 하나씩 쓴다.
+        synchronized (snapshotLock) {
+            try {
+                StockStatusSnapshotFile.write(snapshotPath, version, statuses);
+            } catch (IOException e) {
+                throw new UncheckedIOException("재고 현황 스냅샷을 쓰지 못했습니다: " + snapshotPath, e);
+            }
+        }
+        log.info("재고 현황 스냅샷을 썼습니다. (상품 {}개, 이력 ID {}, {}ms)", statuses.size(), version.getLastHistoryId(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * 스냅샷 파일로 읽기 모델을 채우고, 스냅샷 이후 바뀐 상품만 DB에서 다시 읽어 맞춥니다.
+     *
+     * @return 복원했으면 true, 스냅샷이 없거나 쓸 수 없어 전체를 다시 적재해야 하면 false
+     */
+    boolean restoreFromSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return false;
+        }
+        synchronized (reloadLock) {
+            View next = new View();
+            startBuffering();
+            boolean restored = false;
+            try {
+                restored = restoreFromSnapshot(next);
+            } finally {
+                if (restored) {
+                    swap(next);
+                } else {
+                    stopBuffering();
+                }
+            }
+            return restored;
+        }
+    }
+
+    private boolean restoreFromSnapshot(View next) {
+        long startedAt = System.nanoTime();
+        StockStatusSnapshotFile file;
+        try {
+            file = StockStatusSnapshotFile.open(snapshotPath);
+        } catch (IOException | IllegalStateException e) {
+            log.warn("재고 현황 스냅샷을 읽지 못해 DB에서 전체를 적재합니다. ({})", snapshotPath, e);
+            return false;
+        }
+        file.forEach(next::put);
+
+        StockStatusSnapshotVersion version = file.getVersion();
+        List<Long> changed = stockStatusSnapshotRepository.findChangedProductIds(
+                Math.max(0, version.getLastHistoryId() - reconcileHistoryMargin),
+                version.getTakenAt().minusSeconds(reconcileMarginSeconds));
+        for (int from = 0; from < changed.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = changed.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, changed.size()));
+            Set<Long> missing = new HashSet<>(chunk);
+            for (StockStatusDto status : stockRepository.findStatuses(StockStatusCondition.builder().productIds(chunk).build())) {
+                next.put(status);
+                missing.remove(status.getProductId());
+            }
+            missing.forEach(next::remove);
+        }
+
+        long products = stockStatusSnapshotRepository.countProducts();
+        if (next.statuses.size() != products) {
+            log.info("스냅샷 이후 삭제된 상품이 있어 재고 현황 읽기 모델을 DB에서 전체 적재합니다. (스냅샷 {}개, DB {}개)",
+                    next.statuses.size(), products);
+            return false;
+        }
+        log.info("재고 현황 읽기 모델을 스냅샷에서 복원했습니다. (상품 {}개, 다시 읽은 상품 {}개, {}ms)", file.getProductCount(),
+                changed.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return true;
+    }
+
+    /**
+     * 전체 상품의 재고 현황을 상품 ID 순으로 조회합니다.
+     */
+    public List<StockStatusDto> findAll() {
+        return copyOf(view.statuses.values());
+    }
+
+    /**
+     * 읽기 모델에 반영된 상품의 현재 재고 수량(모든 창고 합계)을 조회합니다.
+     * 사용하지 않거나, 아직 적재하지 않았거나, 모델에 없는 상품이면 비어 있습니다.
+     */
+    public OptionalInt findCurrentQuantity(Long productId) {
+        StockStatusDto status = view.statuses.get(productId);
+        return status == null ? OptionalInt.empty() : OptionalInt.of(status.getCurrentQuantity());
+    }
+
+    /**
+     * 안전재고 미만 상품의 재고 현황을 상품 ID 순으로 조회합니다.
+     */
+    public List<StockStatusDto> findBelowSafetyStock() {
+        View current = view;
+        List<StockStatusDto> result = new ArrayList<>();
+        for (Long productId : current.belowSafety) {
+            StockStatusDto status = current.statuses.get(productId);
+            // 인덱스와 상품 정보 사이에 갱신이 끼어들 수 있으므로 값으로 한 번 더 확인한다.
+            if (status != null && status.isBelowSafetyStock()) {
+                result.add(copy(status));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 상품 ID 순으로 정렬된 재고 현황 한 페이지를 조회합니다. 정렬 기준은 무시하고 상품 ID 순으로 읽습니다.
+     *
+     * @param condition 카테고리, 안전재고 미만 여부, 정렬 방향, offset, limit
+     */
+    public List<StockStatusDto> findPage(StockStatusCondition condition) {
+        View current = view;
+        Iterator<Long> productIds = condition.isBelowSafety()
+                ? (condition.isDescending() ? current.belowSafety.descendingIterator() : current.belowSafety.iterator())
+                : (condition.isDescending() ? current.statuses.descendingKeySet().iterator() : current.statuses.keySet().iterator());
+        int skip = condition.getOffset() == null ? 0 : condition.getOffset();
+        int limit = condition.getLimit() == null ? Integer.MAX_VALUE : condition.getLimit();
+
+        List<StockStatusDto> result = new ArrayList<>();
+        while (productIds.hasNext() && result.size() < limit) {
+            StockStatusDto status = current.statuses.get(productIds.next());
+            if (status == null
+                    || (condition.isBelowSafety() && !status.isBelowSafetyStock())
+                    || (condition.getCategory() != null && !condition.getCategory().equals(status.getCategory()))) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(copy(status));
+        }
+        return result;
+    }
+
+    /**
+     * 성공한 입고/출고를 트랜잭션 커밋 후 반영합니다.
+     * <p>
+     * 결과의 현재 수량 대신 증감량을 더하므로, 같은 상품의 반영 순서가 커밋 순서와 달라도 최종 수량은 같습니다.
+     */
+    public void applyMovements(Collection<StockMovementResultDto> results) {
+        afterCommit(() -> results.stream()
+                .filter(StockMovementResultDto::isSuccess)
+                .forEach(result -> addQuantity(result.getProductId(),
+                        result.getEventType() == StockEventType.INBOUND ? result.getQuantity() : -result.getQuantity())));
+    }
+
+    /**
+     * 등록되거나 수정된 상품 정보를 트랜잭션 커밋 후 반영합니다. 현재 재고 수량은 유지합니다.
+     */
+    public void applyProduct(Product product) {
+        afterCommit(() -> change(target -> {
+            StockStatusDto current = target.statuses.get(product.getId());
+            target.put(StockStatusDto.of(product, current == null ? 0 : current.getCurrentQuantity()));
+        }));
+    }
+
+    /**
+     * 삭제된 상품을 트랜잭션 커밋 후 제거합니다.
+     */
+    public void removeProduct(Long productId) {
+        afterCommit(() -> change(target -> target.remove(productId)));
+    }
+
+    private void addQuantity(Long productId, int delta) {
+        boolean applied;
+        synchronized (writeLock) {
+            applied = view.statuses.containsKey(productId);
+            // 새 모델에 없는 상품은 건너뛰고, 아래에서 DB에서 읽어 채운 상태가 다시 적용된다.
+            change(target -> target.addQuantity(productId, delta));
+        }
+        if (applied) {
+            return;
+        }
+        // 읽기 모델에 없는 상품(다른 인스턴스에서 등록 등)은 커밋된 현재 상태를 DB에서 읽어 채운다.
+        List<StockStatusDto> loaded = stockRepository.findStatuses(StockStatusCondition.builder().productId(productId).build());
+        change(target -> loaded.stream()
+                .filter(status -> !target.statuses.containsKey(status.getProductId()))
+                .forEach(target::put));
+    }
+
+    /**
+     * 현재 모델에 변경을 적용하고, 다시 적재하는 중이면 새 모델에도 적용하도록 모아 둡니다.
+     */
+    private void change(Consumer<View> change) {
+        synchronized (writeLock) {
+            change.accept(view);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private void startBuffering() {
+        synchronized (writeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+    }
+
+    private void stopBuffering() {
+        synchronized (writeLock) {
+            pendingChanges = null;
+        }
+    }
+
+    /**
+     * 적재하는 동안 모아 둔 변경을 새 모델에 적용하고 교체합니다.
+     *
+     * @return 다시 적용한 변경 수
+     */
+    private int swap(View next) {
+        synchronized (writeLock) {
+            List<Consumer<View>> changes = pendingChanges;
+            pendingChanges = null;
+            changes.forEach(change -> change.accept(next));
+            view = next;
+            return changes.size();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (enabled) {
+            TransactionCallbacks.afterCommit(action);
+        }
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (RuntimeException e) {
+            log.warn("재고 현황 스냅샷을 쓰지 못했습니다. 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    private void writeSnapshotQuietly(StockStatusSnapshotVersion version, Collection<StockStatusDto> statuses) {
+        try {
+            writeSnapshot(version, statuses);
+        } catch (RuntimeException e) {
+            log.warn("재고 현황 스냅샷을 쓰지 못했습니다. 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("재고 현황 읽기 모델을 다시 적재하지 못했습니다. 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    private List<StockStatusDto> copyValues(View source) {
+        synchronized (writeLock) {
+            return new ArrayList<>(source.statuses.values());
+        }
+    }
+
+    private static List<StockStatusDto> copyOf(Collection<StockStatusDto> statuses) {
+        List<StockStatusDto> result = new ArrayList<>(statuses.size());
+        statuses.forEach(status -> result.add(copy(status)));
+        return result;
+    }
+
+    private static StockStatusDto copy(StockStatusDto status) {
+        return StockStatusDto.builder()
+                .productId(status.getProductId())
+                .name(status.getName())
+                .category(status.getCategory())
+                .unitPrice(status.getUnitPrice())
+                .safetyStock(status.getSafetyStock())
+                .currentQuantity(status.getCurrentQuantity())
+                .build();
+    }
+
+    /**
+     * 상품 ID 순으로 정렬된 재고 현황과 안전재고 미만 상품 ID 인덱스.
+     */
+    private static final class View {
+
+        private final NavigableMap<Long, StockStatusDto> statuses = new ConcurrentSkipListMap<>();
+        private final NavigableSet<Long> belowSafety = new ConcurrentSkipListSet<>();
+
+        void put(StockStatusDto status) {
+            statuses.put(status.getProductId(), status);
+            if (status.isBelowSafetyStock()) {
+                belowSafety.add(status.getProductId());
+            } else {
+                belowSafety.remove(status.getProductId());
+            }
+        }
+
+        void remove(Long productId) {
+            statuses.remove(productId);
+            belowSafety.remove(productId);
+        }
+
+        void addQuantity(Long productId, int delta) {
+            StockStatusDto current = statuses.get(productId);
+            if (current != null) {
+                StockStatusDto next = copy(current);
+                next.setCurrentQuantity(current.getCurrentQuantity() + delta);
+                put(next);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockStatusSnapshotVersion;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 재고 현황 읽기 모델을 재시작 후 다시 채우기 위한 스냅샷 파일.
+ *
+ * <p>구조:
+ * - 머리: MAGIC(4), VERSION(1), 마지막 이력 ID(8), 기록 일시 마이크로초(8), 상품 수(4), 카테고리 수(4)
+ * - 카테고리 사전: (길이 2, UTF-8 이름) 목록
+ * - 상품 항목: 상품 ID 순으로 상품 ID(8), 현재 수량(4), 안전재고(4), 카테고리 번호(4), 단가(소수 자릿수 1, 길이 1, 정수부 바이트), 상품명(길이 2, UTF-8)
+ * - 꼬리: 머리부터 상품 항목까지의 CRC32(4), MAGIC(4)
+ *
+ * <p>설명:
+ * 카테고리는 상품마다 반복되므로 사전 번호로 기록합니다. 없는 값은 안전재고 {@link Integer#MIN_VALUE},
+ * 카테고리 번호 -1, 단가 길이 0, 문자열 길이 0xFFFF로 기록합니다.
+ * 읽을 때는 메모리에 매핑해 CRC를 확인한 뒤 앞에서부터 한 번 훑으므로, 중간까지 쓰다 만 파일이나 손상된 파일은 열지 않습니다.
+ * 쓸 때는 임시 파일에 모두 쓰고 디스크에 반영한 뒤 이름을 바꾸므로, 이전 스냅샷은 새 스냅샷이 완성될 때까지 그대로 남습니다.
+ */
+final class StockStatusSnapshotFile {
+
+    static final int MAGIC = 0x53535331;
+    static final byte VERSION = 1;
+
+    private static final int HEADER_SIZE = 29;
+    private static final int FOOTER_SIZE = 8;
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private final StockStatusSnapshotVersion version;
+    private final int productCount;
+    private final MappedByteBuffer buffer;
+
+    private StockStatusSnapshotFile(StockStatusSnapshotVersion version, int productCount, MappedByteBuffer buffer) {
+        this.version = version;
+        this.productCount = productCount;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 재고 현황을 스냅샷 파일로 씁니다.
+     *
+     * @param statuses 상품 ID 순으로 정렬된 재고 현황
+     */
+    static void write(Path target, StockStatusSnapshotVersion version, Collection<StockStatusDto> statuses) throws IOException {
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        statuses.stream()
+                .map(StockStatusDto::getCategory)
+                .filter(category -> category != null)
+                .forEach(category -> categories.computeIfAbsent(category, key -> categories.size()));
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(fileOut, new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(version.getLastHistoryId());
+            out.writeLong(toEpochMicros(version.getTakenAt()));
+            out.writeInt(statuses.size());
+            out.writeInt(categories.size());
+            for (String category : categories.keySet()) {
+                writeString(out, category);
+            }
+            for (StockStatusDto status : statuses) {
+                out.writeLong(status.getProductId());
+                out.writeInt(status.getCurrentQuantity());
+                out.writeInt(status.getSafetyStock() == null ? Integer.MIN_VALUE : status.getSafetyStock());
+                out.writeInt(status.getCategory() == null ? -1 : categories.get(status.getCategory()));
+                writeDecimal(out, status.getUnitPrice());
+                writeString(out, status.getName());
+            }
+            out.flush();
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.writeInt(MAGIC);
+            out.flush();
+            fileOut.getChannel().force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 스냅샷 파일을 메모리에 매핑해 엽니다.
+     *
+     * @throws IllegalStateException 스냅샷 파일 형식이 아니거나 손상된 경우 발생
+     */
+    static StockStatusSnapshotFile open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE + FOOTER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("재고 현황 스냅샷 파일이 아닙니다: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int footer = buffer.capacity() - FOOTER_SIZE;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(footer + 4) != MAGIC) {
+            throw new IllegalStateException("재고 현황 스냅샷 파일이 아니거나 손상되었습니다: " + path);
+        }
+        if (buffer.get(4) != VERSION) {
+            throw new IllegalStateException("지원하지 않는 재고 현황 스냅샷 파일 버전입니다: " + path);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(footer));
+        if ((int) crc.getValue() != buffer.getInt(footer)) {
+            throw new IllegalStateException("재고 현황 스냅샷 파일이 손상되었습니다: " + path);
+        }
+        StockStatusSnapshotVersion version = new StockStatusSnapshotVersion(buffer.getLong(5), fromEpochMicros(buffer.getLong(13)));
+        return new StockStatusSnapshotFile(version, buffer.getInt(21), buffer);
+    }
+
+    StockStatusSnapshotVersion getVersion() {
+        return version;
+    }
+
+    int getProductCount() {
+        return productCount;
+    }
+
+    /**
+     * 상품 ID 순으로 재고 현황을 하나씩 읽어 넘깁니다.
+     */
+    void forEach(Consumer<StockStatusDto> action) {
+        ByteBuffer reader = buffer.duplicate().position(HEADER_SIZE);
+        String[] categories = new String[buffer.getInt(25)];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = readString(reader);
+        }
+        for (int i = 0; i < productCount; i++) {
+            long productId = reader.getLong();
+            int currentQuantity = reader.getInt();
+            int safetyStock = reader.getInt();
+            int category = reader.getInt();
+            BigDecimal unitPrice = readDecimal(reader);
+            action.accept(StockStatusDto.builder()
+                    .productId(productId)
+                    .name(readString(reader))
+                    .category(category < 0 ? null : categories[category])
+                    .unitPrice(unitPrice)
+                    .safetyStock(safetyStock == Integer.MIN_VALUE ? null : safetyStock)
+                    .currentQuantity(currentQuantity)
+                    .build());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("스냅샷에 기록할 문자열이 너무 깁니다: " + bytes.length + "바이트");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer reader) {
+        int length = reader.getShort() & 0xFFFF;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        reader.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+            out.writeByte(0);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        if (value.scale() < 0 || value.scale() > Byte.MAX_VALUE || unscaled.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("스냅샷에 기록할 수 없는 단가입니다: " + value);
+        }
+        out.writeByte(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(ByteBuffer reader) {
+        int scale = reader.get();
+        int length = reader.get();
+        if (length == 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        reader.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,29 @@
+package kr.co.iscu.assignment.service.stock;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 커밋된 변경만 메모리 상태나 구독자에게 알리기 위한 트랜잭션 콜백 도우미.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * 진행 중인 트랜잭션이 있으면 커밋 후에, 없으면 바로 실행합니다. 롤백되면 실행하지 않습니다.
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package kr.co.iscu.assignment.service.stock.archive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 보관 파일의 한 열을 varint로 쌓는 버퍼와 읽기 함수.
+ * <p>
+ * 값은 7비트씩 나눠 하위 비트부터 기록하고, 이어지는 바이트가 있으면 최상위 비트를 켭니다. (protobuf varint와 같음)
+ * 음수가 나올 수 있는 차이값은 zigzag로 바꿔 절댓값이 작으면 짧게 기록합니다.
+ */
+final class ColumnBuffer {
+
+    private byte[] bytes = new byte[256];
+    private int size;
+
+    void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    void writeSignedVarint(long value) {
+        writeVarint(zigzag(value));
+    }
+
+    int size() {
+        return size;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+
+    /**
+     * buffer의 현재 위치에서 varint 하나를 읽고 위치를 옮깁니다.
+     */
+    static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("varint가 너무 깁니다.");
+    }
+
+    static long readSignedVarint(ByteBuffer buffer) {
+        long value = readVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
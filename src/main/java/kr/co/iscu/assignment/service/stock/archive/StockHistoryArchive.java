@@ -0,0 +1,239 @@
+package kr.co.iscu.assignment.service.stock.archive;
+
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockHistoryCursor;
+import kr.co.iscu.assignment.domain.stock.StockMovementSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 월별 재고 이력 보관 파일({@link StockHistoryArchiveFile})을 읽어 재고 이력 조회와 기간 통계에 보관 기간을 포함시킵니다.
+ * <p>
+ * 보관 파일은 가장 오래된 달부터 빠짐없이 만들어지므로, 마지막 보관 달의 다음 달 1일({@link #archivedBefore()}) 이전 이력은
+ * 모두 보관 파일에서 읽고 `stock_history`에서는 그 이후만 읽습니다. 보관 직후 원본 행을 지우기 전에도 같은 이력을 두 번 세지 않습니다.
+ * <p>
+ * 시작 시 {@code inventory.stock.archive.directory}의 보관 파일을 모두 매핑하고, 이후에는 {@link StockHistoryArchiver}가
+ * 새로 만든 파일을 등록합니다. 다른 인스턴스가 공유 디렉터리에 만든 파일은 {@code refresh-interval-seconds}마다 다시 찾아 매핑합니다.
+ * {@code inventory.stock.archive.enabled=false}이면 보관 파일을 읽지 않습니다.
+ */
+@Slf4j
+@Component
+public class StockHistoryArchive implements SmartInitializingSingleton, DisposableBean {
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("'stock-history-'yyyyMM'.col'");
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long refreshIntervalSeconds;
+    private final NavigableMap<YearMonth, StockHistoryArchiveFile> files = new ConcurrentSkipListMap<>();
+
+    private ScheduledExecutorService refresher;
+
+    public StockHistoryArchive(
+            @Value("${inventory.stock.archive.enabled:false}") boolean enabled,
+            @Value("${inventory.stock.archive.directory:./data/stock-archive}") String directory,
+            @Value("${inventory.stock.archive.refresh-interval-seconds:0}") long refreshIntervalSeconds) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        load();
+        if (refreshIntervalSeconds > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-history-archive-refresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::loadQuietly, refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 보관 디렉터리에서 아직 매핑하지 않은 보관 파일을 모두 매핑합니다.
+     *
+     * @throws UncheckedIOException 디렉터리를 만들거나 읽을 수 없을 경우 발생
+     */
+    public void load() {
+        int loaded = 0;
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "stock-history-*.col")) {
+                for (Path path : paths) {
+                    if (!isRegistered(path)) {
+                        register(path);
+                        loaded++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("재고 이력 보관 파일을 읽지 못했습니다: " + directory, e);
+        }
+        if (loaded > 0) {
+            log.info("재고 이력 보관 파일을 매핑했습니다. ({}개 추가, {} 이전)", loaded, archivedBefore());
+        }
+    }
+
+    private boolean isRegistered(Path path) {
+        return files.values().stream().anyMatch(file -> file.getPath().equals(path));
+    }
+
+    private void loadQuietly() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.warn("재고 이력 보관 파일을 다시 읽지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 새로 만든 보관 파일을 매핑해 조회에 포함시킵니다.
+     */
+    public void register(Path path) throws IOException {
+        StockHistoryArchiveFile file = StockHistoryArchiveFile.open(path);
+        files.put(file.getMonth(), file);
+    }
+
+    public boolean contains(YearMonth month) {
+        return files.containsKey(month);
+    }
+
+    public StockHistoryArchiveFile get(YearMonth month) {
+        return files.get(month);
+    }
+
+    Path pathOf(YearMonth month) {
+        return directory.resolve(FILE_NAME_FORMAT.format(month));
+    }
+
+    /**
+     * 이 일시 이전의 이력은 보관 파일에서 읽습니다.
+     *
+     * @return 보관 파일이 없거나 보관을 쓰지 않으면 null
+     */
+    public LocalDateTime archivedBefore() {
+        if (!enabled || files.isEmpty()) {
+            return null;
+        }
+        return files.lastKey().plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * `stock_history`에서 읽은 한 페이지가 limit보다 적으면, 커서 이후의 보관 이력을 최신순으로 이어 붙입니다.
+     * 보관 이력은 모두 `stock_history`의 이력보다 오래되었으므로 순서가 그대로 이어집니다.
+     *
+     * @param productId 상품 ID
+     * @param cursor    이전 페이지의 마지막 이력 위치 (첫 페이지면 null)
+     * @param histories `stock_history`에서 최신순으로 읽은 이력
+     * @param limit     페이지에 담을 최대 건수
+     */
+    public List<StockHistory> fillPage(Long productId, StockHistoryCursor cursor, List<StockHistory> histories, int limit) {
+        if (!enabled || files.isEmpty() || histories.size() >= limit) {
+            return histories;
+        }
+        List<StockHistory> page = new ArrayList<>(histories);
+        for (StockHistoryArchiveFile file : files.descendingMap().values()) {
+            if (cursor != null && file.getMonth().atDay(1).atStartOfDay().isAfter(cursor.getCreatedAt())) {
+                continue;
+            }
+            List<StockHistory> monthly = file.findByProductId(productId);
+            for (int i = monthly.size() - 1; i >= 0; i--) {
+                StockHistory history = monthly.get(i);
+                if (cursor != null && !isAfter(history, cursor)) {
+                    continue;
+                }
+                page.add(history);
+                if (page.size() == limit) {
+                    return page;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * `stock_history`에서 계산한 기간 합계에 보관 이력의 합계를 더합니다.
+     * 일별 집계로 읽은 날은 보관 후에도 집계가 남아 있으므로, 원본 이력에서 읽는 앞뒤 일부 구간(일별 집계를 쓰지 않으면 전체 기간)만 더합니다.
+     *
+     * @param summary      `stock_history`와 일별 집계로 계산한 합계
+     * @param firstFullDay 일별 집계로 읽은 첫날 (null이면 일별 집계를 쓰지 않음)
+     * @param lastFullDay  일별 집계로 읽은 마지막 날
+     */
+    public StockMovementSummary withArchived(StockMovementSummary summary, Long productId, LocalDateTime startDate,
+                                             LocalDateTime endDate, LocalDate firstFullDay, LocalDate lastFullDay) {
+        LocalDateTime archivedBefore = archivedBefore();
+        if (archivedBefore == null || !startDate.isBefore(archivedBefore)) {
+            return summary;
+        }
+        long[] totals = new long[2];
+        if (firstFullDay == null) {
+            sumQuantities(productId, startDate, endDate, totals);
+        } else {
+            sumQuantities(productId, startDate, firstFullDay.atStartOfDay().minusNanos(1), totals);
+            sumQuantities(productId, lastFullDay.plusDays(1).atStartOfDay(), endDate, totals);
+        }
+        return StockMovementSummary.builder()
+                .totalInbound(Math.toIntExact(summary.getTotalInbound() + totals[0]))
+                .totalOutbound(Math.toIntExact(summary.getTotalOutbound() + totals[1]))
+                .currentQuantity(summary.getCurrentQuantity())
+                .build();
+    }
+
+    private void sumQuantities(Long productId, LocalDateTime from, LocalDateTime to, long[] totals) {
+        LocalDateTime archivedTo = archivedBefore().minusNanos(1);
+        if (to.isAfter(archivedTo)) {
+            to = archivedTo;
+        }
+        if (from.isAfter(to)) {
+            return;
+        }
+        for (StockHistoryArchiveFile file : files.subMap(YearMonth.from(from), true, YearMonth.from(to), true).values()) {
+            file.sumQuantities(productId, from, to, totals);
+        }
+    }
+
+    /**
+     * 최신순(거래일시, 이력 ID 내림차순)에서 history가 cursor보다 뒤에 오는지 확인합니다.
+     */
+    private static boolean isAfter(StockHistory history, StockHistoryCursor cursor) {
+        int compared = history.getCreatedAt().compareTo(cursor.getCreatedAt());
+        return compared < 0 || (compared == 0 && history.getHistoryId() < cursor.getHistoryId());
+    }
+}
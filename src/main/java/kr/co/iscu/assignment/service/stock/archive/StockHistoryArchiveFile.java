@@ -0,0 +1,230 @@
+package kr.co.iscu.assignment.service.stock.archive;
+
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 달치 재고 이력을 열 단위로 압축해 둔 읽기 전용 보관 파일.
+ *
+ * <p>구조:
+ * - 머리: MAGIC(4), VERSION(1), 연월 yyyyMM(4)
+ * - 상품별 블록: 열마다의 바이트 길이(varint 5개) 뒤에 거래일시, 이력 ID, 창고 ID, 거래 유형, 수량 열
+ * - 거래 유형 사전: 개수, (길이, UTF-8 이름) 목록
+ * - 상품 목록: 상품 ID 순으로 (상품 ID 8, 블록 위치 8, 행 수 4) 고정 길이 항목
+ * - 꼬리: 사전 위치(8), 상품 목록 위치(8), 상품 수(4), 전체 행 수(8), MAGIC(4)
+ *
+ * <p>설명:
+ * 블록 안의 행은 (거래일시, 이력 ID) 순입니다. 거래일시는 마이크로초 단위로 앞 행(첫 행은 그 달 1일 0시)과의 차이를,
+ * 이력 ID와 창고 ID는 앞 행과의 차이를 zigzag varint로 기록하고, 거래 유형은 사전 번호, 수량은 zigzag varint로 기록합니다.
+ * 파일은 메모리에 매핑해 읽으므로 필요한 상품의 블록만 페이지 캐시에서 읽고, 합계는 거래일시·거래 유형·수량 열만 풉니다.
+ * 상품 목록은 고정 길이라 매핑한 채로 이진 탐색합니다.
+ */
+public final class StockHistoryArchiveFile {
+
+    static final int MAGIC = 0x53484331;
+    static final byte VERSION = 1;
+
+    private static final int HEADER_SIZE = 9;
+    private static final int FOOTER_SIZE = 32;
+    private static final int DIRECTORY_ENTRY_SIZE = 20;
+
+    private final Path path;
+    private final YearMonth month;
+    private final MappedByteBuffer buffer;
+    private final StockEventType[] dictionary;
+    private final long directoryOffset;
+    private final int productCount;
+    private final long rowCount;
+
+    private StockHistoryArchiveFile(Path path, YearMonth month, MappedByteBuffer buffer, StockEventType[] dictionary,
+                                    long directoryOffset, int productCount, long rowCount) {
+        this.path = path;
+        this.month = month;
+        this.buffer = buffer;
+        this.dictionary = dictionary;
+        this.directoryOffset = directoryOffset;
+        this.productCount = productCount;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * 보관 파일을 메모리에 매핑해 엽니다.
+     *
+     * @throws IllegalStateException 보관 파일 형식이 아니거나 손상된 경우 발생
+     */
+    public static StockHistoryArchiveFile open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE + FOOTER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("재고 이력 보관 파일이 아닙니다: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int footer = buffer.capacity() - FOOTER_SIZE;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(footer + 28) != MAGIC) {
+            throw new IllegalStateException("재고 이력 보관 파일이 아니거나 손상되었습니다: " + path);
+        }
+        if (buffer.get(4) != VERSION) {
+            throw new IllegalStateException("지원하지 않는 재고 이력 보관 파일 버전입니다: " + path);
+        }
+        int yearMonth = buffer.getInt(5);
+        long dictionaryOffset = buffer.getLong(footer);
+        long directoryOffset = buffer.getLong(footer + 8);
+        int productCount = buffer.getInt(footer + 16);
+        long rowCount = buffer.getLong(footer + 20);
+        if (directoryOffset + (long) productCount * DIRECTORY_ENTRY_SIZE != footer) {
+            throw new IllegalStateException("재고 이력 보관 파일이 손상되었습니다: " + path);
+        }
+
+        ByteBuffer reader = buffer.duplicate().position((int) dictionaryOffset);
+        StockEventType[] dictionary = new StockEventType[(int) ColumnBuffer.readVarint(reader)];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] name = new byte[(int) ColumnBuffer.readVarint(reader)];
+            reader.get(name);
+            dictionary[i] = StockEventType.valueOf(new String(name, StandardCharsets.UTF_8));
+        }
+        return new StockHistoryArchiveFile(path, YearMonth.of(yearMonth / 100, yearMonth % 100), buffer, dictionary,
+                directoryOffset, productCount, rowCount);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getProductCount() {
+        return productCount;
+    }
+
+    /**
+     * 상품의 이 달 이력을 (거래일시, 이력 ID) 오름차순으로 읽습니다.
+     *
+     * @return 이력이 없으면 빈 목록
+     */
+    public List<StockHistory> findByProductId(Long productId) {
+        int entry = findEntry(productId);
+        if (entry < 0) {
+            return List.of();
+        }
+        int rows = buffer.getInt(entry + 16);
+        ByteBuffer[] columns = columns(entry);
+        List<StockHistory> histories = new ArrayList<>(rows);
+        long micros = toEpochMicros(month.atDay(1).atStartOfDay());
+        long historyId = 0;
+        long warehouseId = 0;
+        for (int i = 0; i < rows; i++) {
+            micros += ColumnBuffer.readVarint(columns[0]);
+            historyId += ColumnBuffer.readSignedVarint(columns[1]);
+            warehouseId += ColumnBuffer.readSignedVarint(columns[2]);
+            histories.add(StockHistory.builder()
+                    .historyId(historyId)
+                    .productId(productId)
+                    .warehouseId(warehouseId)
+                    .eventType(dictionary[(int) ColumnBuffer.readVarint(columns[3])])
+                    .quantity((int) ColumnBuffer.readSignedVarint(columns[4]))
+                    .createdAt(fromEpochMicros(micros))
+                    .build());
+        }
+        return histories;
+    }
+
+    /**
+     * 상품의 기간 내 입고/출고 수량을 totals에 더합니다. 이력 ID와 창고 ID 열은 읽지 않습니다.
+     *
+     * @param from   시작일시 (포함)
+     * @param to     종료일시 (포함)
+     * @param totals [입고 합계, 출고 합계]
+     */
+    public void sumQuantities(Long productId, LocalDateTime from, LocalDateTime to, long[] totals) {
+        int entry = findEntry(productId);
+        if (entry < 0) {
+            return;
+        }
+        int rows = buffer.getInt(entry + 16);
+        ByteBuffer[] columns = columns(entry);
+        long fromMicros = toEpochMicros(from);
+        long toMicros = toEpochMicros(to);
+        long micros = toEpochMicros(month.atDay(1).atStartOfDay());
+        for (int i = 0; i < rows; i++) {
+            micros += ColumnBuffer.readVarint(columns[0]);
+            if (micros > toMicros) {
+                return;
+            }
+            StockEventType eventType = dictionary[(int) ColumnBuffer.readVarint(columns[3])];
+            long quantity = ColumnBuffer.readSignedVarint(columns[4]);
+            if (micros >= fromMicros) {
+                totals[eventType == StockEventType.INBOUND ? 0 : 1] += quantity;
+            }
+        }
+    }
+
+    /**
+     * 상품 목록을 이진 탐색해 항목 위치를 찾습니다.
+     *
+     * @return 항목의 파일 내 위치 (없으면 -1)
+     */
+    private int findEntry(Long productId) {
+        int low = 0;
+        int high = productCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = (int) directoryOffset + mid * DIRECTORY_ENTRY_SIZE;
+            long candidate = buffer.getLong(entry);
+            if (candidate < productId) {
+                low = mid + 1;
+            } else if (candidate > productId) {
+                high = mid - 1;
+            } else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 블록의 다섯 열을 각자의 위치에서 읽을 수 있도록 나눕니다. 매핑한 버퍼는 여러 스레드가 함께 읽으므로 복제본을 씁니다.
+     */
+    private ByteBuffer[] columns(int entry) {
+        ByteBuffer block = buffer.duplicate().position((int) buffer.getLong(entry + 8));
+        long[] lengths = new long[5];
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = ColumnBuffer.readVarint(block);
+        }
+        ByteBuffer[] columns = new ByteBuffer[lengths.length];
+        int position = block.position();
+        for (int i = 0; i < lengths.length; i++) {
+            columns[i] = buffer.duplicate().position(position);
+            position += (int) lengths[i];
+        }
+        return columns;
+    }
+
+    static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,177 @@
+package kr.co.iscu.assignment.service.stock.archive;
+
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 한 달치 재고 이력을 {@link StockHistoryArchiveFile} 형식의 파일로 기록합니다.
+ * <p>
+ * 이력은 (상품 ID, 거래일시, 이력 ID) 순으로 넣어야 하며, 상품이 바뀔 때마다 앞 상품의 블록을 파일에 씁니다.
+ * 메모리에는 상품 하나의 열과 상품 목록만 둡니다.
+ * 임시 파일에 모두 쓰고 디스크에 반영한 뒤 이름을 바꾸므로, 중간에 실패하면 보관 파일이 생기지 않습니다.
+ */
+final class StockHistoryArchiveWriter implements Closeable {
+
+    private final Path target;
+    private final Path temp;
+    private final YearMonth month;
+    private final long monthStartMicros;
+    private final long monthEndMicros;
+    private final FileOutputStream fileOut;
+    private final DataOutputStream out;
+
+    private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+    private final ByteArrayOutputStream directoryBytes = new ByteArrayOutputStream();
+    private final DataOutputStream directory = new DataOutputStream(directoryBytes);
+    private final ColumnBuffer times = new ColumnBuffer();
+    private final ColumnBuffer historyIds = new ColumnBuffer();
+    private final ColumnBuffer warehouseIds = new ColumnBuffer();
+    private final ColumnBuffer eventTypes = new ColumnBuffer();
+    private final ColumnBuffer quantities = new ColumnBuffer();
+
+    private Long currentProductId;
+    private int blockRows;
+    private long previousMicros;
+    private long previousHistoryId;
+    private long previousWarehouseId;
+    private int productCount;
+    private long rowCount;
+    private boolean finished;
+
+    StockHistoryArchiveWriter(Path target, YearMonth month) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.month = month;
+        this.monthStartMicros = StockHistoryArchiveFile.toEpochMicros(month.atDay(1).atStartOfDay());
+        this.monthEndMicros = StockHistoryArchiveFile.toEpochMicros(month.plusMonths(1).atDay(1).atStartOfDay());
+        this.fileOut = new FileOutputStream(temp.toFile());
+        this.out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024));
+        out.writeInt(StockHistoryArchiveFile.MAGIC);
+        out.writeByte(StockHistoryArchiveFile.VERSION);
+        out.writeInt(month.getYear() * 100 + month.getMonthValue());
+    }
+
+    /**
+     * 이력 한 건을 추가합니다.
+     *
+     * @throws IllegalArgumentException 다른 달의 이력이거나 (상품 ID, 거래일시, 이력 ID) 순서가 아닐 경우 발생
+     */
+    void append(StockHistory history) throws IOException {
+        long micros = StockHistoryArchiveFile.toEpochMicros(history.getCreatedAt());
+        if (micros < monthStartMicros || micros >= monthEndMicros) {
+            throw new IllegalArgumentException(month + "의 이력이 아닙니다: " + history.getHistoryId());
+        }
+        long productId = history.getProductId();
+        if (currentProductId == null || productId != currentProductId) {
+            if (currentProductId != null && productId < currentProductId) {
+                throw new IllegalArgumentException("이력은 상품 ID 순으로 추가해야 합니다: " + history.getHistoryId());
+            }
+            flushBlock();
+            currentProductId = productId;
+            previousMicros = monthStartMicros;
+            previousHistoryId = 0;
+            previousWarehouseId = 0;
+        } else if (micros < previousMicros || (micros == previousMicros && history.getHistoryId() <= previousHistoryId)) {
+            throw new IllegalArgumentException("상품의 이력은 거래일시, 이력 ID 순으로 추가해야 합니다: " + history.getHistoryId());
+        }
+
+        times.writeVarint(micros - previousMicros);
+        historyIds.writeSignedVarint(history.getHistoryId() - previousHistoryId);
+        warehouseIds.writeSignedVarint(history.getWarehouseId() - previousWarehouseId);
+        eventTypes.writeVarint(dictionary.computeIfAbsent(history.getEventType().name(), name -> dictionary.size()));
+        quantities.writeSignedVarint(history.getQuantity());
+
+        previousMicros = micros;
+        previousHistoryId = history.getHistoryId();
+        previousWarehouseId = history.getWarehouseId();
+        blockRows++;
+        rowCount++;
+    }
+
+    /**
+     * 남은 블록과 거래 유형 사전, 상품 목록, 꼬리 정보를 쓰고 보관 파일을 완성합니다.
+     *
+     * @return 완성된 보관 파일 경로
+     */
+    Path finish() throws IOException {
+        flushBlock();
+        long dictionaryOffset = out.size();
+        writeVarint(dictionary.size());
+        for (String name : dictionary.keySet()) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            out.write(bytes);
+        }
+        long directoryOffset = out.size();
+        directoryBytes.writeTo(out);
+        out.writeLong(dictionaryOffset);
+        out.writeLong(directoryOffset);
+        out.writeInt(productCount);
+        out.writeLong(rowCount);
+        out.writeInt(StockHistoryArchiveFile.MAGIC);
+        out.flush();
+        if (out.size() == Integer.MAX_VALUE) {
+            throw new IllegalStateException(month + " 재고 이력 보관 파일이 2GB를 넘습니다.");
+        }
+        fileOut.getChannel().force(true);
+        out.close();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        finished = true;
+        return target;
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            out.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 현재 상품의 열을 블록 하나로 씁니다. 블록은 열마다의 바이트 길이와 열 데이터로 이루어집니다.
+     */
+    private void flushBlock() throws IOException {
+        if (currentProductId == null) {
+            return;
+        }
+        directory.writeLong(currentProductId);
+        directory.writeLong(out.size());
+        directory.writeInt(blockRows);
+        ColumnBuffer[] columns = {times, historyIds, warehouseIds, eventTypes, quantities};
+        for (ColumnBuffer column : columns) {
+            writeVarint(column.size());
+        }
+        for (ColumnBuffer column : columns) {
+            column.writeTo(out);
+            column.clear();
+        }
+        productCount++;
+        blockRows = 0;
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
@@ -0,0 +1,194 @@
+package kr.co.iscu.assignment.service.stock.archive;
+
+import kr.co.iscu.assignment.repository.stock.StockHistoryArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지난 달의 재고 이력을 월별 보관 파일로 옮기고 `stock_history`에서 지우는 작업.
+ * <p>
+ * 시작 시와 {@code check-interval-seconds}마다 가장 오래된 이력의 달부터 {@code after-months}달 전까지를 한 달씩 처리합니다.
+ * 한 달의 이력을 보관 파일로 쓰고 {@link StockHistoryArchive}에 등록한 뒤(이때부터 조회는 보관 파일에서 읽음),
+ * 원본 행을 {@code delete-batch-size}건씩 나눠 지웁니다.
+ * <p>
+ * 재고 수량은 스냅샷과 그 이후 이력으로 다시 계산하므로, 재고 원장 스냅샷에 반영되지 않은 이력이 남은 달에서 멈춥니다.
+ * 보관 파일은 오래된 달부터 빠짐없이 만들어야 하므로 한 달이라도 실패하면 그 뒤의 달은 다음 실행으로 미룹니다.
+ * 여러 인스턴스로 운영할 때는 보관 디렉터리를 공유하고 한 인스턴스에서만 {@code archiver-enabled: true}로 둡니다.
+ */
+@Slf4j
+@Component
+public class StockHistoryArchiver implements ApplicationRunner, DisposableBean {
+
+    private final StockHistoryArchive stockHistoryArchive;
+    private final StockHistoryArchiveRepository stockHistoryArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int afterMonths;
+    private final int deleteBatchSize;
+    private final long checkIntervalSeconds;
+
+    private ScheduledExecutorService scheduler;
+
+    public StockHistoryArchiver(
+            StockHistoryArchive stockHistoryArchive,
+            StockHistoryArchiveRepository stockHistoryArchiveRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.stock.archive.archiver-enabled:true}") boolean enabled,
+            @Value("${inventory.stock.archive.after-months:12}") int afterMonths,
+            @Value("${inventory.stock.archive.delete-batch-size:5000}") int deleteBatchSize,
+            @Value("${inventory.stock.archive.check-interval-seconds:86400}") long checkIntervalSeconds) {
+        if (afterMonths < 1 || deleteBatchSize < 1) {
+            throw new IllegalArgumentException("보관 기준 개월 수와 삭제 배치 크기는 1 이상이어야 합니다.");
+        }
+        this.stockHistoryArchive = stockHistoryArchive;
+        this.stockHistoryArchiveRepository = stockHistoryArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.afterMonths = afterMonths;
+        this.deleteBatchSize = deleteBatchSize;
+        this.checkIntervalSeconds = checkIntervalSeconds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!stockHistoryArchive.isEnabled() || !enabled) {
+            return;
+        }
+        archiveQuietly();
+        if (checkIntervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-history-archiver");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::archiveQuietly, checkIntervalSeconds, checkIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 이번 달 기준으로 보관할 달의 이력을 보관 파일로 옮깁니다.
+     *
+     * @return 보관 파일로 옮긴 달 수
+     */
+    public int archive() {
+        return archive(YearMonth.now());
+    }
+
+    int archive(YearMonth currentMonth) {
+        Optional<LocalDateTime> oldest = stockHistoryArchiveRepository.findOldestCreatedAt();
+        if (oldest.isEmpty()) {
+            return 0;
+        }
+        YearMonth cutoff = currentMonth.minusMonths(afterMonths);
+        int archived = 0;
+        for (YearMonth month = YearMonth.from(oldest.get()); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            if (!archiveMonth(month)) {
+                break;
+            }
+            archived++;
+        }
+        return archived;
+    }
+
+    /**
+     * @return 다음 달로 넘어가도 되면 true
+     */
+    private boolean archiveMonth(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        long rows = stockHistoryArchiveRepository.countBetween(from, to);
+        if (rows == 0) {
+            return true;
+        }
+
+        if (stockHistoryArchive.contains(month)) {
+            // 보관 파일을 등록한 뒤 원본 행을 다 지우지 못하고 멈춘 경우
+            long archivedRows = stockHistoryArchive.get(month).getRowCount();
+            if (rows > archivedRows) {
+                log.warn("{} 재고 이력이 보관 파일({}건)보다 많이 남아 있어({}건) 지우지 않습니다. 보관 후 추가된 이력을 확인하세요.",
+                        month, archivedRows, rows);
+                return false;
+            }
+            deleteArchivedRows(month, from, to);
+            return true;
+        }
+
+        long notInSnapshot = stockHistoryArchiveRepository.countNotInSnapshot(from, to);
+        if (notInSnapshot > 0) {
+            log.warn("{} 재고 이력에 재고 원장 스냅샷에 반영되지 않은 이력이 {}건 있어 보관하지 않습니다. (스냅샷 갱신 후 다시 시도)",
+                    month, notInSnapshot);
+            return false;
+        }
+
+        Path file = writeArchiveFile(month, from, to);
+        try {
+            stockHistoryArchive.register(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        deleteArchivedRows(month, from, to);
+        return true;
+    }
+
+    /**
+     * 스트리밍 조회가 끝날 때까지 한 커넥션을 쓰고, 복제본이 아니라 원본 행을 지울 주 DB에서 읽도록 쓰기 트랜잭션에서 실행합니다.
+     */
+    private Path writeArchiveFile(YearMonth month, LocalDateTime from, LocalDateTime to) {
+        return transactionTemplate.execute(status -> {
+            try (StockHistoryArchiveWriter writer = new StockHistoryArchiveWriter(stockHistoryArchive.pathOf(month), month)) {
+                stockHistoryArchiveRepository.streamForArchive(from, to, context -> {
+                    try {
+                        writer.append(context.getResultObject());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                Path file = writer.finish();
+                log.info("{} 재고 이력 {}건을 보관 파일로 옮겼습니다. ({})", month, writer.getRowCount(), file);
+                return file;
+            } catch (IOException e) {
+                throw new UncheckedIOException("재고 이력 보관 파일을 쓰지 못했습니다: " + month, e);
+            }
+        });
+    }
+
+    private void deleteArchivedRows(YearMonth month, LocalDateTime from, LocalDateTime to) {
+        long deleted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> stockHistoryArchiveRepository.deleteBetween(from, to, deleteBatchSize));
+            deleted += batch;
+        } while (batch == deleteBatchSize);
+        log.info("보관 파일로 옮긴 {} 재고 이력 {}건을 stock_history에서 지웠습니다.", month, deleted);
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.warn("재고 이력을 보관 파일로 옮기지 못했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package kr.co.iscu.assignment.service.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품 재고(모든 창고의 합계)가 안전재고 기준을 넘나들었을 때 구독자에게 보내는 알림 DTO.
+ * 창고 ID와 현재 수량은 기준을 넘나들게 한 입고/출고의 창고와 그 창고의 재고입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertDto {
+
+    /** 알림 순번 (SSE 이벤트 ID, Last-Event-ID로 이어받을 때 사용) */
+    private Long id;
+    private Long productId;
+    private Long warehouseId;
+    private Type type;
+    private Integer currentQuantity;
+    /** 모든 창고 재고를 합한 상품 재고 */
+    private Integer productQuantity;
+    private Integer safetyStock;
+    private LocalDateTime occurredAt;
+
+    public static StockAlertDto of(StockMovementResultDto result) {
+        return StockAlertDto.builder()
+                .productId(result.getProductId())
+                .warehouseId(result.getWarehouseId())
+                .type(result.isBelowSafetyStock() ? Type.BELOW_SAFETY_STOCK : Type.RECOVERED)
+                .currentQuantity(result.getCurrentQuantity())
+                .productQuantity(result.getProductQuantity())
+                .safetyStock(result.getSafetyStock())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    public enum Type {
+        BELOW_SAFETY_STOCK,  // 안전재고 미만이 됨
+        RECOVERED            // 안전재고 이상으로 회복됨
+    }
+}
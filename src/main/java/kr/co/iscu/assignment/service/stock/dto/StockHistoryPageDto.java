@@ -0,0 +1,23 @@
+package kr.co.iscu.assignment.service.stock.dto;
+
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 재고 이력 한 페이지를 표현하는 DTO.
+ * 다음 페이지가 없으면 {@code next}는 null입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistoryPageDto {
+    private List<StockHistory> content;
+    private Integer size;
+    private String next;
+}
@@ -0,0 +1,22 @@
+package kr.co.iscu.assignment.service.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 원장 재계산 결과 DTO.
+ * 원장(스냅샷 + 이후 이력)과 `stock` 수량이 달라 고친 상품 수를 함께 돌려줍니다.
+ * 상품 수는 상품·창고별 재고 행 기준으로 셉니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLedgerRebuildResultDto {
+    private int ranges;
+    private int products;
+    private int correctedProducts;
+    private long elapsedMillis;
+}
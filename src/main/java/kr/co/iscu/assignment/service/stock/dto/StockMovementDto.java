@@ -0,0 +1,24 @@
+package kr.co.iscu.assignment.service.stock.dto;
+
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 입고 또는 출고 한 건을 표현하는 DTO.
+ * 창고를 지정하지 않으면 기본 창고({@link Stock#DEFAULT_WAREHOUSE_ID})의 재고를 증감합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDto {
+    private Long productId;
+    @Builder.Default
+    private Long warehouseId = Stock.DEFAULT_WAREHOUSE_ID;
+    private StockEventType eventType;
+    private Integer quantity;
+}
@@ -0,0 +1,72 @@
+package kr.co.iscu.assignment.service.stock.dto;
+
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 입고 또는 출고 한 건의 처리 결과 DTO.
+ * 현재 수량은 해당 창고의 재고이고, 안전재고 미만 여부는 재고 현황과 같이 모든 창고 재고를 합한 상품 재고 기준입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementResultDto {
+    private Long productId;
+    private Long warehouseId;
+    private StockEventType eventType;
+    private Integer quantity;
+    private boolean success;
+    private Integer currentQuantity;
+    /** 처리 후 모든 창고 재고를 합한 상품 재고 */
+    private Integer productQuantity;
+    private Integer safetyStock;
+    private boolean belowSafetyStock;
+    private String message;
+
+    /**
+     * @param currentQuantity 처리 후 해당 창고의 재고
+     * @param productQuantity 처리 후 모든 창고 재고를 합한 상품 재고
+     * @param safetyStock     상품의 안전재고
+     */
+    public static StockMovementResultDto applied(StockMovementDto movement, int currentQuantity, int productQuantity, Integer safetyStock) {
+        int safety = safetyStock == null ? 0 : safetyStock;
+        return StockMovementResultDto.builder()
+                .productId(movement.getProductId())
+                .warehouseId(movement.getWarehouseId())
+                .eventType(movement.getEventType())
+                .quantity(movement.getQuantity())
+                .success(true)
+                .currentQuantity(currentQuantity)
+                .productQuantity(productQuantity)
+                .safetyStock(safety)
+                .belowSafetyStock(productQuantity < safety)
+                .build();
+    }
+
+    /**
+     * 이번 입고/출고로 상품 재고가 안전재고 기준을 넘나들었는지 여부 (미만이 되었거나 미만에서 벗어남).
+     */
+    public boolean crossesSafetyStock() {
+        if (!success) {
+            return false;
+        }
+        int amount = eventType == StockEventType.INBOUND ? quantity : -quantity;
+        boolean wasBelow = productQuantity - amount < safetyStock;
+        return wasBelow != belowSafetyStock;
+    }
+
+    public static StockMovementResultDto rejected(StockMovementDto movement, String message) {
+        return StockMovementResultDto.builder()
+                .productId(movement.getProductId())
+                .warehouseId(movement.getWarehouseId())
+                .eventType(movement.getEventType())
+                .quantity(movement.getQuantity())
+                .success(false)
+                .message(message)
+                .build();
+    }
+}
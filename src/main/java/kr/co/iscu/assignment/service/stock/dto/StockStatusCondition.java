@@ -0,0 +1,36 @@
+package kr.co.iscu.assignment.service.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * 재고 현황 조회 조건.
+ * <p>
+ * 상품과 재고를 SQL에서 조인한 뒤 필터, 정렬, 페이지를 모두 DB에서 적용하기 위한 매퍼 파라미터입니다.
+ * limit이 null이면 조건에 맞는 전체를 조회합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockStatusCondition {
+    private Long productId;
+    /** 지정한 상품들만 조회 (비어 있으면 안 됨) */
+    private Collection<Long> productIds;
+    private String category;
+    private boolean belowSafety;
+    @Builder.Default
+    private StockStatusSortField sortField = StockStatusSortField.PRODUCT_ID;
+    private boolean descending;
+    private Integer offset;
+    private Integer limit;
+
+    /** ORDER BY에 사용할 정렬 방향 (MyBatis `${}` 치환용) */
+    public String getDirection() {
+        return descending ? "DESC" : "ASC";
+    }
+}
@@ -0,0 +1,23 @@
+package kr.co.iscu.assignment.service.stock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 재고 현황 한 페이지를 표현하는 DTO.
+ * 전체 건수를 세면 응답 시간이 카탈로그 크기에 비례하므로, 다음 페이지 존재 여부만 알려 줍니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockStatusPageDto {
+    private List<StockStatusDto> content;
+    private Integer page;
+    private Integer size;
+    private boolean hasNext;
+}
@@ -0,0 +1,40 @@
+package kr.co.iscu.assignment.service.stock.dto;
+
+import java.util.Arrays;
+
+/**
+ * 재고 현황 목록의 정렬 기준.
+ * 요청 값을 SQL 컬럼으로 직접 옮기지 않고 이 목록에 있는 컬럼만 ORDER BY에 사용합니다.
+ */
+public enum StockStatusSortField {
+    PRODUCT_ID("productId", "p.id"),
+    NAME("name", "p.name"),
+    CATEGORY("category", "p.category"),
+    UNIT_PRICE("unitPrice", "p.unit_price"),
+    SAFETY_STOCK("safetyStock", "COALESCE(p.safety_stock, 0)"),
+    CURRENT_QUANTITY("currentQuantity", "COALESCE(SUM(s.quantity), 0)");
+
+    private final String property;
+    private final String column;
+
+    StockStatusSortField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * 응답 필드 이름으로 정렬 기준을 찾습니다.
+     *
+     * @throws IllegalArgumentException 정렬할 수 없는 필드일 경우 발생
+     */
+    public static StockStatusSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("정렬할 수 없는 필드입니다: " + property));
+    }
+}
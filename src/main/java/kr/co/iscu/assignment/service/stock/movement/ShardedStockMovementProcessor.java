@@ -0,0 +1,269 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.StockKey;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * (상품, 창고)별로 단일 스레드 샤드에 입고/출고를 모아 그룹 커밋하는 처리기.
+ * <p>
+ * 같은 상품·창고의 입고/출고는 항상 같은 샤드가 순서대로 처리하므로, 샤드는 메모리의 현재 재고로 검증하고
+ * 큐에 쌓인 건을 트랜잭션 하나로 커밋합니다. 호출자는 자신이 속한 그룹이 커밋된 뒤에 결과를 받습니다.
+ * <p>
+ * 메모리의 재고를 기준으로 검증하므로 이 인스턴스가 `stock` 테이블의 유일한 writer여야 합니다.
+ * {@code inventory.stock.movement-mode=sharded}일 때만 활성화됩니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.stock.movement-mode", havingValue = "sharded")
+public class ShardedStockMovementProcessor implements StockMovementProcessor {
+
+    private final ProductRepository productRepository;
+    private final StockRepository stockRepository;
+    private final StockLedgerWriter stockLedgerWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final Shard[] shards;
+
+    public ShardedStockMovementProcessor(
+            ProductRepository productRepository,
+            StockRepository stockRepository,
+            StockLedgerWriter stockLedgerWriter,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.stock.sharded.shards:4}") int shardCount,
+            @Value("${inventory.stock.sharded.max-batch-size:256}") int maxBatchSize) {
+        if (shardCount <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("샤드 수와 최대 묶음 크기는 0보다 커야 합니다.");
+        }
+        this.productRepository = productRepository;
+        this.stockRepository = stockRepository;
+        this.stockLedgerWriter = stockLedgerWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.running = false;
+        }
+        for (Shard shard : shards) {
+            shard.thread.join(TimeUnit.SECONDS.toMillis(10));
+            shard.failRemaining();
+        }
+    }
+
+    /**
+     * 입고/출고 한 건을 해당 상품·창고의 샤드 큐에 넣습니다.
+     *
+     * @param movement 입고/출고 정보
+     * @return 그룹 커밋이 끝나면 완료되는 결과. 처리기가 종료된 뒤에 제출하면 {@link IllegalStateException}으로 실패한 결과
+     */
+    public CompletableFuture<StockMovementResultDto> submit(StockMovementDto movement) {
+        if (movement.getProductId() == null) {
+            return CompletableFuture.completedFuture(StockMovementResultDto.rejected(movement, "존재하지 않는 상품입니다."));
+        }
+        if (!StockMovementBatch.isValidWarehouse(movement.getWarehouseId())) {
+            return CompletableFuture.completedFuture(StockMovementResultDto.rejected(movement, StockMovementBatch.INVALID_WAREHOUSE));
+        }
+        StockKey key = StockMovementBatch.keyOf(movement);
+        return shards[Math.floorMod(key.hashCode(), shards.length)].enqueue(movement);
+    }
+
+    @Override
+    public StockMovementResultDto process(StockMovementDto movement) {
+        return await(submit(movement));
+    }
+
+    /**
+     * 건별로 샤드에 넣고 모든 결과를 기다립니다.
+     * 같은 상품·창고의 건은 요청 순서대로 처리되지만, 서로 다른 샤드의 건은 각자 커밋되므로 묶음 전체가 원자적이지는 않습니다.
+     */
+    @Override
+    public List<StockMovementResultDto> processAll(List<StockMovementDto> movements) {
+        List<CompletableFuture<StockMovementResultDto>> futures = movements.stream()
+                .map(this::submit)
+                .collect(Collectors.toList());
+        return futures.stream()
+                .map(this::await)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean joinsCallerTransaction() {
+        return false;
+    }
+
+    private StockMovementResultDto await(CompletableFuture<StockMovementResultDto> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("입출고 처리 결과를 기다리는 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 단일 스레드로 큐를 비우며 그룹 커밋하는 샤드.
+     * {@link #quantities}는 이 샤드의 스레드만 접근합니다.
+     */
+    private final class Shard implements Runnable {
+
+        private final BlockingQueue<PendingMovement> queue = new LinkedBlockingQueue<>();
+        private final Map<StockKey, Integer> quantities = new HashMap<>();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Shard(int index) {
+            this.thread = new Thread(this, "stock-shard-" + index);
+        }
+
+        CompletableFuture<StockMovementResultDto> enqueue(StockMovementDto movement) {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("입출고 엔진이 종료되었습니다."));
+            }
+            PendingMovement pending = new PendingMovement(movement);
+            queue.add(pending);
+            // 확인과 추가 사이에 종료되어 failRemaining()이 이미 큐를 비웠다면 아무도 꺼내지 않으므로 직접 실패시킨다.
+            if (!running && queue.remove(pending)) {
+                pending.future.completeExceptionally(new IllegalStateException("입출고 엔진이 종료되었습니다."));
+            }
+            return pending.future;
+        }
+
+        @Override
+        public void run() {
+            List<PendingMovement> group = new ArrayList<>(maxBatchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingMovement first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    group.add(first);
+                    queue.drainTo(group, maxBatchSize - 1);
+                    commit(group);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    group.clear();
+                }
+            }
+        }
+
+        void failRemaining() {
+            List<PendingMovement> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            IllegalStateException e = new IllegalStateException("입출고 엔진이 종료되었습니다.");
+            remaining.forEach(pending -> pending.future.completeExceptionally(e));
+        }
+
+        private void commit(List<PendingMovement> group) {
+            Set<Long> productIds = group.stream()
+                    .map(pending -> pending.movement.getProductId())
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Set<StockKey> keys = group.stream()
+                    .map(pending -> StockMovementBatch.keyOf(pending.movement))
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Map<StockKey, Integer> working = new HashMap<>();
+            try {
+                StockMovementBatch batch = transactionTemplate.execute(status -> {
+                    Map<Long, Product> products = productRepository.findAllByIds(productIds).stream()
+                            .collect(Collectors.toMap(Product::getId, Function.identity()));
+                    loadQuantities(keys.stream()
+                            .filter(key -> products.containsKey(key.getProductId()))
+                            .collect(Collectors.toCollection(TreeSet::new)), working);
+                    // 같은 상품의 다른 창고는 다른 샤드가 처리하므로, 안전재고 판단에 쓸 상품 재고 합계는 DB에서 읽는다.
+                    Map<Long, Integer> productQuantities = products.isEmpty() ? new HashMap<>()
+                            : StockMovementBatch.sumByProduct(stockRepository.findAllByProductIds(products.keySet()), working);
+
+                    StockMovementBatch applied = new StockMovementBatch(products, working, productQuantities);
+                    group.forEach(pending -> applied.apply(pending.movement));
+                    stockLedgerWriter.write(applied);
+                    return applied;
+                });
+
+                // 커밋이 끝난 뒤에만 메모리 재고를 갱신하고 호출자에게 알린다.
+                quantities.putAll(working);
+                List<StockMovementResultDto> results = batch.getResults();
+                for (int i = 0; i < group.size(); i++) {
+                    group.get(i).future.complete(results.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.error("재고 그룹 커밋 실패 (상품·창고: {})", keys, e);
+                // DB와 어긋났을 수 있으므로 다음 처리 때 다시 읽는다.
+                keys.forEach(quantities::remove);
+                group.forEach(pending -> pending.future.completeExceptionally(e));
+            }
+        }
+
+        private void loadQuantities(Set<StockKey> keys, Map<StockKey, Integer> working) {
+            List<StockKey> missing = new ArrayList<>();
+            for (StockKey key : keys) {
+                Integer cached = quantities.get(key);
+                if (cached != null) {
+                    working.put(key, cached);
+                } else {
+                    working.put(key, 0);
+                    missing.add(key);
+                }
+            }
+            if (!missing.isEmpty()) {
+                stockRepository.findAllByKeysForUpdate(missing)
+                        .forEach(stock -> working.put(StockKey.of(stock), stock.getQuantity()));
+            }
+        }
+    }
+
+    private static final class PendingMovement {
+
+        private final StockMovementDto movement;
+        private final CompletableFuture<StockMovementResultDto> future = new CompletableFuture<>();
+
+        PendingMovement(StockMovementDto movement) {
+            this.movement = movement;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockHistoryDaily;
+import kr.co.iscu.assignment.domain.stock.StockOutboxEvent;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockOutboxRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 검증을 마친 입고/출고를 `stock`, `stock_history`, `stock_history_daily`, `stock_outbox` 테이블에 저장합니다.
+ * <p>
+ * 호출하는 쪽의 트랜잭션 안에서 실행되어야 합니다.
+ * 이력과 일별 집계가 같은 날짜에 기록되도록 거래일시가 없는 이력에는 저장 시각을 채웁니다.
+ * {@code inventory.stock.outbox.enabled=false}이면 아웃박스 이벤트를 남기지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockLedgerWriter {
+
+    private final StockRepository stockRepository;
+    private final StockHistoryRepository stockHistoryRepository;
+    private final StockHistoryDailyRepository stockHistoryDailyRepository;
+    private final StockOutboxRepository stockOutboxRepository;
+
+    @Value("${inventory.stock.outbox.enabled:true}")
+    private boolean outboxEnabled;
+
+    /**
+     * 상품·창고별 순증감량, 이력, 일별 집계, 아웃박스 이벤트를 각각 multi-row 문장 하나로 저장합니다.
+     *
+     * @param batch 검증을 마친 입고/출고 묶음
+     */
+    public void write(StockMovementBatch batch) {
+        List<Stock> stockDeltas = batch.getStockDeltas();
+        if (!stockDeltas.isEmpty()) {
+            stockRepository.addQuantities(stockDeltas);
+        }
+        List<StockHistory> histories = batch.getHistories();
+        if (!histories.isEmpty()) {
+            stampCreatedAt(histories);
+            stockHistoryRepository.saveAll(histories);
+            stockHistoryDailyRepository.addQuantities(summarizeDaily(histories));
+            saveOutboxEvents(histories);
+        }
+    }
+
+    /**
+     * 이력 한 건과 그 일별 집계, 아웃박스 이벤트를 저장합니다. 재고 수량은 호출하는 쪽에서 이미 반영했다고 가정합니다.
+     *
+     * @param history 저장할 이력
+     */
+    public void recordHistory(StockHistory history) {
+        List<StockHistory> histories = Collections.singletonList(history);
+        stampCreatedAt(histories);
+        stockHistoryRepository.save(history);
+        stockHistoryDailyRepository.addQuantities(summarizeDaily(histories));
+        saveOutboxEvents(histories);
+    }
+
+    private void saveOutboxEvents(List<StockHistory> histories) {
+        if (outboxEnabled) {
+            stockOutboxRepository.saveAll(histories.stream().map(StockOutboxEvent::of).collect(Collectors.toList()));
+        }
+    }
+
+    private void stampCreatedAt(List<StockHistory> histories) {
+        LocalDateTime now = LocalDateTime.now();
+        histories.stream()
+                .filter(history -> history.getCreatedAt() == null)
+                .forEach(history -> history.setCreatedAt(now));
+    }
+
+    /**
+     * 이력을 상품·창고·일자·거래 유형별로 합산합니다. 잠금 순서를 일정하게 하려고 PK와 같은 (상품, 거래 유형, 일자, 창고) 순으로 정렬합니다.
+     */
+    private List<StockHistoryDaily> summarizeDaily(List<StockHistory> histories) {
+        Map<DailyKey, Long> sums = new TreeMap<>();
+        for (StockHistory history : histories) {
+            DailyKey key = new DailyKey(history.getProductId(), history.getWarehouseId(), history.getEventType(),
+                    history.getCreatedAt().toLocalDate());
+            sums.merge(key, history.getQuantity().longValue(), Long::sum);
+        }
+        return sums.entrySet().stream()
+                .map(entry -> StockHistoryDaily.builder()
+                        .productId(entry.getKey().productId)
+                        .warehouseId(entry.getKey().warehouseId)
+                        .eventType(entry.getKey().eventType)
+                        .statDate(entry.getKey().statDate)
+                        .quantity(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static final class DailyKey implements Comparable<DailyKey> {
+
+        private final Long productId;
+        private final Long warehouseId;
+        private final StockEventType eventType;
+        private final LocalDate statDate;
+
+        DailyKey(Long productId, Long warehouseId, StockEventType eventType, LocalDate statDate) {
+            this.productId = productId;
+            this.warehouseId = warehouseId;
+            this.eventType = eventType;
+            this.statDate = statDate;
+        }
+
+        @Override
+        public int compareTo(DailyKey other) {
+            int compared = productId.compareTo(other.productId);
+            if (compared == 0) {
+                compared = eventType.name().compareTo(other.eventType.name());
+            }
+            if (compared == 0) {
+                compared = statDate.compareTo(other.statDate);
+            }
+            return compared != 0 ? compared : warehouseId.compareTo(other.warehouseId);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockKey;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 건의 입고/출고를 요청 순서대로 검증하고, 상품·창고별 순증감량과 이력을 모으는 작업 단위.
+ * <p>
+ * 검증 기준이 되는 현재 재고는 생성 시 전달받은 맵에서 읽으며, 반영된 건만큼 그 맵을 갱신합니다.
+ * 안전재고 미만 여부는 재고 현황과 같이 모든 창고 재고를 합한 상품 재고로 판단하며, 상품 재고 맵도 반영된 건만큼 갱신합니다.
+ * 모인 결과는 {@link StockLedgerWriter#write(StockMovementBatch)}로 한 번에 저장합니다.
+ */
+public class StockMovementBatch {
+
+    static final String INVALID_WAREHOUSE = "창고 ID가 올바르지 않습니다.";
+
+    private final Map<Long, Product> products;
+    private final Map<StockKey, Integer> quantities;
+    private final Map<Long, Integer> productQuantities;
+    private final Map<StockKey, Integer> deltas = new TreeMap<>();
+    private final List<StockHistory> histories = new ArrayList<>();
+    private final List<StockMovementResultDto> results = new ArrayList<>();
+
+    /**
+     * @param products   존재하는 상품 (ID 기준)
+     * @param quantities 상품·창고별 현재 재고 (없는 상품·창고는 0으로 간주, 처리 중 갱신됨)
+     * @param productQuantities 상품별 모든 창고 재고 합계 (없는 상품은 0으로 간주, 처리 중 갱신됨)
+     */
+    public StockMovementBatch(Map<Long, Product> products, Map<StockKey, Integer> quantities, Map<Long, Integer> productQuantities) {
+        this.products = products;
+        this.quantities = quantities;
+        this.productQuantities = productQuantities;
+    }
+
+    /**
+     * 상품 재고를 {@code quantities}에 있는 창고만으로 합산합니다.
+     * 결과의 안전재고 미만 여부를 쓰지 않고 검증과 저장만 하는 경우(로그 반영 등)에 사용합니다.
+     *
+     * @param products   존재하는 상품 (ID 기준)
+     * @param quantities 상품·창고별 현재 재고 (없는 상품·창고는 0으로 간주, 처리 중 갱신됨)
+     */
+    public StockMovementBatch(Map<Long, Product> products, Map<StockKey, Integer> quantities) {
+        this(products, quantities, sumByProduct(List.of(), quantities));
+    }
+
+    /**
+     * 상품별 모든 창고 재고 합계를 구합니다.
+     * {@code quantities}에 있는 상품·창고는 그 값(잠금 조회했거나 메모리에 반영된 재고)을, 나머지 창고는 {@code stocks}의 값을 사용합니다.
+     *
+     * @param stocks     대상 상품의 모든 창고 재고 (DB 조회 결과)
+     * @param quantities 검증 기준이 되는 상품·창고별 현재 재고
+     * @return 상품 ID별 재고 합계
+     */
+    public static Map<Long, Integer> sumByProduct(List<Stock> stocks, Map<StockKey, Integer> quantities) {
+        Map<Long, Integer> sums = new HashMap<>();
+        Set<StockKey> summed = new HashSet<>();
+        for (Stock stock : stocks) {
+            StockKey key = StockKey.of(stock);
+            summed.add(key);
+            sums.merge(key.getProductId(), quantities.getOrDefault(key, stock.getQuantity()), Integer::sum);
+        }
+        quantities.forEach((key, quantity) -> {
+            if (!summed.contains(key)) {
+                sums.merge(key.getProductId(), quantity, Integer::sum);
+            }
+        });
+        return sums;
+    }
+
+    /**
+     * 한 건을 검증하고, 통과하면 현재 재고와 순증감량에 반영합니다.
+     *
+     * @param movement 입고/출고 정보
+     * @return 처리 결과
+     */
+    public StockMovementResultDto apply(StockMovementDto movement) {
+        return apply(movement, null);
+    }
+
+    /**
+     * 한 건을 검증하고, 통과하면 현재 재고와 순증감량에 반영합니다.
+     *
+     * @param movement  입고/출고 정보
+     * @param createdAt 이력에 남길 거래일시 (null이면 저장 시각)
+     * @return 처리 결과
+     */
+    public StockMovementResultDto apply(StockMovementDto movement, LocalDateTime createdAt) {
+        String rejection = validate(movement);
+        if (rejection != null) {
+            StockMovementResultDto result = StockMovementResultDto.rejected(movement, rejection);
+            results.add(result);
+            return result;
+        }
+
+        StockKey key = keyOf(movement);
+        int amount = movement.getEventType() == StockEventType.INBOUND ? movement.getQuantity() : -movement.getQuantity();
+        int currentQuantity = quantities.getOrDefault(key, 0) + amount;
+        quantities.put(key, currentQuantity);
+        int productQuantity = productQuantities.getOrDefault(movement.getProductId(), 0) + amount;
+        productQuantities.put(movement.getProductId(), productQuantity);
+        deltas.merge(key, amount, Integer::sum);
+        histories.add(StockHistory.builder()
+                .productId(movement.getProductId())
+                .warehouseId(movement.getWarehouseId())
+                .eventType(movement.getEventType())
+                .quantity(movement.getQuantity())
+                .createdAt(createdAt)
+                .build());
+
+        Integer safetyStock = products.get(movement.getProductId()).getSafetyStock();
+        StockMovementResultDto result = StockMovementResultDto.applied(movement, currentQuantity, productQuantity, safetyStock);
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * 상품·창고별 순증감량 (quantity 필드에 증감량, 0인 상품·창고는 제외)
+     */
+    public List<Stock> getStockDeltas() {
+        return deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new Stock(entry.getKey().getProductId(), entry.getKey().getWarehouseId(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 반영된 건의 이력 (처리 순서)
+     */
+    public List<StockHistory> getHistories() {
+        return histories;
+    }
+
+    /**
+     * 건별 처리 결과 (처리 순서)
+     */
+    public List<StockMovementResultDto> getResults() {
+        return results;
+    }
+
+    private String validate(StockMovementDto movement) {
+        if (movement.getEventType() == null) {
+            return "거래 유형이 없습니다.";
+        }
+        if (movement.getQuantity() == null || movement.getQuantity() <= 0) {
+            return movement.getEventType() == StockEventType.INBOUND
+                    ? "입고 수량은 0보다 커야 합니다."
+                    : "출고 수량은 0보다 커야 합니다.";
+        }
+        if (!products.containsKey(movement.getProductId())) {
+            return "존재하지 않는 상품입니다.";
+        }
+        if (!isValidWarehouse(movement.getWarehouseId())) {
+            return INVALID_WAREHOUSE;
+        }
+        if (movement.getEventType() == StockEventType.OUTBOUND
+                && quantities.getOrDefault(keyOf(movement), 0) < movement.getQuantity()) {
+            return "재고가 부족합니다.";
+        }
+        return null;
+    }
+
+    /**
+     * 입고/출고 대상 재고 행의 키
+     */
+    static StockKey keyOf(StockMovementDto movement) {
+        return StockKey.of(movement.getProductId(), movement.getWarehouseId());
+    }
+
+    static boolean isValidWarehouse(Long warehouseId) {
+        return warehouseId != null && warehouseId > 0;
+    }
+}
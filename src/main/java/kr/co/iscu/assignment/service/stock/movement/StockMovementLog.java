@@ -0,0 +1,355 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 입출고를 기록하는 로컬 append-only 로그 (WAL).
+ * <p>
+ * 레코드는 고정 길이이며, 순번·상품 ID·창고 ID·거래 유형·수량·거래일시 뒤에 CRC32를 붙여 기록합니다.
+ * 파일은 첫 레코드의 순번으로 이름 붙인 세그먼트로 나뉘고, 활성 세그먼트가 설정 크기를 넘으면 새 세그먼트를 엽니다.
+ * 열 때 마지막 세그먼트 끝의 잘리거나 손상된 레코드는 잘라냅니다.
+ * <p>
+ * 창고 ID가 없던 이전 형식의 세그먼트({@code stock-movements-<순번>.log})도 읽을 수 있으며, 그 레코드는 기본 창고로 읽습니다.
+ * 이전 형식의 세그먼트에는 더 이상 쓰지 않고, 열 때 새 형식의 세그먼트를 열어 이어 씁니다.
+ * <p>
+ * DB에 반영할 수 없는 레코드는 사유와 함께 실패 기록 파일({@code dead-letters.log})에 한 줄씩 남깁니다.
+ * <p>
+ * {@link #append(List)}는 한 스레드에서만 호출해야 합니다.
+ */
+@Slf4j
+public class StockMovementLog implements Closeable {
+
+    private static final int PAYLOAD_SIZE = Long.BYTES + Long.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES + Long.BYTES;
+    static final int RECORD_SIZE = PAYLOAD_SIZE + Integer.BYTES;
+    /** 창고 ID가 없던 이전 형식 */
+    private static final int LEGACY_PAYLOAD_SIZE = Long.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES + Long.BYTES;
+    static final int LEGACY_RECORD_SIZE = LEGACY_PAYLOAD_SIZE + Integer.BYTES;
+
+    private static final String SEGMENT_PREFIX = "stock-movements-v2-";
+    static final String LEGACY_SEGMENT_PREFIX = "stock-movements-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    static final String DEAD_LETTER_FILE = "dead-letters.log";
+    private static final StockEventType[] EVENT_TYPES = StockEventType.values();
+
+    private final Path directory;
+    private final long segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private FileChannel active;
+    private volatile long lastSequence;
+
+    /**
+     * 로그 디렉터리를 열고 기존 세그먼트를 검사합니다.
+     *
+     * @param directory       로그 디렉터리 (없으면 생성)
+     * @param segmentSize     세그먼트 하나의 최대 크기 (바이트)
+     * @param appliedSequence DB에 반영을 마친 마지막 순번 (다음 순번은 이보다 커야 함)
+     * @throws IOException 파일을 열 수 없을 경우
+     * @throws IllegalStateException 마지막이 아닌 세그먼트가 손상되었거나 순번이 이어지지 않을 경우
+     */
+    public StockMovementLog(Path directory, long segmentSize, long appliedSequence) throws IOException {
+        this.directory = directory;
+        this.segmentSize = Math.max(segmentSize, RECORD_SIZE);
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            // 첫 순번순으로 정렬하고, 순번이 같으면 이전 형식 세그먼트를 앞에 둔다.
+            files.filter(StockMovementLog::isSegment)
+                    .map(path -> new Segment(parseFirstSequence(path), path, isLegacy(path)))
+                    .sorted(Comparator.comparingLong((Segment segment) -> segment.firstSequence)
+                            .thenComparing(segment -> !segment.legacy))
+                    .forEach(segments::add);
+        }
+        long recoveredSequence = recover();
+        if (recoveredSequence < appliedSequence && !segments.isEmpty()) {
+            // 로그보다 DB 반영 위치가 앞서 있으면 남은 세그먼트는 모두 반영된 것이므로 새로 시작한다.
+            log.warn("입출고 로그({})가 반영 위치({})보다 뒤처져 기존 세그먼트를 삭제합니다.", recoveredSequence, appliedSequence);
+            for (Segment segment : segments) {
+                Files.deleteIfExists(segment.path);
+            }
+            segments.clear();
+        }
+        this.lastSequence = Math.max(recoveredSequence, appliedSequence);
+
+        if (!segments.isEmpty() && segments.get(segments.size() - 1).legacy) {
+            // 이전 형식에는 이어 쓰지 않는다. 빈 세그먼트는 새 세그먼트와 첫 순번이 같으므로 지운다.
+            Segment legacy = segments.get(segments.size() - 1);
+            if (Files.size(legacy.path) == 0) {
+                Files.delete(legacy.path);
+                segments.remove(segments.size() - 1);
+            }
+            openNewSegment();
+        } else if (segments.isEmpty()) {
+            openNewSegment();
+        } else {
+            active = FileChannel.open(segments.get(segments.size() - 1).path, StandardOpenOption.WRITE);
+            active.position(active.size());
+        }
+    }
+
+    /**
+     * 마지막으로 기록된 순번
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * 레코드를 이어 쓰고 한 번의 fsync로 디스크에 반영합니다.
+     *
+     * @param records 기록할 레코드 (순번이 {@link #getLastSequence()} + 1부터 연속이어야 함)
+     * @throws IOException 쓰기 또는 fsync에 실패할 경우
+     */
+    public synchronized void append(List<StockMovementLogRecord> records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(records.size() * RECORD_SIZE);
+        for (StockMovementLogRecord record : records) {
+            if (record.getSequence() != lastSequence + 1) {
+                throw new IllegalArgumentException("로그 순번이 이어지지 않습니다: " + record.getSequence());
+            }
+            encode(record, buffer);
+            lastSequence = record.getSequence();
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            active.write(buffer);
+        }
+        active.force(false);
+
+        if (active.size() >= segmentSize) {
+            active.close();
+            openNewSegment();
+        }
+    }
+
+    /**
+     * 지정한 순번보다 큰 레코드를 모두 읽습니다.
+     *
+     * @param sequence 기준 순번 (이 순번은 제외)
+     * @return 순번순 레코드 목록
+     */
+    public synchronized List<StockMovementLogRecord> readAfter(long sequence) throws IOException {
+        List<StockMovementLogRecord> records = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && segments.get(i + 1).firstSequence <= sequence + 1) {
+                continue;
+            }
+            Segment segment = segments.get(i);
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                scan(channel, segment.firstSequence, segment.legacy, record -> {
+                    if (record.getSequence() > sequence) {
+                        records.add(record);
+                    }
+                });
+            }
+        }
+        return records;
+    }
+
+    /**
+     * 모든 레코드가 지정한 순번 이하인 세그먼트를 삭제합니다. 활성 세그먼트는 삭제하지 않습니다.
+     *
+     * @param sequence DB에 반영을 마친 마지막 순번
+     */
+    public synchronized void deleteSegmentsUpTo(long sequence) throws IOException {
+        while (segments.size() > 1 && segments.get(1).firstSequence - 1 <= sequence) {
+            Files.deleteIfExists(segments.remove(0).path);
+        }
+    }
+
+    /**
+     * DB에 반영할 수 없는 레코드를 사유와 함께 실패 기록 파일에 덧붙이고 디스크에 반영합니다.
+     * 한 줄에 순번, 상품 ID, 창고 ID, 거래 유형, 수량, 거래일시, 사유를 탭으로 구분해 기록합니다.
+     * 반영 위치는 이 레코드를 지나 앞으로 나아가므로, 남은 레코드는 운영자가 이 파일을 보고 처리해야 합니다.
+     * 반영 트랜잭션이 실패해 다시 시도하면 같은 순번이 두 번 기록될 수 있습니다.
+     *
+     * @param reasons 레코드별 반영하지 못한 사유 (순번순)
+     * @throws IOException 쓰기 또는 fsync에 실패할 경우
+     */
+    public synchronized void appendDeadLetters(Map<StockMovementLogRecord, String> reasons) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        reasons.forEach((record, reason) -> lines.append(record.getSequence()).append('\t')
+                .append(record.getProductId()).append('\t')
+                .append(record.getWarehouseId()).append('\t')
+                .append(record.getEventType()).append('\t')
+                .append(record.getQuantity()).append('\t')
+                .append(record.getCreatedAt()).append('\t')
+                .append(reason.replaceAll("\\s", " ")).append('\n'));
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(deadLetterPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    Path deadLetterPath() {
+        return directory.resolve(DEAD_LETTER_FILE);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.close();
+    }
+
+    private long recover() throws IOException {
+        long last = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (i > 0 && segment.firstSequence != last + 1) {
+                throw new IllegalStateException("입출고 로그 세그먼트 순번이 이어지지 않습니다: " + segment.path);
+            }
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long validLength = scan(channel, segment.firstSequence, segment.legacy, record -> { });
+                if (validLength < channel.size()) {
+                    if (i < segments.size() - 1) {
+                        throw new IllegalStateException("손상된 입출고 로그 세그먼트입니다: " + segment.path);
+                    }
+                    log.warn("입출고 로그 끝의 불완전한 레코드를 잘라냅니다: {} ({} -> {} bytes)",
+                            segment.path, channel.size(), validLength);
+                    channel.truncate(validLength);
+                    channel.force(true);
+                }
+                last = segment.firstSequence + validLength / segment.recordSize() - 1;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * 세그먼트를 처음부터 읽어 올바른 레코드를 전달합니다.
+     *
+     * @return 올바른 레코드가 끝나는 위치 (바이트)
+     */
+    private static long scan(FileChannel channel, long firstSequence, boolean legacy,
+                             Consumer<StockMovementLogRecord> consumer) throws IOException {
+        int recordSize = legacy ? LEGACY_RECORD_SIZE : RECORD_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize * 1024);
+        long validLength = 0;
+        long expectedSequence = firstSequence;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, validLength);
+            if (read < recordSize) {
+                return validLength;
+            }
+            buffer.flip();
+            while (buffer.remaining() >= recordSize) {
+                StockMovementLogRecord record = decode(buffer, legacy);
+                if (record == null || record.getSequence() != expectedSequence) {
+                    return validLength;
+                }
+                consumer.accept(record);
+                validLength += recordSize;
+                expectedSequence++;
+            }
+        }
+    }
+
+    private void openNewSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, lastSequence + 1, SEGMENT_SUFFIX));
+        active = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.add(new Segment(lastSequence + 1, path, false));
+        syncDirectory();
+    }
+
+    /**
+     * 새 세그먼트 파일의 디렉터리 항목까지 디스크에 반영합니다. 지원하지 않는 OS에서는 건너뜁니다.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("로그 디렉터리 fsync를 건너뜁니다: {}", directory, e);
+        }
+    }
+
+    private static void encode(StockMovementLogRecord record, ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putLong(record.getSequence())
+                .putLong(record.getProductId())
+                .putLong(record.getWarehouseId())
+                .put((byte) record.getEventType().ordinal())
+                .putInt(record.getQuantity())
+                .putLong(record.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(start).limit(start + PAYLOAD_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private static StockMovementLogRecord decode(ByteBuffer buffer, boolean legacy) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.limit(payload.position() + (legacy ? LEGACY_PAYLOAD_SIZE : PAYLOAD_SIZE));
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long sequence = buffer.getLong();
+        long productId = buffer.getLong();
+        long warehouseId = legacy ? Stock.DEFAULT_WAREHOUSE_ID : buffer.getLong();
+        byte eventType = buffer.get();
+        int quantity = buffer.getInt();
+        long createdAt = buffer.getLong();
+        int checksum = buffer.getInt();
+        if (checksum != (int) crc.getValue() || eventType < 0 || eventType >= EVENT_TYPES.length) {
+            return null;
+        }
+        return new StockMovementLogRecord(sequence, productId, warehouseId, EVENT_TYPES[eventType], quantity,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneOffset.UTC));
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(LEGACY_SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static boolean isLegacy(Path path) {
+        return !path.getFileName().toString().startsWith(SEGMENT_PREFIX);
+    }
+
+    private static long parseFirstSequence(Path path) {
+        String name = path.getFileName().toString();
+        int prefixLength = isLegacy(path) ? LEGACY_SEGMENT_PREFIX.length() : SEGMENT_PREFIX.length();
+        return Long.parseLong(name.substring(prefixLength, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+
+        private final long firstSequence;
+        private final Path path;
+        private final boolean legacy;
+
+        Segment(long firstSequence, Path path, boolean legacy) {
+            this.firstSequence = firstSequence;
+            this.path = path;
+            this.legacy = legacy;
+        }
+
+        int recordSize() {
+            return legacy ? LEGACY_RECORD_SIZE : RECORD_SIZE;
+        }
+    }
+}
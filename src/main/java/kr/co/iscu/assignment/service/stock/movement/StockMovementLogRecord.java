@@ -0,0 +1,41 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 입출고 로그(WAL)의 레코드 한 건.
+ */
+@Data
+public class StockMovementLogRecord {
+
+    /** 로그 순번 (1부터 1씩 증가) */
+    private final long sequence;
+
+    /** 상품 ID */
+    private final long productId;
+
+    /** 창고 ID */
+    private final long warehouseId;
+
+    /** 거래 유형 (INBOUND, OUTBOUND) */
+    private final StockEventType eventType;
+
+    /** 거래 수량 */
+    private final int quantity;
+
+    /** 거래일시 (로그에 기록된 시각) */
+    private final LocalDateTime createdAt;
+
+    public StockMovementDto toMovement() {
+        return StockMovementDto.builder()
+                .productId(productId)
+                .warehouseId(warehouseId)
+                .eventType(eventType)
+                .quantity(quantity)
+                .build();
+    }
+}
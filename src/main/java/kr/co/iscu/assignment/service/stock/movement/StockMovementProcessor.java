@@ -0,0 +1,39 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+
+import java.util.List;
+
+/**
+ * 입고/출고를 실제로 반영하는 처리기.
+ * <p>
+ * {@code inventory.stock.movement-mode} 설정으로 구현체를 선택합니다.
+ * 검증에 실패한 건은 예외 대신 실패 결과({@link StockMovementResultDto#isSuccess()} == false)로 반환합니다.
+ */
+public interface StockMovementProcessor {
+
+    /**
+     * 입고 또는 출고 한 건을 반영합니다.
+     *
+     * @param movement 입고/출고 정보 (수량은 0보다 크다고 가정)
+     * @return 처리 결과
+     */
+    StockMovementResultDto process(StockMovementDto movement);
+
+    /**
+     * 여러 건의 입고/출고를 요청 순서대로 반영합니다.
+     *
+     * @param movements 입고/출고 목록
+     * @return 요청 순서와 같은 순서의 건별 처리 결과
+     */
+    List<StockMovementResultDto> processAll(List<StockMovementDto> movements);
+
+    /**
+     * 호출한 쪽의 트랜잭션 안에서 반영하는지 여부.
+     * false면 자체 스레드에서 따로 커밋하므로, 호출한 쪽이 롤백해도 이미 반영된 입고/출고는 되돌려지지 않습니다.
+     */
+    default boolean joinsCallerTransaction() {
+        return true;
+    }
+}
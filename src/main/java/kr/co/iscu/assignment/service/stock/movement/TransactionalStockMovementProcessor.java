@@ -0,0 +1,125 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockAdjustment;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockKey;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.product.ProductCache;
+import kr.co.iscu.assignment.service.stock.StockStatusReadModel;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 요청마다 DB 트랜잭션 하나로 입고/출고를 반영하는 기본 처리기.
+ * <p>
+ * 한 건은 조건부 UPDATE 문으로, 여러 건은 잠금 조회 후 multi-row 문장으로 반영합니다.
+ * 재고 행은 (상품, 창고)마다 따로 있으므로 서로 다른 창고의 입고/출고는 서로의 행 잠금을 기다리지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.stock.movement-mode", havingValue = "transactional", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TransactionalStockMovementProcessor implements StockMovementProcessor {
+
+    private final StockRepository stockRepository;
+    private final ProductCache productCache;
+    private final StockLedgerWriter stockLedgerWriter;
+    private final StockStatusReadModel stockStatusReadModel;
+
+    /**
+     * 재고 확인과 증감을 조건부 UPDATE 한 문장으로 처리하고 이력을 기록합니다.
+     * 안전재고 미만 여부는 증감 후 상품의 모든 창고 재고 합계로 판단하며, 합계는 다시 조회하지 않고 읽기 모델의 합계에 이번 증감량을 더해 구합니다.
+     * 읽기 모델은 커밋 후에 갱신되므로 아직 반영되지 않은 다른 창고의 동시 입고/출고만큼 합계가 어긋날 수 있고,
+     * 여러 인스턴스로 운영하면 다른 인스턴스의 변경은 다음 재적재 때까지 빠집니다.
+     * 읽기 모델을 사용하지 않거나 모델에 없는 상품이면 상품의 재고 행을 조회해 합산합니다.
+     */
+    @Override
+    @Transactional
+    public StockMovementResultDto process(StockMovementDto movement) {
+        Product product = productCache.findById(movement.getProductId()).orElse(null);
+        if (product == null) {
+            return StockMovementResultDto.rejected(movement, "존재하지 않는 상품입니다.");
+        }
+        if (!StockMovementBatch.isValidWarehouse(movement.getWarehouseId())) {
+            return StockMovementResultDto.rejected(movement, StockMovementBatch.INVALID_WAREHOUSE);
+        }
+
+        StockAdjustment adjustment = StockAdjustment.of(movement.getProductId(), movement.getWarehouseId(), movement.getQuantity());
+        if (movement.getEventType() == StockEventType.INBOUND) {
+            if (stockRepository.increaseQuantity(adjustment) == 0) {
+                // 창고의 최초 입고: 재고 행을 만든 뒤 다시 증가시킨다.
+                stockRepository.insertIfAbsent(movement.getProductId(), movement.getWarehouseId());
+                stockRepository.increaseQuantity(adjustment);
+            }
+        } else if (stockRepository.decreaseQuantity(adjustment) == 0) {
+            // 변경된 행이 없으면 재고 부족
+            return StockMovementResultDto.rejected(movement, "재고가 부족합니다.");
+        }
+
+        StockHistory history = StockHistory.builder()
+                .productId(movement.getProductId())
+                .warehouseId(movement.getWarehouseId())
+                .eventType(movement.getEventType())
+                .quantity(movement.getQuantity())
+                .build();
+        stockLedgerWriter.recordHistory(history);
+
+        OptionalInt committedQuantity = stockStatusReadModel.findCurrentQuantity(movement.getProductId());
+        int productQuantity = committedQuantity.isPresent()
+                ? committedQuantity.getAsInt() + (movement.getEventType() == StockEventType.INBOUND ? movement.getQuantity() : -movement.getQuantity())
+                : stockRepository.findAllByProductId(movement.getProductId()).stream().mapToInt(Stock::getQuantity).sum();
+        return StockMovementResultDto.applied(movement, adjustment.getQuantity(), productQuantity, product.getSafetyStock());
+    }
+
+    /**
+     * 건수와 관계없이 상품 조회(캐시 미적중 시), 재고 잠금 조회, 상품 재고 합계 조회, 재고 일괄 증감, 이력 일괄 등록의 다섯 문장만 실행합니다.
+     */
+    @Override
+    @Transactional
+    public List<StockMovementResultDto> processAll(List<StockMovementDto> movements) {
+        // 1. 상품 존재 여부와 안전재고를 한 번에 조회 (캐시에 없는 상품만 DB에서 조회)
+        Set<Long> productIds = movements.stream()
+                .map(StockMovementDto::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Product> products = productIds.isEmpty() ? Collections.emptyMap()
+                : productCache.findAllByIds(productIds);
+
+        // 2. 대상 상품·창고의 현재 재고만 잠금 조회하여 건별 검증의 기준으로 사용
+        Set<StockKey> keys = movements.stream()
+                .filter(movement -> products.containsKey(movement.getProductId()))
+                .filter(movement -> StockMovementBatch.isValidWarehouse(movement.getWarehouseId()))
+                .map(StockMovementBatch::keyOf)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<StockKey, Integer> quantities = keys.isEmpty() ? new HashMap<>()
+                : stockRepository.findAllByKeysForUpdate(keys).stream()
+                        .collect(Collectors.toMap(StockKey::of, Stock::getQuantity));
+
+        // 3. 안전재고 판단에 쓸 상품별 모든 창고 재고 합계 (잠근 행은 잠금 조회한 값 사용)
+        Set<Long> lockedProductIds = keys.stream().map(StockKey::getProductId).collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Integer> productQuantities = lockedProductIds.isEmpty() ? new HashMap<>()
+                : StockMovementBatch.sumByProduct(stockRepository.findAllByProductIds(lockedProductIds), quantities);
+
+        // 4. 요청 순서대로 검증한 뒤 상품·창고별 순증감량과 이력을 각각 multi-row 문장 하나로 반영
+        StockMovementBatch batch = new StockMovementBatch(products, quantities, productQuantities);
+        movements.forEach(batch::apply);
+        stockLedgerWriter.write(batch);
+        return batch.getResults();
+    }
+}
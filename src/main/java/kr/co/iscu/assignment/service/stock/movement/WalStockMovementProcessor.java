@@ -0,0 +1,428 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.config.datasource.DataSourceRouting;
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockKey;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockMovementLogCheckpointRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.product.ProductCache;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 입고/출고를 로컬 로그(WAL)에 기록하는 즉시 응답하고, DB 반영은 백그라운드에서 처리하는 처리기.
+ * <p>
+ * 기록 스레드는 대기 중인 요청을 모아 메모리의 예상 재고로 검증한 뒤, 통과한 건을 로그에 이어 쓰고 fsync 한 번으로
+ * 디스크에 반영합니다. 반영 스레드는 기록된 레코드를 기존 Mapper로 `stock`, `stock_history`에 저장하면서
+ * 같은 트랜잭션에서 반영 위치(checkpoint)를 갱신하므로, 재시작 시 반영되지 않은 로그만 정확히 한 번 다시 반영됩니다.
+ * 상품이 삭제되는 등으로 반영할 수 없는 레코드는 반영 위치를 넘기기 전에 로그 디렉터리의 실패 기록 파일에 남깁니다.
+ * <p>
+ * 요청 스레드는 결과를 {@code await-timeout-seconds}까지 기다리며, 그때까지 기록 스레드가 꺼내지 않은 요청은 큐에서 빼고 실패시킵니다.
+ * 기록 스레드가 이미 꺼낸 요청은 로그에 기록되었을 수 있으므로 결과가 나올 때까지 기다립니다. (기록 스레드는 꺼낸 요청을 항상 완료시킴)
+ * <p>
+ * 응답 시점에는 DB 반영이 끝나지 않았을 수 있으므로 조회 API는 잠시 이전 재고를 보여줄 수 있습니다.
+ * 메모리의 예상 재고를 기준으로 검증하므로 이 인스턴스가 `stock` 테이블의 유일한 writer여야 합니다.
+ * {@code inventory.stock.movement-mode=wal}일 때만 활성화됩니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.stock.movement-mode", havingValue = "wal")
+public class WalStockMovementProcessor implements StockMovementProcessor {
+
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final StockRepository stockRepository;
+    private final StockMovementLogCheckpointRepository checkpointRepository;
+    private final StockLedgerWriter stockLedgerWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxBatchSize;
+    private final long awaitTimeoutSeconds;
+
+    private final BlockingQueue<PendingMovement> appendQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<StockMovementLogRecord> applyQueue = new LinkedBlockingQueue<>();
+    /** 로그까지 반영한 상품·창고별 예상 재고. 기록 스레드만 접근합니다. */
+    private final Map<StockKey, Integer> projectedQuantities = new HashMap<>();
+    /** 로그까지 반영한 상품별 모든 창고 예상 재고 합계 (안전재고 판단용). 기록 스레드만 접근합니다. */
+    private final Map<Long, Integer> projectedProductQuantities = new HashMap<>();
+    private final Thread writer = new Thread(this::writeLoop, "stock-wal-writer");
+    private final Thread replayer = new Thread(this::replayLoop, "stock-wal-replayer");
+    private volatile boolean running = true;
+    private StockMovementLog movementLog;
+
+    public WalStockMovementProcessor(
+            ProductRepository productRepository,
+            ProductCache productCache,
+            StockRepository stockRepository,
+            StockMovementLogCheckpointRepository checkpointRepository,
+            StockLedgerWriter stockLedgerWriter,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.stock.wal.directory:./data/stock-wal}") String directory,
+            @Value("${inventory.stock.wal.segment-size:67108864}") long segmentSize,
+            @Value("${inventory.stock.wal.max-batch-size:512}") int maxBatchSize,
+            @Value("${inventory.stock.wal.await-timeout-seconds:30}") long awaitTimeoutSeconds) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("최대 묶음 크기는 0보다 커야 합니다.");
+        }
+        if (awaitTimeoutSeconds <= 0) {
+            throw new IllegalArgumentException("결과 대기 시간은 0보다 커야 합니다.");
+        }
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.stockRepository = stockRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.stockLedgerWriter = stockLedgerWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.maxBatchSize = maxBatchSize;
+        this.awaitTimeoutSeconds = awaitTimeoutSeconds;
+    }
+
+    /**
+     * 로그를 열고, 요청을 받기 전에 반영되지 않은 로그를 모두 DB에 반영합니다.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        long appliedSequence = DataSourceRouting.onPrimary(checkpointRepository::findLastSequence).orElse(0L);
+        movementLog = new StockMovementLog(directory, segmentSize, appliedSequence);
+
+        List<StockMovementLogRecord> unapplied = movementLog.readAfter(appliedSequence);
+        if (!unapplied.isEmpty()) {
+            log.info("반영되지 않은 입출고 로그 {}건을 DB에 반영합니다. ({}번 이후)", unapplied.size(), appliedSequence);
+            for (int from = 0; from < unapplied.size(); from += maxBatchSize) {
+                apply(unapplied.subList(from, Math.min(from + maxBatchSize, unapplied.size())));
+            }
+        }
+        movementLog.deleteSegmentsUpTo(movementLog.getLastSequence());
+
+        writer.start();
+        replayer.start();
+    }
+
+    /**
+     * 대기 중인 요청을 모두 로그에 기록하고, 반영 스레드가 남은 로그를 DB에 반영할 시간을 준 뒤 종료합니다.
+     * 종료 전에 반영하지 못한 로그는 다음 시작 때 반영됩니다.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        replayer.join(TimeUnit.SECONDS.toMillis(10));
+        replayer.interrupt();
+        movementLog.close();
+    }
+
+    @Override
+    public StockMovementResultDto process(StockMovementDto movement) {
+        Product product = productCache.findById(movement.getProductId()).orElse(null);
+        if (product == null) {
+            return StockMovementResultDto.rejected(movement, "존재하지 않는 상품입니다.");
+        }
+        if (!StockMovementBatch.isValidWarehouse(movement.getWarehouseId())) {
+            return StockMovementResultDto.rejected(movement, StockMovementBatch.INVALID_WAREHOUSE);
+        }
+        return await(enqueue(movement, product));
+    }
+
+    @Override
+    public List<StockMovementResultDto> processAll(List<StockMovementDto> movements) {
+        Set<Long> productIds = movements.stream()
+                .map(StockMovementDto::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Product> products = productIds.isEmpty() ? Collections.emptyMap()
+                : productCache.findAllByIds(productIds);
+
+        List<PendingMovement> pendings = movements.stream()
+                .map(movement -> {
+                    if (!products.containsKey(movement.getProductId())) {
+                        return PendingMovement.completed(StockMovementResultDto.rejected(movement, "존재하지 않는 상품입니다."));
+                    }
+                    if (!StockMovementBatch.isValidWarehouse(movement.getWarehouseId())) {
+                        return PendingMovement.completed(StockMovementResultDto.rejected(movement, StockMovementBatch.INVALID_WAREHOUSE));
+                    }
+                    return enqueue(movement, products.get(movement.getProductId()));
+                })
+                .collect(Collectors.toList());
+        return pendings.stream()
+                .map(this::await)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 요청을 기록 큐에 넣습니다. 로그가 닫혔으면 {@link IllegalStateException}으로 실패한 요청을 돌려줍니다.
+     */
+    private PendingMovement enqueue(StockMovementDto movement, Product product) {
+        PendingMovement pending = new PendingMovement(movement, product);
+        if (!running) {
+            pending.future.completeExceptionally(new IllegalStateException("입출고 로그가 닫혔습니다."));
+            return pending;
+        }
+        appendQueue.add(pending);
+        // 확인과 추가 사이에 로그가 닫혀 큐를 이미 비웠다면 아무도 꺼내지 않으므로 직접 실패시킨다.
+        if (!running && appendQueue.remove(pending)) {
+            pending.future.completeExceptionally(new IllegalStateException("입출고 로그가 닫혔습니다."));
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean joinsCallerTransaction() {
+        return false;
+    }
+
+    /**
+     * 결과를 기다립니다. 대기 시간이 지나도록 기록 스레드가 꺼내지 않았으면 큐에서 빼고 실패시키며,
+     * 이미 꺼내 로그에 기록하는 중이면 기록 스레드가 결과를 알려줄 때까지 기다립니다.
+     */
+    private StockMovementResultDto await(PendingMovement pending) {
+        try {
+            try {
+                return pending.future.get(awaitTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                if (appendQueue.remove(pending)) {
+                    throw new IllegalStateException("입출고 로그 기록이 " + awaitTimeoutSeconds + "초 안에 시작되지 않아 처리하지 못했습니다.");
+                }
+                return pending.future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("입출고 처리 결과를 기다리는 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingMovement> group = new ArrayList<>(maxBatchSize);
+        while (running || !appendQueue.isEmpty()) {
+            try {
+                PendingMovement first = appendQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                appendQueue.drainTo(group, maxBatchSize - 1);
+                append(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 꺼낸 요청은 다른 누구도 완료시키지 않으므로, 예상하지 못한 실패도 기다리는 요청에 알리고 다음 묶음을 처리한다.
+                log.error("입출고 {}건을 처리하지 못했습니다.", group.size(), e);
+                group.forEach(pending -> pending.future.completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * 요청 묶음을 예상 재고로 검증하고, 통과한 건을 로그에 기록(fsync 한 번)한 뒤 호출자에게 알립니다.
+     */
+    private void append(List<PendingMovement> group) {
+        Map<Long, Product> products = new HashMap<>();
+        group.forEach(pending -> products.put(pending.product.getId(), pending.product));
+        try {
+            group.forEach(pending -> {
+                loadProjectedProductQuantity(pending.movement.getProductId());
+                loadProjectedQuantity(StockMovementBatch.keyOf(pending.movement));
+            });
+        } catch (RuntimeException e) {
+            log.error("재고 조회 실패로 입출고 {}건을 처리하지 못했습니다.", group.size(), e);
+            group.forEach(pending -> pending.future.completeExceptionally(e));
+            return;
+        }
+
+        StockMovementBatch batch = new StockMovementBatch(products, projectedQuantities, projectedProductQuantities);
+        LocalDateTime createdAt = LocalDateTime.now();
+        long sequence = movementLog.getLastSequence();
+        List<StockMovementLogRecord> records = new ArrayList<>();
+        for (PendingMovement pending : group) {
+            StockMovementResultDto result = batch.apply(pending.movement, createdAt);
+            if (result.isSuccess()) {
+                records.add(new StockMovementLogRecord(++sequence, result.getProductId(), result.getWarehouseId(),
+                        result.getEventType(), result.getQuantity(), createdAt));
+            }
+        }
+
+        try {
+            if (!records.isEmpty()) {
+                movementLog.append(records);
+            }
+        } catch (IOException | RuntimeException e) {
+            // 로그와 예상 재고가 어긋났으므로 더 이상 요청을 받지 않는다.
+            log.error("입출고 로그 기록에 실패하여 로그 모드를 중단합니다.", e);
+            running = false;
+            IllegalStateException failure = new IllegalStateException("입출고 로그를 기록할 수 없습니다.", e);
+            group.forEach(pending -> pending.future.completeExceptionally(failure));
+            List<PendingMovement> remaining = new ArrayList<>();
+            appendQueue.drainTo(remaining);
+            remaining.forEach(pending -> pending.future.completeExceptionally(failure));
+            return;
+        }
+
+        applyQueue.addAll(records);
+        List<StockMovementResultDto> results = batch.getResults();
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).future.complete(results.get(i));
+        }
+    }
+
+    /**
+     * 처음 다루는 상품·창고는 DB 재고를 예상 재고로 사용합니다.
+     * 시작 시 반영되지 않은 로그를 모두 반영하므로, 이후 처음 다루는 상품·창고의 DB 재고는 최신입니다.
+     */
+    private void loadProjectedQuantity(StockKey key) {
+        if (!projectedQuantities.containsKey(key)) {
+            int quantity = DataSourceRouting.onPrimary(
+                            () -> stockRepository.findByProductIdAndWarehouseId(key.getProductId(), key.getWarehouseId()))
+                    .map(Stock::getQuantity)
+                    .orElse(0);
+            projectedQuantities.put(key, quantity);
+        }
+    }
+
+    /**
+     * 처음 다루는 상품은 DB의 모든 창고 재고 합계를 예상 재고 합계로 사용합니다.
+     * 상품의 창고 재고는 이 상품을 처음 다룰 때부터 로그를 거쳐서만 바뀌므로, 이 시점의 DB 합계는 최신입니다.
+     */
+    private void loadProjectedProductQuantity(Long productId) {
+        if (!projectedProductQuantities.containsKey(productId)) {
+            int quantity = DataSourceRouting.onPrimary(() -> stockRepository.findAllByProductId(productId)).stream()
+                    .mapToInt(Stock::getQuantity)
+                    .sum();
+            projectedProductQuantities.put(productId, quantity);
+        }
+    }
+
+    private void replayLoop() {
+        List<StockMovementLogRecord> records = new ArrayList<>(maxBatchSize);
+        while (running || !applyQueue.isEmpty() || !records.isEmpty()) {
+            try {
+                if (records.isEmpty()) {
+                    StockMovementLogRecord first = applyQueue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    records.add(first);
+                    applyQueue.drainTo(records, maxBatchSize - 1);
+                }
+                apply(records);
+                movementLog.deleteSegmentsUpTo(records.get(records.size() - 1).getSequence());
+                records.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("입출고 로그를 DB에 반영하지 못했습니다. 잠시 후 다시 시도합니다.", e);
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 로그 레코드 묶음을 트랜잭션 하나로 `stock`, `stock_history`에 저장하고 반영 위치를 갱신합니다.
+     * 반영할 수 없는 레코드는 반영 위치를 갱신하기 전에 실패 기록 파일에 남기며, 파일에 남기지 못하면 묶음 전체를 롤백합니다.
+     */
+    private void apply(List<StockMovementLogRecord> records) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> productIds = records.stream()
+                    .map(StockMovementLogRecord::getProductId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Map<Long, Product> products = productRepository.findAllByIds(productIds).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            Set<StockKey> keys = records.stream()
+                    .filter(record -> products.containsKey(record.getProductId()))
+                    .map(record -> StockKey.of(record.getProductId(), record.getWarehouseId()))
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Map<StockKey, Integer> quantities = keys.isEmpty() ? new HashMap<>()
+                    : stockRepository.findAllByKeysForUpdate(keys).stream()
+                            .collect(Collectors.toMap(StockKey::of, Stock::getQuantity));
+
+            StockMovementBatch batch = new StockMovementBatch(products, quantities);
+            Map<StockMovementLogRecord, String> deadLetters = new LinkedHashMap<>();
+            for (StockMovementLogRecord record : records) {
+                StockMovementResultDto result = batch.apply(record.toMovement(), record.getCreatedAt());
+                if (!result.isSuccess()) {
+                    deadLetters.put(record, result.getMessage());
+                }
+            }
+            if (!deadLetters.isEmpty()) {
+                try {
+                    movementLog.appendDeadLetters(deadLetters);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                deadLetters.forEach((record, reason) ->
+                        log.error("입출고 로그 {}번을 반영하지 못해 실패 기록 파일에 남깁니다: {}", record.getSequence(), reason));
+            }
+            stockLedgerWriter.write(batch);
+            checkpointRepository.saveLastSequence(records.get(records.size() - 1).getSequence());
+        });
+    }
+
+    private static final class PendingMovement {
+
+        private final StockMovementDto movement;
+        private final Product product;
+        private final CompletableFuture<StockMovementResultDto> future = new CompletableFuture<>();
+
+        PendingMovement(StockMovementDto movement, Product product) {
+            this.movement = movement;
+            this.product = product;
+        }
+
+        /**
+         * 로그에 기록하지 않고 바로 결과를 정한 요청 (존재하지 않는 상품 등)
+         */
+        static PendingMovement completed(StockMovementResultDto result) {
+            PendingMovement pending = new PendingMovement(null, null);
+            pending.future.complete(result);
+            return pending;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package kr.co.iscu.assignment.service.stock.outbox;
+
+import kr.co.iscu.assignment.domain.stock.StockOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트를 같은 애플리케이션 안의 {@code @EventListener}에 {@link StockOutboxEvent}로 발행하는 전달 대상.
+ * <p>
+ * 외부 시스템 없이 전달 흐름을 확인하거나, 같은 프로세스의 후속 처리를 붙일 때 사용합니다.
+ * 리스너는 전달 스레드에서 동기로 실행되며, 리스너가 예외를 던지면 해당 상품의 이벤트를 다시 전달합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.stock.outbox.application-event-sink.enabled", havingValue = "true", matchIfMissing = true)
+public class ApplicationEventStockEventSink implements StockEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void deliver(List<StockOutboxEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,20 @@
+package kr.co.iscu.assignment.service.stock.outbox;
+
+import kr.co.iscu.assignment.domain.stock.StockOutboxEvent;
+
+import java.util.List;
+
+/**
+ * 아웃박스의 입고/출고 이벤트를 받아 가는 대상 (메시지 브로커, 외부 API 등).
+ * <p>
+ * {@link StockOutboxDispatcher}가 찾은 모든 구현체에 같은 이벤트를 전달합니다.
+ * 같은 상품의 이벤트는 한 번의 호출에 발생 순서대로 담기며, 서로 다른 상품은 동시에 전달될 수 있습니다.
+ * 예외를 던지면 그 상품의 이벤트는 나중에 다시 전달되므로(최소 한 번 전달) 구현체는 중복 수신에 대비해야 합니다.
+ */
+public interface StockEventSink {
+
+    /**
+     * @param events 한 상품의 이벤트 (outboxId 순)
+     */
+    void deliver(List<StockOutboxEvent> events);
+}
@@ -0,0 +1,216 @@
+package kr.co.iscu.assignment.service.stock.outbox;
+
+import kr.co.iscu.assignment.domain.stock.StockOutboxEvent;
+import kr.co.iscu.assignment.repository.stock.StockOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * `stock_outbox`의 입고/출고 이벤트를 백그라운드에서 {@link StockEventSink}로 전달합니다.
+ * <p>
+ * 한 번에 {@code batch-size}건을 짧은 트랜잭션으로 선점(claim)하고, 상품별로 묶어 서로 다른 상품은 동시에, 같은 상품은 outboxId 순으로 전달합니다.
+ * 전달을 마친 이벤트는 한 문장으로 삭제하거나({@code retention: delete}) 전달 시각을 기록하고({@code retention: mark}),
+ * 실패한 상품의 이벤트는 선점을 풀어 다음 주기에 같은 상품의 이후 이벤트보다 먼저 다시 전달합니다.
+ * <p>
+ * 전달 도중 종료되면 선점은 {@code lease-seconds}가 지나서 풀리고, 재시작한 전달자는 시작할 때 남은 선점을 모두 풀어
+ * 전달이 끝나지 않은 이벤트부터 다시 전달합니다(최소 한 번 전달).
+ * 발생 순서는 같은 상품·창고 안에서만 보장됩니다. 서로 다른 창고의 입고/출고는 동시에 커밋되므로 한 호출 안에서도
+ * 창고 사이의 순서는 outboxId 순일 뿐 커밋 순서와 다를 수 있습니다.
+ * 이 순서도 전달자가 하나일 때 보장되므로, 여러 인스턴스로 운영할 때는 한 인스턴스에서만
+ * {@code inventory.stock.outbox.dispatcher-enabled}를 켭니다.
+ */
+@Slf4j
+@Component
+public class StockOutboxDispatcher implements SmartInitializingSingleton, DisposableBean {
+
+    private static final int PURGE_BATCH_SIZE = 10_000;
+
+    private final StockOutboxRepository stockOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<StockEventSink> sinks;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final long pollIntervalMillis;
+    private final boolean markDispatched;
+    private final long markRetentionHours;
+    private final ExecutorService deliverers;
+
+    private ScheduledExecutorService poller;
+
+    public StockOutboxDispatcher(
+            StockOutboxRepository stockOutboxRepository,
+            TransactionTemplate transactionTemplate,
+            List<StockEventSink> sinks,
+            @Value("${inventory.stock.outbox.dispatcher-enabled:true}") boolean enabled,
+            @Value("${inventory.stock.outbox.batch-size:500}") int batchSize,
+            @Value("${inventory.stock.outbox.lease-seconds:30}") long leaseSeconds,
+            @Value("${inventory.stock.outbox.poll-interval-millis:200}") long pollIntervalMillis,
+            @Value("${inventory.stock.outbox.delivery-threads:4}") int deliveryThreads,
+            @Value("${inventory.stock.outbox.retention:delete}") String retention,
+            @Value("${inventory.stock.outbox.mark-retention-hours:24}") long markRetentionHours) {
+        if (batchSize <= 0 || leaseSeconds <= 0 || pollIntervalMillis <= 0 || deliveryThreads <= 0) {
+            throw new IllegalArgumentException("아웃박스 배치 크기, 선점 시간, 조회 주기, 전달 스레드 수는 0보다 커야 합니다.");
+        }
+        if (!"delete".equals(retention) && !"mark".equals(retention)) {
+            throw new IllegalArgumentException("지원하지 않는 아웃박스 보관 방식입니다: " + retention);
+        }
+        this.stockOutboxRepository = stockOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.sinks = List.copyOf(sinks);
+        this.enabled = enabled && !sinks.isEmpty();
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.markDispatched = "mark".equals(retention);
+        this.markRetentionHours = markRetentionHours;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.deliverers = this.enabled ? Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-outbox-deliverer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        int released = stockOutboxRepository.releaseAll();
+        if (released > 0) {
+            log.info("이전 실행에서 전달하지 못한 재고 이벤트 {}건의 선점을 풀었습니다.", released);
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::dispatchQuietly, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("재고 이벤트 아웃박스 전달을 시작합니다. (전달 대상 {}개)", sinks.size());
+    }
+
+    @Override
+    public void destroy() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (deliverers != null) {
+            deliverers.shutdownNow();
+        }
+    }
+
+    /**
+     * 이벤트를 한 번 선점하여 전달합니다.
+     *
+     * @return 전달을 마친 건수 (batch-size와 같으면 남은 이벤트가 더 있을 수 있음)
+     */
+    public int dispatchOnce() {
+        if (!enabled) {
+            return 0;
+        }
+        List<StockOutboxEvent> claimed = claim();
+        if (claimed.isEmpty()) {
+            purgeDispatched();
+            return 0;
+        }
+
+        Map<Long, List<StockOutboxEvent>> eventsByProduct = claimed.stream()
+                .collect(Collectors.groupingBy(StockOutboxEvent::getProductId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, Future<Boolean>> deliveries = new LinkedHashMap<>();
+        eventsByProduct.forEach((productId, events) -> deliveries.put(productId, deliverers.submit(() -> deliver(events))));
+
+        List<Long> delivered = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        deliveries.forEach((productId, delivery) -> {
+            List<Long> outboxIds = eventsByProduct.get(productId).stream().map(StockOutboxEvent::getOutboxId).collect(Collectors.toList());
+            (await(delivery) ? delivered : failed).addAll(outboxIds);
+        });
+
+        if (!delivered.isEmpty()) {
+            if (markDispatched) {
+                stockOutboxRepository.markDispatched(delivered);
+            } else {
+                stockOutboxRepository.deleteByIds(delivered);
+            }
+        }
+        if (!failed.isEmpty()) {
+            stockOutboxRepository.release(failed);
+        }
+        return delivered.size();
+    }
+
+    /**
+     * 남은 이벤트를 모두 전달하거나 실패가 생길 때까지 반복합니다. 실패하면 다음 주기까지 기다립니다.
+     */
+    private void dispatchQuietly() {
+        try {
+            while (dispatchOnce() == batchSize && !Thread.currentThread().isInterrupted()) {
+                // 밀린 이벤트를 계속 전달
+            }
+        } catch (RuntimeException e) {
+            log.warn("재고 이벤트 아웃박스를 전달하지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 선점 기한만 기록하고 잠금은 바로 놓으므로, 전달하는 동안 입고/출고 트랜잭션을 막지 않습니다.
+     */
+    private List<StockOutboxEvent> claim() {
+        List<StockOutboxEvent> claimed = transactionTemplate.execute(status -> {
+            List<StockOutboxEvent> events = stockOutboxRepository.findClaimable(batchSize);
+            if (!events.isEmpty()) {
+                stockOutboxRepository.claim(events.stream().map(StockOutboxEvent::getOutboxId).collect(Collectors.toList()), leaseSeconds);
+            }
+            return events;
+        });
+        return claimed == null ? Collections.emptyList() : claimed;
+    }
+
+    private boolean deliver(List<StockOutboxEvent> events) {
+        try {
+            for (StockEventSink sink : sinks) {
+                sink.deliver(events);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("상품 {}의 재고 이벤트 {}건을 전달하지 못해 다시 시도합니다.", events.get(0).getProductId(), events.size(), e);
+            return false;
+        }
+    }
+
+    private boolean await(Future<Boolean> delivery) {
+        try {
+            return delivery.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private void purgeDispatched() {
+        if (markDispatched) {
+            stockOutboxRepository.deleteDispatchedBefore(markRetentionHours, PURGE_BATCH_SIZE);
+        }
+    }
+}
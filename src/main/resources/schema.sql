@@ -5,20 +5,81 @@ CREATE TABLE IF NOT EXISTS product (
     unit_price DECIMAL(19, 2) NOT NULL,
     safety_stock INT DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_product_category (category),
+    INDEX idx_product_updated_at (updated_at)
 );
 
 CREATE TABLE IF NOT EXISTS stock (
-    product_id BIGINT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL DEFAULT 1,
     quantity INT NOT NULL,
+    PRIMARY KEY (product_id, warehouse_id),
     FOREIGN KEY (product_id) REFERENCES product(id)
 );
 
+-- 월별 파티션(StockHistoryPartitionManager)을 위해 기본 키에 created_at을 포함하고 외래 키를 두지 않는다.
+-- (MySQL 파티션 테이블은 모든 유일 키에 파티션 컬럼이 있어야 하고 외래 키를 가질 수 없다. 상품 삭제는 stock의 외래 키가 막는다)
 CREATE TABLE IF NOT EXISTS stock_history (
-    history_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    history_id BIGINT AUTO_INCREMENT,
     product_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL DEFAULT 1,
     event_type VARCHAR(50) NOT NULL,
     quantity INT NOT NULL,
     created_at TIMESTAMP NOT NULL,
-    FOREIGN KEY (product_id) REFERENCES product(id)
+    INDEX idx_stock_history_product_event_created (product_id, event_type, created_at, quantity),
+    INDEX idx_stock_history_product_created (product_id, created_at, history_id),
+    INDEX idx_stock_history_product_warehouse_history (product_id, warehouse_id, history_id),
+    PRIMARY KEY (history_id, created_at)
+);
+
+CREATE TABLE IF NOT EXISTS stock_movement_log_checkpoint (
+    id INT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS stock_history_daily (
+    product_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL DEFAULT 1,
+    stat_date DATE NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    quantity BIGINT NOT NULL,
+    PRIMARY KEY (product_id, event_type, stat_date, warehouse_id)
 );
+
+CREATE TABLE IF NOT EXISTS stock_outbox (
+    outbox_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL DEFAULT 1,
+    event_type VARCHAR(50) NOT NULL,
+    quantity INT NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    claimed_until TIMESTAMP NULL,
+    dispatched_at TIMESTAMP NULL,
+    INDEX idx_stock_outbox_dispatched (dispatched_at, outbox_id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_snapshot (
+    product_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL DEFAULT 1,
+    quantity INT NOT NULL,
+    last_history_id BIGINT NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (product_id, warehouse_id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_idempotency_key (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    response TEXT NULL,
+    created_at TIMESTAMP NOT NULL,
+    INDEX idx_stock_idempotency_key_created (created_at)
+);
+
+-- 스키마 버전. 이 파일을 바꾸면 아래 버전과 SchemaVersionCheck.EXPECTED_VERSION을 함께 올립니다.
+CREATE TABLE IF NOT EXISTS schema_version (
+    version INT PRIMARY KEY,
+    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT IGNORE INTO schema_version (version) VALUES (2);
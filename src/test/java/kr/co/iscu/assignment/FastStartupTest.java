@@ -0,0 +1,112 @@
+package kr.co.iscu.assignment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.h2.Driver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * fast-startup 프로파일로 애플리케이션을 띄워 확인합니다.
+ * <p>
+ * 외부 DB 없이 부하 테스트용 H2 설정을 빌리며, fast-startup 프로파일은 DDL을 실행하지 않으므로 스키마는 배포 전처럼 미리 적용해 둡니다.
+ * 기본 실행에서는 빈을 미리 만들지 않는지, DDL 없이 스키마 버전만 확인하는지처럼 결과가 항상 같은 항목만 검증합니다.
+ * <p>
+ * 시작 시간 비교는 장비 부하에 따라 결과가 달라지므로 {@code -Dbenchmark=true}를 지정한 경우에만 실행합니다.
+ * 같은 JVM에서 fast-startup 없이 시작한 시간을 기준으로 삼으며, 처음 시작할 때만 드는 클래스 로딩 비용이 어느 한쪽에 몰리지 않도록
+ * 한 번 미리 띄운 뒤 번갈아 측정하고 각각 가장 빠른 시간을 비교합니다. 허용 오차는 {@code -Dstartup.margin-percent}로 바꿀 수 있습니다. (기본 10%)
+ */
+@Slf4j
+class FastStartupTest {
+
+    private static final int MEASURED_RUNS = 2;
+    private static final long MARGIN_PERCENT = Long.getLong("startup.margin-percent", 10);
+
+    @Test
+    @DisplayName("스키마를 미리 적용한 DB로 시작하고, 요청 전에 준비가 필요한 빈만 미리 만든다.")
+    void creates_only_eager_beans() {
+        // given
+        String url = url("fast_startup_beans");
+        applySchema(url);
+
+        // when
+        try (ConfigurableApplicationContext context = run(url)) {
+            // then
+            assertThat(context.getBeanFactory().containsSingleton("stockStatusReadModel")).isTrue();
+            assertThat(context.getBeanFactory().containsSingleton("schemaVersionCheck")).isTrue();
+            assertThat(context.getBeanFactory().containsSingleton("productController")).isFalse();
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("스키마를 미리 적용한 DB로 기본 설정보다 느리지 않게 시작한다.")
+    void starts_no_slower_than_default() {
+        // given
+        String url = url("fast_startup");
+        applySchema(url);
+        runDefault(url("default_startup_warmup")).close();
+
+        // when
+        long baselineMillis = Long.MAX_VALUE;
+        long elapsedMillis = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            runDefault(url("default_startup_" + i)).close();
+            baselineMillis = Math.min(baselineMillis, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+            startedAt = System.nanoTime();
+            run(url).close();
+            elapsedMillis = Math.min(elapsedMillis, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+        log.info("fast-startup: started in {} ms, default profile in {} ms", elapsedMillis, baselineMillis);
+
+        // then
+        assertThat(elapsedMillis)
+                .as("fast-startup %d ms, 기본 설정 %d ms (허용 오차 %d%%)", elapsedMillis, baselineMillis, MARGIN_PERCENT)
+                .isLessThanOrEqualTo(baselineMillis * (100 + MARGIN_PERCENT) / 100);
+    }
+
+    @Test
+    @DisplayName("스키마를 적용하지 않은 DB로는 DDL을 실행하지 않고 시작을 거부한다.")
+    void refuses_outdated_schema() {
+        assertThatThrownBy(() -> run(url("fast_startup_empty")).close())
+                .hasStackTraceContaining("schema.sql을 먼저 적용하세요");
+    }
+
+    private static ConfigurableApplicationContext run(String url) {
+        // 나중에 지정한 프로파일이 우선하므로 loadtest의 spring.sql.init.mode: always를 fast-startup이 덮어쓴다.
+        return new SpringApplicationBuilder(InventoryManagementApplication.class)
+                .profiles("loadtest", "fast-startup")
+                .run("--spring.datasource.url=" + url, "--server.port=0");
+    }
+
+    /**
+     * fast-startup 없이 시작합니다. 시작할 때 schema.sql을 실행하므로 빈 DB를 넘깁니다.
+     */
+    private static ConfigurableApplicationContext runDefault(String url) {
+        return new SpringApplicationBuilder(InventoryManagementApplication.class)
+                .profiles("loadtest")
+                .run("--spring.datasource.url=" + url, "--server.port=0");
+    }
+
+    private static void applySchema(String url) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("loadtest/h2-mysql-functions.sql"), new ClassPathResource("schema.sql"));
+        populator.execute(new SimpleDriverDataSource(new Driver(), url, "sa", ""));
+    }
+
+    private static String url(String database) {
+        return "jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,163 @@
+package kr.co.iscu.assignment.config.datasource;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주 DB와 복제본을 각각 내장 H2로 띄우고, 행 하나로 어느 쪽에서 읽었는지 구분합니다.
+ * 복제는 일어나지 않으므로 주 DB에 쓴 행은 복제본에서 보이지 않습니다.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReadYourWritesTracker tracker;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private MarkerMapper mapper;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = createDatabase("primary");
+        replica = createDatabase("replica");
+        tracker = new ReadYourWritesTracker(WINDOW, nanos::get);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource());
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        Configuration configuration = new Configuration(new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.addMapper(MarkerMapper.class);
+        configuration.addInterceptor(new ReadQueryRoutingInterceptor(tracker));
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        mapper = new SqlSessionTemplate(sqlSessionFactory).getMapper(MarkerMapper.class);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.clearClient();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션과 트랜잭션 밖의 조회는 복제본에서, 쓰기 트랜잭션은 주 DB에서 실행한다.")
+    void routes_reads_to_replica_and_writes_to_primary() {
+        String readOnlySource = readOnlyTransaction.execute(status -> mapper.findSource());
+        String writeSource = writeTransaction.execute(status -> mapper.findSource());
+
+        assertThat(readOnlySource).isEqualTo("replica");
+        assertThat(mapper.findSource()).isEqualTo("replica");
+        assertThat(writeSource).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 MyBatis 조회가 아닌 문장은 주 DB에서 실행한다.")
+    void routes_non_mybatis_statements_to_primary() {
+        assertThat(jdbcTemplate.queryForObject("SELECT source FROM marker", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("onPrimary로 감싼 조회는 주 DB에서 실행한다.")
+    void routes_forced_reads_to_primary() {
+        assertThat(DataSourceRouting.onPrimary(mapper::findSource)).isEqualTo("primary");
+        assertThat(mapper.findSource()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("쓰기를 커밋한 클라이언트는 유지 시간 동안 자기 쓰기를 주 DB에서 읽는다.")
+    void reads_own_writes_within_window() {
+        // given
+        tracker.bindClient("client-a");
+        writeTransaction.executeWithoutResult(status -> mapper.insert("written"));
+
+        // when, then
+        Integer readOnlyCount = readOnlyTransaction.execute(status -> mapper.countByName("written"));
+        assertThat(readOnlyCount).isEqualTo(1);
+        assertThat(mapper.countByName("written")).isEqualTo(1);
+
+        tracker.bindClient("client-b");
+        assertThat(mapper.countByName("written")).isZero();
+
+        tracker.bindClient("client-a");
+        nanos.addAndGet(WINDOW.toNanos() + TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(mapper.countByName("written")).isZero();
+    }
+
+    @Test
+    @DisplayName("롤백된 쓰기는 읽기-쓰기 일관성 유지 시간을 시작하지 않는다.")
+    void rolled_back_write_does_not_pin_reads() {
+        // given
+        tracker.bindClient("client-a");
+
+        // when
+        writeTransaction.executeWithoutResult(status -> {
+            mapper.insert("rolled-back");
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(mapper.findSource()).isEqualTo("replica");
+    }
+
+    private ReadWriteRoutingDataSource routingDataSource() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, tracker);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private EmbeddedDatabase createDatabase(String source) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(source + "-" + UUID.randomUUID())
+                .build();
+        new JdbcTemplate(database).execute("CREATE TABLE marker (source VARCHAR(20), name VARCHAR(20))");
+        new JdbcTemplate(database).update("INSERT INTO marker (source, name) VALUES (?, 'origin')", source);
+        return database;
+    }
+
+    interface MarkerMapper {
+
+        @Select("SELECT source FROM marker WHERE name = 'origin'")
+        String findSource();
+
+        @Select("SELECT COUNT(*) FROM marker WHERE name = #{name}")
+        int countByName(String name);
+
+        @Insert("INSERT INTO marker (source, name) VALUES ('primary', #{name})")
+        int insert(String name);
+    }
+}
@@ -0,0 +1,138 @@
+package kr.co.iscu.assignment.config.mybatis;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementMetricsInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(StatementMetricsInterceptor.class);
+    private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        logs.start();
+        logger.addAppender(logs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(logs);
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("문장별 실행 횟수, 백분위 실행 시간, 처리 행 수를 기록한다.")
+    void records_latency_and_rows_per_statement() {
+        // given
+        StatementMetricsInterceptor interceptor = new StatementMetricsInterceptor(meterRegistry, Duration.ZERO);
+        ItemMapper mapper = createMapper(interceptor);
+
+        // when
+        mapper.insert("a");
+        mapper.insert("b");
+        mapper.findNames();
+        mapper.findNames();
+        mapper.findNames();
+
+        // then
+        Timer findNames = meterRegistry.get(StatementMetricsInterceptor.LATENCY_METRIC)
+                .tag("statement", "StatementMetricsInterceptorTest$ItemMapper.findNames")
+                .tag("type", "SELECT")
+                .timer();
+        assertThat(findNames.count()).isEqualTo(3);
+
+        List<StatementStatsDto> statistics = interceptor.getStatistics();
+        assertThat(statistics).extracting(StatementStatsDto::getStatement).containsExactlyInAnyOrder(
+                "StatementMetricsInterceptorTest$ItemMapper.findNames",
+                "StatementMetricsInterceptorTest$ItemMapper.insert");
+        StatementStatsDto select = statistics.stream().filter(stats -> stats.getType().equals("SELECT")).findFirst().orElseThrow();
+        assertThat(select.getCount()).isEqualTo(3);
+        assertThat(select.getTotalRows()).isEqualTo(6);
+        assertThat(select.getP50Millis()).isNotNull();
+        assertThat(select.getP99Millis()).isNotNull();
+        assertThat(select.getP999Millis()).isNotNull();
+        StatementStatsDto insert = statistics.stream().filter(stats -> stats.getType().equals("INSERT")).findFirst().orElseThrow();
+        assertThat(insert.getCount()).isEqualTo(2);
+        assertThat(insert.getTotalRows()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("기준 시간 이상 걸린 문장만 파라미터와 함께 로그로 남긴다.")
+    void logs_slow_statements_with_parameters() {
+        // given
+        ItemMapper slowLogged = createMapper(new StatementMetricsInterceptor(meterRegistry, Duration.ofNanos(1)));
+
+        // when
+        slowLogged.insert("logged-parameter");
+
+        // then
+        assertThat(logs.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage).asString()
+                .startsWith("느린 SQL 문장: StatementMetricsInterceptorTest$ItemMapper.insert")
+                .endsWith("파라미터: logged-parameter");
+    }
+
+    @Test
+    @DisplayName("기준 시간이 0이면 느린 문장 로그를 남기지 않는다.")
+    void does_not_log_when_threshold_is_zero() {
+        // given
+        ItemMapper mapper = createMapper(new StatementMetricsInterceptor(meterRegistry, Duration.ZERO));
+
+        // when
+        mapper.insert("not-logged-parameter");
+
+        // then
+        assertThat(logs.list).isEmpty();
+    }
+
+    private ItemMapper createMapper(StatementMetricsInterceptor interceptor) {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("metrics-" + UUID.randomUUID())
+                .build();
+        new JdbcTemplate(database).execute("CREATE TABLE item (name VARCHAR(50))");
+
+        Configuration configuration = new Configuration(new Environment("test", new SpringManagedTransactionFactory(), database));
+        configuration.addMapper(ItemMapper.class);
+        configuration.addInterceptor(interceptor);
+        return new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration)).getMapper(ItemMapper.class);
+    }
+
+    interface ItemMapper {
+
+        @Select("SELECT name FROM item")
+        List<String> findNames();
+
+        @Insert("INSERT INTO item (name) VALUES (#{name})")
+        int insert(String name);
+    }
+}
@@ -0,0 +1,194 @@
+package kr.co.iscu.assignment.controller;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.service.product.ProductService;
+import kr.co.iscu.assignment.service.product.dto.ProductCreateDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 외부 DB 없이 부하 테스트용 H2 설정을 빌려 WebFlux 컨트롤러와 R2DBC 조회를 함께 검증한다. (부하 테스트와 겹치지 않도록 DB 이름만 바꾼다)
+// 테스트 컨텍스트는 웹 애플리케이션 종류를 프로파일 설정 파일이 아니라 여기 적은 속성으로만 정하므로 reactive를 직접 지정한다.
+// 잠금 대기 시간 초과 응답을 빨리 확인할 수 있도록 H2의 잠금 대기 시간(LOCK_TIMEOUT)을 줄인다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=500",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles({"loadtest", "reactive"})
+class ReactiveStockControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productService.createProduct(ProductCreateDto.builder()
+                .name("리액티브 테스트 상품").category("리액티브").unitPrice(new BigDecimal("1000")).safetyStock(10).build());
+    }
+
+    @Test
+    @DisplayName("입고 후 재고 현황과 이력을 R2DBC로 조회할 수 있다.")
+    void inboundThenRead() {
+        // when
+        inbound(product.getId(), 30);
+        webTestClient.post().uri("/api/stocks/{id}/outbound", product.getId())
+                .bodyValue(Map.of("quantity", 25))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.belowSafetyStock").isEqualTo(true);
+
+        // then
+        webTestClient.get().uri("/api/stocks/status?category={category}", "리액티브")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].productId").isEqualTo(product.getId().intValue())
+                .jsonPath("$.content[0].currentQuantity").isEqualTo(5);
+
+        webTestClient.get().uri("/api/stocks/{id}/histories?size=1", product.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].eventType").isEqualTo("OUTBOUND")
+                .jsonPath("$.next").isNotEmpty();
+
+        LocalDateTime now = LocalDateTime.now();
+        webTestClient.get().uri(builder -> builder.path("/api/stocks/{id}/statistics")
+                        .queryParam("startDate", now.minusDays(3).withNano(0))
+                        .queryParam("endDate", now.plusHours(1).withNano(0))
+                        .build(product.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalInbound").isEqualTo(30)
+                .jsonPath("$.totalOutbound").isEqualTo(25)
+                .jsonPath("$.currentQuantity").isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("안전재고 미만 목록을 NDJSON으로 한 건씩 받을 수 있다.")
+    void belowSafetyAsNdjson() {
+        // given
+        Product enough = productService.createProduct(ProductCreateDto.builder()
+                .name("충분한 상품").category("리액티브").unitPrice(BigDecimal.ONE).safetyStock(1).build());
+        inbound(enough.getId(), 5);
+
+        // when
+        List<StockStatusDto> belowSafety = webTestClient.get().uri("/api/stocks/status/below-safety")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(StockStatusDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // then
+        assertThat(belowSafety).extracting(StockStatusDto::getProductId)
+                .contains(product.getId())
+                .doesNotContain(enough.getId());
+    }
+
+    @Test
+    @DisplayName("재고 이력을 CSV와 NDJSON으로 내보낼 수 있다.")
+    void exportHistories() {
+        // given
+        inbound(product.getId(), 7);
+
+        // when
+        String csv = webTestClient.get().uri("/api/stocks/histories:export?format=csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // then
+        assertThat(csv).startsWith("history_id,product_id,");
+        assertThat(csv.lines()).anyMatch(line -> line.contains("," + product.getId() + ",") && line.contains(",INBOUND,7,"));
+
+        String ndjson = webTestClient.get().uri("/api/stocks/histories:export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(ndjson.lines()).allMatch(line -> line.startsWith("{\"historyId\":"))
+                .anyMatch(line -> line.contains("\"productId\":" + product.getId() + ","));
+    }
+
+    @Test
+    @DisplayName("다른 트랜잭션이 재고 행을 잠가 잠금 대기 시간을 넘기면 503을 반환하고, 잠금이 풀리면 다시 처리한다.")
+    void lockTimeoutReturnsServiceUnavailable() throws SQLException {
+        // given
+        inbound(product.getId(), 10);
+
+        try (Connection holder = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (PreparedStatement lock = holder.prepareStatement("SELECT quantity FROM stock WHERE product_id = ? FOR UPDATE")) {
+                lock.setLong(1, product.getId());
+                lock.executeQuery().close();
+            }
+
+            // when
+            webTestClient.post().uri("/api/stocks/{id}/outbound", product.getId())
+                    .bodyValue(Map.of("quantity", 1))
+                    .exchange()
+                    .expectStatus().isEqualTo(503);
+
+            holder.rollback();
+        }
+
+        // then
+        webTestClient.post().uri("/api/stocks/{id}/outbound", product.getId())
+                .bodyValue(Map.of("quantity", 1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.belowSafetyStock").isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("없는 상품을 조회하면 404를 반환한다.")
+    void productNotFound() {
+        webTestClient.get().uri("/api/products/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private void inbound(Long productId, int quantity) {
+        webTestClient.post().uri("/api/stocks/{id}/inbound", productId)
+                .bodyValue(Map.of("quantity", quantity))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+}
@@ -0,0 +1,42 @@
+package kr.co.iscu.assignment.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 부하 테스트가 기대하는 상품·창고별 재고.
+ * <p>
+ * 적재한 초기 재고에서 시작해, 성공 응답을 받은 입고/출고만 반영합니다.
+ * 부하가 끝난 뒤 DB의 재고와 비교해 유실된 갱신을 찾는 기준이 됩니다.
+ */
+final class ExpectedStock {
+
+    private final int products;
+    private final int warehouses;
+    private final AtomicLongArray quantities;
+
+    ExpectedStock(int products, int warehouses) {
+        this.products = products;
+        this.warehouses = warehouses;
+        this.quantities = new AtomicLongArray(products * warehouses);
+    }
+
+    int products() {
+        return products;
+    }
+
+    int warehouses() {
+        return warehouses;
+    }
+
+    void add(long productId, long warehouseId, long delta) {
+        quantities.addAndGet(index(productId, warehouseId), delta);
+    }
+
+    long get(long productId, long warehouseId) {
+        return quantities.get(index(productId, warehouseId));
+    }
+
+    private int index(long productId, long warehouseId) {
+        return (int) ((productId - 1) * warehouses + (warehouseId - 1));
+    }
+}
@@ -0,0 +1,27 @@
+package kr.co.iscu.assignment.loadtest;
+
+import org.h2.api.Interval;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 매퍼가 사용하는 MySQL 함수 중 H2 MySQL 호환 모드에 없는 것을 부하 테스트에서만 흉내 냅니다.
+ * <p>
+ * {@code loadtest/h2-mysql-functions.sql}에서 같은 이름의 별칭으로 등록합니다.
+ * 재고 증감에 쓰는 {@code LAST_INSERT_ID(expr)}는 H2에 같은 동작의 내장 함수가 있어 등록하지 않습니다. (같은 이름으로 등록할 수도 없습니다)
+ */
+public final class H2MySqlFunctions {
+
+    private H2MySqlFunctions() {
+    }
+
+    /**
+     * {@code DATE_ADD(date, INTERVAL n unit)}
+     */
+    public static LocalDateTime dateAdd(LocalDateTime dateTime, Interval interval) {
+        return dateTime.plus(Duration.ofSeconds(interval.getSeconds(), interval.getNanosOfSecond()))
+                .plusMonths(interval.getYears() * 12L + interval.getMonths())
+                .plusDays(interval.getDays());
+    }
+}
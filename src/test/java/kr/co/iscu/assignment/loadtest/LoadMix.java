@@ -0,0 +1,66 @@
+package kr.co.iscu.assignment.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 부하 테스트에서 호출할 API 비율.
+ * <p>
+ * {@code inbound:40,outbound:40,status:15,statistics:5}처럼 호출 종류별 가중치를 나열합니다.
+ * 생략한 종류는 호출하지 않습니다.
+ */
+final class LoadMix {
+
+    enum Operation {
+        INBOUND,     // POST /api/stocks/{productId}/inbound
+        OUTBOUND,    // POST /api/stocks/{productId}/outbound
+        STATUS,      // GET /api/stocks/status
+        STATISTICS   // GET /api/stocks/{productId}/statistics
+    }
+
+    private final Map<Operation, Integer> weights;
+    private final int totalWeight;
+
+    private LoadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    static LoadMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("호출 비율은 '종류:가중치' 형식이어야 합니다: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("가중치는 0 이상이어야 합니다: " + entry);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        LoadMix loadMix = new LoadMix(weights);
+        if (loadMix.totalWeight == 0) {
+            throw new IllegalArgumentException("호출할 API가 없습니다: " + mix);
+        }
+        return loadMix;
+    }
+
+    Operation next(SplittableRandom random) {
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("가중치 합계를 벗어났습니다.");
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
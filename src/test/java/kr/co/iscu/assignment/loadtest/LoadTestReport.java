@@ -0,0 +1,110 @@
+package kr.co.iscu.assignment.loadtest;
+
+import kr.co.iscu.assignment.loadtest.LoadMix.Operation;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * API별 응답 시간과 결과 집계.
+ * <p>
+ * 가상 사용자마다 하나씩 두고 기록한 뒤, 부하가 끝나면 {@link #merge(LoadTestReport)}로 합칩니다.
+ * 기록 중에는 스레드 안전하지 않습니다.
+ */
+final class LoadTestReport {
+
+    private final Map<Operation, Endpoint> endpoints = new EnumMap<>(Operation.class);
+
+    /**
+     * 2xx 응답
+     */
+    void recordSuccess(Operation operation, long elapsedNanos) {
+        endpoint(operation).record(elapsedNanos).succeeded++;
+    }
+
+    /**
+     * 재고 부족으로 거절된 출고. 정상 동작이므로 오류로 세지 않습니다.
+     */
+    void recordRejected(Operation operation, long elapsedNanos) {
+        endpoint(operation).record(elapsedNanos).rejected++;
+    }
+
+    /**
+     * 그 밖의 응답이나 요청 실패
+     *
+     * @param cause 상태 코드 또는 예외 이름
+     */
+    void recordError(Operation operation, long elapsedNanos, String cause) {
+        endpoint(operation).record(elapsedNanos).errors.merge(cause, 1L, Long::sum);
+    }
+
+    void merge(LoadTestReport other) {
+        other.endpoints.forEach((operation, source) -> endpoint(operation).merge(source));
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(Endpoint::errorCount).sum();
+    }
+
+    void print(PrintStream out, double elapsedSeconds) {
+        out.printf("%-11s %9s %9s %9s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "ok", "rejected", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+        long total = 0;
+        for (Map.Entry<Operation, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            long[] sorted = Arrays.copyOf(endpoint.latencies, endpoint.count);
+            Arrays.sort(sorted);
+            out.printf("%-11s %9d %9d %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), endpoint.count, endpoint.succeeded, endpoint.rejected, endpoint.errorCount(),
+                    endpoint.count / elapsedSeconds, percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+            endpoint.errors.forEach((cause, count) -> out.printf("    error %s: %d%n", cause, count));
+            total += endpoint.count;
+        }
+        out.printf("total: %d requests in %.1f s (%.1f req/s)%n", total, elapsedSeconds, total / elapsedSeconds);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(sortedNanos.length * percentile) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private Endpoint endpoint(Operation operation) {
+        return endpoints.computeIfAbsent(operation, ignored -> new Endpoint());
+    }
+
+    private static final class Endpoint {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long succeeded;
+        private long rejected;
+        private final Map<String, Long> errors = new TreeMap<>();
+
+        private Endpoint record(long elapsedNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = elapsedNanos;
+            return this;
+        }
+
+        private long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        private void merge(Endpoint other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            succeeded += other.succeeded;
+            rejected += other.rejected;
+            other.errors.forEach((cause, count) -> errors.merge(cause, count, Long::sum));
+        }
+    }
+}
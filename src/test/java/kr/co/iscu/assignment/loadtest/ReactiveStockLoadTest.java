@@ -0,0 +1,18 @@
+package kr.co.iscu.assignment.loadtest;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link StockLoadTest}와 같은 데이터와 부하를 reactive 프로파일(WebFlux + R2DBC 조회)로 보냅니다.
+ * <p>
+ * 같은 {@code -Xmx}와 {@code -Dloadtest.clients}로 두 테스트를 실행해 처리량, 응답 시간, 서버 스레드 수, 힙 사용량을 비교합니다.
+ * 테스트 컨텍스트는 웹 애플리케이션 종류를 여기 적은 속성으로만 정하므로 reactive를 직접 지정합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles({"loadtest", "reactive"})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ReactiveStockLoadTest extends StockLoadTest {
+}
@@ -0,0 +1,65 @@
+package kr.co.iscu.assignment.loadtest;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 부하 중 서버 쪽 스레드 수와 힙 사용량의 최댓값을 주기적으로 기록합니다.
+ * <p>
+ * 부하 테스트는 클라이언트와 서버가 같은 JVM에서 돌므로, 가상 사용자 스레드({@link #CLIENT_THREAD_PREFIX})와
+ * JDK HttpClient 스레드는 세지 않습니다. 힙은 클라이언트 몫을 나눌 수 없어 JVM 전체 사용량입니다.
+ */
+final class ResourceSampler implements AutoCloseable {
+
+    static final String CLIENT_THREAD_PREFIX = "loadtest-client-";
+    private static final String HTTP_CLIENT_THREAD_PREFIX = "HttpClient-";
+    private static final long INTERVAL_MILLIS = 200;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final Thread sampler;
+
+    private volatile boolean running = true;
+    private volatile int peakServerThreads;
+    private volatile long peakHeapUsed;
+
+    ResourceSampler() {
+        sampler = new Thread(this::run, "loadtest-resource-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    private void run() {
+        while (running) {
+            int serverThreads = 0;
+            for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+                if (info != null && !info.getThreadName().startsWith(CLIENT_THREAD_PREFIX)
+                        && !info.getThreadName().startsWith(HTTP_CLIENT_THREAD_PREFIX)) {
+                    serverThreads++;
+                }
+            }
+            peakServerThreads = Math.max(peakServerThreads, serverThreads);
+            peakHeapUsed = Math.max(peakHeapUsed, memory.getHeapMemoryUsage().getUsed());
+            try {
+                Thread.sleep(INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf("peak server threads: %d, peak heap used: %d MB (max %d MB)%n",
+                peakServerThreads, peakHeapUsed >> 20, memory.getHeapMemoryUsage().getMax() >> 20);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        sampler.interrupt();
+        sampler.join();
+    }
+}
@@ -0,0 +1,305 @@
+package kr.co.iscu.assignment.loadtest;
+
+import kr.co.iscu.assignment.loadtest.LoadMix.Operation;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.stock.StockHistoryDailyBackfill;
+import kr.co.iscu.assignment.service.stock.StockStatusReadModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2로 애플리케이션을 띄우고 여러 가상 사용자가 HTTP로 입고/출고/현황/통계 API를 호출하는 부하 테스트.
+ * <p>
+ * 네트워크와 외부 DB 없이 한 대의 장비에서 실행되며, 끝나면 API별 처리량, p50/p99 응답 시간, 오류 수와
+ * 유실된 갱신 수(성공 응답을 받은 입고/출고로 계산한 재고와 DB 재고가 다른 상품·창고 수)를 출력합니다.
+ * 부하가 끝나면 인기 상품마다 출고를 한 번씩 순서대로 보내, 응답의 안전재고 미만 여부가 기대 재고(모든 창고 합계)와 맞는지도 확인합니다.
+ * 적재와 부하에 시간이 걸리므로 {@code -Dloadtest=true}를 지정한 경우에만 실행합니다.
+ * <ul>
+ *     <li>{@code -Dloadtest.products}: 상품 수 (기본 10,000)</li>
+ *     <li>{@code -Dloadtest.warehouses}: 상품별 창고 수 (기본 2)</li>
+ *     <li>{@code -Dloadtest.histories}: 미리 적재할 재고 이력 건수 (기본 200,000)</li>
+ *     <li>{@code -Dloadtest.hot-products}: 입고/출고/통계 호출이 몰리는 상품 수 (기본 100)</li>
+ *     <li>{@code -Dloadtest.clients}: 동시에 호출하는 가상 사용자 수 (기본 32)</li>
+ *     <li>{@code -Dloadtest.duration-seconds}: 부하 시간 (기본 30초)</li>
+ *     <li>{@code -Dloadtest.mix}: 호출 비율 (기본 {@code inbound:40,outbound:40,status:15,statistics:5})</li>
+ * </ul>
+ * 애플리케이션 설정은 {@code application-loadtest.yml}을 따르며, {@code -Dinventory.stock.movement-mode=sharded}처럼
+ * 시스템 프로퍼티로 덮어쓸 수 있습니다. 같은 부하를 WebFlux/R2DBC로 보내려면 {@link ReactiveStockLoadTest}를 실행합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class StockLoadTest {
+
+    private static final long SEED = 20240101L;
+    private static final String CLIENT_ID = "X-Client-Id";
+    private static final String INSUFFICIENT_STOCK = "재고가 부족합니다.";
+    private static final int STATUS_PAGE_SIZE = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final int products = Integer.getInteger("loadtest.products", 10_000);
+    private final int warehouses = Integer.getInteger("loadtest.warehouses", 2);
+    private final int histories = Integer.getInteger("loadtest.histories", 200_000);
+    private final int hotProducts = Math.min(Integer.getInteger("loadtest.hot-products", 100), products);
+    private final int clients = Integer.getInteger("loadtest.clients", 32);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final LoadMix mix = LoadMix.parse(System.getProperty("loadtest.mix", "inbound:40,outbound:40,status:15,statistics:5"));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyBackfill stockHistoryDailyBackfill;
+
+    @Autowired
+    private StockStatusReadModel stockStatusReadModel;
+
+    @Test
+    @DisplayName("동시 입고/출고/조회 부하에서 처리량과 응답 시간을 측정하고 유실된 갱신이 없는지 확인한다.")
+    void run_mixed_load() throws InterruptedException, ExecutionException {
+        // given
+        long seedStartedAt = System.nanoTime();
+        ExpectedStock expected = new SyntheticDataGenerator(jdbcTemplate, stockRepository, stockHistoryRepository)
+                .generate(products, warehouses, histories);
+        stockHistoryDailyBackfill.backfillAll();
+        stockStatusReadModel.reload();
+        System.out.printf("seeded %d products x %d warehouses, %d histories in %.1f s%n",
+                products, warehouses, histories, (System.nanoTime() - seedStartedAt) / 1e9);
+        System.out.printf("load: %d clients, %d s, hot products %d, mix %s%n", clients, durationSeconds, hotProducts, mix);
+
+        // when
+        LoadTestReport report = new LoadTestReport();
+        AtomicInteger clientThreads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(clients,
+                task -> new Thread(task, ResourceSampler.CLIENT_THREAD_PREFIX + clientThreads.getAndIncrement()));
+        ResourceSampler resources = new ResourceSampler();
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + Duration.ofSeconds(durationSeconds).toNanos();
+        try {
+            List<Future<LoadTestReport>> results = new ArrayList<>(clients);
+            for (int client = 0; client < clients; client++) {
+                int clientIndex = client;
+                results.add(executor.submit(() -> runClient(clientIndex, deadline, expected)));
+            }
+            for (Future<LoadTestReport> result : results) {
+                report.merge(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+            resources.close();
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        // then
+        long safetyStockMismatches = countSafetyStockMismatches(expected);
+        long lostUpdates = awaitLostUpdates(expected);
+        long ledgerMismatches = countLedgerMismatches();
+        report.print(System.out, elapsedSeconds);
+        resources.print(System.out);
+        System.out.printf("lost updates: %d, ledger mismatches: %d, safety stock mismatches: %d, errors: %d%n",
+                lostUpdates, ledgerMismatches, safetyStockMismatches, report.totalErrors());
+
+        assertThat(lostUpdates).isZero();
+        assertThat(ledgerMismatches).isZero();
+        assertThat(safetyStockMismatches).isZero();
+    }
+
+    /**
+     * 가상 사용자 한 명. 정해진 시간까지 호출 비율에 따라 API를 하나씩 동기 호출합니다.
+     */
+    private LoadTestReport runClient(int clientIndex, long deadline, ExpectedStock expected) {
+        SplittableRandom random = new SplittableRandom(SEED + clientIndex);
+        String clientId = "loadtest-" + clientIndex;
+        LoadTestReport report = new LoadTestReport();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            Operation operation = mix.next(random);
+            long productId = random.nextInt(hotProducts) + 1;
+            long warehouseId = random.nextInt(warehouses) + 1;
+            int quantity = random.nextInt(1, 11);
+            HttpRequest request = buildRequest(operation, productId, warehouseId, quantity, random)
+                    .header(CLIENT_ID, clientId)
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+
+            long requestStartedAt = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                report.recordError(operation, System.nanoTime() - requestStartedAt, e.getClass().getSimpleName());
+                continue;
+            }
+            long elapsedNanos = System.nanoTime() - requestStartedAt;
+
+            int statusCode = response.statusCode();
+            if (statusCode / 100 == 2) {
+                report.recordSuccess(operation, elapsedNanos);
+                if (operation == Operation.INBOUND) {
+                    expected.add(productId, warehouseId, quantity);
+                } else if (operation == Operation.OUTBOUND) {
+                    expected.add(productId, warehouseId, -quantity);
+                }
+            } else if (operation == Operation.OUTBOUND && statusCode == 400 && response.body().contains(INSUFFICIENT_STOCK)) {
+                report.recordRejected(operation, elapsedNanos);
+            } else {
+                report.recordError(operation, elapsedNanos, "HTTP " + statusCode);
+            }
+        }
+        return report;
+    }
+
+    private HttpRequest.Builder buildRequest(Operation operation, long productId, long warehouseId, int quantity, SplittableRandom random) {
+        String baseUrl = "http://localhost:" + port + "/api/stocks";
+        switch (operation) {
+            case INBOUND:
+            case OUTBOUND:
+                String path = operation == Operation.INBOUND ? "/inbound" : "/outbound";
+                String body = "{\"quantity\":" + quantity + ",\"warehouseId\":" + warehouseId + "}";
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/" + productId + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body));
+            case STATUS:
+                int page = random.nextInt(Math.max(1, products / STATUS_PAGE_SIZE));
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/status?page=" + page + "&size=" + STATUS_PAGE_SIZE)).GET();
+            case STATISTICS:
+                LocalDateTime endDate = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+                LocalDateTime startDate = endDate.minusDays(30);
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/" + productId + "/statistics?startDate=" + startDate + "&endDate=" + endDate)).GET();
+            default:
+                throw new IllegalArgumentException("지원하지 않는 호출입니다: " + operation);
+        }
+    }
+
+    /**
+     * 다른 호출이 없는 상태에서 인기 상품마다 재고가 있는 창고 하나에서 1개를 출고하고,
+     * 응답의 안전재고 미만 여부를 기대 재고의 모든 창고 합계로 계산한 값과 비교합니다. 성공한 출고는 기대 재고에 반영합니다.
+     *
+     * @return 응답의 안전재고 미만 여부가 기대와 다르거나 출고에 실패한 상품 수
+     */
+    private long countSafetyStockMismatches(ExpectedStock expected) throws InterruptedException {
+        long mismatches = 0;
+        for (long productId = 1; productId <= hotProducts; productId++) {
+            long warehouseId = 0;
+            long total = 0;
+            for (long warehouse = 1; warehouse <= warehouses; warehouse++) {
+                long quantity = expected.get(productId, warehouse);
+                total += quantity;
+                if (warehouseId == 0 && quantity > 0) {
+                    warehouseId = warehouse;
+                }
+            }
+            if (warehouseId == 0) {
+                continue;
+            }
+            Integer safetyStock = jdbcTemplate.queryForObject("SELECT safety_stock FROM product WHERE id = ?", Integer.class, productId);
+            boolean expectedBelow = total - 1 < (safetyStock == null ? 0 : safetyStock);
+
+            HttpResponse<String> response;
+            try {
+                response = httpClient.send(buildRequest(Operation.OUTBOUND, productId, warehouseId, 1, null)
+                        .header(CLIENT_ID, "loadtest-verify")
+                        .timeout(REQUEST_TIMEOUT)
+                        .build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                mismatches++;
+                continue;
+            }
+            if (response.statusCode() / 100 != 2) {
+                mismatches++;
+                continue;
+            }
+            expected.add(productId, warehouseId, -1);
+            if (!response.body().contains("\"belowSafetyStock\":" + expectedBelow)) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * 비동기로 반영하는 처리 방식(wal, batched)도 있으므로, 기대 재고와 같아지거나 제한 시간이 지날 때까지 다시 비교합니다.
+     *
+     * @return 기대 재고와 DB 재고가 다른 상품·창고 수
+     */
+    private long awaitLostUpdates(ExpectedStock expected) throws InterruptedException {
+        long settleDeadline = System.nanoTime() + SETTLE_TIMEOUT.toNanos();
+        long lostUpdates = countLostUpdates(expected);
+        while (lostUpdates > 0 && System.nanoTime() < settleDeadline) {
+            Thread.sleep(200);
+            lostUpdates = countLostUpdates(expected);
+        }
+        return lostUpdates;
+    }
+
+    private long countLostUpdates(ExpectedStock expected) {
+        long[] mismatches = new long[1];
+        jdbcTemplate.query("SELECT product_id, warehouse_id, quantity FROM stock", resultSet -> {
+            long productId = resultSet.getLong("product_id");
+            long warehouseId = resultSet.getLong("warehouse_id");
+            if (productId <= expected.products() && warehouseId <= expected.warehouses()
+                    && resultSet.getLong("quantity") != expected.get(productId, warehouseId)) {
+                mismatches[0]++;
+            }
+        });
+        return mismatches[0];
+    }
+
+    /**
+     * @return 재고와 이력 합계(입고 - 출고)가 다른 상품·창고 수
+     */
+    private long countLedgerMismatches() {
+        Long mismatches = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock s"
+                        + " LEFT JOIN (SELECT product_id, warehouse_id,"
+                        + " SUM(CASE WHEN event_type = 'INBOUND' THEN quantity ELSE -quantity END) AS quantity"
+                        + " FROM stock_history GROUP BY product_id, warehouse_id) h"
+                        + " ON h.product_id = s.product_id AND h.warehouse_id = s.warehouse_id"
+                        + " WHERE s.quantity <> COALESCE(h.quantity, 0)",
+                Long.class);
+        return mismatches == null ? 0 : mismatches;
+    }
+}
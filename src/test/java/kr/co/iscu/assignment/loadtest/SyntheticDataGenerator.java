@@ -0,0 +1,129 @@
+package kr.co.iscu.assignment.loadtest;
+
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 부하 테스트용 상품, 재고, 재고 이력을 대량으로 적재합니다.
+ * <p>
+ * 상품 ID는 1부터 차례로 부여하고, 이력은 최근 90일에 시간순으로 퍼뜨립니다.
+ * 출고는 그 시점의 재고를 넘지 않도록 만들기 때문에 적재가 끝난 재고는 이력 합계와 항상 같습니다.
+ * 실행마다 같은 데이터가 나오도록 고정 시드를 사용합니다.
+ */
+final class SyntheticDataGenerator {
+
+    private static final long SEED = 20240101L;
+    private static final int INSERT_CHUNK_SIZE = 5_000;
+    private static final int CATEGORIES = 20;
+    private static final int HISTORY_DAYS = 90;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockRepository stockRepository;
+    private final StockHistoryRepository stockHistoryRepository;
+
+    SyntheticDataGenerator(JdbcTemplate jdbcTemplate, StockRepository stockRepository, StockHistoryRepository stockHistoryRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockRepository = stockRepository;
+        this.stockHistoryRepository = stockHistoryRepository;
+    }
+
+    /**
+     * @param products   상품 수
+     * @param warehouses 상품마다 재고를 둘 창고 수 (창고 ID 1부터)
+     * @param histories  재고 이력 건수
+     * @return 적재한 상품·창고별 재고
+     */
+    ExpectedStock generate(int products, int warehouses, int histories) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        insertProducts(products, random);
+
+        ExpectedStock seeded = new ExpectedStock(products, warehouses);
+        insertHistories(seeded, histories, random);
+        insertStocks(seeded);
+        return seeded;
+    }
+
+    private void insertProducts(int products, SplittableRandom random) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusDays(HISTORY_DAYS + 1));
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK_SIZE);
+        for (long id = 1; id <= products; id++) {
+            rows.add(new Object[]{
+                    id,
+                    "부하 테스트 상품 " + id,
+                    "카테고리 " + (id % CATEGORIES),
+                    BigDecimal.valueOf(random.nextInt(1_000, 1_000_000)),
+                    random.nextInt(100),
+                    createdAt,
+                    createdAt});
+            if (rows.size() == INSERT_CHUNK_SIZE) {
+                batchInsertProducts(rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            batchInsertProducts(rows);
+        }
+    }
+
+    private void batchInsertProducts(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO product (id, name, category, unit_price, safety_stock, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    private void insertHistories(ExpectedStock seeded, int histories, SplittableRandom random) {
+        LocalDateTime startedAt = LocalDateTime.now().minusDays(HISTORY_DAYS);
+        long spreadSeconds = HISTORY_DAYS * 24L * 60 * 60;
+        List<StockHistory> chunk = new ArrayList<>(INSERT_CHUNK_SIZE);
+        for (int i = 0; i < histories; i++) {
+            long productId = random.nextInt(seeded.products()) + 1;
+            long warehouseId = random.nextInt(seeded.warehouses()) + 1;
+            int quantity = random.nextInt(1, 21);
+            // 입고를 더 자주 만들어 재고가 쌓이게 하고, 재고보다 많은 출고는 입고로 바꾼다.
+            boolean outbound = random.nextInt(10) < 4 && seeded.get(productId, warehouseId) >= quantity;
+            StockEventType eventType = outbound ? StockEventType.OUTBOUND : StockEventType.INBOUND;
+            seeded.add(productId, warehouseId, outbound ? -quantity : quantity);
+            chunk.add(StockHistory.builder()
+                    .productId(productId)
+                    .warehouseId(warehouseId)
+                    .eventType(eventType)
+                    .quantity(quantity)
+                    .createdAt(startedAt.plusSeconds(i * spreadSeconds / histories))
+                    .build());
+            if (chunk.size() == INSERT_CHUNK_SIZE) {
+                stockHistoryRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            stockHistoryRepository.saveAll(chunk);
+        }
+    }
+
+    private void insertStocks(ExpectedStock seeded) {
+        List<Stock> chunk = new ArrayList<>(INSERT_CHUNK_SIZE);
+        for (long productId = 1; productId <= seeded.products(); productId++) {
+            for (long warehouseId = 1; warehouseId <= seeded.warehouses(); warehouseId++) {
+                chunk.add(new Stock(productId, warehouseId, (int) seeded.get(productId, warehouseId)));
+                if (chunk.size() == INSERT_CHUNK_SIZE) {
+                    stockRepository.saveAll(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            stockRepository.saveAll(chunk);
+        }
+    }
+}
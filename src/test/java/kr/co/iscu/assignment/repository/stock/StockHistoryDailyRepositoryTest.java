@@ -0,0 +1,124 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockHistoryDaily;
+import kr.co.iscu.assignment.domain.stock.StockMovementSummary;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class StockHistoryDailyRepositoryTest {
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        // 집계 테스트를 위한 상품 데이터 생성
+        product = Product.builder().name("집계 테스트용 상품").category("테스트").unitPrice(BigDecimal.ZERO).safetyStock(0).build();
+        productRepository.insert(product);
+    }
+
+    @Test
+    @DisplayName("같은 상품·일자·거래 유형의 수량은 누적된다.")
+    void addQuantities() {
+        // given
+        LocalDate today = LocalDate.now();
+
+        // when
+        stockHistoryDailyRepository.addQuantities(List.of(daily(today, StockEventType.INBOUND, 10)));
+        stockHistoryDailyRepository.addQuantities(List.of(daily(today, StockEventType.INBOUND, 5), daily(today, StockEventType.OUTBOUND, 3)));
+
+        // then
+        List<StockHistoryDaily> dailies = stockHistoryDailyRepository.findByProductId(product.getId());
+        assertThat(dailies).extracting(StockHistoryDaily::getEventType, StockHistoryDaily::getQuantity)
+                .containsExactlyInAnyOrder(
+                        tuple(StockEventType.INBOUND, 15L),
+                        tuple(StockEventType.OUTBOUND, 3L));
+    }
+
+    @Test
+    @DisplayName("하루 전체가 포함되는 날은 일별 집계에서, 앞뒤 일부만 포함되는 날은 원본 이력에서 합산한다.")
+    void summarizeBetweenDatesWithRollup() {
+        // given
+        LocalDate day1 = LocalDate.of(2020, 1, 1);
+        LocalDate day2 = day1.plusDays(1);
+        LocalDate day3 = day1.plusDays(2);
+        LocalDateTime start = day1.atTime(12, 0);
+        LocalDateTime end = day3.atTime(12, 0);
+
+        saveHistory(day1.atTime(11, 0), 1000); // 기간 외 (시작 전)
+        saveHistory(day1.atTime(13, 0), 100);  // 앞쪽 일부
+        stockHistoryDailyRepository.addQuantities(List.of(daily(day2, StockEventType.INBOUND, 50))); // 하루 전체
+        saveHistory(day3.atTime(12, 0), 20);   // 뒤쪽 일부 (종료일시 포함)
+        saveHistory(day3.atTime(13, 0), 2000); // 기간 외 (종료 후)
+
+        // when
+        StockMovementSummary summary = stockHistoryRepository.summarizeBetweenDates(product.getId(), start, end, day2, day2, null);
+
+        // then
+        assertThat(summary.getTotalInbound()).isEqualTo(170);
+        assertThat(summary.getTotalOutbound()).isZero();
+    }
+
+    @Test
+    @DisplayName("원본 이력으로 특정 일자의 집계를 다시 계산한다.")
+    void rebuildFromHistory() {
+        // given
+        LocalDate day = LocalDate.of(2020, 2, 1);
+        saveHistory(day.atTime(9, 0), 30);
+        saveHistory(day.atTime(18, 0), 12);
+        stockHistoryDailyRepository.addQuantities(List.of(daily(day, StockEventType.INBOUND, 999))); // 어긋난 집계
+
+        // when
+        stockHistoryDailyRepository.deleteByStatDate(day);
+        stockHistoryDailyRepository.insertFromHistory(day);
+
+        // then
+        List<StockHistoryDaily> dailies = stockHistoryDailyRepository.findByProductId(product.getId());
+        assertThat(dailies).hasSize(1);
+        assertThat(dailies.get(0).getQuantity()).isEqualTo(42L);
+    }
+
+    private StockHistoryDaily daily(LocalDate statDate, StockEventType eventType, long quantity) {
+        return StockHistoryDaily.builder()
+                .productId(product.getId())
+                .statDate(statDate)
+                .eventType(eventType)
+                .quantity(quantity)
+                .build();
+    }
+
+    private void saveHistory(LocalDateTime createdAt, int quantity) {
+        stockHistoryRepository.save(StockHistory.builder()
+                .productId(product.getId())
+                .eventType(StockEventType.INBOUND)
+                .quantity(quantity)
+                .createdAt(createdAt)
+                .build());
+    }
+}
@@ -1,8 +1,11 @@
 package kr.co.iscu.assignment.repository.stock;
 
 import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
 import kr.co.iscu.assignment.domain.stock.StockEventType;
 import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockHistoryCursor;
+import kr.co.iscu.assignment.domain.stock.StockMovementSummary;
 import kr.co.iscu.assignment.repository.product.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +27,9 @@ class StockHistoryRepositoryTest {
     @Autowired
     private StockHistoryRepository stockHistoryRepository;
 
+    @Autowired
+    private StockRepository stockRepository;
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -102,4 +108,62 @@ class StockHistoryRepositoryTest {
         // then
         assertThat(totalInbound).isZero();
     }
+
+    @Test
+    @DisplayName("기간 내 입고/출고 합계와 현재 재고를 한 번에 조회한다.")
+    void summarizeBetweenDates() {
+        // given
+        LocalDateTime start = LocalDateTime.now().minusDays(5);
+        LocalDateTime end = LocalDateTime.now();
+        stockRepository.save(new Stock(product.getId(), 120));
+
+        stockHistoryRepository.save(StockHistory.builder().productId(product.getId()).eventType(StockEventType.INBOUND).quantity(100).createdAt(start.plusDays(1)).build());
+        stockHistoryRepository.save(StockHistory.builder().productId(product.getId()).eventType(StockEventType.INBOUND).quantity(50).createdAt(start.plusDays(2)).build());
+        stockHistoryRepository.save(StockHistory.builder().productId(product.getId()).eventType(StockEventType.OUTBOUND).quantity(30).createdAt(start.plusDays(3)).build());
+        stockHistoryRepository.save(StockHistory.builder().productId(product.getId()).eventType(StockEventType.INBOUND).quantity(1000).createdAt(start.minusDays(1)).build());
+
+        // when
+        StockMovementSummary summary = stockHistoryRepository.summarizeBetweenDates(product.getId(), start, end, null, null, null);
+
+        // then
+        assertThat(summary.getTotalInbound()).isEqualTo(150);
+        assertThat(summary.getTotalOutbound()).isEqualTo(30);
+        assertThat(summary.getCurrentQuantity()).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("이력과 재고가 없으면 모든 값이 0이다.")
+    void summarizeBetweenDates_should_return_zero_if_no_data() {
+        // given
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        LocalDateTime end = LocalDateTime.now();
+
+        // when
+        StockMovementSummary summary = stockHistoryRepository.summarizeBetweenDates(product.getId(), start, end, null, null, null);
+
+        // then
+        assertThat(summary.getTotalInbound()).isZero();
+        assertThat(summary.getTotalOutbound()).isZero();
+        assertThat(summary.getCurrentQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("커서 이후의 이력을 최신순으로 이어서 조회하며, 같은 시각의 이력도 누락이나 중복 없이 나눈다.")
+    void findPageByProductId() {
+        // given
+        LocalDateTime sameTime = LocalDateTime.now().withNano(0).minusHours(1);
+        for (int i = 0; i < 5; i++) {
+            stockHistoryRepository.save(StockHistory.builder().productId(product.getId()).eventType(StockEventType.INBOUND).quantity(i + 1).createdAt(sameTime).build());
+        }
+        stockHistoryRepository.save(StockHistory.builder().productId(product.getId()).eventType(StockEventType.OUTBOUND).quantity(9).createdAt(sameTime.plusMinutes(1)).build());
+
+        // when
+        List<StockHistory> firstPage = stockHistoryRepository.findPageByProductId(product.getId(), null, 3, null);
+        List<StockHistory> secondPage = stockHistoryRepository.findPageByProductId(
+                product.getId(), StockHistoryCursor.after(firstPage.get(2)), 3, null);
+
+        // then
+        assertThat(firstPage).extracting(StockHistory::getQuantity).containsExactly(9, 5, 4);
+        assertThat(secondPage).extracting(StockHistory::getQuantity).containsExactly(3, 2, 1);
+    }
 }
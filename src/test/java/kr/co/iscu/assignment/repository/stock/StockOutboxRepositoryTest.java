@@ -0,0 +1,85 @@
+package kr.co.iscu.assignment.repository.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockOutboxEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 테스트 트랜잭션 안의 이벤트를 백그라운드 전달자가 가져가지 않도록 전달자를 끈다.
+@SpringBootTest(properties = "inventory.stock.outbox.dispatcher-enabled=false")
+@Transactional
+class StockOutboxRepositoryTest {
+
+    // 다른 테스트가 남긴 이벤트와 섞이지 않도록 존재하지 않는 상품 ID를 사용 (아웃박스는 상품 FK가 없음)
+    private static final long PRODUCT_ID = -1L;
+
+    @Autowired
+    private StockOutboxRepository stockOutboxRepository;
+
+    @Test
+    @DisplayName("선점한 이벤트는 다시 선점되지 않고, 선점을 풀면 오래된 순으로 다시 선점된다.")
+    void claim_and_release() {
+        // given
+        stockOutboxRepository.deleteByProductId(PRODUCT_ID);
+        stockOutboxRepository.saveAll(List.of(event(10), event(20), event(30)));
+        List<Long> outboxIds = outboxIds(stockOutboxRepository.findByProductId(PRODUCT_ID));
+
+        // when
+        stockOutboxRepository.claim(outboxIds.subList(0, 2), 60);
+
+        // then
+        assertThat(claimableIds()).containsExactly(outboxIds.get(2));
+
+        // when
+        stockOutboxRepository.release(outboxIds.subList(0, 2));
+
+        // then
+        assertThat(claimableIds()).containsExactlyElementsOf(outboxIds);
+    }
+
+    @Test
+    @DisplayName("전달을 마친 이벤트는 삭제하거나 전달 시각을 기록하며, 둘 다 다시 선점되지 않는다.")
+    void delete_and_mark_dispatched() {
+        // given
+        stockOutboxRepository.deleteByProductId(PRODUCT_ID);
+        stockOutboxRepository.saveAll(List.of(event(10), event(20), event(30)));
+        List<Long> outboxIds = outboxIds(stockOutboxRepository.findByProductId(PRODUCT_ID));
+
+        // when
+        stockOutboxRepository.deleteByIds(outboxIds.subList(0, 1));
+        stockOutboxRepository.markDispatched(outboxIds.subList(1, 2));
+
+        // then
+        assertThat(outboxIds(stockOutboxRepository.findByProductId(PRODUCT_ID))).containsExactlyElementsOf(outboxIds.subList(1, 3));
+        assertThat(claimableIds()).containsExactly(outboxIds.get(2));
+    }
+
+    private List<Long> claimableIds() {
+        return stockOutboxRepository.findClaimable(Integer.MAX_VALUE).stream()
+                .filter(event -> event.getProductId() == PRODUCT_ID)
+                .map(StockOutboxEvent::getOutboxId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> outboxIds(List<StockOutboxEvent> events) {
+        return events.stream().map(StockOutboxEvent::getOutboxId).collect(Collectors.toList());
+    }
+
+    private static StockOutboxEvent event(int quantity) {
+        return StockOutboxEvent.builder()
+                .productId(PRODUCT_ID)
+                .eventType(StockEventType.INBOUND)
+                .quantity(quantity)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package kr.co.iscu.assignment.repository.stock;
 
 import kr.co.iscu.assignment.domain.product.Product;
 import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockAdjustment;
 import kr.co.iscu.assignment.repository.product.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -84,4 +85,56 @@ class StockRepositoryTest {
         assertThat(allStocks.size()).isGreaterThanOrEqualTo(2);
         assertThat(allStocks).extracting(Stock::getProductId).contains(product.getId(), anotherProduct.getId());
     }
+
+    @Test
+    @DisplayName("단일 UPDATE 문으로 재고를 증가시키고 변경 후 수량을 돌려받는다.")
+    void increaseQuantity() {
+        // given
+        stockRepository.save(new Stock(product.getId(), 10));
+        StockAdjustment adjustment = StockAdjustment.of(product.getId(), 5);
+
+        // when
+        int updated = stockRepository.increaseQuantity(adjustment);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(adjustment.getQuantity()).isEqualTo(15);
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("재고 행이 없으면 증가 UPDATE는 0건을 반환하고, 행을 만든 뒤에는 증가한다.")
+    void increaseQuantity_without_stock_row() {
+        // given
+        StockAdjustment adjustment = StockAdjustment.of(product.getId(), 7);
+
+        // when
+        int updatedBefore = stockRepository.increaseQuantity(adjustment);
+        stockRepository.insertIfAbsent(product.getId(), Stock.DEFAULT_WAREHOUSE_ID);
+        int updatedAfter = stockRepository.increaseQuantity(adjustment);
+
+        // then
+        assertThat(updatedBefore).isZero();
+        assertThat(updatedAfter).isEqualTo(1);
+        assertThat(adjustment.getQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("재고가 충분하면 감소시키고, 부족하면 변경된 행이 없다.")
+    void decreaseQuantity() {
+        // given
+        stockRepository.save(new Stock(product.getId(), 10));
+
+        // when
+        StockAdjustment allOut = StockAdjustment.of(product.getId(), 10);
+        int updated = stockRepository.decreaseQuantity(allOut);
+        StockAdjustment overdraw = StockAdjustment.of(product.getId(), 1);
+        int rejected = stockRepository.decreaseQuantity(overdraw);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(allOut.getQuantity()).isZero();
+        assertThat(rejected).isZero();
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isZero();
+    }
 }
@@ -0,0 +1,140 @@
+package kr.co.iscu.assignment.service.product;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.service.product.dto.ProductCacheStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTest {
+
+    private CountingProductRepository productRepository;
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new CountingProductRepository();
+        productRepository.products.put(1L, product(1L, 10));
+        productRepository.products.put(2L, product(2L, 20));
+        productCache = new ProductCache(productRepository, 100, 60, 5);
+    }
+
+    @Test
+    @DisplayName("같은 상품을 다시 조회하면 DB를 조회하지 않고 적중/미적중 통계가 기록된다.")
+    void findById_hits_cache() {
+        // when
+        productCache.findById(1L);
+        productCache.findById(1L);
+        productCache.findById(1L);
+
+        // then
+        ProductCacheStatsDto stats = productCache.getStats();
+        assertThat(productRepository.queries).isEqualTo(1);
+        assertThat(stats.getHitCount()).isEqualTo(2);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 상품 ID도 캐시하여 반복 조회가 DB에 도달하지 않는다.")
+    void findById_caches_negative_lookup() {
+        // when
+        Optional<Product> first = productCache.findById(999L);
+        Optional<Product> second = productCache.findById(999L);
+
+        // then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(productRepository.queries).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("무효화한 상품은 다음 조회 때 DB에서 다시 읽는다.")
+    void evict_reloads_product() {
+        // given
+        productCache.findById(1L);
+        productRepository.products.put(1L, product(1L, 99));
+
+        // when
+        productCache.evict(1L);
+        Product reloaded = productCache.findById(1L).orElseThrow();
+
+        // then
+        assertThat(reloaded.getSafetyStock()).isEqualTo(99);
+        assertThat(productRepository.queries).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("여러 상품 조회 시 캐시에 없는 상품만 한 번에 DB에서 읽고, 없는 상품은 결과에서 빠진다.")
+    void findAllByIds_loads_only_missing() {
+        // given
+        productCache.findById(1L);
+
+        // when
+        Map<Long, Product> products = productCache.findAllByIds(List.of(1L, 2L, 3L));
+        Map<Long, Product> again = productCache.findAllByIds(List.of(1L, 2L, 3L));
+
+        // then
+        assertThat(products).containsOnlyKeys(1L, 2L);
+        assertThat(again).containsOnlyKeys(1L, 2L);
+        assertThat(productRepository.queries).isEqualTo(2);
+        assertThat(productRepository.lastRequestedIds).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    private static Product product(Long id, int safetyStock) {
+        return Product.builder().id(id).name("상품 " + id).category("테스트").unitPrice(BigDecimal.ONE).safetyStock(safetyStock).build();
+    }
+
+    /**
+     * 조회 횟수를 세는 메모리 상품 저장소.
+     */
+    private static class CountingProductRepository implements ProductRepository {
+
+        private final Map<Long, Product> products = new HashMap<>();
+        private int queries;
+        private List<Long> lastRequestedIds;
+
+        @Override
+        public Optional<Product> findById(Long id) {
+            queries++;
+            return Optional.ofNullable(products.get(id));
+        }
+
+        @Override
+        public List<Product> findAllByIds(Collection<Long> ids) {
+            queries++;
+            lastRequestedIds = List.copyOf(ids);
+            return ids.stream().map(products::get).filter(product -> product != null).collect(Collectors.toList());
+        }
+
+        @Override
+        public int insert(Product product) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int update(Product product) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Product> findAll() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
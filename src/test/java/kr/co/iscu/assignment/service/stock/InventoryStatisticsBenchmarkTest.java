@@ -0,0 +1,156 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockMovementSummary;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기간 통계 조회 벤치마크.
+ * <p>
+ * 수백만 건의 이력을 적재한 뒤 기존 방식(거래 유형별 합계 2회 + 재고 조회 1회)과
+ * 단일 조건부 집계 쿼리의 지연 시간을 비교해 로그로 남깁니다.
+ * 적재에 시간이 오래 걸리므로 {@code -Dbenchmark=true}를 지정한 경우에만 실행합니다.
+ * 이력 건수는 {@code -Dbenchmark.history-rows}로 바꿀 수 있습니다. (기본 2,000,000건)
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InventoryStatisticsBenchmarkTest {
+
+    private static final int PRODUCTS = 20;
+    private static final int INSERT_CHUNK_SIZE = 5_000;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = Product.builder().name("벤치마크 상품 " + i).category("벤치마크").unitPrice(BigDecimal.ONE).safetyStock(0).build();
+            productRepository.insert(product);
+            stockRepository.save(new Stock(product.getId(), 1_000));
+            productIds.add(product.getId());
+        }
+        seedHistories(Integer.getInteger("benchmark.history-rows", 2_000_000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productIds.forEach(productId -> {
+            stockHistoryRepository.deleteByProductId(productId);
+            stockHistoryDailyRepository.deleteByProductId(productId);
+            stockRepository.deleteByProductId(productId);
+            productRepository.deleteById(productId);
+        });
+        productIds.clear();
+    }
+
+    @Test
+    @DisplayName("단일 조건부 집계 쿼리와 기존 3회 조회의 지연 시간을 비교한다.")
+    void compare_statistics_latency() {
+        // given
+        Long productId = productIds.get(0);
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minusDays(90);
+
+        // when
+        long[] legacy = measure(() -> {
+            stockHistoryRepository.sumQuantityByEventTypeBetweenDates(productId, StockEventType.INBOUND, start, end);
+            stockHistoryRepository.sumQuantityByEventTypeBetweenDates(productId, StockEventType.OUTBOUND, start, end);
+            stockRepository.findByProductId(productId);
+        });
+        long[] single = measure(() -> stockHistoryRepository.summarizeBetweenDates(productId, start, end, null, null, null));
+
+        // then
+        logLatency("3 round trips", legacy);
+        logLatency("single statement", single);
+
+        StockMovementSummary summary = stockHistoryRepository.summarizeBetweenDates(productId, start, end, null, null, null);
+        assertThat(summary.getTotalInbound())
+                .isEqualTo(stockHistoryRepository.sumQuantityByEventTypeBetweenDates(productId, StockEventType.INBOUND, start, end));
+        assertThat(summary.getTotalOutbound())
+                .isEqualTo(stockHistoryRepository.sumQuantityByEventTypeBetweenDates(productId, StockEventType.OUTBOUND, start, end));
+        assertThat(summary.getCurrentQuantity()).isEqualTo(1_000);
+    }
+
+    /**
+     * 상품과 거래 유형을 번갈아 가며 최근 1년에 고르게 퍼진 이력을 multi-row INSERT로 적재합니다.
+     */
+    private void seedHistories(int rows) {
+        LocalDateTime now = LocalDateTime.now();
+        long spreadMinutes = 365L * 24 * 60;
+        List<StockHistory> chunk = new ArrayList<>(INSERT_CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(StockHistory.builder()
+                    .productId(productIds.get(i % PRODUCTS))
+                    .eventType(i % 3 == 0 ? StockEventType.OUTBOUND : StockEventType.INBOUND)
+                    .quantity(1 + i % 10)
+                    .createdAt(now.minusMinutes((long) i * spreadMinutes / rows))
+                    .build());
+            if (chunk.size() == INSERT_CHUNK_SIZE) {
+                stockHistoryRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            stockHistoryRepository.saveAll(chunk);
+        }
+    }
+
+    private long[] measure(Runnable query) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            query.run();
+        }
+        long[] elapsed = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long startedAt = System.nanoTime();
+            query.run();
+            elapsed[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(elapsed);
+        return elapsed;
+    }
+
+    private void logLatency(String label, long[] sortedNanos) {
+        double average = Arrays.stream(sortedNanos).average().orElse(0) / 1_000_000.0;
+        double p50 = sortedNanos[sortedNanos.length / 2] / 1_000_000.0;
+        double p99 = sortedNanos[(int) (sortedNanos.length * 0.99) - 1] / 1_000_000.0;
+        log.info("{}: avg={} ms, p50={} ms, p99={} ms ({} runs)", label,
+                String.format("%.3f", average), String.format("%.3f", p50), String.format("%.3f", p99), sortedNanos.length);
+    }
+}
@@ -0,0 +1,147 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.service.stock.dto.StockAlertDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockAlertBroadcasterTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+    private StockAlertBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    @DisplayName("안전재고 기준을 넘나든 입고/출고만 구독자에게 알린다.")
+    void publishes_only_crossings() throws InterruptedException {
+        // given
+        broadcaster = new StockAlertBroadcaster(16, 16, 1, 60);
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.subscribe(null, emitter);
+
+        // when
+        broadcaster.publishCrossings(List.of(
+                applied(StockEventType.OUTBOUND, 5, 12, 10),  // 17 -> 12: 기준 이상 유지
+                applied(StockEventType.OUTBOUND, 5, 7, 10),   // 12 -> 7: 미만이 됨
+                applied(StockEventType.INBOUND, 10, 17, 10)));// 7 -> 17: 회복
+
+        // then
+        awaitUntil(() -> emitter.alerts.size() == 2);
+        assertThat(emitter.alerts).extracting(StockAlertDto::getType)
+                .containsExactly(StockAlertDto.Type.BELOW_SAFETY_STOCK, StockAlertDto.Type.RECOVERED);
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID 이후의 알림을 버퍼에서 이어받는다.")
+    void resumes_after_last_event_id() throws InterruptedException {
+        // given
+        broadcaster = new StockAlertBroadcaster(16, 16, 1, 60);
+        CapturingEmitter first = new CapturingEmitter();
+        broadcaster.subscribe(null, first);
+        for (int i = 0; i < 3; i++) {
+            broadcaster.publish(alert());
+        }
+        awaitUntil(() -> first.ids.size() == 3);
+
+        // when
+        CapturingEmitter resumed = new CapturingEmitter();
+        broadcaster.subscribe(first.ids.get(0), resumed);
+
+        // then
+        awaitUntil(() -> resumed.ids.size() == 2);
+        assertThat(resumed.ids).containsExactlyElementsOf(first.ids.subList(1, 3));
+    }
+
+    @Test
+    @DisplayName("큐가 가득 찬 느린 구독자는 연결을 끊고, 다른 구독자에게는 계속 전송한다.")
+    void drops_slow_subscriber() throws InterruptedException {
+        // given
+        broadcaster = new StockAlertBroadcaster(16, 2, 2, 60);
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter slow = new CapturingEmitter(release);
+        CapturingEmitter fast = new CapturingEmitter();
+        broadcaster.subscribe(null, slow);
+        broadcaster.subscribe(null, fast);
+
+        // when: 빠른 구독자는 매번 받아 가고, 느린 구독자는 첫 알림 전송에서 멈춰 있다.
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.publish(alert());
+            int sent = i;
+            awaitUntil(() -> fast.ids.size() == sent);
+        }
+
+        // then
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    private static StockMovementResultDto applied(StockEventType eventType, int quantity, int currentQuantity, int safetyStock) {
+        StockMovementDto movement = StockMovementDto.builder().productId(1L).eventType(eventType).quantity(quantity).build();
+        return StockMovementResultDto.applied(movement, currentQuantity, currentQuantity, safetyStock);
+    }
+
+    private static StockAlertDto alert() {
+        return StockAlertDto.builder().productId(1L).type(StockAlertDto.Type.BELOW_SAFETY_STOCK).currentQuantity(0).safetyStock(1).build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("조건을 기다리는 시간 초과").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 보낸 알림을 기록하는 SSE 연결. release를 주면 열릴 때까지 전송이 멈춘다. (느린 구독자)
+     */
+    private static class CapturingEmitter extends SseEmitter {
+
+        private final List<Long> ids = new CopyOnWriteArrayList<>();
+        private final List<StockAlertDto> alerts = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        CapturingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        CapturingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            List<Object> parts = builder.build().stream().map(DataWithMediaType::getData).collect(Collectors.toList());
+            Matcher matcher = EVENT_ID.matcher(String.valueOf(parts.get(0)));
+            if (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+            parts.stream().filter(StockAlertDto.class::isInstance).map(StockAlertDto.class::cast).forEach(alerts::add);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package kr.co.iscu.assignment.service.stock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class StockHistoryExporterTest {
+
+    // 다른 테스트 데이터와 겹치지 않도록 과거의 고정된 기간을 사용
+    private static final LocalDateTime START = LocalDateTime.of(2001, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2001, 1, 31, 23, 59, 59);
+
+    @Autowired
+    private StockHistoryExporter stockHistoryExporter;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder().name("내보내기 테스트 상품").category("테스트").unitPrice(BigDecimal.ZERO).safetyStock(0).build();
+        productRepository.insert(product);
+        saveHistory(StockEventType.INBOUND, 100, START.plusDays(1));
+        saveHistory(StockEventType.OUTBOUND, 30, START.plusDays(2));
+        saveHistory(StockEventType.INBOUND, 1000, END.plusDays(1)); // 기간 외
+    }
+
+    @Test
+    @DisplayName("기간 내 이력을 헤더가 있는 CSV로 내보낸다.")
+    void export_csv() throws IOException {
+        // when
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = stockHistoryExporter.export(StockHistoryExportFormat.CSV, START, END, output);
+
+        // then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("history_id,product_id,warehouse_id,event_type,quantity,created_at");
+        assertThat(lines[1]).endsWith("," + product.getId() + ",1,INBOUND,100,2001-01-02T00:00:00");
+        assertThat(lines[2]).endsWith("," + product.getId() + ",1,OUTBOUND,30,2001-01-03T00:00:00");
+    }
+
+    @Test
+    @DisplayName("기간 내 이력을 한 줄에 하나씩 NDJSON으로 내보낸다.")
+    void export_ndjson() throws IOException {
+        // when
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = stockHistoryExporter.export(StockHistoryExportFormat.NDJSON, START, END, output);
+
+        // then
+        String body = output.toString(StandardCharsets.UTF_8);
+        String[] lines = body.split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("eventType").asText()).isEqualTo("INBOUND");
+        assertThat(first.get("quantity").asInt()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("시작일시가 종료일시보다 늦으면 예외가 발생한다.")
+    void export_with_invalid_range() {
+        assertThatThrownBy(() -> stockHistoryExporter.validateRange(END, START))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("시작일시는 종료일시보다 늦을 수 없습니다.");
+    }
+
+    private void saveHistory(StockEventType eventType, int quantity, LocalDateTime createdAt) {
+        stockHistoryRepository.save(StockHistory.builder()
+                .productId(product.getId())
+                .eventType(eventType)
+                .quantity(quantity)
+                .createdAt(createdAt)
+                .build());
+    }
+}
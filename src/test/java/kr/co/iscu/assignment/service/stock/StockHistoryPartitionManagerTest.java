@@ -0,0 +1,289 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockHistoryDaily;
+import kr.co.iscu.assignment.domain.stock.StockHistoryPartition;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryPartitionRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockHistoryPartitionManagerTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    private InMemoryStockHistoryPartitionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryStockHistoryPartitionRepository();
+    }
+
+    @Test
+    @DisplayName("이력이 없는 테이블은 이번 달부터 months-ahead달 뒤까지 월별 파티션 테이블로 바꾼다.")
+    void partitions_empty_table() {
+        // when
+        manager(2, 0, "drop").maintain(CURRENT);
+
+        // then
+        assertThat(repository.partitions).containsExactly("p202610", "p202611", "p202612", StockHistoryPartition.FUTURE);
+        assertThat(repository.upperBounds.get("p202612")).isEqualTo(LocalDate.of(2027, 1, 1));
+    }
+
+    @Test
+    @DisplayName("이력이 있는 파티션 없는 테이블은 자동으로 바꾸지 않는다.")
+    void leaves_non_empty_table() {
+        // given
+        repository.hasHistory = true;
+
+        // when
+        manager(2, 0, "drop").maintain(CURRENT);
+
+        // then
+        assertThat(repository.partitions).isEmpty();
+        assertThat(repository.calls).isEmpty();
+    }
+
+    @Test
+    @DisplayName("마지막 월별 파티션 다음 달부터 부족한 파티션만 p_future 앞에 추가한다.")
+    void adds_missing_months() {
+        // given
+        repository.partitions.addAll(List.of("p202609", "p202610", StockHistoryPartition.FUTURE));
+
+        // when
+        manager(3, 0, "drop").maintain(CURRENT);
+        manager(3, 0, "drop").maintain(CURRENT);
+
+        // then
+        assertThat(repository.partitions)
+                .containsExactly("p202609", "p202610", "p202611", "p202612", "p202701", StockHistoryPartition.FUTURE);
+        assertThat(repository.calls).containsExactly("add p202611..p202701");
+    }
+
+    @Test
+    @DisplayName("p_future 파티션이 없으면 월별 파티션을 추가하지 않는다.")
+    void requires_future_partition() {
+        // given
+        repository.partitions.addAll(List.of("p202609", "p202610"));
+
+        // when
+        manager(3, 0, "drop").maintain(CURRENT);
+
+        // then
+        assertThat(repository.partitions).containsExactly("p202609", "p202610");
+    }
+
+    @Test
+    @DisplayName("retention-months보다 오래된 파티션을 그 달까지의 일별 집계와 함께 삭제한다.")
+    void drops_expired_partitions() {
+        // given
+        repository.partitions.addAll(List.of("p202606", "p202607", "p202608", "p202609", "p202610",
+                "p202611", StockHistoryPartition.FUTURE));
+
+        // when
+        manager(1, 2, "drop").maintain(CURRENT);
+
+        // then
+        assertThat(repository.partitions)
+                .containsExactly("p202608", "p202609", "p202610", "p202611", StockHistoryPartition.FUTURE);
+        assertThat(repository.calls).containsExactly(
+                "delete daily before 2026-07-01", "drop p202606",
+                "delete daily before 2026-08-01", "drop p202607");
+    }
+
+    @Test
+    @DisplayName("detach이면 보관 테이블로 파티션을 교환한 뒤 빈 파티션을 삭제한다.")
+    void detaches_expired_partitions() {
+        // given
+        repository.partitions.addAll(List.of("p202607", "p202608", "p202609", "p202610", "p202611",
+                StockHistoryPartition.FUTURE));
+
+        // when
+        manager(1, 2, "detach").maintain(CURRENT);
+
+        // then
+        assertThat(repository.calls).containsExactly(
+                "delete daily before 2026-08-01",
+                "create stock_history_p202607",
+                "remove partitioning stock_history_p202607",
+                "exchange p202607 stock_history_p202607",
+                "drop p202607");
+    }
+
+    @Test
+    @DisplayName("스냅샷에 반영되지 않은 이력이 남은 파티션부터는 정리하지 않는다.")
+    void stops_at_rows_not_in_snapshot() {
+        // given
+        repository.partitions.addAll(List.of("p202606", "p202607", "p202608", "p202609", "p202610",
+                "p202611", StockHistoryPartition.FUTURE));
+        repository.rowsNotInSnapshot.put("p202607", 3L);
+
+        // when
+        manager(1, 2, "drop").maintain(CURRENT);
+
+        // then
+        assertThat(repository.calls).containsExactly("delete daily before 2026-07-01", "drop p202606");
+        assertThat(repository.partitions).startsWith("p202607");
+    }
+
+    @Test
+    @DisplayName("MySQL이 아닌 DB에서는 파티션을 관리하지 않는다.")
+    void ignores_other_databases() {
+        // given
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:partition-manager");
+        StockHistoryPartitionManager manager = manager(1, 0, "drop", dataSource);
+
+        // when
+        manager.run(new DefaultApplicationArguments());
+        manager.destroy();
+
+        // then
+        assertThat(repository.calls).isEmpty();
+        assertThat(repository.partitions).isEmpty();
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 정리 방식이면 생성할 수 없다.")
+    void rejects_unknown_expired_action() {
+        assertThatThrownBy(() -> manager(1, 1, "truncate"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private StockHistoryPartitionManager manager(int monthsAhead, int retentionMonths, String expiredAction) {
+        return manager(monthsAhead, retentionMonths, expiredAction, null);
+    }
+
+    private StockHistoryPartitionManager manager(int monthsAhead, int retentionMonths, String expiredAction,
+                                                 DataSource dataSource) {
+        return new StockHistoryPartitionManager(repository, new RecordingStockHistoryDailyRepository(repository.calls), dataSource,
+                true, monthsAhead, retentionMonths, expiredAction, 0);
+    }
+
+    /**
+     * 파티션 이름 목록만으로 동작을 흉내 내는 저장소
+     */
+    private static class InMemoryStockHistoryPartitionRepository implements StockHistoryPartitionRepository {
+
+        private final List<String> partitions = new ArrayList<>();
+        private final Map<String, LocalDate> upperBounds = new HashMap<>();
+        private final Map<String, Long> rowsNotInSnapshot = new HashMap<>();
+        private final List<String> calls = new ArrayList<>();
+        private boolean hasHistory;
+
+        @Override
+        public List<String> findPartitionNames() {
+            return new ArrayList<>(partitions);
+        }
+
+        @Override
+        public boolean existsAnyHistory() {
+            return hasHistory;
+        }
+
+        @Override
+        public void partitionByMonth(List<StockHistoryPartition> monthly) {
+            monthly.forEach(partition -> {
+                partitions.add(partition.getName());
+                upperBounds.put(partition.getName(), partition.getUpperBound());
+            });
+            partitions.add(StockHistoryPartition.FUTURE);
+        }
+
+        @Override
+        public void addPartitions(List<StockHistoryPartition> monthly) {
+            calls.add("add " + monthly.get(0).getName() + ".." + monthly.get(monthly.size() - 1).getName());
+            int future = partitions.indexOf(StockHistoryPartition.FUTURE);
+            for (int i = 0; i < monthly.size(); i++) {
+                partitions.add(future + i, monthly.get(i).getName());
+            }
+        }
+
+        @Override
+        public long countRowsNotInSnapshot(String partitionName) {
+            return rowsNotInSnapshot.getOrDefault(partitionName, 0L);
+        }
+
+        @Override
+        public void dropPartition(String partitionName) {
+            calls.add("drop " + partitionName);
+            partitions.remove(partitionName);
+        }
+
+        @Override
+        public void createArchiveTable(String tableName) {
+            calls.add("create " + tableName);
+        }
+
+        @Override
+        public void removeArchiveTablePartitioning(String tableName) {
+            calls.add("remove partitioning " + tableName);
+        }
+
+        @Override
+        public void exchangePartition(String partitionName, String tableName) {
+            calls.add("exchange " + partitionName + " " + tableName);
+        }
+    }
+
+    /**
+     * 일별 집계 삭제만 호출 기록에 남기는 저장소
+     */
+    private static class RecordingStockHistoryDailyRepository implements StockHistoryDailyRepository {
+
+        private final List<String> calls;
+
+        RecordingStockHistoryDailyRepository(List<String> calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public void deleteBeforeStatDate(LocalDate before) {
+            calls.add("delete daily before " + before);
+        }
+
+        @Override
+        public void addQuantities(List<StockHistoryDaily> dailies) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<StockHistoryDaily> findByProductId(Long productId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<LocalDate> findFirstHistoryDate() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteByStatDate(LocalDate statDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void insertFromHistory(LocalDate statDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteByProductId(Long productId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
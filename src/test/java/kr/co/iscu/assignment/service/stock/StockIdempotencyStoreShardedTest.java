@@ -0,0 +1,175 @@
+package kr.co.iscu.assignment.service.stock;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.global.error.ConflictException;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockIdempotencyRepository;
+import kr.co.iscu.assignment.repository.stock.StockOutboxRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import kr.co.iscu.assignment.service.stock.movement.StockMovementProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 입고/출고를 샤드 스레드에서 따로 커밋하는 처리 방식의 Idempotency-Key 테스트.
+ * 롤백으로 되돌릴 수 없으므로 키를 먼저 선점하는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "inventory.stock.movement-mode=sharded",
+        "inventory.stock.outbox.dispatcher-enabled=false"
+})
+class StockIdempotencyStoreShardedTest {
+
+    private static final TypeReference<StockMovementResultDto> MOVEMENT_RESULT = new TypeReference<>() {
+    };
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockMovementProcessor stockMovementProcessor;
+
+    @Autowired
+    private StockIdempotencyRepository stockIdempotencyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private StockOutboxRepository stockOutboxRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<String> keysToDelete = new ArrayList<>();
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder().name("샤드 중복 요청 테스트 상품").category("테스트").unitPrice(BigDecimal.ONE).safetyStock(10).build();
+        productRepository.insert(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keysToDelete.forEach(stockIdempotencyRepository::deleteByKey);
+        stockOutboxRepository.deleteByProductId(product.getId());
+        stockHistoryRepository.deleteByProductId(product.getId());
+        stockHistoryDailyRepository.deleteByProductId(product.getId());
+        stockRepository.deleteByProductId(product.getId());
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    @DisplayName("메모리 캐시에 없는 키로 다시 출고해도 샤드에서 다시 출고하지 않고 처음 결과를 돌려준다.")
+    void replays_without_reapplying_when_not_in_memory() {
+        // given
+        stockService.inbound(product.getId(), 15);
+        String key = newKey();
+        boolean first = stockService.outbound(product.getId(), 6, key);
+        StockIdempotencyStore otherInstance = new StockIdempotencyStore(
+                stockIdempotencyRepository, transactionTemplate, objectMapper, stockMovementProcessor, 100, 600, 24, 0);
+
+        // when
+        StockMovementResultDto retried = otherInstance.execute(key, outbound(6), MOVEMENT_RESULT,
+                () -> stockMovementProcessor.process(outbound(6)));
+
+        // then
+        assertThat(retried.isBelowSafetyStock()).isEqualTo(first);
+        assertThat(retried.getCurrentQuantity()).isEqualTo(9);
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(9);
+        assertThat(stockHistoryRepository.findByProductId(product.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("처리 중인 키로 다시 요청하면 실행하지 않고 예외가 발생한다.")
+    void rejects_retry_while_pending() {
+        // given
+        stockService.inbound(product.getId(), 15);
+        String key = newKey();
+        StockIdempotencyStore otherInstance = new StockIdempotencyStore(
+                stockIdempotencyRepository, transactionTemplate, objectMapper, stockMovementProcessor, 100, 600, 24, 0);
+
+        // when: 첫 요청이 키를 선점하고 처리하는 동안 같은 키로 다시 요청
+        StockMovementResultDto first = otherInstance.execute(key, outbound(6), MOVEMENT_RESULT, () -> {
+            assertThatThrownBy(() -> stockService.outbound(product.getId(), 6, key))
+                    .isInstanceOf(ConflictException.class)
+                    .hasMessage("같은 Idempotency-Key의 요청을 처리하고 있습니다. 잠시 후 다시 시도하세요.");
+            return stockMovementProcessor.process(outbound(6));
+        });
+
+        // then
+        assertThat(first.getCurrentQuantity()).isEqualTo(9);
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(9);
+        assertThat(stockService.outbound(product.getId(), 6, key)).isEqualTo(first.isBelowSafetyStock());
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 선점한 키를 지워 같은 키로 다시 시도할 수 있다.")
+    void failed_request_releases_claim() {
+        // given
+        String key = newKey();
+        assertThatThrownBy(() -> stockService.outbound(product.getId(), 3, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족합니다.");
+        assertThat(stockIdempotencyRepository.findByKey(key)).isEmpty();
+        stockService.inbound(product.getId(), 5);
+
+        // when
+        stockService.outbound(product.getId(), 3, key);
+
+        // then
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(2);
+        assertThat(stockIdempotencyRepository.findByKey(key)).hasValueSatisfying(stored -> assertThat(stored.getResponse()).isNotNull());
+    }
+
+    private StockMovementDto outbound(int quantity) {
+        return StockMovementDto.builder()
+                .productId(product.getId())
+                .warehouseId(Stock.DEFAULT_WAREHOUSE_ID)
+                .eventType(StockEventType.OUTBOUND)
+                .quantity(quantity)
+                .build();
+    }
+
+    private String newKey() {
+        String key = UUID.randomUUID().toString();
+        keysToDelete.add(key);
+        return key;
+    }
+}
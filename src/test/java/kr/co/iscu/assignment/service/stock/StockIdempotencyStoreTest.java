@@ -0,0 +1,194 @@
+package kr.co.iscu.assignment.service.stock;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockIdempotencyRepository;
+import kr.co.iscu.assignment.repository.stock.StockOutboxRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import kr.co.iscu.assignment.service.stock.movement.StockMovementProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Idempotency-Key 중복 요청 테스트.
+ * 키는 커밋된 뒤에 메모리 캐시에 들어가므로 클래스 단위 @Transactional을 사용하지 않고 직접 정리합니다.
+ */
+@SpringBootTest(properties = "inventory.stock.outbox.dispatcher-enabled=false")
+class StockIdempotencyStoreTest {
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockIdempotencyRepository stockIdempotencyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StockMovementProcessor stockMovementProcessor;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private StockOutboxRepository stockOutboxRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<String> keysToDelete = new ArrayList<>();
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder().name("중복 요청 테스트 상품").category("테스트").unitPrice(BigDecimal.ONE).safetyStock(10).build();
+        productRepository.insert(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keysToDelete.forEach(stockIdempotencyRepository::deleteByKey);
+        stockOutboxRepository.deleteByProductId(product.getId());
+        stockHistoryRepository.deleteByProductId(product.getId());
+        stockHistoryDailyRepository.deleteByProductId(product.getId());
+        stockRepository.deleteByProductId(product.getId());
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 출고하면 다시 출고하지 않고 처음 결과를 돌려준다.")
+    void replays_outbound() {
+        // given
+        stockService.inbound(product.getId(), 15, newKey());
+        String key = newKey();
+
+        // when
+        boolean first = stockService.outbound(product.getId(), 6, key);
+        boolean retried = stockService.outbound(product.getId(), 6, key);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(retried).isEqualTo(first);
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(9);
+        assertThat(stockHistoryRepository.findByProductId(product.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("메모리에 없는 키(다른 인스턴스에서 처리)는 DB의 기본 키 중복으로 확인하고, 방금 실행한 입고를 되돌린다.")
+    void replays_from_database_when_not_in_memory() {
+        // given
+        String key = newKey();
+        stockService.processMovements(List.of(inbound(5), inbound(7)), key);
+        StockIdempotencyStore otherInstance = new StockIdempotencyStore(
+                stockIdempotencyRepository, transactionTemplate, objectMapper, stockMovementProcessor, 100, 600, 24, 0);
+
+        // when
+        List<StockMovementResultDto> replayed = otherInstance.execute(key, List.of(inbound(5), inbound(7)),
+                new TypeReference<List<StockMovementResultDto>>() {
+                },
+                () -> stockService.processMovements(List.of(inbound(5), inbound(7))));
+
+        // then
+        assertThat(replayed).extracting(StockMovementResultDto::getCurrentQuantity).containsExactly(5, 12);
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(12);
+        assertThat(stockHistoryRepository.findByProductId(product.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("메모리에 없는 키로 다시 출고했다가 재고 부족으로 실패해도 처음 결과를 돌려준다.")
+    void replays_from_database_when_retry_fails() {
+        // given: 처음 출고가 재고를 모두 출고
+        stockService.inbound(product.getId(), 6);
+        String key = newKey();
+        boolean first = stockService.outbound(product.getId(), 6, key);
+        StockIdempotencyStore otherInstance = new StockIdempotencyStore(
+                stockIdempotencyRepository, transactionTemplate, objectMapper, stockMovementProcessor, 100, 600, 24, 0);
+
+        // when
+        StockMovementResultDto replayed = otherInstance.execute(key, outbound(6), new TypeReference<StockMovementResultDto>() {
+        }, () -> stockMovementProcessor.process(outbound(6)));
+
+        // then
+        assertThat(replayed.isBelowSafetyStock()).isEqualTo(first);
+        assertThat(replayed.getCurrentQuantity()).isZero();
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 예외가 발생한다.")
+    void rejects_different_request_with_same_key() {
+        // given
+        String key = newKey();
+        stockService.inbound(product.getId(), 5, key);
+
+        // when, then
+        assertThatThrownBy(() -> stockService.inbound(product.getId(), 6, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("같은 Idempotency-Key로 다른 요청이 이미 처리되었습니다.");
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 키를 남기지 않아 같은 키로 다시 시도할 수 있다.")
+    void failed_request_can_be_retried() {
+        // given
+        String key = newKey();
+        assertThatThrownBy(() -> stockService.outbound(product.getId(), 3, key))
+                .isInstanceOf(IllegalArgumentException.class);
+        stockService.inbound(product.getId(), 5);
+
+        // when
+        stockService.outbound(product.getId(), 3, key);
+
+        // then
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(2);
+        assertThat(stockIdempotencyRepository.findByKey(key)).isPresent();
+    }
+
+    private StockMovementDto outbound(int quantity) {
+        return StockMovementDto.builder().productId(product.getId()).warehouseId(Stock.DEFAULT_WAREHOUSE_ID)
+                .eventType(StockEventType.OUTBOUND).quantity(quantity).build();
+    }
+
+    private StockMovementDto inbound(int quantity) {
+        return StockMovementDto.builder().productId(product.getId()).eventType(StockEventType.INBOUND).quantity(quantity).build();
+    }
+
+    private String newKey() {
+        String key = UUID.randomUUID().toString();
+        keysToDelete.add(key);
+        return key;
+    }
+}
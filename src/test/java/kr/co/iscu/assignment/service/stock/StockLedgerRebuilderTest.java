@@ -0,0 +1,170 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockSnapshot;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockOutboxRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.repository.stock.StockSnapshotRepository;
+import kr.co.iscu.assignment.service.stock.dto.StockLedgerRebuildResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재고 원장 스냅샷·재계산 테스트.
+ * 재계산은 범위마다 별도 스레드의 트랜잭션에서 실행되므로 클래스 단위 @Transactional을 사용하지 않고 직접 정리합니다.
+ */
+@SpringBootTest(properties = "inventory.stock.outbox.dispatcher-enabled=false")
+class StockLedgerRebuilderTest {
+
+    @Autowired
+    private StockLedgerRebuilder stockLedgerRebuilder;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private StockOutboxRepository stockOutboxRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockStatusReadModel stockStatusReadModel;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> productIdsToDelete = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        productIdsToDelete.forEach(productId -> {
+            stockSnapshotRepository.deleteByProductId(productId);
+            stockOutboxRepository.deleteByProductId(productId);
+            stockHistoryRepository.deleteByProductId(productId);
+            stockHistoryDailyRepository.deleteByProductId(productId);
+            stockRepository.deleteByProductId(productId);
+            productRepository.deleteById(productId);
+        });
+        productIdsToDelete.clear();
+    }
+
+    @Test
+    @DisplayName("스냅샷은 마지막 스냅샷 이후 이력만 더해 갱신된다.")
+    void snapshot_folds_tail() {
+        // given
+        Product product = createProduct();
+        stockService.inbound(product.getId(), 30);
+        stockService.outbound(product.getId(), 10);
+
+        // when
+        stockLedgerRebuilder.snapshot();
+        stockService.inbound(product.getId(), 5);
+        stockLedgerRebuilder.snapshot();
+
+        // then
+        List<StockSnapshot> snapshots = stockSnapshotRepository.findAllByProductId(product.getId());
+        assertThat(snapshots).hasSize(1);
+        StockSnapshot snapshot = snapshots.get(0);
+        Long lastHistoryId = stockHistoryRepository.findByProductId(product.getId()).get(0).getHistoryId();
+        assertThat(snapshot.getQuantity()).isEqualTo(25);
+        assertThat(snapshot.getLastHistoryId()).isEqualTo(lastHistoryId);
+    }
+
+    @Test
+    @DisplayName("재고 수량이 원장과 다르면 스냅샷과 이후 이력으로 다시 계산하여 고친다.")
+    void rebuild_corrects_drift() {
+        // given
+        Product drifted = createProduct();
+        Product consistent = createProduct();
+        Product withoutHistory = createProduct();
+        stockService.inbound(drifted.getId(), 30);
+        stockService.inbound(consistent.getId(), 7);
+        stockLedgerRebuilder.snapshot();
+        stockService.outbound(drifted.getId(), 10);
+        stockRepository.save(new Stock(drifted.getId(), 999));
+        stockRepository.save(new Stock(withoutHistory.getId(), 3));
+
+        // when
+        StockLedgerRebuildResultDto result = stockLedgerRebuilder.rebuild();
+
+        // then
+        assertThat(quantityOf(drifted)).isEqualTo(20);
+        assertThat(quantityOf(consistent)).isEqualTo(7);
+        assertThat(quantityOf(withoutHistory)).isZero();
+        assertThat(result.getCorrectedProducts()).isGreaterThanOrEqualTo(2);
+        assertThat(result.getRanges()).isPositive();
+    }
+
+    @Test
+    @DisplayName("스냅샷이 없어도 전체 이력으로 재고 수량을 다시 계산한다.")
+    void rebuild_without_snapshot() {
+        // given
+        Product product = createProduct();
+        stockHistoryRepository.saveAll(List.of(
+                StockHistory.builder().productId(product.getId()).eventType(StockEventType.INBOUND).quantity(12).build(),
+                StockHistory.builder().productId(product.getId()).eventType(StockEventType.OUTBOUND).quantity(4).build()));
+
+        // when
+        stockLedgerRebuilder.rebuild();
+
+        // then
+        assertThat(quantityOf(product)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("메모리 재고를 기준으로 커밋하는 처리 방식에서는 재계산하지 않는다.")
+    void rejects_rebuild_outside_transactional_mode() {
+        // given
+        StockLedgerRebuilder sharded = new StockLedgerRebuilder(stockSnapshotRepository, stockRepository, stockStatusReadModel,
+                transactionManager, 1000, 1, 0, false, "sharded");
+
+        // when, then
+        assertThatThrownBy(sharded::rebuild)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("재고 수량 재계산은 transactional 처리 방식에서만 사용할 수 있습니다.");
+        assertThatThrownBy(() -> new StockLedgerRebuilder(stockSnapshotRepository, stockRepository, stockStatusReadModel,
+                transactionManager, 1000, 1, 0, true, "wal"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int quantityOf(Product product) {
+        return stockRepository.findByProductId(product.getId()).map(Stock::getQuantity).orElse(0);
+    }
+
+    private Product createProduct() {
+        Product created = Product.builder().name("원장 테스트 상품").category("테스트").unitPrice(BigDecimal.ONE).safetyStock(0).build();
+        productRepository.insert(created);
+        productIdsToDelete.add(created.getId());
+        return created;
+    }
+}
@@ -0,0 +1,188 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 입출고 스트레스 테스트.
+ * <p>
+ * 여러 스레드가 같은 상품을 동시에 입출고해도 갱신 손실(lost update)이 없는지 검증합니다.
+ * 기존 조회-수정-저장(read-modify-write) 방식과의 처리량 비교는 장비에 따라 결과가 달라 검증하지 않고 로그로만 남기므로,
+ * {@code -Dbenchmark=true}를 지정한 경우에만 실행합니다.
+ * 스레드마다 별도 트랜잭션이 필요하므로 클래스 단위 @Transactional을 사용하지 않고 직접 정리합니다.
+ */
+@Slf4j
+@SpringBootTest
+class StockServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> productIdsToDelete = new ArrayList<>();
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = createProduct("동시성 테스트 상품");
+    }
+
+    @AfterEach
+    void tearDown() {
+        productIdsToDelete.forEach(productId -> {
+            stockHistoryRepository.deleteByProductId(productId);
+            stockHistoryDailyRepository.deleteByProductId(productId);
+            stockRepository.deleteByProductId(productId);
+            productRepository.deleteById(productId);
+        });
+        productIdsToDelete.clear();
+    }
+
+    @Test
+    @DisplayName("동시에 입고해도 갱신 손실 없이 모든 수량이 반영된다.")
+    void concurrent_inbound_has_no_lost_updates() throws InterruptedException {
+        // when
+        runConcurrently(() -> stockService.inbound(product.getId(), 1));
+
+        // then
+        int expected = THREADS * OPERATIONS_PER_THREAD;
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(expected);
+        assertThat(stockHistoryRepository.findByProductId(product.getId())).hasSize(expected);
+    }
+
+    @Test
+    @DisplayName("동시에 출고해도 재고보다 많이 출고되지 않는다.")
+    void concurrent_outbound_never_oversells() throws InterruptedException {
+        // given
+        int initialQuantity = THREADS * OPERATIONS_PER_THREAD / 2;
+        stockService.inbound(product.getId(), initialQuantity);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        runConcurrently(() -> {
+            try {
+                stockService.outbound(product.getId(), 1);
+                succeeded.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // then
+        assertThat(succeeded.get()).isEqualTo(initialQuantity);
+        assertThat(rejected.get()).isEqualTo(THREADS * OPERATIONS_PER_THREAD - initialQuantity);
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isZero();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("조건부 UPDATE 방식과 조회-수정-저장 방식의 처리량과 갱신 손실을 비교한다.")
+    void compare_with_read_modify_write() throws InterruptedException {
+        // given
+        Product legacyProduct = createProduct("조회-수정-저장 비교 상품");
+        stockRepository.save(new Stock(legacyProduct.getId(), 0));
+        stockService.inbound(product.getId(), 1);
+
+        // when
+        long legacyNanos = runConcurrently(() -> transactionTemplate.executeWithoutResult(status -> {
+            Stock stock = stockRepository.findByProductIdAndWarehouseId(legacyProduct.getId(), Stock.DEFAULT_WAREHOUSE_ID).orElseThrow();
+            stock.setQuantity(stock.getQuantity() + 1);
+            stockRepository.save(stock);
+        }));
+        long conditionalNanos = runConcurrently(() -> stockService.inbound(product.getId(), 1));
+
+        // then
+        int expected = THREADS * OPERATIONS_PER_THREAD;
+        int legacyQuantity = stockRepository.findByProductId(legacyProduct.getId()).orElseThrow().getQuantity();
+        int conditionalQuantity = stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity() - 1;
+
+        logThroughput("read-modify-write", legacyNanos);
+        logThroughput("conditional update", conditionalNanos);
+        log.info("lost updates: read-modify-write={}, conditional update={}", expected - legacyQuantity, expected - conditionalQuantity);
+
+        assertThat(conditionalQuantity).isEqualTo(expected);
+    }
+
+    private Product createProduct(String name) {
+        Product created = Product.builder().name(name).category("테스트").unitPrice(BigDecimal.ONE).safetyStock(0).build();
+        productRepository.insert(created);
+        productIdsToDelete.add(created.getId());
+        return created;
+    }
+
+    private long runConcurrently(Runnable operation) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                        operation.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - startedAt;
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private void logThroughput(String label, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("{}: {} ops in {} s ({} ops/s)", label, THREADS * OPERATIONS_PER_THREAD,
+                String.format("%.3f", seconds), String.format("%.1f", THREADS * OPERATIONS_PER_THREAD / seconds));
+    }
+}
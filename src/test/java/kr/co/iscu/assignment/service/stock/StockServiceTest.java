@@ -5,10 +5,16 @@ import kr.co.iscu.assignment.domain.product.Product;
 import kr.co.iscu.assignment.domain.stock.Stock;
 import kr.co.iscu.assignment.domain.stock.StockEventType;
 import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockOutboxEvent;
 import kr.co.iscu.assignment.repository.product.ProductRepository;
 import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockOutboxRepository;
 import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.stock.dto.StockHistoryPageDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
 import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusPageDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,11 +25,14 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
-@SpringBootTest
+// 테스트마다 롤백하므로 커밋 후에 갱신되는 읽기 모델을 끄고 DB 조회 경로를 검증한다. (읽기 모델은 StockStatusReadModelTest)
+@SpringBootTest(properties = "inventory.stock.read-model.enabled=false")
 @Transactional
 class StockServiceTest {
 
@@ -36,6 +45,9 @@ class StockServiceTest {
     @Autowired
     private StockHistoryRepository stockHistoryRepository;
 
+    @Autowired
+    private StockOutboxRepository stockOutboxRepository;
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -98,6 +110,19 @@ class StockServiceTest {
         assertThat(histories.get(0).getEventType()).isEqualTo(StockEventType.OUTBOUND);
     }
 
+    @Test
+    @DisplayName("입고/출고 이력과 같은 트랜잭션에서 아웃박스 이벤트가 발생 순서대로 기록된다.")
+    void movements_are_written_to_outbox() {
+        // when
+        stockService.inbound(product1.getId(), 30);
+        stockService.outbound(product1.getId(), 10);
+
+        // then
+        List<StockOutboxEvent> events = stockOutboxRepository.findByProductId(product1.getId());
+        assertThat(events).extracting(StockOutboxEvent::getEventType, StockOutboxEvent::getQuantity)
+                .containsExactly(tuple(StockEventType.INBOUND, 30), tuple(StockEventType.OUTBOUND, 10));
+    }
+
     @Test
     @DisplayName("출고 후 재고가 안전 재고 미만이 되면 true를 반환한다.")
     void outbound_and_below_safety_stock() {
@@ -141,6 +166,38 @@ class StockServiceTest {
                 .hasMessage("존재하지 않는 상품입니다.");
     }
 
+    @Test
+    @DisplayName("재고 이력을 페이지 단위로 조회하고 next 토큰으로 다음 페이지를 이어서 조회한다.")
+    void getStockHistories_with_cursor() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            stockService.inbound(product1.getId(), i);
+        }
+
+        // when
+        StockHistoryPageDto firstPage = stockService.getStockHistories(product1.getId(), null, 3);
+        StockHistoryPageDto lastPage = stockService.getStockHistories(product1.getId(), firstPage.getNext(), 3);
+
+        // then
+        assertThat(firstPage.getContent()).hasSize(3);
+        assertThat(firstPage.getNext()).isNotNull();
+        assertThat(lastPage.getContent()).hasSize(2);
+        assertThat(lastPage.getNext()).isNull();
+        assertThat(lastPage.getContent()).extracting(StockHistory::getHistoryId)
+                .doesNotContainAnyElementsOf(firstPage.getContent().stream().map(StockHistory::getHistoryId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("잘못된 커서나 0 이하의 페이지 크기로 이력을 조회하면 예외가 발생한다.")
+    void getStockHistories_with_invalid_parameters() {
+        assertThatThrownBy(() -> stockService.getStockHistories(product1.getId(), "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다.");
+        assertThatThrownBy(() -> stockService.getStockHistories(product1.getId(), null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("페이지 크기는 0보다 커야 합니다.");
+    }
+
     @Test
     @DisplayName("전체 상품의 재고 현황을 올바르게 조회한다.")
     void getStockStatusList() {
@@ -179,6 +236,36 @@ class StockServiceTest {
         assertThat(belowList.get(0).getCurrentQuantity()).isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("재고 현황을 카테고리와 안전재고 미만 조건으로 거르고, 정렬하여 페이지 단위로 조회한다.")
+    void getStockStatusPage() {
+        // given
+        Product product3 = Product.builder().name("테스트 상품 3").category("다른 카테고리").unitPrice(new BigDecimal("3000")).safetyStock(50).build();
+        productRepository.insert(product3);
+        stockService.inbound(product1.getId(), 100); // 재고 100, 안전재고 10
+        stockService.inbound(product2.getId(), 3);   // 재고 3, 안전재고 5
+        stockService.inbound(product3.getId(), 1);   // 재고 1, 안전재고 50
+
+        // when
+        StockStatusPageDto firstPage = stockService.getStockStatusPage(0, 1, "currentQuantity,desc", "테스트", false);
+        StockStatusPageDto secondPage = stockService.getStockStatusPage(1, 1, "currentQuantity,desc", "테스트", false);
+        StockStatusPageDto belowPage = stockService.getStockStatusPage(null, null, null, "테스트", true);
+
+        // then
+        assertThat(firstPage.getContent()).extracting(StockStatusDto::getProductId).containsExactly(product1.getId());
+        assertThat(firstPage.isHasNext()).isTrue();
+        assertThat(secondPage.getContent()).extracting(StockStatusDto::getProductId).containsExactly(product2.getId());
+        assertThat(secondPage.isHasNext()).isFalse();
+        assertThat(belowPage.getContent()).extracting(StockStatusDto::getProductId).containsExactly(product2.getId());
+    }
+
+    @Test
+    @DisplayName("정렬할 수 없는 필드로 재고 현황을 조회하면 예외가 발생한다.")
+    void getStockStatusPage_with_invalid_sort() {
+        assertThatThrownBy(() -> stockService.getStockStatusPage(0, 10, "quantity; DROP TABLE stock", null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @DisplayName("특정 기간 동안의 재고 통계 및 회전율을 정확히 계산한다.")
     void getInventoryStatistics() {
@@ -220,4 +307,108 @@ class StockServiceTest {
         assertThat(stats.getCurrentQuantity()).isZero();
         assertThat(stats.getTurnoverRate()).isZero();
     }
+
+    @Test
+    @DisplayName("여러 건의 입출고를 일괄 처리하고 건별 결과를 요청 순서대로 반환한다.")
+    void processMovements() {
+        // given
+        List<StockMovementDto> movements = List.of(
+                StockMovementDto.builder().productId(product1.getId()).eventType(StockEventType.INBOUND).quantity(20).build(),
+                StockMovementDto.builder().productId(product1.getId()).eventType(StockEventType.OUTBOUND).quantity(15).build(),
+                StockMovementDto.builder().productId(product1.getId()).eventType(StockEventType.OUTBOUND).quantity(10).build(), // 재고 부족
+                StockMovementDto.builder().productId(9999L).eventType(StockEventType.INBOUND).quantity(5).build(),           // 없는 상품
+                StockMovementDto.builder().productId(product2.getId()).eventType(StockEventType.INBOUND).quantity(7).build()
+        );
+
+        // when
+        List<StockMovementResultDto> results = stockService.processMovements(movements);
+
+        // then
+        assertThat(results).hasSize(5);
+        assertThat(results).extracting(StockMovementResultDto::isSuccess).containsExactly(true, true, false, false, true);
+        assertThat(results.get(1).getCurrentQuantity()).isEqualTo(5);
+        assertThat(results.get(1).isBelowSafetyStock()).isTrue(); // 5 < 10
+        assertThat(results.get(2).getMessage()).isEqualTo("재고가 부족합니다.");
+        assertThat(results.get(3).getMessage()).isEqualTo("존재하지 않는 상품입니다.");
+
+        assertThat(stockRepository.findByProductId(product1.getId()).orElseThrow().getQuantity()).isEqualTo(5);
+        assertThat(stockRepository.findByProductId(product2.getId()).orElseThrow().getQuantity()).isEqualTo(7);
+        assertThat(stockHistoryRepository.findByProductId(product1.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("창고별로 재고를 따로 관리하고, 재고 현황과 통계는 모든 창고를 합산한다.")
+    void inbound_and_outbound_per_warehouse() {
+        // given
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        stockService.inbound(product1.getId(), 1L, 30, null);
+        stockService.inbound(product1.getId(), 2L, 5, null);
+
+        // when
+        stockService.outbound(product1.getId(), 2L, 3, null);
+
+        // then
+        assertThatThrownBy(() -> stockService.outbound(product1.getId(), 2L, 10, null)) // 다른 창고 재고는 쓰지 않는다.
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족합니다.");
+        assertThat(stockRepository.findAllByProductId(product1.getId()))
+                .extracting(Stock::getWarehouseId, Stock::getQuantity)
+                .containsExactly(tuple(1L, 30), tuple(2L, 2));
+        assertThat(stockRepository.findByProductId(product1.getId()).orElseThrow().getQuantity()).isEqualTo(32);
+        assertThat(stockHistoryRepository.findByProductId(product1.getId()))
+                .extracting(StockHistory::getWarehouseId)
+                .containsExactlyInAnyOrder(1L, 2L, 2L);
+
+        StockStatusDto status = stockService.getStockStatusList().stream()
+                .filter(s -> s.getProductId().equals(product1.getId())).findFirst().orElseThrow();
+        assertThat(status.getCurrentQuantity()).isEqualTo(32);
+
+        InventoryStatistics stats = stockService.getInventoryStatistics(product1.getId(), start, LocalDateTime.now().plusDays(1));
+        assertThat(stats.getTotalInbound()).isEqualTo(35);
+        assertThat(stats.getTotalOutbound()).isEqualTo(3);
+        assertThat(stats.getCurrentQuantity()).isEqualTo(32);
+    }
+
+    @Test
+    @DisplayName("안전재고 미만 여부는 재고 현황과 같이 모든 창고를 합한 상품 재고로 판단한다.")
+    void below_safety_stock_uses_product_total() {
+        // given
+        stockService.inbound(product1.getId(), 1L, 8, null);
+        stockService.inbound(product1.getId(), 2L, 6, null);
+
+        // when
+        boolean isBelowSafety = stockService.outbound(product1.getId(), 2L, 3, null); // 창고 2: 3, 합계: 11
+        List<StockMovementResultDto> results = stockService.processMovements(List.of(
+                StockMovementDto.builder().productId(product1.getId()).warehouseId(1L).eventType(StockEventType.OUTBOUND).quantity(2).build(),
+                StockMovementDto.builder().productId(product1.getId()).warehouseId(2L).eventType(StockEventType.INBOUND).quantity(4).build()));
+
+        // then
+        assertThat(isBelowSafety).isFalse(); // 11 > 10
+        assertThat(results).extracting(StockMovementResultDto::getCurrentQuantity).containsExactly(6, 7);
+        assertThat(results).extracting(StockMovementResultDto::getProductQuantity).containsExactly(9, 13);
+        assertThat(results).extracting(StockMovementResultDto::isBelowSafetyStock).containsExactly(true, false);
+        assertThat(results).allMatch(StockMovementResultDto::crossesSafetyStock);
+        assertThat(stockService.getProductsBelowSafetyStock())
+                .extracting(StockStatusDto::getProductId)
+                .doesNotContain(product1.getId());
+    }
+
+    @Test
+    @DisplayName("올바르지 않은 창고 ID로 일괄 처리하면 해당 건만 거절된다.")
+    void processMovements_with_invalid_warehouse() {
+        // given
+        List<StockMovementDto> movements = List.of(
+                StockMovementDto.builder().productId(product1.getId()).warehouseId(0L).eventType(StockEventType.INBOUND).quantity(5).build(),
+                StockMovementDto.builder().productId(product1.getId()).warehouseId(3L).eventType(StockEventType.INBOUND).quantity(7).build()
+        );
+
+        // when
+        List<StockMovementResultDto> results = stockService.processMovements(movements);
+
+        // then
+        assertThat(results).extracting(StockMovementResultDto::isSuccess).containsExactly(false, true);
+        assertThat(results.get(0).getMessage()).isEqualTo("창고 ID가 올바르지 않습니다.");
+        assertThat(results.get(1).getWarehouseId()).isEqualTo(3L);
+        assertThat(results.get(1).getCurrentQuantity()).isEqualTo(7);
+    }
 }
@@ -0,0 +1,132 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.product.ProductService;
+import kr.co.iscu.assignment.service.product.dto.ProductCreateDto;
+import kr.co.iscu.assignment.service.product.dto.ProductUpdateDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusCondition;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 외부 DB 없이 부하 테스트용 H2 설정을 빌려 스냅샷 복원 후의 읽기 모델이 DB와 같은지 확인한다. (부하 테스트와 겹치지 않도록 DB 이름만 바꾼다)
+// 스냅샷 이후 변경만 다시 읽는지 보려고 재확인 범위는 0으로 두고, 종료 시 스냅샷을 쓸 수 있도록 JVM 종료 훅이 DB를 먼저 닫지 않게 한다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshot;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "inventory.stock.read-model.snapshot.enabled=true",
+        "inventory.stock.read-model.snapshot.interval-seconds=0",
+        "inventory.stock.read-model.snapshot.reconcile-history-margin=0",
+        "inventory.stock.read-model.snapshot.reconcile-margin-seconds=0"
+})
+@ActiveProfiles("loadtest")
+class StockStatusReadModelSnapshotTest {
+
+    @TempDir
+    static Path snapshotDirectory;
+
+    @DynamicPropertySource
+    static void snapshotPath(DynamicPropertyRegistry registry) {
+        registry.add("inventory.stock.read-model.snapshot.path", () -> snapshotDirectory.resolve("stock-status.snapshot").toString());
+    }
+
+    @Autowired
+    private StockStatusReadModel stockStatusReadModel;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @AfterEach
+    void tearDown() {
+        stockStatusReadModel.reload();
+    }
+
+    @Test
+    @DisplayName("스냅샷을 매핑해 채우고, 스냅샷 이후 입고/출고와 상품 등록·수정만 DB에서 다시 읽는다.")
+    void restores_and_reconciles_changes() {
+        // given
+        Product untouched = createProduct("그대로인 상품", 5);
+        Product moved = createProduct("입고할 상품", 5);
+        Product updated = createProduct("수정할 상품", 5);
+        stockService.inbound(untouched.getId(), 10);
+        stockService.inbound(updated.getId(), 10);
+        stockStatusReadModel.writeSnapshot();
+
+        stockService.inbound(moved.getId(), 3);
+        productService.updateProduct(updated.getId(), ProductUpdateDto.builder()
+                .name("수정한 상품").category("스냅샷").unitPrice(BigDecimal.TEN).safetyStock(20).build());
+        Product created = createProduct("스냅샷 이후 상품", 1);
+        // 이력 없이 바뀐 행은 다시 읽지 않으므로, 복원한 값이 스냅샷에서 왔는지 확인할 수 있다.
+        stockRepository.save(new Stock(untouched.getId(), Stock.DEFAULT_WAREHOUSE_ID, 999));
+
+        // when
+        boolean restored = stockStatusReadModel.restoreFromSnapshot();
+
+        // then
+        assertThat(restored).isTrue();
+        assertThat(find(untouched.getId()).getCurrentQuantity()).isEqualTo(10);
+        assertThat(find(moved.getId()).getCurrentQuantity()).isEqualTo(3);
+        assertThat(find(updated.getId())).extracting(StockStatusDto::getName, StockStatusDto::getSafetyStock, StockStatusDto::isBelowSafetyStock)
+                .containsExactly("수정한 상품", 20, true);
+        assertThat(find(created.getId()).getCurrentQuantity()).isZero();
+        assertThat(stockStatusReadModel.findBelowSafetyStock()).extracting(StockStatusDto::getProductId)
+                .contains(moved.getId(), updated.getId(), created.getId())
+                .doesNotContain(untouched.getId());
+        assertThat(stockStatusReadModel.findAll()).hasSameSizeAs(stockRepository.findStatuses(StockStatusCondition.builder().build()));
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후 삭제된 상품이 있거나 스냅샷이 손상되었으면 복원하지 않는다.")
+    void falls_back_to_full_reload() throws IOException {
+        // given
+        Product deleted = createProduct("삭제할 상품", 0);
+        stockStatusReadModel.writeSnapshot();
+        productService.deleteProduct(deleted.getId());
+
+        // when, then
+        assertThat(stockStatusReadModel.restoreFromSnapshot()).isFalse();
+
+        // given
+        stockStatusReadModel.writeSnapshot();
+        Path path = snapshotDirectory.resolve("stock-status.snapshot");
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(path, bytes);
+
+        // when, then
+        assertThat(stockStatusReadModel.restoreFromSnapshot()).isFalse();
+    }
+
+    private Product createProduct(String name, int safetyStock) {
+        return productService.createProduct(ProductCreateDto.builder()
+                .name(name).category("스냅샷").unitPrice(BigDecimal.ONE).safetyStock(safetyStock).build());
+    }
+
+    private StockStatusDto find(Long productId) {
+        return stockStatusReadModel.findAll().stream()
+                .filter(status -> status.getProductId().equals(productId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
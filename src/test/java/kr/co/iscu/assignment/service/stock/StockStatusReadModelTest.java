@@ -0,0 +1,211 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.product.ProductService;
+import kr.co.iscu.assignment.service.product.dto.ProductCreateDto;
+import kr.co.iscu.assignment.service.product.dto.ProductUpdateDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusCondition;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 현황 읽기 모델 테스트.
+ * <p>
+ * 읽기 모델은 트랜잭션이 커밋된 뒤에 갱신되므로 클래스 단위 @Transactional을 사용하지 않고 직접 정리합니다.
+ */
+@SpringBootTest
+class StockStatusReadModelTest {
+
+    @Autowired
+    private StockStatusReadModel stockStatusReadModel;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<Long> productIdsToDelete = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        productIdsToDelete.forEach(productId -> {
+            stockHistoryRepository.deleteByProductId(productId);
+            stockHistoryDailyRepository.deleteByProductId(productId);
+            stockRepository.deleteByProductId(productId);
+            productRepository.deleteById(productId);
+        });
+        productIdsToDelete.clear();
+        stockStatusReadModel.reload();
+    }
+
+    @Test
+    @DisplayName("상품 등록과 입고/출고가 커밋되면 읽기 모델과 안전재고 미만 인덱스가 갱신된다.")
+    void applies_committed_changes() {
+        // given
+        Product product = createProduct(10);
+
+        // then: 재고 0 < 안전재고 10
+        assertThat(find(product.getId())).map(StockStatusDto::getCurrentQuantity).contains(0);
+        assertThat(belowSafetyIds()).contains(product.getId());
+
+        // when
+        stockService.inbound(product.getId(), 30);
+        stockService.outbound(product.getId(), 5);
+
+        // then
+        assertThat(find(product.getId())).map(StockStatusDto::getCurrentQuantity).contains(25);
+        assertThat(belowSafetyIds()).doesNotContain(product.getId());
+    }
+
+    @Test
+    @DisplayName("한 건 입고/출고의 안전재고 미만 여부는 읽기 모델의 상품 합계에 증감량을 더해 판단한다.")
+    void single_movement_uses_read_model_total() {
+        // given
+        Product product = createProduct(10);
+        stockService.inbound(product.getId(), 1L, 8, null);
+        stockService.inbound(product.getId(), 2L, 6, null);
+
+        // when
+        boolean aboveSafety = stockService.outbound(product.getId(), 2L, 3, null); // 합계: 11
+        boolean belowSafety = stockService.outbound(product.getId(), 1L, 2, null); // 합계: 9
+
+        // then
+        assertThat(aboveSafety).isFalse();
+        assertThat(belowSafety).isTrue();
+        assertThat(find(product.getId())).map(StockStatusDto::getCurrentQuantity).contains(9);
+    }
+
+    @Test
+    @DisplayName("상품의 안전재고를 수정하면 안전재고 미만 인덱스가 갱신되고, 삭제하면 읽기 모델에서 제거된다.")
+    void applies_product_update_and_delete() {
+        // given
+        Product product = createProduct(0);
+        assertThat(belowSafetyIds()).doesNotContain(product.getId());
+
+        // when
+        productService.updateProduct(product.getId(), ProductUpdateDto.builder()
+                .name("수정된 상품").category("테스트").unitPrice(BigDecimal.ONE).safetyStock(5).build());
+
+        // then
+        assertThat(find(product.getId())).map(StockStatusDto::getName).contains("수정된 상품");
+        assertThat(belowSafetyIds()).contains(product.getId());
+
+        // when
+        productService.deleteProduct(product.getId());
+
+        // then
+        assertThat(find(product.getId())).isEmpty();
+        assertThat(belowSafetyIds()).doesNotContain(product.getId());
+    }
+
+    @Test
+    @DisplayName("조회 결과를 바꿔도 읽기 모델에는 영향이 없다.")
+    void returns_copies() {
+        // given
+        Product product = createProduct(0);
+
+        // when
+        find(product.getId()).orElseThrow().setCurrentQuantity(999);
+
+        // then
+        assertThat(find(product.getId())).map(StockStatusDto::getCurrentQuantity).contains(0);
+    }
+
+    @Test
+    @DisplayName("다시 적재하는 동안 커밋된 입고/출고와 상품 수정은 새 모델에도 반영된다.")
+    void keeps_changes_committed_during_reload() throws Exception {
+        // given: 전체 재고 현황을 DB에서 읽은 직후 멈추는 저장소
+        Product product = createProduct(10);
+        stockService.inbound(product.getId(), 30);
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        StockRepository pausing = (StockRepository) Proxy.newProxyInstance(StockRepository.class.getClassLoader(),
+                new Class<?>[]{StockRepository.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(stockRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findStatuses") && ((StockStatusCondition) args[0]).getProductId() == null) {
+                        read.countDown();
+                        assertThat(resume.await(10, TimeUnit.SECONDS)).isTrue();
+                    }
+                    return result;
+                });
+        StockStatusReadModel readModel = new StockStatusReadModel(pausing, null, true, 0, false, "", 0, 0, 0);
+
+        // when
+        CompletableFuture<Void> reload = CompletableFuture.runAsync(readModel::reload);
+        assertThat(read.await(10, TimeUnit.SECONDS)).isTrue();
+        readModel.applyMovements(List.of(StockMovementResultDto.applied(StockMovementDto.builder()
+                .productId(product.getId()).eventType(StockEventType.OUTBOUND).quantity(25).build(), 5, 5, 10)));
+        readModel.applyProduct(Product.builder().id(product.getId()).name("적재 중 수정된 상품")
+                .category("테스트").unitPrice(BigDecimal.ONE).safetyStock(10).build());
+        resume.countDown();
+        reload.get(10, TimeUnit.SECONDS);
+
+        // then
+        StockStatusDto status = readModel.findAll().stream()
+                .filter(found -> found.getProductId().equals(product.getId()))
+                .findFirst().orElseThrow();
+        assertThat(status.getCurrentQuantity()).isEqualTo(5);
+        assertThat(status.getName()).isEqualTo("적재 중 수정된 상품");
+        assertThat(readModel.findBelowSafetyStock()).extracting(StockStatusDto::getProductId).contains(product.getId());
+    }
+
+    private Product createProduct(int safetyStock) {
+        Product product = productService.createProduct(ProductCreateDto.builder()
+                .name("읽기 모델 테스트 상품").category("테스트").unitPrice(BigDecimal.ONE).safetyStock(safetyStock).build());
+        productIdsToDelete.add(product.getId());
+        return product;
+    }
+
+    private Optional<StockStatusDto> find(Long productId) {
+        return stockStatusReadModel.findAll().stream()
+                .filter(status -> status.getProductId().equals(productId))
+                .findFirst();
+    }
+
+    private List<Long> belowSafetyIds() {
+        List<Long> ids = new ArrayList<>();
+        stockStatusReadModel.findBelowSafetyStock().forEach(status -> ids.add(status.getProductId()));
+        return ids;
+    }
+}
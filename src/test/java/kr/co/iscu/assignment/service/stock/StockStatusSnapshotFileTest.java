@@ -0,0 +1,83 @@
+package kr.co.iscu.assignment.service.stock;
+
+import kr.co.iscu.assignment.domain.stock.StockStatusSnapshotVersion;
+import kr.co.iscu.assignment.service.stock.dto.StockStatusDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockStatusSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 재고 현황과 시점을 순서 그대로 다시 읽고, 없는 값은 없는 값으로 읽는다.")
+    void round_trip() throws IOException {
+        // given
+        List<StockStatusDto> statuses = List.of(
+                status(1L, "사과", "과일", new BigDecimal("1200.50"), 10, 3),
+                status(2L, "배", "과일", new BigDecimal("99999999999999999.99"), null, 0),
+                status(7L, "우유 1L", null, BigDecimal.ZERO, 0, -2),
+                status(1_000_000L, "Ω 상품", "기타", new BigDecimal("0.01"), 5, 1_000_000));
+        StockStatusSnapshotVersion version = new StockStatusSnapshotVersion(12_345L, LocalDateTime.of(2026, 10, 17, 9, 30, 0, 123_456_000));
+        Path path = directory.resolve("nested/stock-status.snapshot");
+
+        // when
+        StockStatusSnapshotFile.write(path, version, statuses);
+        StockStatusSnapshotFile file = StockStatusSnapshotFile.open(path);
+        List<StockStatusDto> read = new ArrayList<>();
+        file.forEach(read::add);
+
+        // then
+        assertThat(file.getVersion()).isEqualTo(version);
+        assertThat(file.getProductCount()).isEqualTo(4);
+        assertThat(read).containsExactlyElementsOf(statuses);
+        assertThat(path.resolveSibling("stock-status.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("내용이 바뀌었거나 중간까지만 쓴 스냅샷 파일은 열지 않는다.")
+    void rejects_corrupted_file() throws IOException {
+        // given
+        Path path = directory.resolve("stock-status.snapshot");
+        StockStatusSnapshotFile.write(path, new StockStatusSnapshotVersion(1L, LocalDateTime.of(2026, 1, 1, 0, 0)),
+                List.of(status(1L, "사과", "과일", BigDecimal.TEN, 1, 1)));
+        byte[] bytes = Files.readAllBytes(path);
+        Path flipped = directory.resolve("flipped.snapshot");
+        bytes[40] ^= 1;
+        Files.write(flipped, bytes);
+        Path truncated = directory.resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // when, then
+        assertThatThrownBy(() -> StockStatusSnapshotFile.open(flipped))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> StockStatusSnapshotFile.open(truncated))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static StockStatusDto status(Long productId, String name, String category, BigDecimal unitPrice,
+                                         Integer safetyStock, int currentQuantity) {
+        return StockStatusDto.builder()
+                .productId(productId)
+                .name(name)
+                .category(category)
+                .unitPrice(unitPrice)
+                .safetyStock(safetyStock)
+                .currentQuantity(currentQuantity)
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package kr.co.iscu.assignment.service.stock.archive;
+
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.domain.stock.StockHistoryCursor;
+import kr.co.iscu.assignment.domain.stock.StockMovementSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockHistoryArchiveFileTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 이력을 상품별로 거래일시 순서 그대로 다시 읽는다.")
+    void round_trip() throws IOException {
+        // given
+        List<StockHistory> histories = List.of(
+                history(7L, 1L, 101L, StockEventType.INBOUND, 30, MONTH.atDay(1).atStartOfDay()),
+                history(7L, 2L, 105L, StockEventType.OUTBOUND, 5, MONTH.atDay(1).atTime(9, 0, 0, 123_456_000)),
+                history(7L, 1L, 99L, StockEventType.OUTBOUND, 1_000_000, MONTH.atEndOfMonth().atTime(23, 59, 59)),
+                history(42L, 1L, 102L, StockEventType.INBOUND, 3, MONTH.atDay(15).atTime(12, 0)));
+
+        // when
+        StockHistoryArchiveFile file = write(histories);
+
+        // then
+        assertThat(file.getMonth()).isEqualTo(MONTH);
+        assertThat(file.getRowCount()).isEqualTo(4);
+        assertThat(file.getProductCount()).isEqualTo(2);
+        assertThat(file.findByProductId(7L)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(histories.subList(0, 3));
+        assertThat(file.findByProductId(42L)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(histories.get(3));
+        assertThat(file.findByProductId(8L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("기간 합계는 경계 시각을 포함해 입고/출고 수량을 나눠 더한다.")
+    void sums_quantities_between() throws IOException {
+        // given
+        StockHistoryArchiveFile file = write(List.of(
+                history(1L, 1L, 1L, StockEventType.INBOUND, 10, MONTH.atDay(2).atStartOfDay()),
+                history(1L, 1L, 2L, StockEventType.OUTBOUND, 4, MONTH.atDay(3).atStartOfDay()),
+                history(1L, 1L, 3L, StockEventType.INBOUND, 7, MONTH.atDay(4).atStartOfDay())));
+        long[] totals = new long[2];
+
+        // when
+        file.sumQuantities(1L, MONTH.atDay(2).atStartOfDay(), MONTH.atDay(3).atStartOfDay(), totals);
+
+        // then
+        assertThat(totals).containsExactly(10, 4);
+    }
+
+    @Test
+    @DisplayName("상품, 거래일시, 이력 ID 순서가 아니거나 다른 달의 이력이면 기록하지 않는다.")
+    void rejects_unordered_rows() throws IOException {
+        try (StockHistoryArchiveWriter writer = new StockHistoryArchiveWriter(directory.resolve("a.col"), MONTH)) {
+            writer.append(history(2L, 1L, 1L, StockEventType.INBOUND, 1, MONTH.atDay(2).atStartOfDay()));
+            assertThatThrownBy(() -> writer.append(history(1L, 1L, 2L, StockEventType.INBOUND, 1, MONTH.atDay(2).atStartOfDay())))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> writer.append(history(2L, 1L, 3L, StockEventType.INBOUND, 1, MONTH.atDay(1).atStartOfDay())))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> writer.append(history(3L, 1L, 4L, StockEventType.INBOUND, 1, MONTH.plusMonths(1).atDay(1).atStartOfDay())))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(directory.resolve("a.col")).doesNotExist();
+        assertThat(directory.resolve("a.col.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("보관 파일 형식이 아니면 열지 않는다.")
+    void rejects_corrupted_file() throws IOException {
+        // given
+        Path path = write(List.of(history(1L, 1L, 1L, StockEventType.INBOUND, 1, MONTH.atDay(2).atStartOfDay()))).getPath();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        // when, then
+        assertThatThrownBy(() -> StockHistoryArchiveFile.open(path))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("보관 이력은 stock_history의 페이지 뒤에 최신순으로 이어 붙고, 커서 이후부터 읽는다.")
+    void fills_page_from_archive() throws IOException {
+        // given
+        StockHistoryArchive archive = new StockHistoryArchive(true, directory.toString(), 0);
+        archive.register(write(MONTH.minusMonths(1), List.of(
+                history(1L, 1L, 1L, StockEventType.INBOUND, 1, MONTH.minusMonths(1).atDay(5).atStartOfDay()),
+                history(1L, 1L, 2L, StockEventType.INBOUND, 2, MONTH.minusMonths(1).atDay(6).atStartOfDay()))).getPath());
+        archive.register(write(MONTH, List.of(
+                history(1L, 1L, 3L, StockEventType.OUTBOUND, 3, MONTH.atDay(1).atStartOfDay()))).getPath());
+        StockHistory hot = history(1L, 1L, 4L, StockEventType.INBOUND, 4, MONTH.plusMonths(1).atDay(1).atStartOfDay());
+
+        // when
+        List<StockHistory> first = archive.fillPage(1L, null, List.of(hot), 3);
+        List<StockHistory> second = archive.fillPage(1L, StockHistoryCursor.after(first.get(2)), List.of(), 3);
+
+        // then
+        assertThat(archive.archivedBefore()).isEqualTo(MONTH.plusMonths(1).atDay(1).atStartOfDay());
+        assertThat(first).extracting(StockHistory::getHistoryId).containsExactly(4L, 3L, 2L);
+        assertThat(second).extracting(StockHistory::getHistoryId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("일별 집계로 읽은 날은 빼고 앞뒤 일부 구간의 보관 이력만 기간 합계에 더한다.")
+    void adds_archived_partial_days() throws IOException {
+        // given
+        StockHistoryArchive archive = new StockHistoryArchive(true, directory.toString(), 0);
+        archive.register(write(List.of(
+                history(1L, 1L, 1L, StockEventType.INBOUND, 10, MONTH.atDay(1).atTime(18, 0)),
+                history(1L, 1L, 2L, StockEventType.INBOUND, 100, MONTH.atDay(2).atTime(12, 0)),
+                history(1L, 1L, 3L, StockEventType.OUTBOUND, 5, MONTH.atDay(3).atTime(6, 0)))).getPath());
+        StockMovementSummary hot = StockMovementSummary.builder().totalInbound(100).totalOutbound(0).currentQuantity(8).build();
+
+        // when
+        StockMovementSummary summary = archive.withArchived(hot, 1L, MONTH.atDay(1).atTime(12, 0), MONTH.atDay(3).atTime(12, 0),
+                LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 2));
+
+        // then
+        assertThat(summary.getTotalInbound()).isEqualTo(110);
+        assertThat(summary.getTotalOutbound()).isEqualTo(5);
+        assertThat(summary.getCurrentQuantity()).isEqualTo(8);
+    }
+
+    private StockHistoryArchiveFile write(List<StockHistory> histories) throws IOException {
+        return write(MONTH, histories);
+    }
+
+    private StockHistoryArchiveFile write(YearMonth month, List<StockHistory> histories) throws IOException {
+        List<StockHistory> sorted = new ArrayList<>(histories);
+        sorted.sort(Comparator.comparing(StockHistory::getProductId)
+                .thenComparing(StockHistory::getCreatedAt)
+                .thenComparing(StockHistory::getHistoryId));
+        Path path = new StockHistoryArchive(true, directory.toString(), 0).pathOf(month);
+        try (StockHistoryArchiveWriter writer = new StockHistoryArchiveWriter(path, month)) {
+            for (StockHistory history : sorted) {
+                writer.append(history);
+            }
+            return StockHistoryArchiveFile.open(writer.finish());
+        }
+    }
+
+    private static StockHistory history(Long productId, Long warehouseId, Long historyId, StockEventType eventType,
+                                        int quantity, LocalDateTime createdAt) {
+        return StockHistory.builder()
+                .historyId(historyId)
+                .productId(productId)
+                .warehouseId(warehouseId)
+                .eventType(eventType)
+                .quantity(quantity)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package kr.co.iscu.assignment.service.stock.archive;
+
+import kr.co.iscu.assignment.domain.InventoryStatistics;
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockHistory;
+import kr.co.iscu.assignment.repository.stock.StockHistoryArchiveRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.service.product.ProductService;
+import kr.co.iscu.assignment.service.product.dto.ProductCreateDto;
+import kr.co.iscu.assignment.service.stock.StockLedgerRebuilder;
+import kr.co.iscu.assignment.service.stock.StockService;
+import kr.co.iscu.assignment.service.stock.dto.StockHistoryPageDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 외부 DB 없이 부하 테스트용 H2 설정을 빌려 보관 전후의 이력 조회와 기간 통계가 같은지 확인한다. (부하 테스트와 겹치지 않도록 DB 이름만 바꾼다)
+// 일별 집계는 입고/출고 처리에서만 쌓이므로, 지난 달 이력을 직접 넣는 이 테스트에서는 기간 통계를 원본 이력으로만 계산한다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "inventory.stock.rollup.enabled=false",
+        "inventory.stock.archive.enabled=true",
+        "inventory.stock.archive.archiver-enabled=false",
+        "inventory.stock.archive.after-months=2",
+        "inventory.stock.archive.delete-batch-size=2"
+})
+@ActiveProfiles("loadtest")
+class StockHistoryArchiverTest {
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveDirectory(DynamicPropertyRegistry registry) {
+        registry.add("inventory.stock.archive.directory", () -> archiveDirectory.toString());
+    }
+
+    @Autowired
+    private StockHistoryArchiver stockHistoryArchiver;
+
+    @Autowired
+    private StockHistoryArchive stockHistoryArchive;
+
+    @Autowired
+    private StockHistoryArchiveRepository stockHistoryArchiveRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockLedgerRebuilder stockLedgerRebuilder;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("지난 달 이력을 보관 파일로 옮긴 뒤에도 이력 페이지와 기간 통계가 보관 전과 같다.")
+    void archives_closed_months_transparently() {
+        // given
+        YearMonth current = YearMonth.now();
+        Product product = productService.createProduct(ProductCreateDto.builder()
+                .name("보관 테스트 상품").category("보관").unitPrice(BigDecimal.ONE).safetyStock(0).build());
+        for (int monthsAgo = 5; monthsAgo >= 3; monthsAgo--) {
+            LocalDateTime day = current.minusMonths(monthsAgo).atDay(10).atTime(9, 30);
+            save(product.getId(), StockEventType.INBOUND, 10 * monthsAgo, day);
+            save(product.getId(), StockEventType.OUTBOUND, monthsAgo, day);
+            save(product.getId(), StockEventType.INBOUND, 1, day.plusDays(1));
+        }
+        stockService.inbound(product.getId(), 7);
+        stockLedgerRebuilder.snapshot();
+
+        LocalDateTime start = current.minusMonths(4).atDay(10).atTime(12, 0);
+        LocalDateTime end = LocalDateTime.now().plusHours(1);
+        List<StockHistory> before = readAllPages(product.getId());
+        InventoryStatistics statisticsBefore = stockService.getInventoryStatistics(product.getId(), start, end);
+
+        // when
+        int archived = stockHistoryArchiver.archive(current);
+
+        // then
+        assertThat(archived).isEqualTo(3);
+        assertThat(stockHistoryArchive.archivedBefore()).isEqualTo(current.minusMonths(2).atDay(1).atStartOfDay());
+        assertThat(stockHistoryArchiveRepository.countBetween(
+                current.minusMonths(5).atDay(1).atStartOfDay(), current.minusMonths(2).atDay(1).atStartOfDay())).isZero();
+        assertThat(readAllPages(product.getId())).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(before)
+                .hasSize(10);
+        assertThat(stockService.getInventoryStatistics(product.getId(), start, end))
+                .usingRecursiveComparison()
+                .isEqualTo(statisticsBefore);
+        assertThat(statisticsBefore.getTotalInbound()).isEqualTo(1 + 30 + 1 + 7);
+    }
+
+    private void save(Long productId, StockEventType eventType, int quantity, LocalDateTime createdAt) {
+        stockHistoryRepository.save(StockHistory.builder()
+                .productId(productId).eventType(eventType).quantity(quantity).createdAt(createdAt).build());
+    }
+
+    private List<StockHistory> readAllPages(Long productId) {
+        List<StockHistory> histories = new ArrayList<>();
+        String cursor = null;
+        do {
+            StockHistoryPageDto page = stockService.getStockHistories(productId, cursor, 3);
+            histories.addAll(page.getContent());
+            cursor = page.getNext();
+        } while (cursor != null);
+        return histories;
+    }
+}
@@ -0,0 +1,138 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.stock.StockService;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 샤드 처리기는 자체 스레드에서 커밋하므로 테스트 트랜잭션 대신 직접 정리합니다.
+ */
+@SpringBootTest(properties = "inventory.stock.movement-mode=sharded")
+class ShardedStockMovementProcessorTest {
+
+    @Autowired
+    private ShardedStockMovementProcessor processor;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> productIdsToDelete = new ArrayList<>();
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder().name("샤드 테스트 상품").category("테스트").unitPrice(BigDecimal.ONE).safetyStock(10).build();
+        productRepository.insert(product);
+        productIdsToDelete.add(product.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productIdsToDelete.forEach(productId -> {
+            stockHistoryRepository.deleteByProductId(productId);
+            stockHistoryDailyRepository.deleteByProductId(productId);
+            stockRepository.deleteByProductId(productId);
+            productRepository.deleteById(productId);
+        });
+        productIdsToDelete.clear();
+    }
+
+    @Test
+    @DisplayName("동시에 제출된 입고가 그룹 커밋되어도 모두 반영된다.")
+    void submit_concurrently() {
+        // when
+        List<CompletableFuture<StockMovementResultDto>> futures = IntStream.range(0, 500)
+                .mapToObj(i -> processor.submit(movement(StockEventType.INBOUND, 1)))
+                .collect(Collectors.toList());
+        List<StockMovementResultDto> results = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        // then
+        assertThat(results).allMatch(StockMovementResultDto::isSuccess);
+        assertThat(results).extracting(StockMovementResultDto::getCurrentQuantity).doesNotHaveDuplicates();
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(500);
+        assertThat(stockHistoryRepository.findByProductId(product.getId())).hasSize(500);
+    }
+
+    @Test
+    @DisplayName("메모리 재고로 검증하여 재고보다 많은 출고는 거절한다.")
+    void outbound_validated_against_in_memory_quantity() {
+        // given
+        stockService.inbound(product.getId(), 15);
+
+        // when
+        boolean isBelowSafety = stockService.outbound(product.getId(), 6);
+
+        // then
+        assertThat(isBelowSafety).isTrue(); // 9 < 10
+        assertThatThrownBy(() -> stockService.outbound(product.getId(), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족합니다.");
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("종료된 처리기에 제출하면 예외를 던지지 않고 실패한 결과를 돌려준다.")
+    void submit_after_stop_returns_failed_future() throws InterruptedException {
+        // given
+        ShardedStockMovementProcessor stopped = new ShardedStockMovementProcessor(
+                productRepository, stockRepository, null, transactionManager, 1, 1);
+        stopped.start();
+        stopped.stop();
+
+        // when
+        CompletableFuture<StockMovementResultDto> future = stopped.submit(movement(StockEventType.INBOUND, 1));
+
+        // then
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> stopped.process(movement(StockEventType.INBOUND, 1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("입출고 엔진이 종료되었습니다.");
+    }
+
+    private StockMovementDto movement(StockEventType eventType, int quantity) {
+        return StockMovementDto.builder().productId(product.getId()).eventType(eventType).quantity(quantity).build();
+    }
+}
@@ -0,0 +1,186 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class StockMovementLogTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 레코드를 다시 열어 순번 이후부터 읽을 수 있다.")
+    void appendAndReadAfter() throws IOException {
+        // given
+        try (StockMovementLog log = new StockMovementLog(directory, 1024, 0)) {
+            log.append(records(1, 3));
+            log.append(records(4, 5));
+        }
+
+        // when
+        try (StockMovementLog reopened = new StockMovementLog(directory, 1024, 0)) {
+            List<StockMovementLogRecord> records = reopened.readAfter(2);
+
+            // then
+            assertThat(reopened.getLastSequence()).isEqualTo(5);
+            assertThat(records).extracting(StockMovementLogRecord::getSequence).containsExactly(3L, 4L, 5L);
+            assertThat(records.get(0)).isEqualTo(record(3));
+        }
+    }
+
+    @Test
+    @DisplayName("마지막 세그먼트 끝의 불완전한 레코드는 열 때 잘라낸다.")
+    void truncateTornTail() throws IOException {
+        // given
+        try (StockMovementLog log = new StockMovementLog(directory, 1024, 0)) {
+            log.append(records(1, 2));
+        }
+        try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}));
+        }
+
+        // when
+        try (StockMovementLog reopened = new StockMovementLog(directory, 1024, 0)) {
+            reopened.append(records(3, 3));
+
+            // then
+            assertThat(reopened.readAfter(0)).extracting(StockMovementLogRecord::getSequence).containsExactly(1L, 2L, 3L);
+            assertThat(Files.size(onlySegment())).isEqualTo(3L * StockMovementLog.RECORD_SIZE);
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 새 세그먼트를 열고, 반영된 세그먼트는 삭제할 수 있다.")
+    void rollAndDeleteSegments() throws IOException {
+        // given
+        try (StockMovementLog log = new StockMovementLog(directory, 2L * StockMovementLog.RECORD_SIZE, 0)) {
+            log.append(records(1, 2)); // 가득 차서 새 세그먼트
+            log.append(records(3, 4)); // 가득 차서 새 세그먼트
+            assertThat(segments()).hasSize(3);
+
+            // when
+            log.deleteSegmentsUpTo(3);
+
+            // then
+            assertThat(segments()).hasSize(2);
+            assertThat(log.readAfter(0)).extracting(StockMovementLogRecord::getSequence).containsExactly(3L, 4L);
+        }
+    }
+
+    @Test
+    @DisplayName("빈 로그는 DB 반영 위치 다음 순번부터 이어서 기록한다.")
+    void continueAfterAppliedSequence() throws IOException {
+        try (StockMovementLog log = new StockMovementLog(directory, 1024, 41)) {
+            assertThat(log.getLastSequence()).isEqualTo(41);
+            log.append(records(42, 42));
+            assertThat(log.readAfter(41)).extracting(StockMovementLogRecord::getSequence).containsExactly(42L);
+        }
+    }
+
+    @Test
+    @DisplayName("창고 ID가 없던 이전 형식의 세그먼트는 기본 창고로 읽고, 이어지는 레코드는 새 형식의 세그먼트에 기록한다.")
+    void readLegacySegment() throws IOException {
+        // given
+        ByteBuffer buffer = ByteBuffer.allocate(2 * StockMovementLog.LEGACY_RECORD_SIZE);
+        putLegacyRecord(buffer, 1, 101, StockEventType.INBOUND, 10);
+        putLegacyRecord(buffer, 2, 102, StockEventType.OUTBOUND, 20);
+        buffer.flip();
+        Files.write(directory.resolve(String.format("%s%020d.log", StockMovementLog.LEGACY_SEGMENT_PREFIX, 1)), buffer.array());
+
+        // when
+        try (StockMovementLog log = new StockMovementLog(directory, 1024, 0)) {
+            log.append(records(3, 3));
+
+            // then
+            assertThat(log.readAfter(0))
+                    .extracting(StockMovementLogRecord::getSequence, StockMovementLogRecord::getWarehouseId)
+                    .containsExactly(
+                            tuple(1L, Stock.DEFAULT_WAREHOUSE_ID),
+                            tuple(2L, Stock.DEFAULT_WAREHOUSE_ID),
+                            tuple(3L, record(3).getWarehouseId()));
+            assertThat(segments()).hasSize(2);
+
+            log.deleteSegmentsUpTo(2);
+            assertThat(segments()).hasSize(1);
+            assertThat(log.readAfter(0)).containsExactly(record(3));
+        }
+    }
+
+    @Test
+    @DisplayName("반영할 수 없는 레코드는 사유와 함께 실패 기록 파일에 덧붙인다.")
+    void appendDeadLetters() throws IOException {
+        try (StockMovementLog log = new StockMovementLog(directory, 1024, 0)) {
+            log.append(records(1, 3));
+            Map<StockMovementLogRecord, String> first = new LinkedHashMap<>();
+            first.put(record(2), "존재하지 않는 상품입니다.");
+            log.appendDeadLetters(first);
+            log.appendDeadLetters(Map.of(record(3), "재고가\n부족합니다."));
+
+            assertThat(Files.readAllLines(log.deadLetterPath()))
+                    .containsExactly(
+                            "2\t102\t3\tOUTBOUND\t20\t" + NOW + "\t존재하지 않는 상품입니다.",
+                            "3\t103\t1\tINBOUND\t30\t" + NOW + "\t재고가 부족합니다.");
+            assertThat(log.readAfter(0)).hasSize(3);
+        }
+    }
+
+    private void putLegacyRecord(ByteBuffer buffer, long sequence, long productId, StockEventType eventType, int quantity) {
+        int start = buffer.position();
+        buffer.putLong(sequence)
+                .putLong(productId)
+                .put((byte) eventType.ordinal())
+                .putInt(quantity)
+                .putLong(NOW.toInstant(ZoneOffset.UTC).toEpochMilli());
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(start).limit(buffer.position());
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private List<StockMovementLogRecord> records(long from, long to) {
+        return LongStream.rangeClosed(from, to).mapToObj(this::record).collect(Collectors.toList());
+    }
+
+    private StockMovementLogRecord record(long sequence) {
+        StockEventType eventType = sequence % 2 == 0 ? StockEventType.OUTBOUND : StockEventType.INBOUND;
+        return new StockMovementLogRecord(sequence, 100 + sequence, sequence % 3 + 1, eventType, (int) sequence * 10, NOW);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertThat(segments).hasSize(1);
+        return segments.get(0);
+    }
+}
@@ -0,0 +1,114 @@
+package kr.co.iscu.assignment.service.stock.movement;
+
+import kr.co.iscu.assignment.domain.product.Product;
+import kr.co.iscu.assignment.domain.stock.Stock;
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.repository.product.ProductRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryDailyRepository;
+import kr.co.iscu.assignment.repository.stock.StockHistoryRepository;
+import kr.co.iscu.assignment.repository.stock.StockMovementLogCheckpointRepository;
+import kr.co.iscu.assignment.repository.stock.StockRepository;
+import kr.co.iscu.assignment.service.product.ProductCache;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementDto;
+import kr.co.iscu.assignment.service.stock.dto.StockMovementResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * 로그 처리기는 자체 스레드에서 커밋하므로 테스트 트랜잭션 대신 직접 정리합니다.
+ * 애플리케이션의 처리 방식과 상관없이 임시 디렉터리를 쓰는 처리기를 직접 만들어 검증합니다.
+ */
+@SpringBootTest
+class WalStockMovementProcessorTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockHistoryRepository stockHistoryRepository;
+
+    @Autowired
+    private StockHistoryDailyRepository stockHistoryDailyRepository;
+
+    @Autowired
+    private StockMovementLogCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private StockLedgerWriter stockLedgerWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder().name("로그 테스트 상품").category("테스트").unitPrice(BigDecimal.ONE).safetyStock(10).build();
+        productRepository.insert(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockHistoryRepository.deleteByProductId(product.getId());
+        stockHistoryDailyRepository.deleteByProductId(product.getId());
+        stockRepository.deleteByProductId(product.getId());
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    @DisplayName("로그에 기록한 입고를 응답하고, 종료한 뒤에는 기다리지 않고 예외가 발생한다.")
+    void process_then_reject_after_stop() throws Exception {
+        // given
+        WalStockMovementProcessor processor = new WalStockMovementProcessor(productRepository, productCache, stockRepository,
+                checkpointRepository, stockLedgerWriter, transactionManager, directory.toString(), 1024 * 1024, 16, 1);
+        processor.start();
+        StockMovementResultDto inbound = processor.process(movement(5));
+        processor.stop();
+
+        // when, then
+        assertThat(inbound.isSuccess()).isTrue();
+        assertThat(inbound.getCurrentQuantity()).isEqualTo(5);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThatThrownBy(() -> processor.process(movement(1)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("입출고 로그가 닫혔습니다.");
+            assertThatThrownBy(() -> processor.processAll(List.of(movement(1))))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("입출고 로그가 닫혔습니다.");
+        });
+        assertThat(stockRepository.findByProductId(product.getId()).orElseThrow().getQuantity()).isEqualTo(5);
+    }
+
+    private StockMovementDto movement(int quantity) {
+        return StockMovementDto.builder()
+                .productId(product.getId())
+                .warehouseId(Stock.DEFAULT_WAREHOUSE_ID)
+                .eventType(StockEventType.INBOUND)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,256 @@
+package kr.co.iscu.assignment.service.stock.outbox;
+
+import kr.co.iscu.assignment.domain.stock.StockEventType;
+import kr.co.iscu.assignment.domain.stock.StockOutboxEvent;
+import kr.co.iscu.assignment.repository.stock.StockOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockOutboxDispatcherTest {
+
+    private InMemoryStockOutboxRepository stockOutboxRepository;
+    private RecordingSink sink;
+    private StockOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        stockOutboxRepository = new InMemoryStockOutboxRepository();
+        sink = new RecordingSink();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    @DisplayName("선점한 이벤트를 상품별로 발생 순서대로 전달하고, 전달한 이벤트를 삭제한다.")
+    void delivers_in_order_per_product() {
+        // given
+        dispatcher = dispatcher(10, "delete");
+        stockOutboxRepository.saveAll(List.of(event(1L, 1), event(2L, 2), event(1L, 3), event(2L, 4)));
+
+        // when
+        int delivered = dispatcher.dispatchOnce();
+
+        // then
+        assertThat(delivered).isEqualTo(4);
+        assertThat(sink.quantities(1L)).containsExactly(1, 3);
+        assertThat(sink.quantities(2L)).containsExactly(2, 4);
+        assertThat(stockOutboxRepository.rows).isEmpty();
+    }
+
+    @Test
+    @DisplayName("한 번에 batch-size건까지만 선점한다.")
+    void claims_up_to_batch_size() {
+        // given
+        dispatcher = dispatcher(2, "delete");
+        stockOutboxRepository.saveAll(List.of(event(1L, 1), event(1L, 2), event(1L, 3)));
+
+        // when, then
+        assertThat(dispatcher.dispatchOnce()).isEqualTo(2);
+        assertThat(dispatcher.dispatchOnce()).isEqualTo(1);
+        assertThat(dispatcher.dispatchOnce()).isZero();
+        assertThat(sink.quantities(1L)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("전달에 실패한 상품의 이벤트는 선점을 풀고, 다음 전달에서 이후 이벤트보다 먼저 다시 전달한다.")
+    void redelivers_failed_product_in_order() {
+        // given
+        dispatcher = dispatcher(10, "delete");
+        stockOutboxRepository.saveAll(List.of(event(1L, 1), event(2L, 2), event(2L, 3)));
+        sink.failingProductIds.add(2L);
+
+        // when
+        int delivered = dispatcher.dispatchOnce();
+
+        // then
+        assertThat(delivered).isEqualTo(1);
+        assertThat(stockOutboxRepository.rows).extracting(row -> row.event.getQuantity()).containsExactly(2, 3);
+        assertThat(stockOutboxRepository.rows).noneMatch(row -> row.claimed);
+
+        // when
+        sink.failingProductIds.clear();
+        stockOutboxRepository.saveAll(List.of(event(2L, 4)));
+        dispatcher.dispatchOnce();
+
+        // then
+        assertThat(sink.quantities(2L)).containsExactly(2, 3, 4);
+        assertThat(stockOutboxRepository.rows).isEmpty();
+    }
+
+    @Test
+    @DisplayName("retention이 mark이면 전달한 이벤트를 지우지 않고 전달 시각만 기록하여 다시 전달하지 않는다.")
+    void marks_dispatched_events() {
+        // given
+        dispatcher = dispatcher(10, "mark");
+        stockOutboxRepository.saveAll(List.of(event(1L, 1), event(1L, 2)));
+
+        // when
+        dispatcher.dispatchOnce();
+
+        // then
+        assertThat(stockOutboxRepository.rows).hasSize(2).allMatch(row -> row.dispatched);
+        assertThat(dispatcher.dispatchOnce()).isZero();
+        assertThat(sink.quantities(1L)).containsExactly(1, 2);
+    }
+
+    private StockOutboxDispatcher dispatcher(int batchSize, String retention) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+        return new StockOutboxDispatcher(stockOutboxRepository, transactionTemplate, List.of(sink),
+                true, batchSize, 30, 100, 2, retention, 24);
+    }
+
+    private static StockOutboxEvent event(Long productId, int quantity) {
+        return StockOutboxEvent.builder()
+                .productId(productId)
+                .eventType(StockEventType.INBOUND)
+                .quantity(quantity)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static class RecordingSink implements StockEventSink {
+
+        private final Map<Long, List<StockOutboxEvent>> received = new ConcurrentHashMap<>();
+        private final Set<Long> failingProductIds = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void deliver(List<StockOutboxEvent> events) {
+            Long productId = events.get(0).getProductId();
+            if (failingProductIds.contains(productId)) {
+                throw new IllegalStateException("전달 실패");
+            }
+            received.computeIfAbsent(productId, id -> new CopyOnWriteArrayList<>()).addAll(events);
+        }
+
+        List<Integer> quantities(Long productId) {
+            return received.getOrDefault(productId, List.of()).stream().map(StockOutboxEvent::getQuantity).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 선점·전달 표시를 메모리에서 흉내 내는 저장소. 선점 기한은 다루지 않는다.
+     */
+    private static class InMemoryStockOutboxRepository implements StockOutboxRepository {
+
+        private final List<Row> rows = new ArrayList<>();
+        private long sequence;
+
+        @Override
+        public synchronized void saveAll(List<StockOutboxEvent> events) {
+            events.forEach(event -> {
+                event.setOutboxId(++sequence);
+                rows.add(new Row(event));
+            });
+        }
+
+        @Override
+        public synchronized List<StockOutboxEvent> findClaimable(int limit) {
+            return rows.stream().filter(row -> !row.claimed && !row.dispatched).limit(limit)
+                    .map(row -> row.event).collect(Collectors.toList());
+        }
+
+        @Override
+        public synchronized void claim(Collection<Long> outboxIds, long leaseSeconds) {
+            find(outboxIds).forEach(row -> row.claimed = true);
+        }
+
+        @Override
+        public synchronized void deleteByIds(Collection<Long> outboxIds) {
+            rows.removeIf(row -> outboxIds.contains(row.event.getOutboxId()));
+        }
+
+        @Override
+        public synchronized void markDispatched(Collection<Long> outboxIds) {
+            find(outboxIds).forEach(row -> {
+                row.claimed = false;
+                row.dispatched = true;
+            });
+        }
+
+        @Override
+        public synchronized void release(Collection<Long> outboxIds) {
+            find(outboxIds).forEach(row -> row.claimed = false);
+        }
+
+        @Override
+        public synchronized int releaseAll() {
+            List<Row> claimed = rows.stream().filter(row -> row.claimed && !row.dispatched).collect(Collectors.toList());
+            claimed.forEach(row -> row.claimed = false);
+            return claimed.size();
+        }
+
+        @Override
+        public int deleteDispatchedBefore(long retentionHours, int limit) {
+            return 0;
+        }
+
+        @Override
+        public synchronized List<StockOutboxEvent> findByProductId(Long productId) {
+            return rows.stream().map(row -> row.event).filter(event -> event.getProductId().equals(productId)).collect(Collectors.toList());
+        }
+
+        @Override
+        public synchronized void deleteByProductId(Long productId) {
+            rows.removeIf(row -> row.event.getProductId().equals(productId));
+        }
+
+        private List<Row> find(Collection<Long> outboxIds) {
+            return rows.stream().filter(row -> outboxIds.contains(row.event.getOutboxId())).collect(Collectors.toList());
+        }
+    }
+
+    private static class Row {
+
+        private final StockOutboxEvent event;
+        private boolean claimed;
+        private boolean dispatched;
+
+        Row(StockOutboxEvent event) {
+            this.event = event;
+        }
+    }
+
+    /**
+     * DB 없이 TransactionTemplate을 실행하기 위한 트랜잭션 관리자
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
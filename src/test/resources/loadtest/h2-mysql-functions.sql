@@ -0,0 +1 @@
+CREATE ALIAS IF NOT EXISTS DATE_ADD FOR "kr.co.iscu.assignment.loadtest.H2MySqlFunctions.dateAdd";